@@ -0,0 +1,36 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.parser.SchemaTypeExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage 2: extracting the plugin's type model from the registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExtractBenchmark {
+
+    @Benchmark
+    public List<GraphQLTypeInfo> extractAllTypes(final PipelineState state) {
+        return SchemaTypeExtractor.getInstance().extractAllTypes(state.registry);
+    }
+
+    @Benchmark
+    public List<GraphQLEnumInfo> extractEnumTypes(final PipelineState state) {
+        return SchemaTypeExtractor.getInstance().extractEnumTypes(state.registry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.generation.EnumGenerator;
+import com.github.surajcm.generation.GenerationContext;
+import com.github.surajcm.generation.OutputLayout;
+import com.github.surajcm.generation.SourceCodeGenerator;
+import com.github.surajcm.generation.TypeGroups;
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.parser.SchemaParser;
+import com.github.surajcm.parser.SchemaTypeExtractor;
+import com.github.surajcm.util.WriteIfChangedSink;
+import com.squareup.javapoet.JavaFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The build cost of the generated output in the file per type layout against the grouped layout: writing the
+ * sources, compiling them from disk with javac, and packaging the class files into a JAR.
+ *
+ * <p>Type names are spread over {@code prefixCount} leading words, so the grouped layout writes that many
+ * compilation units instead of one file per type.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class LayoutBenchmark {
+
+    /**
+     * The rendered sources of one layout, written to disk and compiled once, as the input of the compile and
+     * package benchmarks.
+     */
+    @State(Scope.Benchmark)
+    public static class LayoutState {
+
+        @Param({"1000", "6000"})
+        public int typeCount;
+
+        @Param({"100"})
+        public int prefixCount;
+
+        @Param({"FILE_PER_TYPE", "GROUPED_BY_PREFIX"})
+        public OutputLayout layout;
+
+        List<JavaFile> javaFiles;
+        Path sourceDir;
+        List<File> sourceFiles;
+        Path classDir;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            SchemaModel model = SchemaTypeExtractor.getInstance().extractModel(
+                    SchemaParser.getInstance().parseContent(SyntheticSchema.sdl(typeCount, prefixCount)));
+            TypeGroups groups = TypeGroups.forLayout(model, layout);
+            GenerationContext context = GenerationContext.create(model, PipelineState.PACKAGE_NAME, groups);
+            javaFiles = new ArrayList<>();
+            if (groups != null) {
+                for (String group : groups.getGroupNames()) {
+                    javaFiles.add(groups.render(group, model, context));
+                }
+            } else {
+                for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+                    javaFiles.add(SourceCodeGenerator.getInstance().generatePojo(typeInfo, context));
+                }
+                for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+                    javaFiles.add(EnumGenerator.getInstance().generateEnum(enumInfo, PipelineState.PACKAGE_NAME));
+                }
+            }
+            sourceDir = Files.createTempDirectory("graphql-pojo-layout-sources");
+            WriteIfChangedSink sink = new WriteIfChangedSink(sourceDir);
+            for (JavaFile javaFile : javaFiles) {
+                sink.write(javaFile);
+            }
+            try (Stream<Path> paths = Files.walk(sourceDir)) {
+                sourceFiles = paths.filter(path -> path.toString().endsWith(".java"))
+                        .map(Path::toFile)
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+            classDir = Files.createTempDirectory("graphql-pojo-layout-classes");
+            compile(sourceFiles, classDir);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            delete(sourceDir);
+            delete(classDir);
+        }
+    }
+
+    @Benchmark
+    public int writeSources(final LayoutState state, final WriteBenchmark.OutputState output) throws IOException {
+        WriteIfChangedSink sink = new WriteIfChangedSink(output.outputDir);
+        for (JavaFile javaFile : state.javaFiles) {
+            sink.write(javaFile);
+        }
+        return sink.getWrittenCount();
+    }
+
+    @Benchmark
+    public boolean compile(final LayoutState state, final WriteBenchmark.OutputState output) throws IOException {
+        return compile(state.sourceFiles, output.outputDir);
+    }
+
+    @Benchmark
+    public long packageClasses(final LayoutState state, final WriteBenchmark.OutputState output)
+            throws IOException {
+        Path jar = output.outputDir.resolve("classes.jar");
+        List<Path> classFiles;
+        try (Stream<Path> paths = Files.walk(state.classDir)) {
+            classFiles = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        try (OutputStream out = Files.newOutputStream(jar);
+             JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (Path classFile : classFiles) {
+                jarOut.putNextEntry(new JarEntry(state.classDir.relativize(classFile).toString().replace('\\', '/')));
+                Files.copy(classFile, jarOut);
+                jarOut.closeEntry();
+            }
+        }
+        return Files.size(jar);
+    }
+
+    // javac reads every source from disk, as in the module compile that follows generation
+    private static boolean compile(final List<File> sourceFiles, final Path classDir) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager =
+                     compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(sourceFiles);
+            List<String> options = Arrays.asList("-d", classDir.toString(), "-proc:none", "-nowarn");
+            if (!compiler.getTask(null, fileManager, null, options, null, units).call()) {
+                throw new IllegalStateException("Generated sources do not compile");
+            }
+            return true;
+        }
+    }
+
+    private static void delete(final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
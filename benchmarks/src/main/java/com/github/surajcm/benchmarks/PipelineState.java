@@ -0,0 +1,37 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.generation.GenerationContext;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.parser.SchemaParser;
+import com.github.surajcm.parser.SchemaTypeExtractor;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The output of every pipeline stage for one schema size, so each benchmark measures a single stage.
+ */
+@State(Scope.Benchmark)
+public class PipelineState {
+
+    static final String PACKAGE_NAME = "com.example.generated";
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int typeCount;
+
+    String sdl;
+    TypeDefinitionRegistry registry;
+    SchemaModel model;
+    GenerationContext context;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sdl = SyntheticSchema.sdl(typeCount);
+        registry = SchemaParser.getInstance().parseContent(sdl);
+        model = SchemaTypeExtractor.getInstance().extractModel(registry);
+        context = GenerationContext.create(model, PACKAGE_NAME);
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.generation.EnumGenerator;
+import com.github.surajcm.generation.SourceCodeGenerator;
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage 4: building the JavaPoet model of every POJO and enum.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RenderBenchmark {
+
+    @Benchmark
+    public void generatePojo(final PipelineState state, final Blackhole blackhole) {
+        SourceCodeGenerator generator = SourceCodeGenerator.getInstance();
+        for (GraphQLTypeInfo typeInfo : state.model.getTypes()) {
+            blackhole.consume(generator.generatePojo(typeInfo, state.context));
+        }
+    }
+
+    @Benchmark
+    public void generateEnum(final PipelineState state, final Blackhole blackhole) {
+        EnumGenerator generator = EnumGenerator.getInstance();
+        for (GraphQLEnumInfo enumInfo : state.model.getEnums()) {
+            blackhole.consume(generator.generateEnum(enumInfo, PipelineState.PACKAGE_NAME));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.generation.EnumGenerator;
+import com.github.surajcm.generation.SourceCodeGenerator;
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.squareup.javapoet.JavaFile;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rendered sources of a schema, kept apart from {@link PipelineState} so only the write benchmarks
+ * hold every {@link JavaFile} in memory.
+ */
+@State(Scope.Benchmark)
+public class RenderedState {
+
+    List<JavaFile> javaFiles;
+
+    @Setup(Level.Trial)
+    public void setup(final PipelineState pipeline) {
+        javaFiles = new ArrayList<>(pipeline.model.size());
+        for (GraphQLTypeInfo typeInfo : pipeline.model.getTypes()) {
+            javaFiles.add(SourceCodeGenerator.getInstance().generatePojo(typeInfo, pipeline.context));
+        }
+        for (GraphQLEnumInfo enumInfo : pipeline.model.getEnums()) {
+            javaFiles.add(EnumGenerator.getInstance().generateEnum(enumInfo, PipelineState.PACKAGE_NAME));
+        }
+    }
+}
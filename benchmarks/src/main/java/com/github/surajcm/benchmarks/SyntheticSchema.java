@@ -0,0 +1,102 @@
+package com.github.surajcm.benchmarks;
+
+/**
+ * Builds deterministic synthetic schemas of a given size.
+ *
+ * <p>Roughly 70% of the types are object types, 15% input types and 15% enums. Object types carry a mix
+ * of scalar, list, enum and object references so every branch of the type mapping is exercised. Type names
+ * can be spread over a number of leading words ({@code AreabType12}), like the namespaces of a real schema.
+ */
+public final class SyntheticSchema {
+
+    private static final int ENUM_EVERY = 7;
+    private static final int INPUT_EVERY = 6;
+    private static final int ENUM_VALUES = 6;
+    private static final int LETTERS = 26;
+
+    private SyntheticSchema() {
+    }
+
+    /**
+     * Builds the SDL of a schema with the given number of types.
+     *
+     * @param typeCount the number of object, input and enum types
+     * @return the schema definition
+     */
+    public static String sdl(final int typeCount) {
+        return sdl(typeCount, 0);
+    }
+
+    /**
+     * Builds the SDL of a schema whose type names start with one of the given number of words.
+     *
+     * @param typeCount the number of object, input and enum types
+     * @param prefixCount the number of distinct leading words, or 0 for plain names ({@code Type12})
+     * @return the schema definition
+     */
+    public static String sdl(final int typeCount, final int prefixCount) {
+        StringBuilder sdl = new StringBuilder(typeCount * 200);
+        sdl.append("type Query {\n  root: ").append(name("Type", 0, prefixCount)).append("\n}\n\n");
+        int lastObject = 0;
+        int lastEnum = -1;
+        for (int i = 0; i < typeCount; i++) {
+            if (i % ENUM_EVERY == ENUM_EVERY - 1) {
+                appendEnum(sdl, i, prefixCount);
+                lastEnum = i;
+            } else if (i % INPUT_EVERY == INPUT_EVERY - 1) {
+                appendInput(sdl, i, prefixCount);
+            } else {
+                appendObject(sdl, i, lastObject, lastEnum, prefixCount);
+                lastObject = i;
+            }
+        }
+        return sdl.toString();
+    }
+
+    private static String name(final String kind, final int index, final int prefixCount) {
+        if (prefixCount <= 0) {
+            return kind + index;
+        }
+        StringBuilder word = new StringBuilder("Area");
+        int letters = index % prefixCount;
+        do {
+            word.append((char) ('a' + letters % LETTERS));
+            letters /= LETTERS;
+        } while (letters > 0);
+        return word.append(kind).append(index).toString();
+    }
+
+    private static void appendObject(final StringBuilder sdl, final int index,
+                                     final int referenced, final int enumIndex, final int prefixCount) {
+        sdl.append("type ").append(name("Type", index, prefixCount)).append(" {\n")
+                .append("  id: ID!\n")
+                .append("  name: String\n")
+                .append("  count: Int\n")
+                .append("  score: Float\n")
+                .append("  active: Boolean!\n")
+                .append("  tags: [String]\n")
+                .append("  parent: ").append(name("Type", referenced, prefixCount)).append('\n')
+                .append("  children: [").append(name("Type", referenced, prefixCount)).append("!]!\n");
+        if (enumIndex >= 0) {
+            sdl.append("  status: ").append(name("Status", enumIndex, prefixCount)).append('\n');
+        }
+        sdl.append("}\n\n");
+    }
+
+    private static void appendInput(final StringBuilder sdl, final int index, final int prefixCount) {
+        sdl.append("input ").append(name("Input", index, prefixCount)).append(" {\n")
+                .append("  id: ID!\n")
+                .append("  name: String\n")
+                .append("  limit: Int\n")
+                .append("  filters: [String!]\n")
+                .append("}\n\n");
+    }
+
+    private static void appendEnum(final StringBuilder sdl, final int index, final int prefixCount) {
+        sdl.append("enum ").append(name("Status", index, prefixCount)).append(" {\n");
+        for (int value = 0; value < ENUM_VALUES; value++) {
+            sdl.append("  VALUE_").append(value).append('\n');
+        }
+        sdl.append("}\n\n");
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.generation.GenerationContext;
+import com.github.surajcm.mapper.TypeMapper;
+import com.github.surajcm.mapper.TypeSymbolTable;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stage 3: mapping every field of the schema to a Java type, through the {@link TypeMapper} and through
+ * the pre-built {@link TypeSymbolTable} used by generation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TypeMappingBenchmark {
+
+    @Benchmark
+    public void mapFieldType(final PipelineState state, final Blackhole blackhole) {
+        TypeMapper mapper = TypeMapper.getInstance();
+        mapper.setTargetPackage(PipelineState.PACKAGE_NAME);
+        for (GraphQLTypeInfo typeInfo : state.model.getTypes()) {
+            for (GraphQLFieldInfo field : typeInfo.getFields()) {
+                blackhole.consume(mapper.mapFieldType(field));
+            }
+        }
+    }
+
+    @Benchmark
+    public void resolveSymbol(final PipelineState state, final Blackhole blackhole) {
+        TypeSymbolTable symbols = state.context.getSymbols();
+        for (GraphQLTypeInfo typeInfo : state.model.getTypes()) {
+            for (GraphQLFieldInfo field : typeInfo.getFields()) {
+                blackhole.consume(symbols.resolve(field));
+            }
+        }
+    }
+
+    @Benchmark
+    public GenerationContext buildSymbolTable(final PipelineState state) {
+        return GenerationContext.create(state.model, PipelineState.PACKAGE_NAME);
+    }
+}
@@ -0,0 +1,107 @@
+package com.github.surajcm.benchmarks;
+
+import com.github.surajcm.util.JarOutputSink;
+import com.github.surajcm.util.WriteIfChangedSink;
+import com.squareup.javapoet.JavaFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Stage 5: writing the rendered sources, into an empty directory, over an identical previous output and into
+ * a single sources JAR.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WriteBenchmark {
+
+    /**
+     * A fresh output directory per invocation; {@code unchanged} pre-populates it with the same sources.
+     */
+    @State(Scope.Thread)
+    public static class OutputState {
+        Path outputDir;
+
+        @Setup(Level.Invocation)
+        public void createDirectory() throws IOException {
+            outputDir = Files.createTempDirectory("graphql-pojo-bench");
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteDirectory() throws IOException {
+            try (Stream<Path> paths = Files.walk(outputDir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Same as {@link OutputState}, but the directory already holds the current output.
+     */
+    @State(Scope.Thread)
+    public static class PopulatedOutputState extends OutputState {
+
+        @Setup(Level.Invocation)
+        public void populate(final RenderedState rendered) throws IOException {
+            for (JavaFile javaFile : rendered.javaFiles) {
+                javaFile.writeTo(outputDir);
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeTo(final RenderedState rendered, final OutputState output) throws IOException {
+        for (JavaFile javaFile : rendered.javaFiles) {
+            javaFile.writeTo(output.outputDir);
+        }
+    }
+
+    @Benchmark
+    public int writeIfChanged(final RenderedState rendered, final OutputState output) throws IOException {
+        WriteIfChangedSink sink = new WriteIfChangedSink(output.outputDir);
+        for (JavaFile javaFile : rendered.javaFiles) {
+            sink.write(javaFile);
+        }
+        return sink.getWrittenCount();
+    }
+
+    @Benchmark
+    public int writeIfChangedUnchanged(final RenderedState rendered,
+                                       final PopulatedOutputState output) throws IOException {
+        WriteIfChangedSink sink = new WriteIfChangedSink(output.outputDir);
+        for (JavaFile javaFile : rendered.javaFiles) {
+            sink.write(javaFile);
+        }
+        return sink.getSkippedCount();
+    }
+
+    @Benchmark
+    public long sourcesJar(final RenderedState rendered, final OutputState output) throws IOException {
+        Path jar = output.outputDir.resolve("sources.jar");
+        try (JarOutputSink sink = new JarOutputSink(jar.toFile())) {
+            for (JavaFile javaFile : rendered.javaFiles) {
+                sink.write(javaFile);
+            }
+        }
+        return Files.size(jar);
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.surajcm.gradle;
+
+import com.github.surajcm.generation.GenerationOptions;
+import com.github.surajcm.generation.GenerationResult;
+import com.github.surajcm.generation.JavaCodeGenerator;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.IgnoreEmptyDirectories;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.LocalState;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.FileChange;
+import org.gradle.work.InputChanges;
+
+import javax.inject.Inject;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates Java POJOs from GraphQL schema files with the same generator as the Maven {@code generate} goal.
+ *
+ * <p>Gradle's input and output tracking replaces the build stamp of the Maven goal: an unchanged schema leaves
+ * the task up to date, and since the output only depends on the schema contents, their paths relative to the
+ * project and the settings, it is restored from the build cache on other machines.
+ *
+ * <p>When schema files changed since the last execution the task runs incrementally: the schema is parsed
+ * again as a whole (a type may be extended in another file), and the manifest kept as local state limits
+ * writing to the types whose generated source changed, deleting the ones removed from the schema. Any other
+ * change, such as a new package name, runs the task from scratch.
+ */
+@CacheableTask
+public abstract class GenerateGraphQLPojoTask extends DefaultTask {
+
+    private static final String MANIFEST_FILE = "manifest.properties";
+
+    /**
+     * The schema files to merge, tracked by content and project relative path. Skipping when empty also
+     * makes them an incremental input, so {@link InputChanges} reports the files that changed.
+     *
+     * @return the schema files
+     */
+    @InputFiles
+    @SkipWhenEmpty
+    @IgnoreEmptyDirectories
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getSchemaFiles();
+
+    @Input
+    public abstract Property<String> getPackageName();
+
+    @Input
+    public abstract Property<String> getEncoding();
+
+    /**
+     * Number of generation threads; the output is identical for any value, so it is not an input.
+     *
+     * @return the thread count
+     */
+    @Internal
+    public abstract Property<Integer> getThreads();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    /**
+     * Holds the incremental manifest. Local state is dropped whenever the output is restored from the build
+     * cache, so the manifest never describes sources this task did not write.
+     *
+     * @return the work directory
+     */
+    @LocalState
+    public abstract DirectoryProperty getWorkDir();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void generate(final InputChanges inputChanges) {
+        File outputDir = getOutputDir().get().getAsFile();
+        File manifestFile = getWorkDir().file(MANIFEST_FILE).get().getAsFile();
+        if (inputChanges.isIncremental()) {
+            for (FileChange change : inputChanges.getFileChanges(getSchemaFiles())) {
+                getLogger().info("Schema file {}: {}", change.getChangeType() == ChangeType.REMOVED
+                        ? "removed" : "changed", change.getNormalizedPath());
+            }
+        } else {
+            // without a manifest the generator cleans the package; this also drops sources of an old package
+            getFileSystemOperations().delete(spec -> spec.delete(outputDir, manifestFile));
+        }
+        if (!outputDir.mkdirs() && !outputDir.isDirectory()) {
+            throw new GradleException("Unable to create output directory " + outputDir);
+        }
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(manifestFile)
+                .threads(getThreads().get())
+                .encoding(Charset.forName(getEncoding().get()))
+                .build();
+        try {
+            GenerationResult result = JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                    schemaFiles(), outputDir, getPackageName().get(), options);
+            getLogger().info("Generated {} types: {} files written, {} unchanged",
+                    result.getTypeCount(), result.getWrittenFiles(), result.getSkippedFiles());
+        } catch (MojoExecutionException ex) {
+            throw new GradleException(ex.getMessage(), ex);
+        }
+    }
+
+    // sorted by path like the Maven goal's resolver, so that both merge the files in the same order
+    private List<File> schemaFiles() {
+        List<File> files = new ArrayList<>(getSchemaFiles().getFiles());
+        files.sort((first, second) -> first.toPath().compareTo(second.toPath()));
+        return files;
+    }
+}
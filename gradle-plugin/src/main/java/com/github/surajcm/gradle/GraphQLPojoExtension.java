@@ -0,0 +1,53 @@
+package com.github.surajcm.gradle;
+
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Property;
+
+/**
+ * The {@code graphqlPojo} block of a build script, mirroring the parameters of the Maven {@code generate} goal.
+ *
+ * <pre>
+ * graphqlPojo {
+ *     schemaFiles.from(fileTree('src/main/graphql') { include '**&#47;*.graphqls' })
+ *     packageName = 'com.company.project.schema'
+ * }
+ * </pre>
+ */
+public abstract class GraphQLPojoExtension {
+
+    /**
+     * The schema files to merge: SDL files, or introspection results ({@code .json}).
+     *
+     * @return the schema files
+     */
+    public abstract ConfigurableFileCollection getSchemaFiles();
+
+    /**
+     * The package of the generated classes.
+     *
+     * @return the package name
+     */
+    public abstract Property<String> getPackageName();
+
+    /**
+     * The directory the sources are generated into; added to the {@code main} source set.
+     *
+     * @return the output directory
+     */
+    public abstract DirectoryProperty getOutputDir();
+
+    /**
+     * Character encoding of the schema files, UTF-8 by default.
+     *
+     * @return the encoding name
+     */
+    public abstract Property<String> getEncoding();
+
+    /**
+     * Number of threads used to render and write the generated types.
+     *
+     * @return the thread count
+     */
+    public abstract Property<Integer> getThreads();
+}
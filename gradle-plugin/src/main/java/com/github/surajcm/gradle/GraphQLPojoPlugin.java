@@ -0,0 +1,50 @@
+package com.github.surajcm.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskProvider;
+
+/**
+ * Registers the {@code graphqlPojo} extension and the {@code generateGraphQLPojo} task, and adds the generated
+ * sources to the {@code main} source set when the Java plugin is applied, so that compiling depends on
+ * generating.
+ *
+ * <p>Everything is wired lazily through providers: nothing is resolved at configuration time and the task
+ * holds no reference to the project, which keeps the plugin compatible with the configuration cache.
+ */
+public final class GraphQLPojoPlugin implements Plugin<Project> {
+
+    public static final String EXTENSION_NAME = "graphqlPojo";
+    public static final String TASK_NAME = "generateGraphQLPojo";
+
+    private static final String DEFAULT_OUTPUT_DIR = "generated/sources/graphql-pojo/main/java";
+    private static final String WORK_DIR = "graphql-pojo";
+
+    @Override
+    public void apply(final Project project) {
+        GraphQLPojoExtension extension = project.getExtensions().create(EXTENSION_NAME, GraphQLPojoExtension.class);
+        extension.getOutputDir().convention(project.getLayout().getBuildDirectory().dir(DEFAULT_OUTPUT_DIR));
+        extension.getEncoding().convention("UTF-8");
+        extension.getThreads().convention(1);
+
+        TaskProvider<GenerateGraphQLPojoTask> generate = project.getTasks().register(TASK_NAME,
+                GenerateGraphQLPojoTask.class, task -> {
+                    task.setGroup("build");
+                    task.setDescription("Generates Java POJOs from the GraphQL schema files.");
+                    task.getSchemaFiles().from(extension.getSchemaFiles());
+                    task.getPackageName().set(extension.getPackageName());
+                    task.getOutputDir().set(extension.getOutputDir());
+                    task.getEncoding().set(extension.getEncoding());
+                    task.getThreads().set(extension.getThreads());
+                    task.getWorkDir().set(project.getLayout().getBuildDirectory().dir(WORK_DIR));
+                });
+
+        project.getPlugins().withType(JavaPlugin.class, java -> project.getExtensions()
+                .getByType(SourceSetContainer.class)
+                .getByName("main")
+                .getJava()
+                .srcDir(generate.flatMap(GenerateGraphQLPojoTask::getOutputDir)));
+    }
+}
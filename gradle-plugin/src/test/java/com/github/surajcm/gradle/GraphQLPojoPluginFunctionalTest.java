@@ -0,0 +1,139 @@
+package com.github.surajcm.gradle;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class GraphQLPojoPluginFunctionalTest {
+
+    private static final String TASK = ":" + GraphQLPojoPlugin.TASK_NAME;
+
+    private Path projectDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        projectDir = Files.createTempDirectory("graphql-pojo-gradle-test");
+        write("settings.gradle", "rootProject.name = 'consumer'\n");
+        write("build.gradle", "plugins {\n"
+                + "    id 'java'\n"
+                + "    id 'com.github.surajcm.graphql-pojo'\n"
+                + "}\n"
+                + "graphqlPojo {\n"
+                + "    schemaFiles.from(fileTree('src/main/graphql') { include '**/*.graphqls' })\n"
+                + "    packageName = 'com.example.generated'\n"
+                + "}\n");
+        write("src/main/graphql/film.graphqls", "type Query { film: Film }\n"
+                + "type Film { title: String genre: Genre }\n");
+        write("src/main/graphql/genre.graphqls", "enum Genre { DRAMA COMEDY }\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(projectDir.toFile());
+    }
+
+    @Test
+    void compileJavaGeneratesAndCompilesTheSources() {
+        BuildResult result = run("compileJava");
+
+        Assertions.assertEquals(TaskOutcome.SUCCESS, result.task(TASK).getOutcome());
+        Assertions.assertTrue(generated("Film").isFile());
+        Assertions.assertTrue(generated("Genre").isFile());
+        Assertions.assertTrue(projectDir.resolve("build/classes/java/main/com/example/generated/Film.class")
+                .toFile().isFile());
+    }
+
+    @Test
+    void unchangedSchemaIsUpToDate() {
+        run(GraphQLPojoPlugin.TASK_NAME);
+
+        BuildResult result = run(GraphQLPojoPlugin.TASK_NAME);
+
+        Assertions.assertEquals(TaskOutcome.UP_TO_DATE, result.task(TASK).getOutcome());
+    }
+
+    @Test
+    void changedSchemaFileRewritesOnlyTheChangedTypes() throws IOException {
+        run(GraphQLPojoPlugin.TASK_NAME);
+        long filmModified = generated("Film").lastModified();
+        write("src/main/graphql/genre.graphqls", "enum Genre { DRAMA COMEDY HORROR }\n");
+
+        BuildResult result = run(GraphQLPojoPlugin.TASK_NAME, "--info");
+
+        Assertions.assertEquals(TaskOutcome.SUCCESS, result.task(TASK).getOutcome());
+        Assertions.assertTrue(result.getOutput().contains("Schema file changed: genre.graphqls"));
+        Assertions.assertTrue(read(generated("Genre")).contains("HORROR"));
+        Assertions.assertEquals(filmModified, generated("Film").lastModified());
+    }
+
+    @Test
+    void outputIsRestoredFromTheBuildCache() {
+        run(GraphQLPojoPlugin.TASK_NAME, "--build-cache");
+        run("clean");
+
+        BuildResult result = run(GraphQLPojoPlugin.TASK_NAME, "--build-cache");
+
+        Assertions.assertEquals(TaskOutcome.FROM_CACHE, result.task(TASK).getOutcome());
+        Assertions.assertTrue(generated("Film").isFile());
+    }
+
+    @Test
+    void configurationCacheIsReused() {
+        run(GraphQLPojoPlugin.TASK_NAME, "--configuration-cache");
+
+        BuildResult result = run(GraphQLPojoPlugin.TASK_NAME, "--configuration-cache");
+
+        Assertions.assertTrue(result.getOutput().contains("Reusing configuration cache."));
+    }
+
+    private BuildResult run(final String... arguments) {
+        return GradleRunner.create()
+                .withProjectDir(projectDir.toFile())
+                .withPluginClasspath()
+                .withArguments(arguments)
+                .build();
+    }
+
+    private File generated(final String typeName) {
+        return projectDir.resolve("build/generated/sources/graphql-pojo/main/java/com/example/generated/"
+                + typeName + ".java").toFile();
+    }
+
+    private void write(final String path, final String content) throws IOException {
+        Path file = projectDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(final File file) {
+        try {
+            return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
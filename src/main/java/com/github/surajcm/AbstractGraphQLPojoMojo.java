@@ -0,0 +1,119 @@
+package com.github.surajcm;
+
+import com.github.surajcm.generation.OutputLayout;
+import com.github.surajcm.util.SchemaFileResolver;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Parameters and helpers shared by the {@code generate} and {@code watch} goals.
+ */
+public abstract class AbstractGraphQLPojoMojo extends AbstractMojo {
+    static final String STAMP_FILE = "build.stamp";
+    static final String MANIFEST_FILE = "manifest.properties";
+
+    private static final String DEFAULT_SCHEMA_LOCATION = "src/main/resources/schema.graphqls";
+    private static final String DEFAULT_OUTPUT_DIR = "src/main/java/";
+    private static final String DEFAULT_WORK_DIR = "${project.build.directory}/graphql-pojo";
+
+    /**
+     * The schema file, or a directory that is searched recursively for {@code .graphqls}/{@code .graphql} files.
+     * A {@code .json} file is read as the result of an introspection query instead of SDL.
+     */
+    @Parameter(defaultValue = DEFAULT_SCHEMA_LOCATION)
+    protected File schema;
+
+    /**
+     * Glob patterns, relative to the project base directory, selecting the schema files to merge
+     * (for example every {@code .graphqls} file below {@code src/main/graphql}). When set, {@code schema}
+     * is ignored.
+     */
+    @Parameter
+    protected List<String> schemaIncludes;
+
+    @Parameter(defaultValue = "${project.basedir}", readonly = true)
+    protected File baseDirectory;
+
+    /**
+     * Character encoding of the schema files. Falls back to UTF-8 when the project encoding is not set.
+     */
+    @Parameter(property = "graphql.pojo.encoding", defaultValue = "${project.build.sourceEncoding}")
+    protected String encoding;
+
+    @Parameter(defaultValue = DEFAULT_OUTPUT_DIR)
+    protected File outputDir;
+
+    @Parameter(required = true)
+    protected String packageName;
+
+    /**
+     * Directory holding the plugin's bookkeeping files, such as the incremental manifest. Their names carry
+     * the package name, e.g. {@code manifest-com.example.model.properties}, so that several executions can
+     * share the directory.
+     */
+    @Parameter(defaultValue = DEFAULT_WORK_DIR)
+    protected File workDirectory;
+
+    /**
+     * Number of threads used to render and write the generated types. Values above 1 stream the types to
+     * that many worker threads through a bounded queue; the output is identical to the single threaded run.
+     */
+    @Parameter(property = "graphql.pojo.threads", defaultValue = "1")
+    protected int threads;
+
+    /**
+     * How the types are laid out over source files: {@code FILE_PER_TYPE}, or {@code GROUPED_BY_PREFIX} to
+     * nest the types sharing the leading word of their name in one file per word, e.g. {@code UserTypes}.
+     */
+    @Parameter(property = "graphql.pojo.outputLayout", defaultValue = "FILE_PER_TYPE")
+    protected OutputLayout outputLayout;
+
+    /**
+     * Also generate a class of this simple name next to the POJOs, whose {@code typeDefinitionRegistry()}
+     * builds the schema's definitions with graphql-java's AST builders, so that a service can skip parsing
+     * the SDL at startup. The class needs graphql-java at compile time and is not covered by {@code verify}.
+     */
+    @Parameter(property = "graphql.pojo.schemaClass")
+    protected String schemaClass;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    protected String pluginVersion;
+
+    /**
+     * A file in the work directory that belongs to this execution's package.
+     *
+     * @param fileName the file name, e.g. {@code manifest.properties}
+     * @return the file, e.g. {@code manifest-com.example.model.properties} below the work directory
+     */
+    protected File workFile(final String fileName) {
+        int extension = fileName.lastIndexOf('.');
+        return new File(workDirectory,
+                fileName.substring(0, extension) + '-' + packageName + fileName.substring(extension));
+    }
+
+    protected Charset resolveEncoding() throws MojoExecutionException {
+        if (encoding == null || encoding.trim().isEmpty()) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(encoding.trim());
+        } catch (IllegalArgumentException ex) {
+            throw new MojoExecutionException("Unsupported schema encoding: " + encoding, ex);
+        }
+    }
+
+    protected List<File> resolveSchemaFiles() throws MojoExecutionException {
+        try {
+            return SchemaFileResolver.getInstance().resolve(schema, schemaIncludes, baseDirectory);
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Unable to resolve schema files: " + ex.getMessage(), ex);
+        }
+    }
+}
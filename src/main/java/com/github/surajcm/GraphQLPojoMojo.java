@@ -1,30 +1,435 @@
 package com.github.surajcm;
 
+import com.github.surajcm.generation.GenerationMetrics;
+import com.github.surajcm.generation.GenerationOptions;
+import com.github.surajcm.generation.GenerationResult;
 import com.github.surajcm.generation.JavaCodeGenerator;
-import org.apache.maven.plugin.AbstractMojo;
+import com.github.surajcm.generation.MetricsReportWriter;
+import com.github.surajcm.generation.NativeMetadataGenerator;
+import com.github.surajcm.generation.OutputLayout;
+import com.github.surajcm.util.BuildStamp;
+import com.github.surajcm.util.FileUtils;
+import com.github.surajcm.util.JarOutputSink;
+import com.github.surajcm.util.SchemaDigest;
+import com.github.surajcm.util.TypeFingerprinter;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 @Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
-public class GraphQLPojoMojo extends AbstractMojo {
-    private static final String DEFAULT_SCHEMA_LOCATION = "src/main/resources/schema.graphqls";
-    private static final String DEFAULT_OUTPUT_DIR = "src/main/java/";
+public class GraphQLPojoMojo extends AbstractGraphQLPojoMojo {
 
-    @Parameter(defaultValue = DEFAULT_SCHEMA_LOCATION)
-    private File schema;
+    static final String CACHE_KEY_FILE = "cache-key.txt";
 
-    @Parameter(defaultValue = DEFAULT_OUTPUT_DIR)
-    private File outputDir;
+    private static final long MILLIS_PER_SECOND = 1000L;
 
-    @Parameter(required = true)
-    private String packageName;
+    /**
+     * Write the generated sources into this JAR, with entries in a fixed order and fixed timestamps, instead
+     * of one file per type below {@code outputDir}.
+     */
+    @Parameter(property = "graphql.pojo.sourcesJar")
+    private File sourcesJar;
+
+    /**
+     * Regenerate only the types whose content hash changed since the previous run.
+     */
+    @Parameter(property = "graphql.pojo.incremental", defaultValue = "false")
+    private boolean incremental;
+
+    /**
+     * Instead of wiping the output package before a full run, write every type (unchanged files are left
+     * untouched) and then delete only the sources of types that are no longer part of the schema. Set to
+     * false to wipe the package before every full run.
+     */
+    @Parameter(property = "graphql.pojo.syncOutput", defaultValue = "true")
+    private boolean syncOutput;
+
+    /**
+     * Keep a binary snapshot of the extracted schema model in the work directory. When the schema files
+     * and plugin version are unchanged, the snapshot is loaded instead of parsing the schema again.
+     */
+    @Parameter(property = "graphql.pojo.modelCache", defaultValue = "false")
+    private boolean modelCache;
+
+    /**
+     * Generate even if the schema and configuration are unchanged since the last successful run.
+     */
+    @Parameter(property = "graphql.pojo.force", defaultValue = "false")
+    private boolean force;
+
+    /**
+     * Log a per-phase breakdown with the slowest types, and write {@code metrics-<packageName>.json} and a
+     * Chrome trace ({@code metrics-trace-<packageName>.json}) to the work directory.
+     */
+    @Parameter(property = "graphql.pojo.metrics", defaultValue = "false")
+    private boolean metrics;
+
+    /**
+     * Number of slowest types listed in the metrics breakdown and report.
+     */
+    @Parameter(property = "graphql.pojo.slowestTypes", defaultValue = "10")
+    private int slowestTypes;
+
+    /**
+     * Compile the generated sources in memory once they are rendered, failing the build with the compiler
+     * errors of every type that does not compile.
+     */
+    @Parameter(property = "graphql.pojo.verify", defaultValue = "false")
+    private boolean verify;
+
+    /**
+     * With {@code verify} enabled, write the class files of the verification compile to this directory
+     * instead of discarding them.
+     */
+    @Parameter(property = "graphql.pojo.classOutputDirectory")
+    private File classOutputDirectory;
+
+    /**
+     * Write the type dependency graph, which decides the types an incremental run regenerates, to
+     * {@code dependency-graph-<packageName>.txt} in the work directory.
+     */
+    @Parameter(property = "graphql.pojo.dependencyReport", defaultValue = "false")
+    private boolean dependencyReport;
+
+    /**
+     * Timestamp of the entries of {@code sourcesJar}, as an ISO-8601 date-time or seconds since the epoch.
+     * Follows the project's reproducible build timestamp; when unset a fixed date is used, so the JAR is
+     * byte-identical across builds either way.
+     */
+    @Parameter(property = "graphql.pojo.outputTimestamp", defaultValue = "${project.build.outputTimestamp}")
+    private String outputTimestamp;
+
+    /**
+     * Resource directory receiving a GraalVM native-image reflection configuration
+     * ({@code META-INF/native-image/<packageName>/reflect-config.json}) and an AppCDS class list
+     * ({@code META-INF/graphql-pojo/<packageName>/classlist}) covering every generated type.
+     */
+    @Parameter(property = "graphql.pojo.metadataDirectory")
+    private File metadataDirectory;
+
+    @Component
+    private BuildContext buildContext;
 
     @Override
     public void execute() throws MojoExecutionException {
-        JavaCodeGenerator.getInstance().generatePojoFromSchema(schema, outputDir, packageName);
+        List<File> schemaFiles = resolveSchemaFiles();
+        Charset schemaEncoding = resolveEncoding();
+        long entryTime = resolveEntryTime();
+        boolean keyMissing = !workFile(CACHE_KEY_FILE).isFile();
+        String cacheKey = keyMissing ? publishNewCacheKey(schemaFiles, schemaEncoding, entryTime) : null;
+        if (isUnchangedIncrementalBuild(schemaFiles)) {
+            return;
+        }
+        // everything up to here avoids the generator, so an unchanged build never loads graphql-java
+        generateIfStale(schemaFiles, schemaEncoding, entryTime,
+                keyMissing ? cacheKey : cacheKey(schemaFiles, schemaEncoding, entryTime));
+    }
+
+    // published up front, so that a build cache can look the key up before generation
+    private String publishNewCacheKey(final List<File> schemaFiles,
+                                      final Charset schemaEncoding,
+                                      final long entryTime) {
+        String cacheKey = cacheKey(schemaFiles, schemaEncoding, entryTime);
+        publishCacheKey(workFile(CACHE_KEY_FILE), cacheKey);
+        return cacheKey;
+    }
+
+    private boolean isUnchangedIncrementalBuild(final List<File> schemaFiles) {
+        if (buildContext == null || !buildContext.isIncremental() || hasSchemaDelta(schemaFiles)) {
+            return false;
+        }
+        getLog().debug("No schema changes in incremental build, skipping generation");
+        return true;
+    }
+
+    private void generateIfStale(final List<File> schemaFiles,
+                                 final Charset schemaEncoding,
+                                 final long entryTime,
+                                 final String cacheKey) throws MojoExecutionException {
+        File stampFile = workFile(STAMP_FILE);
+        String stampKey = stampKey(schemaFiles, cacheKey, schemaEncoding, entryTime);
+        BuildStamp stamp = BuildStamp.getInstance();
+        if (!force && stampKey != null && isUpToDate(stamp, stampFile, stampKey)) {
+            getLog().info("Generated sources are up to date");
+            return;
+        }
+        GenerationResult result = generate(schemaFiles, schemaEncoding, entryTime, stampFile);
+        report(result);
+        publishCacheKey(workFile(CACHE_KEY_FILE), cacheKey);
+        writeStamp(stamp, stampFile, stampKey, result);
+        refreshOutput();
+    }
+
+    private void writeStamp(final BuildStamp stamp,
+                            final File stampFile,
+                            final String stampKey,
+                            final GenerationResult result) {
+        try {
+            if (stampKey != null) {
+                stamp.write(stampFile, stampKey, result.getSourceTypes());
+            }
+        } catch (IOException ex) {
+            getLog().warn("Unable to write build stamp: " + ex.getMessage());
+        }
+    }
+
+    private void refreshOutput() {
+        if (buildContext != null) {
+            buildContext.refresh(outputLocation());
+            if (metadataDirectory != null) {
+                buildContext.refresh(metadataDirectory);
+            }
+        }
+    }
+
+    private boolean isUpToDate(final BuildStamp stamp, final File stampFile, final String stampKey) {
+        if (metadataDirectory != null && !new File(metadataDirectory,
+                NativeMetadataGenerator.getInstance().reflectConfigPath(packageName)).isFile()) {
+            return false;
+        }
+        if (sourcesJar != null) {
+            return stamp.isJarUpToDate(stampFile, stampKey, sourcesJar);
+        }
+        return stamp.isUpToDate(stampFile, stampKey, FileUtils.getInstance().packageDirectory(outputDir, packageName));
+    }
+
+    private GenerationResult generate(final List<File> schemaFiles,
+                                      final Charset schemaEncoding,
+                                      final long entryTime,
+                                      final File stampFile) throws MojoExecutionException {
+        invalidateStamp(stampFile);
+        GenerationOptions options = generationOptions(schemaEncoding);
+        if (sourcesJar == null) {
+            return JavaCodeGenerator.getInstance()
+                    .generatePojoFromSchema(schemaFiles, outputDir, packageName, options);
+        }
+        try (JarOutputSink sink = new JarOutputSink(sourcesJar, entryTime, threads)) {
+            return generateInto(sink, schemaFiles, options);
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Unable to write sources jar: " + ex.getMessage(), ex);
+        }
+    }
+
+    // a failed run discards the partial archive, so the sources JAR of the last good run survives
+    private GenerationResult generateInto(final JarOutputSink sink, final List<File> schemaFiles,
+                                          final GenerationOptions options) throws MojoExecutionException {
+        boolean generated = false;
+        try {
+            GenerationResult result = JavaCodeGenerator.getInstance()
+                    .generatePojoFromSchema(schemaFiles, sink, packageName, options);
+            generated = true;
+            return result;
+        } finally {
+            if (!generated) {
+                sink.discard();
+            }
+        }
+    }
+
+    // a failed run must not leave the previous stamp behind
+    private void invalidateStamp(final File stampFile) throws MojoExecutionException {
+        try {
+            BuildStamp.getInstance().invalidate(stampFile);
+        } catch (IOException ex) {
+            throw new MojoExecutionException("Unable to delete build stamp: " + ex.getMessage(), ex);
+        }
+    }
+
+    private GenerationOptions generationOptions(final Charset schemaEncoding) {
+        return GenerationOptions.builder()
+                .incremental(incremental).manifestFile(workFile(MANIFEST_FILE))
+                .threads(threads)
+                .encoding(schemaEncoding)
+                .modelCacheFile(modelCache ? workFile("schema-model.bin") : null)
+                .cacheKeySalt(pluginVersion)
+                .syncOutput(syncOutput)
+                .verify(verify).classOutputDir(classOutputDirectory)
+                .schemaClass(schemaClass)
+                .metadataDir(metadataDirectory)
+                .outputLayout(outputLayout)
+                .typeMetrics(metrics || getLog().isDebugEnabled())
+                .build();
+    }
+
+    private void report(final GenerationResult result) {
+        getLog().info(String.format("Generated %d types: %d files written, %d unchanged",
+                result.getTypeCount(), result.getWrittenFiles(), result.getSkippedFiles()));
+        reportMetrics(result);
+        if (dependencyReport) {
+            writeDependencyReport(result);
+        }
+    }
+
+    private void reportMetrics(final GenerationResult result) {
+        GenerationMetrics runMetrics = result.getMetrics();
+        logMetrics("Phases: " + runMetrics.summaryLine());
+        if (!metrics && !getLog().isDebugEnabled()) {
+            return;
+        }
+        for (String line : runMetrics.summary(slowestTypes)) {
+            logMetrics(line);
+        }
+        if (metrics) {
+            writeMetricsReport(runMetrics, result);
+        }
+    }
+
+    // at info level when metrics were asked for, at debug level otherwise
+    private void logMetrics(final String line) {
+        if (metrics) {
+            getLog().info(line);
+        } else {
+            getLog().debug(line);
+        }
+    }
+
+    private void writeMetricsReport(final GenerationMetrics runMetrics, final GenerationResult result) {
+        File report = workFile("metrics.json");
+        File trace = workFile("metrics-trace.json");
+        try {
+            MetricsReportWriter.getInstance().writeJson(runMetrics, result, slowestTypes, report);
+            MetricsReportWriter.getInstance().writeChromeTrace(runMetrics, trace);
+            getLog().info("Metrics written to " + report + " and " + trace);
+        } catch (IOException ex) {
+            getLog().warn("Unable to write metrics report: " + ex.getMessage());
+        }
+    }
+
+    private void writeDependencyReport(final GenerationResult result) {
+        File report = workFile("dependency-graph.txt");
+        try {
+            Files.createDirectories(workDirectory.toPath());
+            Files.write(report.toPath(), result.getDependencyGraph().describe(), StandardCharsets.UTF_8);
+            getLog().info("Dependency graph written to " + report);
+        } catch (IOException ex) {
+            getLog().warn("Unable to write dependency report: " + ex.getMessage());
+        }
+    }
+
+    private boolean hasSchemaDelta(final List<File> schemaFiles) {
+        for (File schemaFile : schemaFiles) {
+            if (buildContext.hasDelta(schemaFile)) {
+                return true;
+            }
+        }
+        return schemaFiles.isEmpty();
+    }
+
+    // Maven's convention: unset or a single character (e.g. "0") means no fixed timestamp was configured
+    private long resolveEntryTime() throws MojoExecutionException {
+        if (outputTimestamp == null || outputTimestamp.trim().length() < 2) {
+            return JarOutputSink.DEFAULT_ENTRY_TIME;
+        }
+        String value = outputTimestamp.trim();
+        try {
+            if (value.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(value) * MILLIS_PER_SECOND;
+            }
+            return OffsetDateTime.parse(value).toInstant().toEpochMilli();
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new MojoExecutionException("Invalid outputTimestamp: " + outputTimestamp
+                    + ", expected an ISO-8601 date-time or seconds since the epoch", ex);
+        }
+    }
+
+    // the key covers everything the sources depend on but no absolute path, so it matches across machines;
+    // null when there is no schema or it cannot be hashed
+    private String cacheKey(final List<File> schemaFiles, final Charset schemaEncoding, final long entryTime) {
+        if (schemaFiles.isEmpty()) {
+            return null;
+        }
+        try {
+            return portableDigest(schemaFiles, schemaEncoding, entryTime);
+        } catch (IOException ex) {
+            getLog().warn("Unable to compute cache key: " + ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            // a schema on another drive than the project has no path relative to it
+            getLog().warn("Unable to compute cache key, schema files must be on the same drive as "
+                    + baseDirectory);
+        }
+        return null;
+    }
+
+    private String portableDigest(final List<File> schemaFiles, final Charset schemaEncoding, final long entryTime)
+            throws IOException {
+        return SchemaDigest.getInstance().portableDigest(baseDirectory, schemaFiles, packageName,
+                sourcesJar != null ? "jar@" + entryTime : "sources", schemaEncoding.name(), pluginVersion,
+                TypeFingerprinter.FORMAT_VERSION, schemaClass != null ? schemaClass : "", layoutName());
+    }
+
+    private void publishCacheKey(final File keyFile, final String key) {
+        if (key == null) {
+            return;
+        }
+        try {
+            byte[] content = (key + "\n").getBytes(StandardCharsets.UTF_8);
+            if (!keyFile.isFile() || !Arrays.equals(content, Files.readAllBytes(keyFile.toPath()))) {
+                Files.createDirectories(workDirectory.toPath());
+                Files.write(keyFile.toPath(), content);
+            }
+            getLog().debug("Generation cache key: " + key);
+        } catch (IOException ex) {
+            getLog().warn("Unable to write cache key: " + ex.getMessage());
+        }
+    }
+
+    // extends the cache key, which already hashed the schema files, with the absolute locations this build
+    // writes to; hashes the files itself only when there is no cache key, and is null when they cannot be read
+    private String stampKey(final List<File> schemaFiles,
+                            final String cacheKey,
+                            final Charset schemaEncoding,
+                            final long entryTime) {
+        if (schemaFiles.isEmpty()) {
+            return null;
+        }
+        try {
+            if (cacheKey != null) {
+                return SchemaDigest.getInstance().digest(Collections.emptyList(), cacheKey,
+                        baseDirectory.getAbsolutePath(), outputLocation().getAbsolutePath(), verifyPath(),
+                        metadataPath());
+            }
+            return fullStampKey(schemaFiles, schemaEncoding, entryTime);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private String fullStampKey(final List<File> schemaFiles, final Charset schemaEncoding, final long entryTime)
+            throws IOException {
+        return SchemaDigest.getInstance().digest(schemaFiles, packageName,
+                outputLocation().getAbsolutePath(), schemaEncoding.name(), pluginVersion,
+                TypeFingerprinter.FORMAT_VERSION, verifyPath(),
+                sourcesJar != null ? String.valueOf(entryTime) : "", schemaClass != null ? schemaClass : "",
+                metadataPath(), layoutName());
+    }
+
+    private File outputLocation() {
+        return sourcesJar != null ? sourcesJar : outputDir;
+    }
+
+    private String verifyPath() {
+        return verify ? String.valueOf(classOutputDirectory) : "";
+    }
+
+    private String metadataPath() {
+        return metadataDirectory != null ? metadataDirectory.getAbsolutePath() : "";
+    }
+
+    private String layoutName() {
+        return (outputLayout != null ? outputLayout : OutputLayout.FILE_PER_TYPE).name();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.github.surajcm;
+
+import com.github.surajcm.exception.ValidationException;
+import com.github.surajcm.generation.GenerationMetrics;
+import com.github.surajcm.generation.GenerationOptions;
+import com.github.surajcm.generation.GenerationResult;
+import com.github.surajcm.generation.WatchSession;
+import com.github.surajcm.parser.IntrospectionParser;
+import com.github.surajcm.util.BuildStamp;
+import com.github.surajcm.util.SchemaFileResolver;
+import com.github.surajcm.util.WriteIfChangedSink;
+import com.github.surajcm.validator.InputValidator;
+import graphql.GraphQLException;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates the POJOs once and then keeps running, regenerating the affected types whenever a schema file
+ * changes. Stop it with Ctrl+C.
+ *
+ * <p>The parsed schema stays in memory between changes, so an edit only costs parsing the edited file and
+ * writing the types whose content changed. The incremental manifest in the work directory is kept up to
+ * date, so a later {@code generate} run with {@code incremental} enabled picks up where watch left off.
+ */
+@Mojo(name = "watch", threadSafe = true)
+public class WatchMojo extends AbstractGraphQLPojoMojo {
+
+    private static final long POLL_SECONDS = 1;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        List<File> schemaFiles = resolveSchemaFiles();
+        checkSchemaFiles(schemaFiles);
+        validateSchemaClass();
+        List<File> roots = SchemaFileResolver.getInstance().roots(schema, schemaIncludes, baseDirectory);
+        try (WatchSession session = new WatchSession(this::resolveSchemaFilesForWatch, roots,
+                new WriteIfChangedSink(outputDir.toPath()), packageName, watchOptions())) {
+            start(session, schemaFiles.size());
+            watch(session);
+        } catch (IOException | GraphQLException | ValidationException ex) {
+            throw new MojoExecutionException("Unable to generate POJO classes: " + ex.getMessage(), ex);
+        }
+    }
+
+    private void checkSchemaFiles(final List<File> schemaFiles) throws MojoExecutionException {
+        for (File schemaFile : schemaFiles) {
+            if (IntrospectionParser.isIntrospectionFile(schemaFile)) {
+                throw new MojoExecutionException("The watch goal only supports SDL schema files, "
+                        + schemaFile.getPath() + " is an introspection result");
+            }
+        }
+    }
+
+    private void validateSchemaClass() throws MojoExecutionException {
+        if (schemaClass == null) {
+            return;
+        }
+        try {
+            InputValidator.getInstance().validateClassName(schemaClass);
+        } catch (ValidationException ex) {
+            throw new MojoExecutionException("Unable to generate POJO classes: " + ex.getMessage(), ex);
+        }
+    }
+
+    private GenerationOptions watchOptions() throws MojoExecutionException {
+        return GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(workFile(MANIFEST_FILE))
+                .threads(threads)
+                .encoding(resolveEncoding())
+                .outputLayout(outputLayout)
+                .schemaClass(schemaClass)
+                // sources the manifest does not know about are left alone while watching
+                .syncOutput(false)
+                .build();
+    }
+
+    private void start(final WatchSession session, final int schemaFileCount)
+            throws IOException, ValidationException {
+        // sources now change outside the generate goal, so its up-to-date check must not trust the stamp
+        BuildStamp.getInstance().invalidate(workFile(STAMP_FILE));
+        GenerationResult initial = session.start();
+        getLog().info(String.format("Generated %d types: %d files written, %d unchanged",
+                initial.getTypeCount(), initial.getWrittenFiles(), initial.getSkippedFiles()));
+        getLog().info("Watching " + schemaFileCount + " schema file(s) for changes, press Ctrl+C to stop");
+    }
+
+    private void watch(final WatchSession session) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                GenerationResult result = session.poll(POLL_SECONDS, TimeUnit.SECONDS);
+                if (result != null) {
+                    logRegenerated(result);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | GraphQLException | ValidationException ex) {
+                // a broken edit must not end the session; the previous sources stay in place
+                getLog().error("Schema change not applied: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void logRegenerated(final GenerationResult result) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(result.getMetrics().getPhase(GenerationMetrics.TOTAL).getNanos());
+        getLog().info(String.format("Regenerated %d of %d types in %d ms",
+                result.getWrittenFiles(), result.getTypeCount(), millis));
+    }
+
+    private List<File> resolveSchemaFilesForWatch() throws IOException {
+        return SchemaFileResolver.getInstance().resolve(schema, schemaIncludes, baseDirectory);
+    }
+}
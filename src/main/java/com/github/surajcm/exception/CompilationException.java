@@ -0,0 +1,21 @@
+package com.github.surajcm.exception;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class CompilationException extends Exception {
+
+    private static final long serialVersionUID = 42L;
+
+    private final List<String> diagnostics;
+
+    public CompilationException(final String errorMessage, final List<String> diagnostics) {
+        super(diagnostics.isEmpty() ? errorMessage : errorMessage + ":\n  " + String.join("\n  ", diagnostics));
+        this.diagnostics = new ArrayList<>(diagnostics);
+    }
+
+    public List<String> getDiagnostics() {
+        return Collections.unmodifiableList(diagnostics);
+    }
+}
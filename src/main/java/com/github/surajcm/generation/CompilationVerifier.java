@@ -0,0 +1,140 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.exception.CompilationException;
+import com.squareup.javapoet.JavaFile;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compiles generated sources in memory with the {@link JavaCompiler} of the running JDK, so that code which
+ * does not compile fails the generation run instead of the module compile later on.
+ *
+ * <p>Sources are handed to the compiler straight from their {@link JavaFile}s. Class files are either kept
+ * in memory and dropped, or written to a class output directory, which saves a second compile of the
+ * generated sources.
+ */
+public final class CompilationVerifier {
+
+    private static final List<String> COMPILER_OPTIONS = Arrays.asList("-proc:none", "-Xlint:none");
+
+    private static CompilationVerifier instance;
+
+    private CompilationVerifier() {
+    }
+
+    public static synchronized CompilationVerifier getInstance() {
+        if (instance == null) {
+            instance = new CompilationVerifier();
+        }
+        return instance;
+    }
+
+    /**
+     * Compiles the given sources together.
+     *
+     * @param javaFiles the sources to compile
+     * @param classOutputDir the directory to write class files to, or null to discard them
+     * @throws CompilationException if a source does not compile, listing every error by file and line
+     * @throws IOException if the class output directory cannot be written
+     */
+    public void verify(final List<JavaFile> javaFiles, final File classOutputDir)
+            throws CompilationException, IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new CompilationException("No Java compiler available, run the build on a JDK to verify "
+                    + "the generated sources", Collections.emptyList());
+        }
+        List<JavaFileObject> sources = new ArrayList<>(javaFiles.size());
+        for (JavaFile javaFile : javaFiles) {
+            sources.add(javaFile.toJavaFileObject());
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        if (!compile(compiler, sources, classOutputDir, diagnostics)) {
+            throw new CompilationException("Generated sources do not compile", errors(diagnostics));
+        }
+    }
+
+    private boolean compile(final JavaCompiler compiler,
+                            final List<JavaFileObject> sources,
+                            final File classOutputDir,
+                            final DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        try (StandardJavaFileManager standard = compiler.getStandardFileManager(
+                diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+                JavaFileManager fileManager = fileManager(standard, classOutputDir)) {
+            return compiler.getTask(null, fileManager, diagnostics, COMPILER_OPTIONS, null, sources).call();
+        }
+    }
+
+    private JavaFileManager fileManager(final StandardJavaFileManager standard, final File classOutputDir)
+            throws IOException {
+        if (classOutputDir == null) {
+            return new DiscardingFileManager(standard);
+        }
+        Files.createDirectories(classOutputDir.toPath());
+        standard.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classOutputDir));
+        return standard;
+    }
+
+    private List<String> errors(final DiagnosticCollector<JavaFileObject> diagnostics) {
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                String source = diagnostic.getSource() != null ? diagnostic.getSource().getName() : "<unknown>";
+                errors.add(source + ":" + diagnostic.getLineNumber() + ": "
+                        + diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+
+    // class files only need somewhere to go; nothing reads them back
+    private static final class DiscardingFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private DiscardingFileManager(final StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(final Location location,
+                                                   final String className,
+                                                   final JavaFileObject.Kind kind,
+                                                   final FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension),
+                    kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream();
+                }
+            };
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.surajcm.generation;
 
 import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.util.OutputSink;
+import com.github.surajcm.util.WriteIfChangedSink;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.TypeSpec;
 
@@ -34,25 +36,27 @@ public class EnumGenerator {
      * @return the generated JavaFile
      * @throws IOException if file writing fails
      */
-    public JavaFile generateEnum(GraphQLEnumInfo enumInfo, File outputDir, String packageName)
+    public JavaFile generateEnum(final GraphQLEnumInfo enumInfo, final File outputDir, final String packageName)
             throws IOException {
-        TypeSpec.Builder enumBuilder = TypeSpec.enumBuilder(enumInfo.getName())
-                .addModifiers(Modifier.PUBLIC);
-
-        // Add enum constants
-        for (String value : enumInfo.getValues()) {
-            enumBuilder.addEnumConstant(value);
-        }
-
-        TypeSpec enumSpec = enumBuilder.build();
-        JavaFile javaFile = JavaFile.builder(packageName, enumSpec)
-                .indent("    ")
-                .build();
+        return generateEnum(enumInfo, packageName,
+                outputDir != null ? new WriteIfChangedSink(outputDir.toPath()) : null);
+    }
 
-        if (outputDir != null) {
-            javaFile.writeTo(outputDir);
+    /**
+     * Generates a Java enum file and writes it to the given sink.
+     *
+     * @param enumInfo the GraphQL enum information
+     * @param packageName the package name for the generated enum
+     * @param sink the destination of the source, or null to only render it
+     * @return the generated JavaFile
+     * @throws IOException if the sink cannot write the file
+     */
+    public JavaFile generateEnum(final GraphQLEnumInfo enumInfo, final String packageName, final OutputSink sink)
+            throws IOException {
+        JavaFile javaFile = generateEnum(enumInfo, packageName);
+        if (sink != null) {
+            sink.write(javaFile);
         }
-
         return javaFile;
     }
 
@@ -63,12 +67,19 @@ public class EnumGenerator {
      * @param packageName the package name for the generated enum
      * @return the generated JavaFile
      */
-    public JavaFile generateEnum(GraphQLEnumInfo enumInfo, String packageName) {
-        try {
-            return generateEnum(enumInfo, null, packageName);
-        } catch (IOException e) {
-            throw new RuntimeException("Unexpected IOException without file output", e);
+    public JavaFile generateEnum(final GraphQLEnumInfo enumInfo, final String packageName) {
+        TypeSpec.Builder enumBuilder = TypeSpec.enumBuilder(enumInfo.getName())
+                .addModifiers(Modifier.PUBLIC);
+
+        // Add enum constants
+        for (String value : enumInfo.getValues()) {
+            enumBuilder.addEnumConstant(value);
         }
+
+        TypeSpec enumSpec = enumBuilder.build();
+        return JavaFile.builder(packageName, enumSpec)
+                .indent("    ")
+                .build();
     }
 
     /**
@@ -0,0 +1,118 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.mapper.TypeMapper;
+import com.github.surajcm.mapper.TypeSymbolTable;
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable state of a single generation run: the target package and the resolved type symbols.
+ *
+ * <p>Created once per execution and passed to the generators instead of being stored in shared
+ * singletons, so concurrent executions (e.g. {@code mvn -T}) and parallel generation never interfere.
+ */
+public final class GenerationContext {
+
+    private final String packageName;
+    private final TypeSymbolTable symbols;
+
+    private GenerationContext(final String packageName, final TypeSymbolTable symbols) {
+        this.packageName = packageName;
+        this.symbols = symbols;
+    }
+
+    /**
+     * Creates the context for a whole schema.
+     *
+     * @param model the extracted schema
+     * @param packageName the package of the generated sources
+     * @return the generation context
+     */
+    public static GenerationContext create(final SchemaModel model, final String packageName) {
+        return create(model, packageName, null);
+    }
+
+    /**
+     * Creates the context for a whole schema whose types are nested in the compilation units of the given
+     * groups.
+     *
+     * @param model the extracted schema
+     * @param packageName the package of the generated sources
+     * @param groups the units the types are nested in, or null for one file per type
+     * @return the generation context
+     */
+    public static GenerationContext create(final SchemaModel model,
+                                           final String packageName,
+                                           final TypeGroups groups) {
+        Set<String> typeNames = new LinkedHashSet<>();
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            addTypeNames(typeNames, typeInfo);
+        }
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            typeNames.add(enumInfo.getName());
+        }
+        Map<String, TypeName> mappings = scalarMappings(model);
+        if (groups != null) {
+            addGroupMappings(mappings, typeNames, groups, packageName);
+        }
+        return new GenerationContext(packageName, TypeSymbolTable.build(mappings, typeNames, packageName));
+    }
+
+    private static Map<String, TypeName> scalarMappings(final SchemaModel model) {
+        Map<String, TypeName> mappings = new HashMap<>(TypeMapper.getInstance().getScalarMappings());
+        for (GraphQLTypeInfo scalar : model.getScalarTypes()) {
+            // a custom scalar without a configured mapping has no generated class to refer to
+            mappings.putIfAbsent(scalar.getName(), ClassName.OBJECT);
+        }
+        return mappings;
+    }
+
+    // types nested in a unit are referred to through it
+    private static void addGroupMappings(final Map<String, TypeName> mappings,
+                                         final Set<String> typeNames,
+                                         final TypeGroups groups,
+                                         final String packageName) {
+        for (String typeName : typeNames) {
+            String group = groups.getGroup(typeName);
+            if (group != null) {
+                mappings.put(typeName, ClassName.get(packageName, group, typeName));
+            }
+        }
+    }
+
+    /**
+     * Creates a context that only knows about a single type, for generating it in isolation.
+     *
+     * @param typeInfo the type to generate
+     * @param packageName the package of the generated source
+     * @return the generation context
+     */
+    public static GenerationContext forType(final GraphQLTypeInfo typeInfo, final String packageName) {
+        return create(new SchemaModel(Collections.singletonList(typeInfo), null), packageName);
+    }
+
+    private static void addTypeNames(final Set<String> typeNames, final GraphQLTypeInfo typeInfo) {
+        typeNames.add(typeInfo.getName());
+        for (GraphQLFieldInfo field : typeInfo.getFields()) {
+            typeNames.add(field.getTypeName());
+        }
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public TypeSymbolTable getSymbols() {
+        return symbols;
+    }
+}
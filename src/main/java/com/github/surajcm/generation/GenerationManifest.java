@@ -0,0 +1,116 @@
+package com.github.surajcm.generation;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Records the content hash of every generated type from the previous run, plus the Java type every
+ * referenced GraphQL type resolved to, so that the types referring to it are regenerated when that changes.
+ *
+ * <p>Stored as a sorted {@code name=hash} text file so that it diffs cleanly and loads without any
+ * extra dependencies. Resolved types are stored as {@code @name=javaType}; no GraphQL name starts with
+ * {@code @}.
+ */
+public final class GenerationManifest {
+
+    private static final String HEADER = "# graphql-pojo-maven-plugin generation manifest";
+    private static final String SIGNATURE_PREFIX = "@";
+
+    private final Map<String, String> hashes = new TreeMap<>();
+    private final Map<String, String> signatures = new TreeMap<>();
+
+    /**
+     * Loads a manifest from disk, returning an empty manifest if the file does not exist.
+     *
+     * @param manifestFile the manifest file
+     * @return the loaded manifest
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static GenerationManifest load(final File manifestFile) throws IOException {
+        GenerationManifest manifest = new GenerationManifest();
+        if (manifestFile == null || !manifestFile.isFile()) {
+            return manifest;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                manifest.read(line);
+            }
+        }
+        return manifest;
+    }
+
+    private void read(final String line) {
+        int separator = line.lastIndexOf('=');
+        if (line.startsWith(SIGNATURE_PREFIX) && separator > 1) {
+            signatures.put(line.substring(1, separator), line.substring(separator + 1));
+        } else if (!line.startsWith("#") && separator > 0) {
+            hashes.put(line.substring(0, separator), line.substring(separator + 1));
+        }
+    }
+
+    /**
+     * Writes the manifest to disk, creating parent directories as needed.
+     *
+     * @param manifestFile the manifest file
+     * @throws IOException if the file cannot be written
+     */
+    public void store(final File manifestFile) throws IOException {
+        File parent = manifestFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            write(writer, "", hashes);
+            write(writer, SIGNATURE_PREFIX, signatures);
+        }
+    }
+
+    private void write(final BufferedWriter writer, final String prefix, final Map<String, String> entries)
+            throws IOException {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            writer.write(prefix + entry.getKey() + "=" + entry.getValue());
+            writer.newLine();
+        }
+    }
+
+    public void put(final String typeName, final String hash) {
+        hashes.put(typeName, hash);
+    }
+
+    public String get(final String typeName) {
+        return hashes.get(typeName);
+    }
+
+    /**
+     * Records the Java type a referenced GraphQL type resolved to.
+     *
+     * @param typeName the GraphQL type name
+     * @param javaType the resolved Java type
+     */
+    public void putSignature(final String typeName, final String javaType) {
+        signatures.put(typeName, javaType);
+    }
+
+    public String getSignature(final String typeName) {
+        return signatures.get(typeName);
+    }
+
+    public boolean isEmpty() {
+        return hashes.isEmpty();
+    }
+
+    public Set<String> getTypeNames() {
+        return Collections.unmodifiableSet(hashes.keySet());
+    }
+}
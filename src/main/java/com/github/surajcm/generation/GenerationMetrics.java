@@ -0,0 +1,387 @@
+package com.github.surajcm.generation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Collects per-phase and per-type timings and allocated bytes of a single generation run.
+ *
+ * <p>Every measured region is a {@link Span}: the wall time between {@link #start(String)} and
+ * {@link Span#close()}, plus the bytes allocated by the calling thread meanwhile (when the JVM exposes
+ * per-thread allocation counters). Spans may be recorded concurrently from generation threads, so the
+ * totals of the {@code render} and {@code write} phases are summed over threads. The {@code generate} phase
+ * is the wall time of the whole streaming render and write stage, fingerprinting included.
+ *
+ * <p>Per-type spans are only kept, and only measure allocation, when type detail is requested; otherwise
+ * they just add their time to the phase totals, so that a large schema costs no memory per type.
+ */
+public final class GenerationMetrics {
+
+    public static final String TOTAL = "total";
+    public static final String VALIDATE = "validate";
+    public static final String DIGEST = "digest";
+    public static final String CACHE_READ = "cache-read";
+    public static final String PARSE = "parse";
+    public static final String EXTRACT = "extract";
+    public static final String CACHE_WRITE = "cache-write";
+    public static final String CLEAN = "clean";
+    public static final String SYMBOLS = "symbols";
+    public static final String DEPENDENCIES = "dependencies";
+    public static final String FINGERPRINT = "fingerprint";
+    public static final String GENERATE = "generate";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+    public static final String SCHEMA_CLASS = "schema-class";
+    public static final String METADATA = "metadata";
+    public static final String VERIFY = "verify";
+    public static final String MANIFEST = "manifest";
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+    private static final com.sun.management.ThreadMXBean ALLOCATION_COUNTER = allocationCounter();
+
+    private final boolean typeDetail;
+    private final long origin = System.nanoTime();
+    private final Map<String, PhaseTiming> phases = new LinkedHashMap<>();
+    private final Map<String, TypeTiming> types = new ConcurrentHashMap<>();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates metrics that keep the spans of every type, for the slowest types and the trace.
+     */
+    public GenerationMetrics() {
+        this(true);
+    }
+
+    /**
+     * Creates metrics for a run.
+     *
+     * @param typeDetail whether per-type spans are kept, with their allocated bytes, for the slowest types
+     *                   and the trace; without it they only count towards the phase totals
+     */
+    public GenerationMetrics(final boolean typeDetail) {
+        this.typeDetail = typeDetail;
+    }
+
+    /**
+     * Starts measuring a phase; close the returned span to record it.
+     *
+     * @param phase the phase name
+     * @return the running span
+     */
+    public Span start(final String phase) {
+        return new Span(this, phase, null);
+    }
+
+    /**
+     * Starts measuring the work a phase does for a single type.
+     *
+     * @param phase the phase name, typically {@link #RENDER} or {@link #WRITE}
+     * @param typeName the GraphQL type being generated
+     * @return the running span
+     */
+    public Span startType(final String phase, final String typeName) {
+        return new Span(this, phase, typeName);
+    }
+
+    /**
+     * Whether allocated bytes are measured; false on JVMs without per-thread allocation counters.
+     *
+     * @return true if allocation counters are available
+     */
+    public static boolean isAllocationTracked() {
+        return ALLOCATION_COUNTER != null;
+    }
+
+    /**
+     * The phases in the order they were first recorded.
+     *
+     * @return the phase timings
+     */
+    public synchronized List<PhaseTiming> getPhases() {
+        return new ArrayList<>(phases.values());
+    }
+
+    /**
+     * Looks up a phase by name.
+     *
+     * @param phase the phase name
+     * @return the phase timing, or null if the phase was never recorded
+     */
+    public synchronized PhaseTiming getPhase(final String phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * The types that took longest to render and write.
+     *
+     * @param limit the maximum number of types to return
+     * @return the slowest types, slowest first
+     */
+    public List<TypeTiming> slowestTypes(final int limit) {
+        return types.values().stream()
+                .sorted(Comparator.comparingLong(TypeTiming::getTotalNanos).reversed()
+                        .thenComparing(TypeTiming::getTypeName))
+                .limit(Math.max(0, limit))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Every recorded span, ordered by start time, for trace output.
+     *
+     * @return the spans
+     */
+    public List<Span> getSpans() {
+        List<Span> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(Span::getStartNanos));
+        return Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Formats the phase totals on a single line, e.g. {@code parse 120 ms, extract 14 ms, ...}.
+     *
+     * @return the one line summary
+     */
+    public String summaryLine() {
+        return getPhases().stream()
+                .map(phase -> phase.getName() + " " + phase.getNanos() / NANOS_PER_MILLI + " ms")
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Formats the phase totals and the slowest types for the build log.
+     *
+     * @param slowest the number of slowest types to list
+     * @return the summary lines
+     */
+    public List<String> summary(final int slowest) {
+        List<String> lines = new ArrayList<>();
+        lines.add("Generation phases (render and write are summed over threads):");
+        for (PhaseTiming phase : getPhases()) {
+            lines.add(String.format("  %-12s %8d ms %10s %8d call(s)", phase.getName(),
+                    phase.getNanos() / NANOS_PER_MILLI, megabytes(phase.getAllocatedBytes()), phase.getCount()));
+        }
+        addSlowestTypes(lines, slowestTypes(slowest));
+        return lines;
+    }
+
+    private void addSlowestTypes(final List<String> lines, final List<TypeTiming> slowestTypes) {
+        if (slowestTypes.isEmpty()) {
+            return;
+        }
+        lines.add("Slowest types:");
+        for (TypeTiming type : slowestTypes) {
+            lines.add(String.format("  %-40s %8.2f ms (render %.2f, write %.2f) %10s", type.getTypeName(),
+                    millis(type.getTotalNanos()), millis(type.getRenderNanos()), millis(type.getWriteNanos()),
+                    megabytes(type.getAllocatedBytes())));
+        }
+    }
+
+    long getOrigin() {
+        return origin;
+    }
+
+    private void collect(final Span span) {
+        PhaseTiming phase;
+        synchronized (this) {
+            phase = phases.computeIfAbsent(span.phase, PhaseTiming::new);
+        }
+        phase.add(span.getDurationNanos(), span.getAllocatedBytes());
+        if (!span.detailed) {
+            return;
+        }
+        spans.add(span);
+        if (span.typeName != null) {
+            types.computeIfAbsent(span.typeName, TypeTiming::new).add(span);
+        }
+    }
+
+    private static String megabytes(final long bytes) {
+        return bytes < 0 ? "n/a" : String.format("%.1f MB", bytes / BYTES_PER_MB);
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / (double) NANOS_PER_MILLI;
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION_COUNTER != null
+                ? ALLOCATION_COUNTER.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        try {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) bean;
+                if (counter.isThreadAllocatedMemorySupported()) {
+                    counter.setThreadAllocatedMemoryEnabled(true);
+                    return counter;
+                }
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError ignored) {
+            // fall through: allocation is reported as n/a
+        }
+        return null;
+    }
+
+    /**
+     * A measured region of a phase, optionally for a single type.
+     */
+    public static final class Span implements AutoCloseable {
+        private final GenerationMetrics metrics;
+        private final String phase;
+        private final String typeName;
+        private final boolean detailed;
+        private final long threadId;
+        private final long startNanos;
+        private final long startAllocated;
+        private long durationNanos;
+        private long allocatedBytes;
+
+        private Span(final GenerationMetrics metrics, final String phase, final String typeName) {
+            this.metrics = metrics;
+            this.phase = phase;
+            this.typeName = typeName;
+            this.detailed = typeName == null || metrics.typeDetail;
+            this.threadId = Thread.currentThread().getId();
+            this.startAllocated = detailed ? allocatedBytes() : -1;
+            this.startNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            durationNanos = System.nanoTime() - startNanos;
+            allocatedBytes = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+            metrics.collect(this);
+        }
+
+        public String getPhase() {
+            return phase;
+        }
+
+        public String getTypeName() {
+            return typeName;
+        }
+
+        public long getThreadId() {
+            return threadId;
+        }
+
+        /**
+         * Start of the span relative to the start of the run.
+         *
+         * @return nanoseconds since the metrics were created
+         */
+        public long getStartNanos() {
+            return startNanos - metrics.getOrigin();
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Bytes allocated by the thread while the span was open.
+         *
+         * @return allocated bytes, or -1 if not tracked
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    /**
+     * Totals of a phase over all its spans.
+     */
+    public static final class PhaseTiming {
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+
+        private PhaseTiming(final String name) {
+            this.name = name;
+        }
+
+        private void add(final long spanNanos, final long spanAllocated) {
+            count.incrementAndGet();
+            nanos.addAndGet(spanNanos);
+            if (spanAllocated < 0) {
+                allocatedBytes.set(-1);
+            } else {
+                allocatedBytes.getAndUpdate(total -> total < 0 ? total : total + spanAllocated);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getNanos() {
+            return nanos.get();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.get();
+        }
+    }
+
+    /**
+     * Render and write timings of a single type.
+     */
+    public static final class TypeTiming {
+        private final String typeName;
+        private final AtomicLong renderNanos = new AtomicLong();
+        private final AtomicLong writeNanos = new AtomicLong();
+        private final AtomicLong allocatedBytes = new AtomicLong();
+
+        private TypeTiming(final String typeName) {
+            this.typeName = typeName;
+        }
+
+        private void add(final Span span) {
+            (RENDER.equals(span.phase) ? renderNanos : writeNanos).addAndGet(span.durationNanos);
+            if (span.allocatedBytes < 0) {
+                allocatedBytes.set(-1);
+            } else {
+                allocatedBytes.getAndUpdate(total -> total < 0 ? total : total + span.allocatedBytes);
+            }
+        }
+
+        public String getTypeName() {
+            return typeName;
+        }
+
+        public long getRenderNanos() {
+            return renderNanos.get();
+        }
+
+        public long getWriteNanos() {
+            return writeNanos.get();
+        }
+
+        public long getTotalNanos() {
+            return renderNanos.get() + writeNanos.get();
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes.get();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.surajcm.generation;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Settings that control how {@link JavaCodeGenerator} produces its output.
+ */
+public final class GenerationOptions {
+
+    private final boolean incremental;
+    private final File manifestFile;
+    private final int threads;
+    private final Charset encoding;
+    private final File modelCacheFile;
+    private final String cacheKeySalt;
+    private final boolean verify;
+    private final File classOutputDir;
+    private final boolean syncOutput;
+    private final String schemaClass;
+    private final File metadataDir;
+    private final OutputLayout outputLayout;
+    private final boolean typeMetrics;
+
+    private GenerationOptions(final Builder builder) {
+        this.incremental = builder.incremental;
+        this.manifestFile = builder.manifestFile;
+        this.threads = builder.threads;
+        this.encoding = builder.encoding;
+        this.modelCacheFile = builder.modelCacheFile;
+        this.cacheKeySalt = builder.cacheKeySalt;
+        this.verify = builder.verify;
+        this.classOutputDir = builder.classOutputDir;
+        this.syncOutput = builder.syncOutput;
+        this.schemaClass = builder.schemaClass;
+        this.metadataDir = builder.metadataDir;
+        this.outputLayout = builder.outputLayout;
+        this.typeMetrics = builder.typeMetrics;
+    }
+
+    /**
+     * Returns the options used when nothing has been configured.
+     *
+     * @return default generation options
+     */
+    public static GenerationOptions defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Whether only the types whose content hash changed since the last run should be regenerated.
+     *
+     * @return true if incremental generation is enabled
+     */
+    public boolean isIncremental() {
+        return incremental && manifestFile != null;
+    }
+
+    public File getManifestFile() {
+        return manifestFile;
+    }
+
+    /**
+     * Number of threads used to render and write types; 1 keeps generation on the calling thread.
+     *
+     * @return the number of generation threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Character encoding of the schema files.
+     *
+     * @return the schema encoding, UTF-8 unless configured otherwise
+     */
+    public Charset getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * File holding the binary snapshot of the extracted schema model.
+     *
+     * @return the snapshot file, or null if the model should not be cached
+     */
+    public File getModelCacheFile() {
+        return modelCacheFile;
+    }
+
+    /**
+     * Extra value mixed into cache keys, typically the plugin version, so that snapshots written by a
+     * different plugin build are never reused.
+     *
+     * @return the cache key salt
+     */
+    public String getCacheKeySalt() {
+        return cacheKeySalt;
+    }
+
+    /**
+     * Whether the generated sources are compiled in memory before the run is reported successful.
+     *
+     * @return true if generated sources are verified
+     */
+    public boolean isVerify() {
+        return verify;
+    }
+
+    /**
+     * Directory the verification compile writes its class files to.
+     *
+     * @return the class output directory, or null to discard the class files
+     */
+    public File getClassOutputDir() {
+        return classOutputDir;
+    }
+
+    /**
+     * Whether the output package is synchronized after writing, deleting only the sources of types that
+     * are no longer generated, instead of being wiped before a full run. Enabled by default, so that a
+     * sink comparing content leaves unchanged sources untouched.
+     *
+     * @return true if the output is synchronized rather than cleaned
+     */
+    public boolean isSyncOutput() {
+        return syncOutput;
+    }
+
+    /**
+     * Simple name of a class, generated next to the POJOs, that builds the schema's type definition registry
+     * without parsing the schema.
+     *
+     * @return the class name, or null if no schema class is generated
+     */
+    public String getSchemaClass() {
+        return schemaClass;
+    }
+
+    /**
+     * Resource directory that receives the GraalVM native-image reflection configuration and the AppCDS
+     * class list of the generated types.
+     *
+     * @return the metadata directory, or null if no metadata is written
+     */
+    public File getMetadataDir() {
+        return metadataDir;
+    }
+
+    /**
+     * How the generated types are laid out over compilation units.
+     *
+     * @return the output layout, one file per type unless configured otherwise
+     */
+    public OutputLayout getOutputLayout() {
+        return outputLayout;
+    }
+
+    /**
+     * Whether the metrics of the run keep per-type timings for the slowest types and the trace; the phase
+     * totals are always measured.
+     *
+     * @return true if per-type metrics are recorded
+     */
+    public boolean isTypeMetrics() {
+        return typeMetrics;
+    }
+
+    /**
+     * Builder for {@link GenerationOptions}.
+     */
+    public static final class Builder {
+        private boolean incremental;
+        private File manifestFile;
+        private int threads = 1;
+        private Charset encoding = StandardCharsets.UTF_8;
+        private File modelCacheFile;
+        private String cacheKeySalt = "";
+        private boolean verify;
+        private File classOutputDir;
+        private boolean syncOutput = true;
+        private String schemaClass;
+        private File metadataDir;
+        private OutputLayout outputLayout = OutputLayout.FILE_PER_TYPE;
+        private boolean typeMetrics;
+
+        private Builder() {
+        }
+
+        public Builder incremental(final boolean incremental) {
+            this.incremental = incremental;
+            return this;
+        }
+
+        public Builder manifestFile(final File manifestFile) {
+            this.manifestFile = manifestFile;
+            return this;
+        }
+
+        public Builder threads(final int threads) {
+            this.threads = Math.max(1, threads);
+            return this;
+        }
+
+        public Builder encoding(final Charset encoding) {
+            this.encoding = encoding != null ? encoding : StandardCharsets.UTF_8;
+            return this;
+        }
+
+        public Builder modelCacheFile(final File modelCacheFile) {
+            this.modelCacheFile = modelCacheFile;
+            return this;
+        }
+
+        public Builder cacheKeySalt(final String cacheKeySalt) {
+            this.cacheKeySalt = cacheKeySalt != null ? cacheKeySalt : "";
+            return this;
+        }
+
+        public Builder verify(final boolean verify) {
+            this.verify = verify;
+            return this;
+        }
+
+        public Builder classOutputDir(final File classOutputDir) {
+            this.classOutputDir = classOutputDir;
+            return this;
+        }
+
+        public Builder syncOutput(final boolean syncOutput) {
+            this.syncOutput = syncOutput;
+            return this;
+        }
+
+        public Builder schemaClass(final String schemaClass) {
+            this.schemaClass = schemaClass != null && !schemaClass.trim().isEmpty() ? schemaClass.trim() : null;
+            return this;
+        }
+
+        public Builder metadataDir(final File metadataDir) {
+            this.metadataDir = metadataDir;
+            return this;
+        }
+
+        public Builder outputLayout(final OutputLayout outputLayout) {
+            this.outputLayout = outputLayout != null ? outputLayout : OutputLayout.FILE_PER_TYPE;
+            return this;
+        }
+
+        public Builder typeMetrics(final boolean typeMetrics) {
+            this.typeMetrics = typeMetrics;
+            return this;
+        }
+
+        public GenerationOptions build() {
+            return new GenerationOptions(this);
+        }
+    }
+}
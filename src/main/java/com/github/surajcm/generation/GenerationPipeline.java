@@ -0,0 +1,160 @@
+package com.github.surajcm.generation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Streams {@link GenerationUnit}s from the thread that decides what to generate to a fixed set of worker
+ * threads that render and write them.
+ *
+ * <p>Units pass through a bounded queue: when the workers fall behind, {@link #submit} blocks until a slot
+ * frees up. At most {@code capacity + threads} units are queued or in flight at any time, so the rendered
+ * sources held in memory stay constant however large the schema is, and rendering starts as soon as the
+ * first stale type is found. With a single thread units run directly on the submitting thread.
+ *
+ * <p>The first failure stops the pipeline: the remaining units are drained without running and the failure
+ * is rethrown from {@link #submit} or {@link #finish}.
+ */
+final class GenerationPipeline implements AutoCloseable {
+
+    private static final int CAPACITY_PER_THREAD = 4;
+
+    private static final GenerationUnit END = () -> {
+    };
+
+    private final BlockingQueue<GenerationUnit> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private boolean finished;
+
+    GenerationPipeline(final int threads) {
+        if (threads <= 1) {
+            queue = null;
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(threads * CAPACITY_PER_THREAD);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, "graphql-pojo-generator-" + (i + 1));
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    /**
+     * Hands a unit to the workers, waiting while the queue is full.
+     *
+     * @param unit the unit to run
+     * @throws IOException if this or an earlier unit failed, or the thread was interrupted while waiting
+     */
+    void submit(final GenerationUnit unit) throws IOException {
+        if (queue == null) {
+            unit.generate();
+            return;
+        }
+        rethrowFailure();
+        put(unit);
+    }
+
+    /**
+     * Waits for every submitted unit to complete.
+     *
+     * @throws IOException if a unit failed, or the thread was interrupted while waiting
+     */
+    void finish() throws IOException {
+        stop();
+        rethrowFailure();
+    }
+
+    /**
+     * Stops the workers without waiting for the queued units if {@link #finish} was not reached, e.g.
+     * because deciding what to generate failed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            failure.compareAndSet(null, new InterruptedIOException("Generation was cancelled"));
+            stop();
+        }
+    }
+
+    private void stop() throws IOException {
+        finished = true;
+        if (queue == null) {
+            return;
+        }
+        for (int i = 0; i < workers.size(); i++) {
+            put(END);
+        }
+        join();
+    }
+
+    private void join() throws IOException {
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the generation threads");
+        }
+    }
+
+    private void put(final GenerationUnit unit) throws IOException {
+        try {
+            queue.put(unit);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, exception);
+            throw new InterruptedIOException("Interrupted while queuing a type for generation");
+        }
+    }
+
+    private void work() {
+        GenerationUnit unit = take();
+        while (unit != END) {
+            // once something failed the remaining units are only drained, so that submit never blocks forever
+            if (failure.get() == null) {
+                try {
+                    unit.generate();
+                } catch (IOException | RuntimeException | Error exception) { // OK to catch RuntimeException
+                    // OK to catch Error as well, a worker must never end without reporting why
+                    failure.compareAndSet(null, exception);
+                }
+            }
+            unit = take();
+        }
+    }
+
+    private GenerationUnit take() {
+        while (true) {
+            try {
+                return queue.take();
+            } catch (InterruptedException exception) {
+                // the workers are only ever stopped through END, which the submitting thread always sends
+                failure.compareAndSet(null, exception);
+            }
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        Throwable cause = failure.get();
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause != null) {
+            throw new InterruptedIOException("A generation thread was interrupted");
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.model.TypeDependencyGraph;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Summary of a generation run, reported at the end of the goal.
+ */
+public final class GenerationResult {
+
+    private final int typeCount;
+    private final Set<String> sourceTypes;
+    private final int writtenFiles;
+    private final int skippedFiles;
+    private final GenerationMetrics metrics;
+    private final TypeDependencyGraph dependencyGraph;
+
+    public GenerationResult(final int typeCount, final int writtenFiles, final int skippedFiles) {
+        this(typeCount, writtenFiles, skippedFiles, new GenerationMetrics());
+    }
+
+    public GenerationResult(final int typeCount,
+                            final int writtenFiles,
+                            final int skippedFiles,
+                            final GenerationMetrics metrics) {
+        this(typeCount, writtenFiles, skippedFiles, metrics, null);
+    }
+
+    public GenerationResult(final int typeCount,
+                            final int writtenFiles,
+                            final int skippedFiles,
+                            final GenerationMetrics metrics,
+                            final TypeDependencyGraph dependencyGraph) {
+        this(typeCount, Collections.emptySet(), writtenFiles, skippedFiles, metrics, dependencyGraph);
+    }
+
+    public GenerationResult(final int typeCount,
+                            final Set<String> sourceTypes,
+                            final int writtenFiles,
+                            final int skippedFiles,
+                            final GenerationMetrics metrics,
+                            final TypeDependencyGraph dependencyGraph) {
+        this.typeCount = typeCount;
+        this.sourceTypes = Collections.unmodifiableSet(new LinkedHashSet<>(sourceTypes));
+        this.writtenFiles = writtenFiles;
+        this.skippedFiles = skippedFiles;
+        this.metrics = metrics;
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    /**
+     * Number of types in the schema that map to a generated file.
+     *
+     * @return the type count
+     */
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    /**
+     * Number of source files the run produced: one per type, or one per unit in the grouped layout, plus the
+     * schema class if one is generated.
+     *
+     * @return the source file count
+     */
+    public int getSourceCount() {
+        return sourceTypes.size();
+    }
+
+    /**
+     * Names of the top-level types of the source files the run produced, one per file.
+     *
+     * @return the source type names
+     */
+    public Set<String> getSourceTypes() {
+        return sourceTypes;
+    }
+
+    /**
+     * Number of files whose content changed and was written to disk.
+     *
+     * @return the written file count
+     */
+    public int getWrittenFiles() {
+        return writtenFiles;
+    }
+
+    /**
+     * Number of rendered files that were identical to the existing copy and left untouched.
+     *
+     * @return the skipped file count
+     */
+    public int getSkippedFiles() {
+        return skippedFiles;
+    }
+
+    /**
+     * Per-phase and per-type timings of the run.
+     *
+     * @return the metrics
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * The dependency graph of the generated schema, used to find the types a change affects.
+     *
+     * @return the dependency graph, or null if the run did not build one
+     */
+    public TypeDependencyGraph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
+    @Override
+    public String toString() {
+        return "GenerationResult{"
+                + "typeCount=" + typeCount
+                + ", sourceCount=" + sourceTypes.size()
+                + ", writtenFiles=" + writtenFiles
+                + ", skippedFiles=" + skippedFiles
+                + '}';
+    }
+}
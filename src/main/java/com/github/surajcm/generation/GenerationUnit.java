@@ -0,0 +1,17 @@
+package com.github.surajcm.generation;
+
+import java.io.IOException;
+
+/**
+ * A single render-and-write step for one generated type.
+ */
+@FunctionalInterface
+interface GenerationUnit {
+
+    /**
+     * Renders the type and writes it to its destination.
+     *
+     * @throws IOException if writing fails
+     */
+    void generate() throws IOException;
+}
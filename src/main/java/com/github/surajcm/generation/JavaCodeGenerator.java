@@ -1,18 +1,34 @@
 package com.github.surajcm.generation;
 
+import com.github.surajcm.exception.CompilationException;
 import com.github.surajcm.exception.ValidationException;
 import com.github.surajcm.model.GraphQLEnumInfo;
 import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.model.TypeDependencyGraph;
+import com.github.surajcm.parser.IntrospectionParser;
 import com.github.surajcm.parser.SchemaParser;
 import com.github.surajcm.parser.SchemaTypeExtractor;
-import com.github.surajcm.util.FileUtils;
+import com.github.surajcm.util.OutputSink;
+import com.github.surajcm.util.SchemaDigest;
+import com.github.surajcm.util.SchemaModelCache;
+import com.github.surajcm.util.TypeFingerprinter;
+import com.github.surajcm.util.WriteIfChangedSink;
 import com.github.surajcm.validator.InputValidator;
+import com.squareup.javapoet.JavaFile;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import org.apache.maven.plugin.MojoExecutionException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Orchestrates the POJO generation process from GraphQL schema files.
@@ -37,48 +53,536 @@ public final class JavaCodeGenerator {
      * @param schema the GraphQL schema file
      * @param outputDir the output directory for generated files
      * @param packageName the package name for generated classes
+     * @return a summary of the files that were written or left untouched
      * @throws MojoExecutionException if generation fails
      */
-    public void generatePojoFromSchema(final File schema,
-                                       final File outputDir,
-                                       final String packageName)
+    public GenerationResult generatePojoFromSchema(final File schema,
+                                                   final File outputDir,
+                                                   final String packageName)
             throws MojoExecutionException {
-        try {
-            // Validate inputs
-            InputValidator.getInstance().validateInputs(schema, outputDir, packageName);
-
-            // Clean and recreate output directory
-            FileUtils.getInstance().cleanAndRecreateOutputDir(outputDir, packageName);
-
-            // Parse the schema
-            TypeDefinitionRegistry registry = SchemaParser.getInstance().parse(schema);
-
-            // Extract types
-            SchemaTypeExtractor extractor = SchemaTypeExtractor.getInstance();
-            List<GraphQLTypeInfo> objectTypes = extractor.extractObjectTypes(registry);
-            List<GraphQLTypeInfo> inputTypes = extractor.extractInputTypes(registry);
-            List<GraphQLEnumInfo> enumTypes = extractor.extractEnumTypes(registry);
-
-            // Generate POJOs for object types
-            SourceCodeGenerator generator = SourceCodeGenerator.getInstance();
-            for (GraphQLTypeInfo typeInfo : objectTypes) {
-                generator.generatePojo(typeInfo, outputDir, packageName);
+        return generatePojoFromSchema(schema, outputDir, packageName, GenerationOptions.defaults());
+    }
+
+    /**
+     * Generates POJOs from a GraphQL schema file using the given options.
+     *
+     * @param schema the GraphQL schema file
+     * @param outputDir the output directory for generated files
+     * @param packageName the package name for generated classes
+     * @param options the generation options
+     * @return a summary of the files that were written or left untouched
+     * @throws MojoExecutionException if generation fails
+     */
+    public GenerationResult generatePojoFromSchema(final File schema,
+                                                   final File outputDir,
+                                                   final String packageName,
+                                                   final GenerationOptions options)
+            throws MojoExecutionException {
+        return generatePojoFromSchema(Collections.singletonList(schema), outputDir, packageName, options);
+    }
+
+    /**
+     * Generates POJOs from several GraphQL schema files, which are parsed concurrently and merged.
+     *
+     * @param schemas the GraphQL schema files, in merge order
+     * @param outputDir the output directory for generated files
+     * @param packageName the package name for generated classes
+     * @param options the generation options
+     * @return a summary of the files that were written or left untouched
+     * @throws MojoExecutionException if generation fails
+     */
+    public GenerationResult generatePojoFromSchema(final List<File> schemas,
+                                                   final File outputDir,
+                                                   final String packageName,
+                                                   final GenerationOptions options)
+            throws MojoExecutionException {
+        return generate(schemas, outputDir, null, packageName, options);
+    }
+
+    /**
+     * Generates POJOs from several GraphQL schema files into the given sink, e.g. a sources JAR or memory.
+     * The sink is not closed; the caller finishes it once generation returns.
+     *
+     * @param schemas the GraphQL schema files, in merge order
+     * @param sink the destination of the generated sources
+     * @param packageName the package name for generated classes
+     * @param options the generation options
+     * @return a summary of the files that were written or left untouched
+     * @throws MojoExecutionException if generation fails
+     */
+    public GenerationResult generatePojoFromSchema(final List<File> schemas,
+                                                   final OutputSink sink,
+                                                   final String packageName,
+                                                   final GenerationOptions options)
+            throws MojoExecutionException {
+        return generate(schemas, null, Objects.requireNonNull(sink, "sink"), packageName, options);
+    }
+
+    private GenerationResult generate(final List<File> schemas,
+                                      final File outputDir,
+                                      final OutputSink target,
+                                      final String packageName,
+                                      final GenerationOptions options)
+            throws MojoExecutionException {
+        GenerationMetrics metrics = new GenerationMetrics(options.isTypeMetrics());
+        try (GenerationMetrics.Span total = metrics.start(GenerationMetrics.TOTAL)) {
+            validateInputs(schemas, outputDir, target, packageName, options, metrics);
+            OutputSink sink = target != null ? target : new WriteIfChangedSink(outputDir.toPath());
+            return generateInto(schemas, sink, packageName, options, metrics);
+        } catch (ValidationException | CompilationException | IOException ex) {
+            throw new MojoExecutionException("Unable to generate POJO classes: " + ex.getMessage(), ex);
+        }
+    }
+
+    // a sink given by the caller has no output directory to check
+    private void validateInputs(final List<File> schemas,
+                                final File outputDir,
+                                final OutputSink target,
+                                final String packageName,
+                                final GenerationOptions options,
+                                final GenerationMetrics metrics) throws ValidationException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.VALIDATE)) {
+            if (target == null) {
+                InputValidator.getInstance().validateAllInputs(schemas, outputDir, packageName);
+            } else {
+                InputValidator.getInstance().validateSchemas(schemas, packageName);
+            }
+            if (options.getSchemaClass() != null) {
+                InputValidator.getInstance().validateClassName(options.getSchemaClass());
+            }
+        }
+    }
+
+    private GenerationResult generateInto(final List<File> schemas,
+                                          final OutputSink sink,
+                                          final String packageName,
+                                          final GenerationOptions options,
+                                          final GenerationMetrics metrics)
+            throws ValidationException, CompilationException, IOException {
+        if (options.getSchemaClass() == null) {
+            // Parse and extract the schema, or reuse the snapshot of an unchanged schema
+            return writeModel(loadModel(schemas, options, metrics), null, sink, packageName, options, metrics);
+        }
+        // the schema class is rendered from the whole AST, which a model snapshot does not hold
+        if (isIntrospection(schemas)) {
+            throw new IOException("schemaClass requires SDL schema files, introspection JSON is not supported");
+        }
+        TypeDefinitionRegistry registry = parse(schemas, options, metrics);
+        return writeModel(extract(registry, metrics), registry, sink, packageName, options, metrics);
+    }
+
+    private GenerationResult writeModel(final SchemaModel model,
+                                        final TypeDefinitionRegistry registry,
+                                        final OutputSink sink,
+                                        final String packageName,
+                                        final GenerationOptions options,
+                                        final GenerationMetrics metrics)
+            throws ValidationException, CompilationException, IOException {
+        TypeGroups groups = groupsFor(model, registry != null, options);
+        GenerationManifest previous = loadManifest(sink, packageName, options, metrics);
+        TypeDependencyGraph graph = buildGraph(model, metrics);
+        SinkWriter writer = new SinkWriter(sink, metrics);
+        GenerationManifest current = generateChangedTypes(
+                model, graph, packageName, groups, previous, writer, options.getThreads(), metrics);
+        if (registry != null) {
+            writeSchemaClass(registry, packageName, options.getSchemaClass(), writer, current, metrics);
+        }
+        writeMetadata(model, packageName, groups, options, metrics);
+        finishOutput(model, groups, previous, current, sink, packageName, options, metrics);
+        return new GenerationResult(model.size(), current.getTypeNames(), writer.getWrittenCount(),
+                writer.getSkippedCount(), metrics, graph);
+    }
+
+    // the schema class is checked before anything is cleaned, so that a rejected name leaves the previous
+    // output intact
+    private TypeGroups groupsFor(final SchemaModel model,
+                                 final boolean withSchemaClass,
+                                 final GenerationOptions options) throws ValidationException {
+        TypeGroups groups = TypeGroups.forLayout(model, options.getOutputLayout());
+        if (withSchemaClass) {
+            validateSchemaClass(model, groups, options.getSchemaClass());
+        }
+        return groups;
+    }
+
+    private GenerationManifest loadManifest(final OutputSink sink,
+                                            final String packageName,
+                                            final GenerationOptions options,
+                                            final GenerationMetrics metrics) throws IOException {
+        GenerationManifest previous = options.isIncremental()
+                ? GenerationManifest.load(options.getManifestFile())
+                : new GenerationManifest();
+        if (previous.isEmpty() && !options.isSyncOutput()) {
+            // Clean and recreate the output package
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.CLEAN)) {
+                sink.clean(packageName);
+            }
+        }
+        return previous;
+    }
+
+    private TypeDependencyGraph buildGraph(final SchemaModel model, final GenerationMetrics metrics) {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.DEPENDENCIES)) {
+            return TypeDependencyGraph.build(model);
+        }
+    }
+
+    private void writeMetadata(final SchemaModel model,
+                               final String packageName,
+                               final TypeGroups groups,
+                               final GenerationOptions options,
+                               final GenerationMetrics metrics) throws IOException {
+        if (options.getMetadataDir() != null) {
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.METADATA)) {
+                NativeMetadataGenerator.getInstance().write(model, packageName, groups, options.getSchemaClass(),
+                        options.getMetadataDir());
             }
+        }
+    }
 
-            // Generate POJOs for input types
-            for (GraphQLTypeInfo typeInfo : inputTypes) {
-                generator.generatePojo(typeInfo, outputDir, packageName);
+    // verified before the manifest is stored, so that the next incremental run does not trust broken output
+    private void finishOutput(final SchemaModel model,
+                              final TypeGroups groups,
+                              final GenerationManifest previous,
+                              final GenerationManifest current,
+                              final OutputSink sink,
+                              final String packageName,
+                              final GenerationOptions options,
+                              final GenerationMetrics metrics) throws CompilationException, IOException {
+        verify(model, packageName, groups, options, metrics);
+        if (options.isSyncOutput()) {
+            // unchanged sources were skipped by the sink, so only orphans are left to remove
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.CLEAN)) {
+                sink.sync(packageName, current.getTypeNames());
             }
+        }
+        if (options.isIncremental()) {
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.MANIFEST)) {
+                deleteRemovedTypes(previous, current, sink, packageName);
+                current.store(options.getManifestFile());
+            }
+        }
+    }
 
-            // Generate enums
-            EnumGenerator enumGenerator = EnumGenerator.getInstance();
-            for (GraphQLEnumInfo enumInfo : enumTypes) {
-                enumGenerator.generateEnum(enumInfo, outputDir, packageName);
+    private void verify(final SchemaModel model,
+                        final String packageName,
+                        final TypeGroups groups,
+                        final GenerationOptions options,
+                        final GenerationMetrics metrics) throws CompilationException, IOException {
+        if (options.isVerify()) {
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.VERIFY)) {
+                CompilationVerifier.getInstance().verify(renderAll(model, packageName, groups),
+                        options.getClassOutputDir());
             }
+        }
+    }
 
-        } catch (ValidationException | IOException ex) {
-            throw new MojoExecutionException("Unable to generate POJO classes: " + ex.getMessage(), ex);
+    // the schema class shares the package of the generated types, so no type or unit may take its name
+    void validateSchemaClass(final SchemaModel model, final TypeGroups groups, final String className)
+            throws ValidationException {
+        if (model.getType(className) != null || model.getEnum(className) != null
+                || groups != null && groups.getGroupNames().contains(className)) {
+            throw new ValidationException("Invalid schemaClass : " + className + " clashes with a schema type");
+        }
+    }
+
+    // rendered on every run, as it depends on the whole schema; the sink skips an unchanged source, and the
+    // manifest entry lets sync and incremental runs delete it once the option is turned off
+    void writeSchemaClass(final TypeDefinitionRegistry registry,
+                          final String packageName,
+                          final String className,
+                          final SinkWriter writer,
+                          final GenerationManifest current,
+                          final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.SCHEMA_CLASS)) {
+            JavaFile javaFile = SchemaClassGenerator.getInstance().generateSchemaClass(
+                    registry, packageName, className);
+            MessageDigest digest = TypeFingerprinter.newDigest();
+            current.put(className, TypeFingerprinter.toHex(
+                    digest.digest(javaFile.toString().getBytes(StandardCharsets.UTF_8))));
+            writer.write(className, () -> javaFile);
+        }
+    }
+
+    // every type, not only the ones written by this run, since the sources compile as a whole
+    private List<JavaFile> renderAll(final SchemaModel model, final String packageName, final TypeGroups groups) {
+        GenerationContext context = GenerationContext.create(model, packageName, groups);
+        if (groups != null) {
+            return renderUnits(model, groups, context);
+        }
+        List<JavaFile> javaFiles = new ArrayList<>(model.size());
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            javaFiles.add(SourceCodeGenerator.getInstance().generatePojo(typeInfo, context));
         }
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            javaFiles.add(EnumGenerator.getInstance().generateEnum(enumInfo, packageName));
+        }
+        return javaFiles;
+    }
+
+    private List<JavaFile> renderUnits(final SchemaModel model,
+                                       final TypeGroups groups,
+                                       final GenerationContext context) {
+        List<JavaFile> units = new ArrayList<>(groups.getGroupNames().size());
+        for (String group : groups.getGroupNames()) {
+            units.add(groups.render(group, model, context));
+        }
+        return units;
+    }
+
+    private SchemaModel loadModel(final List<File> schemas,
+                                  final GenerationOptions options,
+                                  final GenerationMetrics metrics) throws IOException {
+        File cacheFile = options.getModelCacheFile();
+        if (cacheFile == null) {
+            return parseAndExtract(schemas, options, metrics);
+        }
+        String key = cacheKey(schemas, options, metrics);
+        SchemaModel cached = readCache(cacheFile, key, metrics);
+        if (cached != null) {
+            return cached;
+        }
+        SchemaModel model = parseAndExtract(schemas, options, metrics);
+        writeCache(cacheFile, key, model, metrics);
+        return model;
+    }
+
+    private String cacheKey(final List<File> schemas,
+                            final GenerationOptions options,
+                            final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.DIGEST)) {
+            return SchemaDigest.getInstance().digest(schemas,
+                    options.getEncoding().name(), options.getCacheKeySalt());
+        }
+    }
+
+    private SchemaModel readCache(final File cacheFile, final String key, final GenerationMetrics metrics) {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.CACHE_READ)) {
+            return SchemaModelCache.getInstance().read(cacheFile, key);
+        }
+    }
+
+    private void writeCache(final File cacheFile,
+                            final String key,
+                            final SchemaModel model,
+                            final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.CACHE_WRITE)) {
+            SchemaModelCache.getInstance().write(cacheFile, key, model);
+        }
+    }
+
+    // kept apart so that a snapshot hit never touches the graphql-java parser or AST classes
+    private SchemaModel parseAndExtract(final List<File> schemas,
+                                        final GenerationOptions options,
+                                        final GenerationMetrics metrics) throws IOException {
+        if (isIntrospection(schemas)) {
+            // introspection JSON streams straight into the model, there is no registry to extract from
+            try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.PARSE)) {
+                return IntrospectionParser.getInstance().parse(schemas, options.getEncoding());
+            }
+        }
+        return extract(parse(schemas, options, metrics), metrics);
+    }
+
+    private TypeDefinitionRegistry parse(final List<File> schemas,
+                                         final GenerationOptions options,
+                                         final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.PARSE)) {
+            return SchemaParser.getInstance().parse(schemas, options.getEncoding(), options.getThreads());
+        }
+    }
+
+    private SchemaModel extract(final TypeDefinitionRegistry registry, final GenerationMetrics metrics) {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.EXTRACT)) {
+            return SchemaTypeExtractor.getInstance().extractModel(registry);
+        }
+    }
+
+    private boolean isIntrospection(final List<File> schemas) throws IOException {
+        int introspectionFiles = 0;
+        for (File schema : schemas) {
+            if (IntrospectionParser.isIntrospectionFile(schema)) {
+                introspectionFiles++;
+            }
+        }
+        if (introspectionFiles > 0 && introspectionFiles < schemas.size()) {
+            throw new IOException("Schema files mix SDL and introspection JSON, use either one or the other");
+        }
+        return introspectionFiles > 0;
+    }
+
+    /**
+     * Renders and writes the types of the model whose fingerprint differs from the previous manifest, whose
+     * source is missing from the sink, or that have a field of a type which now resolves to another Java
+     * type (e.g. a renamed enum, or a type that became a scalar). With groups, the same applies to the
+     * compilation units: a unit is rewritten when one of its types is.
+     *
+     * @return the manifest of every generated file: the types of the model, or the units of the groups
+     */
+    GenerationManifest generateChangedTypes(final SchemaModel model,
+                                            final TypeDependencyGraph graph,
+                                            final String packageName,
+                                            final TypeGroups groups,
+                                            final GenerationManifest previous,
+                                            final SinkWriter writer,
+                                            final int threads,
+                                            final GenerationMetrics metrics) throws IOException {
+        GenerationManifest current = new GenerationManifest();
+        GenerationContext context = createContext(model, packageName, groups, metrics);
+        Set<String> dependents;
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.FINGERPRINT)) {
+            dependents = resolutionDependents(graph, context, previous, current);
+        }
+        if (groups != null) {
+            generateChangedGroups(model, groups, context, dependents, previous, current, writer, threads, metrics);
+        } else {
+            generateChangedFiles(model, context, dependents, previous, current, writer, threads, metrics);
+        }
+        return current;
+    }
+
+    private GenerationContext createContext(final SchemaModel model,
+                                            final String packageName,
+                                            final TypeGroups groups,
+                                            final GenerationMetrics metrics) {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.SYMBOLS)) {
+            return GenerationContext.create(model, packageName, groups);
+        }
+    }
+
+    // stale types stream to the generation threads as they are found, through a bounded queue
+    private void generateChangedFiles(final SchemaModel model,
+                                      final GenerationContext context,
+                                      final Set<String> dependents,
+                                      final GenerationManifest previous,
+                                      final GenerationManifest current,
+                                      final SinkWriter writer,
+                                      final int threads,
+                                      final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.GENERATE);
+                GenerationPipeline pipeline = new GenerationPipeline(threads)) {
+            submitChangedTypes(model, context, dependents, previous, current, writer, pipeline);
+            submitChangedEnums(model, context, previous, current, writer, pipeline);
+            pipeline.finish();
+        }
+    }
+
+    // POJOs for object and input types, including the field dependents of a changed resolution
+    private void submitChangedTypes(final SchemaModel model,
+                                    final GenerationContext context,
+                                    final Set<String> dependents,
+                                    final GenerationManifest previous,
+                                    final GenerationManifest current,
+                                    final SinkWriter writer,
+                                    final GenerationPipeline pipeline) throws IOException {
+        String settingsKey = settingsKey(context.getPackageName());
+        SourceCodeGenerator generator = SourceCodeGenerator.getInstance();
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            String hash = TypeFingerprinter.getInstance().fingerprint(typeInfo, settingsKey);
+            current.put(typeInfo.getName(), hash);
+            if (dependents.contains(typeInfo.getName())
+                    || isStale(typeInfo.getName(), hash, previous, writer.getSink(), context.getPackageName())) {
+                pipeline.submit(() -> writer.write(typeInfo.getName(),
+                        () -> generator.generatePojo(typeInfo, context)));
+            }
+        }
+    }
+
+    private void submitChangedEnums(final SchemaModel model,
+                                    final GenerationContext context,
+                                    final GenerationManifest previous,
+                                    final GenerationManifest current,
+                                    final SinkWriter writer,
+                                    final GenerationPipeline pipeline) throws IOException {
+        String packageName = context.getPackageName();
+        EnumGenerator enumGenerator = EnumGenerator.getInstance();
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            String hash = TypeFingerprinter.getInstance().fingerprint(enumInfo, settingsKey(packageName));
+            current.put(enumInfo.getName(), hash);
+            if (isStale(enumInfo.getName(), hash, previous, writer.getSink(), packageName)) {
+                pipeline.submit(() -> writer.write(enumInfo.getName(),
+                        () -> enumGenerator.generateEnum(enumInfo, packageName)));
+            }
+        }
+    }
+
+    // a unit is rewritten when one of its members is stale or depends on a changed resolution
+    private void generateChangedGroups(final SchemaModel model,
+                                       final TypeGroups groups,
+                                       final GenerationContext context,
+                                       final Set<String> dependents,
+                                       final GenerationManifest previous,
+                                       final GenerationManifest current,
+                                       final SinkWriter writer,
+                                       final int threads,
+                                       final GenerationMetrics metrics) throws IOException {
+        String settingsKey = settingsKey(context.getPackageName());
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.GENERATE);
+                GenerationPipeline pipeline = new GenerationPipeline(threads)) {
+            for (String group : groups.getGroupNames()) {
+                String hash = groupHash(model, groups.getMembers(group), settingsKey);
+                current.put(group, hash);
+                if (!Collections.disjoint(groups.getMembers(group), dependents)
+                        || isStale(group, hash, previous, writer.getSink(), context.getPackageName())) {
+                    pipeline.submit(() -> writer.write(group, () -> groups.render(group, model, context)));
+                }
+            }
+            pipeline.finish();
+        }
+    }
+
+    // a unit is identified by the fingerprints of its members, in the order they are nested
+    private String groupHash(final SchemaModel model, final List<String> members, final String settingsKey) {
+        TypeFingerprinter fingerprinter = TypeFingerprinter.getInstance();
+        MessageDigest digest = TypeFingerprinter.newDigest();
+        for (String typeName : members) {
+            GraphQLTypeInfo typeInfo = model.getType(typeName);
+            String hash = typeInfo != null
+                    ? fingerprinter.fingerprint(typeInfo, settingsKey)
+                    : fingerprinter.fingerprint(model.getEnum(typeName), settingsKey);
+            digest.update((typeName + '=' + hash + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return TypeFingerprinter.toHex(digest.digest());
+    }
+
+    // the rendered source of a type only depends on other types through the Java type its fields resolve to,
+    // so only the direct field dependents of a name whose resolution changed are regenerated
+    private Set<String> resolutionDependents(final TypeDependencyGraph graph,
+                                             final GenerationContext context,
+                                             final GenerationManifest previous,
+                                             final GenerationManifest current) {
+        List<String> changed = new ArrayList<>();
+        for (String typeName : graph.getReferencedNames(TypeDependencyGraph.EdgeKind.FIELD)) {
+            String signature = context.getSymbols().resolve(typeName).toString();
+            current.putSignature(typeName, signature);
+            if (!signature.equals(previous.getSignature(typeName))) {
+                changed.add(typeName);
+            }
+        }
+        return graph.getDependents(changed, EnumSet.of(TypeDependencyGraph.EdgeKind.FIELD));
+    }
+
+    private boolean isStale(final String typeName,
+                            final String hash,
+                            final GenerationManifest previous,
+                            final OutputSink sink,
+                            final String packageName) {
+        return !hash.equals(previous.get(typeName)) || !sink.contains(packageName, typeName);
+    }
+
+    void deleteRemovedTypes(final GenerationManifest previous,
+                            final GenerationManifest current,
+                            final OutputSink sink,
+                            final String packageName) throws IOException {
+        for (String typeName : previous.getTypeNames()) {
+            if (current.get(typeName) == null) {
+                sink.delete(packageName, typeName);
+            }
+        }
+    }
+
+    private String settingsKey(final String packageName) {
+        return TypeFingerprinter.FORMAT_VERSION + "|" + packageName;
     }
 
     /**
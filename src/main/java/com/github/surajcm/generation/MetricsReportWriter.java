@@ -0,0 +1,143 @@
+package com.github.surajcm.generation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes {@link GenerationMetrics} as a JSON report or as a Chrome trace
+ * (open it in {@code chrome://tracing} or Perfetto).
+ */
+public final class MetricsReportWriter {
+
+    private static final long NANOS_PER_MICRO = 1_000L;
+
+    private static MetricsReportWriter instance;
+
+    private MetricsReportWriter() {
+    }
+
+    public static synchronized MetricsReportWriter getInstance() {
+        if (instance == null) {
+            instance = new MetricsReportWriter();
+        }
+        return instance;
+    }
+
+    /**
+     * Writes the phase totals and the slowest types as JSON.
+     *
+     * @param metrics the metrics of the run
+     * @param result the result of the run
+     * @param slowest the number of slowest types to include
+     * @param reportFile the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(final GenerationMetrics metrics,
+                          final GenerationResult result,
+                          final int slowest,
+                          final File reportFile) throws IOException {
+        try (Writer writer = open(reportFile)) {
+            writer.write("{\n");
+            writer.write("  \"typeCount\": " + result.getTypeCount() + ",\n");
+            writer.write("  \"writtenFiles\": " + result.getWrittenFiles() + ",\n");
+            writer.write("  \"skippedFiles\": " + result.getSkippedFiles() + ",\n");
+            writer.write("  \"allocationTracked\": " + GenerationMetrics.isAllocationTracked() + ",\n");
+            writer.write("  \"phases\": ");
+            writeArray(writer, metrics.getPhases().stream().map(this::toJson).collect(Collectors.toList()));
+            writer.write(",\n  \"slowestTypes\": ");
+            writeArray(writer, metrics.slowestTypes(slowest).stream().map(this::toJson).collect(Collectors.toList()));
+            writer.write("\n}\n");
+        }
+    }
+
+    /**
+     * Writes every span as a complete event in the Chrome trace event format.
+     *
+     * @param metrics the metrics of the run
+     * @param traceFile the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeChromeTrace(final GenerationMetrics metrics, final File traceFile) throws IOException {
+        try (Writer writer = open(traceFile)) {
+            writer.write("{\"displayTimeUnit\": \"ms\", \"traceEvents\": [");
+            boolean first = true;
+            for (GenerationMetrics.Span span : metrics.getSpans()) {
+                writer.write(first ? "\n" : ",\n");
+                first = false;
+                writer.write(toTraceEvent(span));
+            }
+            writer.write("\n]}\n");
+        }
+    }
+
+    // one object per line, indented below the member holding the array
+    private void writeArray(final Writer writer, final List<String> objects) throws IOException {
+        writer.write("[");
+        for (int i = 0; i < objects.size(); i++) {
+            writer.write(i == 0 ? "\n" : ",\n");
+            writer.write("    " + objects.get(i));
+        }
+        writer.write("\n  ]");
+    }
+
+    private String toJson(final GenerationMetrics.PhaseTiming phase) {
+        return "{\"name\": " + quote(phase.getName())
+                + ", \"count\": " + phase.getCount()
+                + ", \"nanos\": " + phase.getNanos()
+                + ", \"allocatedBytes\": " + phase.getAllocatedBytes() + "}";
+    }
+
+    private String toJson(final GenerationMetrics.TypeTiming type) {
+        return "{\"name\": " + quote(type.getTypeName())
+                + ", \"renderNanos\": " + type.getRenderNanos()
+                + ", \"writeNanos\": " + type.getWriteNanos()
+                + ", \"allocatedBytes\": " + type.getAllocatedBytes() + "}";
+    }
+
+    private String toTraceEvent(final GenerationMetrics.Span span) {
+        String name = span.getTypeName() != null
+                ? span.getPhase() + " " + span.getTypeName()
+                : span.getPhase();
+        return "{\"name\": " + quote(name)
+                + ", \"cat\": " + quote(span.getTypeName() != null ? "type" : "phase")
+                + ", \"ph\": \"X\", \"pid\": 1"
+                + ", \"tid\": " + span.getThreadId()
+                + ", \"ts\": " + span.getStartNanos() / NANOS_PER_MICRO
+                + ", \"dur\": " + span.getDurationNanos() / NANOS_PER_MICRO
+                + ", \"args\": {\"allocatedBytes\": " + span.getAllocatedBytes() + "}}";
+    }
+
+    private Writer open(final File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        return Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+    }
+
+    static String quote(final String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                quoted.append('\\').append(character);
+            } else if (character < ' ') {
+                quoted.append(String.format("\\u%04x", (int) character));
+            } else {
+                quoted.append(character);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+}
@@ -0,0 +1,190 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates the runtime metadata of the generated types: a GraalVM native-image reflection configuration,
+ * so that Jackson and graphql-java's {@code PropertyDataFetcher} can reflect on them in a native image, and
+ * an AppCDS class list, so that a class data sharing archive can preload them.
+ *
+ * <p>Both files cover every generated type, not only the ones written by an incremental run, list the types
+ * in name order and are only rewritten when their content changes.
+ */
+public final class NativeMetadataGenerator {
+
+    private static final String REFLECT_CONFIG = "reflect-config.json";
+    private static final String CLASS_LIST = "classlist";
+
+    private static NativeMetadataGenerator instance;
+
+    private NativeMetadataGenerator() {
+    }
+
+    public static synchronized NativeMetadataGenerator getInstance() {
+        if (instance == null) {
+            instance = new NativeMetadataGenerator();
+        }
+        return instance;
+    }
+
+    /**
+     * Path of the reflection configuration relative to the resource directory. native-image reads every
+     * {@code META-INF/native-image} directory on the class path; the package keeps the configurations of
+     * several generated packages apart.
+     *
+     * @param packageName the package of the generated types
+     * @return the relative path using forward slashes
+     */
+    public String reflectConfigPath(final String packageName) {
+        return "META-INF/native-image/" + packageName + "/" + REFLECT_CONFIG;
+    }
+
+    /**
+     * Path of the AppCDS class list relative to the resource directory.
+     *
+     * @param packageName the package of the generated types
+     * @return the relative path using forward slashes
+     */
+    public String classListPath(final String packageName) {
+        return "META-INF/graphql-pojo/" + packageName + "/" + CLASS_LIST;
+    }
+
+    /**
+     * Renders the reflection configuration. POJOs register their public constructors and methods, which
+     * graphql-java and Jackson use to create instances and read properties, and their declared fields, which
+     * Jackson inspects for the private backing fields; enums register their constants and {@code values()}.
+     *
+     * @param model the schema model
+     * @param packageName the package of the generated types
+     * @param groups the units the types are nested in, or null for one file per type
+     * @return the JSON content
+     */
+    public String reflectConfig(final SchemaModel model, final String packageName, final TypeGroups groups) {
+        StringBuilder json = new StringBuilder("[");
+        String separator = "\n";
+        for (Map.Entry<String, String> entry : reflectEntries(model, groups).entrySet()) {
+            json.append(separator)
+                    .append("  {\"name\": \"").append(packageName).append('.').append(entry.getKey())
+                    .append("\", ").append(entry.getValue()).append('}');
+            separator = ",\n";
+        }
+        return json.append("\n]\n").toString();
+    }
+
+    // what to register for each generated type, by binary name
+    private Map<String, String> reflectEntries(final SchemaModel model, final TypeGroups groups) {
+        Map<String, String> entries = new TreeMap<>();
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            entries.put(binaryName(typeInfo.getName(), groups), "\"allDeclaredFields\": true, "
+                    + "\"allPublicConstructors\": true, \"allPublicMethods\": true");
+        }
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            entries.put(binaryName(enumInfo.getName(), groups), "\"allDeclaredFields\": true, "
+                    + "\"allPublicMethods\": true");
+        }
+        return entries;
+    }
+
+    /**
+     * Renders the AppCDS class list, one class per line in the JVM's internal form, for use with
+     * {@code -XX:SharedClassListFile} (on its own or appended to an application's list).
+     *
+     * @param model the schema model
+     * @param packageName the package of the generated types
+     * @param groups the units the types are nested in, or null for one file per type
+     * @param schemaClass the simple name of the generated schema class, or null if there is none
+     * @return the class list
+     */
+    public String classList(final SchemaModel model,
+                            final String packageName,
+                            final TypeGroups groups,
+                            final String schemaClass) {
+        Set<String> names = binaryNames(model, groups);
+        if (groups != null) {
+            names.addAll(groups.getGroupNames());
+        }
+        if (schemaClass != null) {
+            names.add(schemaClass);
+        }
+        String prefix = packageName.replace('.', '/') + '/';
+        StringBuilder list = new StringBuilder();
+        for (String name : names) {
+            list.append(prefix).append(name).append('\n');
+        }
+        return list.toString();
+    }
+
+    private Set<String> binaryNames(final SchemaModel model, final TypeGroups groups) {
+        Set<String> names = new TreeSet<>();
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            names.add(binaryName(typeInfo.getName(), groups));
+        }
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            names.add(binaryName(enumInfo.getName(), groups));
+        }
+        return names;
+    }
+
+    /**
+     * Writes the reflection configuration and the class list below a resource directory.
+     *
+     * @param model the schema model
+     * @param packageName the package of the generated types
+     * @param groups the units the types are nested in, or null for one file per type
+     * @param schemaClass the simple name of the generated schema class, or null if there is none
+     * @param metadataDir the resource directory
+     * @return the number of files whose content changed and was written
+     * @throws IOException if a file cannot be written
+     */
+    public int write(final SchemaModel model,
+                     final String packageName,
+                     final TypeGroups groups,
+                     final String schemaClass,
+                     final File metadataDir) throws IOException {
+        Path root = metadataDir.toPath();
+        int written = 0;
+        if (writeIfChanged(root.resolve(reflectConfigPath(packageName)), reflectConfig(model, packageName, groups))) {
+            written++;
+        }
+        if (writeIfChanged(root.resolve(classListPath(packageName)),
+                classList(model, packageName, groups, schemaClass))) {
+            written++;
+        }
+        return written;
+    }
+
+    private String binaryName(final String typeName, final TypeGroups groups) {
+        return groups != null ? groups.binaryName(typeName) : typeName;
+    }
+
+    // leaves an identical file untouched, so that resource processing and packaging see no change
+    private boolean writeIfChanged(final Path file, final String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (Files.isRegularFile(file) && Arrays.equals(bytes, Files.readAllBytes(file))) {
+            return false;
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+        return true;
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static synchronized void resetInstance() {
+        instance = null;
+    }
+}
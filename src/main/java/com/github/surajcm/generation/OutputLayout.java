@@ -0,0 +1,19 @@
+package com.github.surajcm.generation;
+
+/**
+ * How the generated types are laid out over compilation units.
+ */
+public enum OutputLayout {
+
+    /**
+     * One top-level source file per type (the default).
+     */
+    FILE_PER_TYPE,
+
+    /**
+     * Types sharing the leading word of their name (e.g. {@code User}, {@code UserProfile} and
+     * {@code UserInput}) are generated as public static nested classes of one source file per word
+     * (e.g. {@code UserTypes}), which cuts the number of files to open, compile and package.
+     */
+    GROUPED_BY_PREFIX
+}
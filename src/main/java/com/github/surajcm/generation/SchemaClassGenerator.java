@@ -0,0 +1,712 @@
+package com.github.surajcm.generation;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import graphql.GraphQLError;
+import graphql.language.AbstractDescribedNode;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Description;
+import graphql.language.Directive;
+import graphql.language.DirectiveDefinition;
+import graphql.language.DirectiveLocation;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.EnumTypeExtensionDefinition;
+import graphql.language.EnumValue;
+import graphql.language.EnumValueDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.FloatValue;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputObjectTypeExtensionDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.IntValue;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.InterfaceTypeExtensionDefinition;
+import graphql.language.ListType;
+import graphql.language.NamedNode;
+import graphql.language.Node;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.ObjectTypeExtensionDefinition;
+import graphql.language.ObjectValue;
+import graphql.language.OperationTypeDefinition;
+import graphql.language.SDLDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.ScalarTypeExtensionDefinition;
+import graphql.language.SchemaDefinition;
+import graphql.language.SchemaExtensionDefinition;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.language.UnionTypeExtensionDefinition;
+import graphql.language.Value;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+import javax.lang.model.element.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Generates a class that builds the schema's {@link TypeDefinitionRegistry} with graphql-java's AST builders,
+ * so that a service shipping the same schema can skip lexing and parsing its SDL at startup.
+ *
+ * <p>The class is rendered from the parsed registry rather than the extracted model, since a service needs
+ * everything the model leaves out: operation types, arguments, default values, directives and descriptions.
+ * Definitions are emitted by kind and name, so the source only changes with the schema. Their code is spread
+ * over nested classes and helper methods by node count, which keeps every method and constant pool within
+ * the class file limits however large the schema is.
+ */
+public final class SchemaClassGenerator {
+
+    /**
+     * Name of the generated method returning a new registry.
+     */
+    public static final String REGISTRY_METHOD = "typeDefinitionRegistry";
+
+    private static final int NODES_PER_METHOD = 1_000;
+    private static final int NODES_PER_CLASS = 20_000;
+
+    private static final ClassName REGISTRY = ClassName.get(TypeDefinitionRegistry.class);
+    private static final ParameterizedTypeName ANY_DEFINITION = ParameterizedTypeName.get(
+            ClassName.get(SDLDefinition.class), WildcardTypeName.subtypeOf(Object.class));
+
+    private static SchemaClassGenerator instance;
+
+    private SchemaClassGenerator() {
+    }
+
+    public static synchronized SchemaClassGenerator getInstance() {
+        if (instance == null) {
+            instance = new SchemaClassGenerator();
+        }
+        return instance;
+    }
+
+    /**
+     * Generates the schema class for a parsed registry.
+     *
+     * @param registry the parsed schema
+     * @param packageName the package name for the generated class
+     * @param className the simple name of the generated class
+     * @return the generated JavaFile
+     */
+    public JavaFile generateSchemaClass(final TypeDefinitionRegistry registry,
+                                        final String packageName,
+                                        final String className) {
+        MethodSpec.Builder registryMethod = registryMethod();
+        TypeSpec.Builder type = schemaType(className);
+        for (Part part : parts(registry, ClassName.get(packageName, className))) {
+            registryMethod.addStatement("$N.addTo(registry)", part.name);
+            type.addType(part.build());
+        }
+        type.addMethod(registryMethod.addStatement("return registry").build());
+        addHelpers(type);
+        return JavaFile.builder(packageName, type.build())
+                .indent("    ")
+                .build();
+    }
+
+    private MethodSpec.Builder registryMethod() {
+        return MethodSpec.methodBuilder(REGISTRY_METHOD)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(REGISTRY)
+                .addJavadoc("Builds a new registry holding every definition of the schema, as parsing the schema "
+                        + "files would.\n\n@return a new registry, owned by the caller\n")
+                .addStatement("$T registry = new $T()", REGISTRY, REGISTRY);
+    }
+
+    private TypeSpec.Builder schemaType(final String className) {
+        return TypeSpec.classBuilder(className)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("The definitions of the GraphQL schema, built without parsing it.\n\n<p>Pass the "
+                        + "registry to {@code SchemaGenerator} with the service's runtime wiring.\n")
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+    }
+
+    // a new part whenever the next definition would take the current one past the node limit
+    private List<Part> parts(final TypeDefinitionRegistry registry, final ClassName schemaClass) {
+        Part part = null;
+        List<Part> parts = new ArrayList<>();
+        for (SDLDefinition<?> definition : definitions(registry)) {
+            int nodes = countNodes(definition);
+            if (part == null || part.nodes > 0 && part.nodes + nodes > NODES_PER_CLASS) {
+                part = new Part(schemaClass, "Part" + parts.size());
+                parts.add(part);
+            }
+            part.add(definition, nodes);
+        }
+        return parts;
+    }
+
+    // definitions by kind, then by name; extensions keep their order per type
+    private List<SDLDefinition<?>> definitions(final TypeDefinitionRegistry registry) {
+        List<SDLDefinition<?>> definitions = new ArrayList<>();
+        registry.schemaDefinition().ifPresent(definitions::add);
+        definitions.addAll(registry.getSchemaExtensionDefinitions());
+        definitions.addAll(new TreeMap<>(registry.getDirectiveDefinitions()).values());
+        definitions.addAll(types(registry).values());
+        addTypeExtensions(definitions, registry);
+        return definitions;
+    }
+
+    // the types and the scalars a schema declares, by name
+    private Map<String, SDLDefinition<?>> types(final TypeDefinitionRegistry registry) {
+        Map<String, SDLDefinition<?>> types = new TreeMap<>();
+        registry.types().forEach(types::put);
+        for (ScalarTypeDefinition scalar : registry.scalars().values()) {
+            if (!ScalarInfo.isGraphqlSpecifiedScalar(scalar.getName())) {
+                types.put(scalar.getName(), scalar);
+            }
+        }
+        return types;
+    }
+
+    private void addTypeExtensions(final List<SDLDefinition<?>> definitions, final TypeDefinitionRegistry registry) {
+        addExtensions(definitions, registry.objectTypeExtensions());
+        addExtensions(definitions, registry.interfaceTypeExtensions());
+        addExtensions(definitions, registry.unionTypeExtensions());
+        addExtensions(definitions, registry.enumTypeExtensions());
+        addExtensions(definitions, registry.scalarTypeExtensions());
+        addExtensions(definitions, registry.inputObjectTypeExtensions());
+    }
+
+    private <T extends SDLDefinition<?>> void addExtensions(final List<SDLDefinition<?>> definitions,
+                                                            final Map<String, List<T>> extensions) {
+        for (List<T> extensionsOfType : new TreeMap<>(extensions).values()) {
+            definitions.addAll(extensionsOfType);
+        }
+    }
+
+    private static int countNodes(final Node<?> node) {
+        int count = 1;
+        for (Node<?> child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    // short factories keep the code, and so the bytecode, of the many plain fields and types small
+    private void addHelpers(final TypeSpec.Builder type) {
+        ParameterizedTypeName typeClass = ParameterizedTypeName.get(ClassName.get(Type.class),
+                WildcardTypeName.subtypeOf(Object.class));
+        ParameterSpec wrapped = ParameterSpec.builder(typeClass, "type").build();
+        type.addMethod(addHelper());
+        type.addMethod(typeHelper("type", typeClass, ParameterSpec.builder(String.class, "name").build(),
+                TypeName.class));
+        type.addMethod(typeHelper("list", typeClass, wrapped, ListType.class));
+        type.addMethod(typeHelper("nonNull", typeClass, wrapped, NonNullType.class));
+        type.addMethod(fieldHelper(typeClass));
+        type.addMethod(descriptionHelper());
+    }
+
+    private MethodSpec addHelper() {
+        return MethodSpec.methodBuilder("add")
+                .addModifiers(Modifier.STATIC)
+                .addParameter(REGISTRY, "registry")
+                .addParameter(ANY_DEFINITION, "definition")
+                .addStatement("$T<$T> error = registry.add(definition)", Optional.class, GraphQLError.class)
+                .beginControlFlow("if (error.isPresent())")
+                .addStatement("throw new $T(error.get().getMessage())", IllegalStateException.class)
+                .endControlFlow()
+                .build();
+    }
+
+    private MethodSpec typeHelper(final String name,
+                                  final ParameterizedTypeName typeClass,
+                                  final ParameterSpec parameter,
+                                  final Class<?> nodeClass) {
+        return MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.STATIC)
+                .returns(typeClass)
+                .addParameter(parameter)
+                .addStatement("return new $T($N)", nodeClass, parameter)
+                .build();
+    }
+
+    private MethodSpec fieldHelper(final ParameterizedTypeName typeClass) {
+        return MethodSpec.methodBuilder("field")
+                .addModifiers(Modifier.STATIC)
+                .returns(FieldDefinition.class)
+                .addParameter(String.class, "name")
+                .addParameter(typeClass, "type")
+                .addParameter(InputValueDefinition[].class, "arguments")
+                .varargs()
+                .addStatement("return $T.newFieldDefinition().name(name).type(type)"
+                        + ".inputValueDefinitions($T.asList(arguments)).build()", FieldDefinition.class, Arrays.class)
+                .build();
+    }
+
+    private MethodSpec descriptionHelper() {
+        return MethodSpec.methodBuilder("description")
+                .addModifiers(Modifier.STATIC)
+                .returns(Description.class)
+                .addParameter(String.class, "content")
+                .addParameter(boolean.class, "multiLine")
+                .addStatement("return new $T(content, null, multiLine)", Description.class)
+                .build();
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+
+    /**
+     * A nested class adding a run of definitions, each built by its own method.
+     */
+    private static final class Part {
+        private final String name;
+        private final TypeSpec.Builder type;
+        private final MethodSpec.Builder addTo;
+        private int nodes;
+        private int definitionCount;
+        private int chunkCount;
+
+        private Part(final ClassName schemaClass, final String name) {
+            this.name = name;
+            this.type = TypeSpec.classBuilder(schemaClass.nestedClass(name))
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+            this.addTo = MethodSpec.methodBuilder("addTo")
+                    .addModifiers(Modifier.STATIC)
+                    .addParameter(REGISTRY, "registry");
+        }
+
+        private void add(final SDLDefinition<?> definition, final int definitionNodes) {
+            String methodName = "definition" + definitionCount++;
+            Chain chain = chain(definition);
+            MethodSpec.Builder method = MethodSpec.methodBuilder(methodName)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .returns(definition.getClass())
+                    .addStatement("$T builder = $L", chain.builderClass, chain.head);
+            chain.addCalls(this, methodName, method);
+            type.addMethod(method.addStatement("return builder.build()").build());
+            addTo.addStatement("add(registry, $N())", methodName);
+            nodes += definitionNodes;
+        }
+
+        private TypeSpec build() {
+            return type.addMethod(addTo.build()).build();
+        }
+    }
+
+    /**
+     * The code building a definition: the builder's factory, then one setter call per member. Calls are
+     * separate statements rather than one fluent chain, which javac compiles much faster for large types.
+     */
+    private static final class Chain {
+        private final Class<?> builderClass;
+        private final CodeBlock head;
+        private final List<CodeBlock> calls = new ArrayList<>();
+        private final List<Integer> weights = new ArrayList<>();
+
+        private Chain(final Class<?> builderClass, final CodeBlock head) {
+            this.builderClass = builderClass;
+            this.head = head;
+        }
+
+        private Chain call(final String method, final CodeBlock argument, final int weight) {
+            calls.add(CodeBlock.of(".$N($L)", method, argument));
+            weights.add(weight);
+            return this;
+        }
+
+        private Chain call(final String method, final Node<?> node, final CodeBlock argument) {
+            return call(method, argument, countNodes(node));
+        }
+
+        // large definitions hand the builder to helper methods, each adding a slice of the members
+        private void addCalls(final Part part, final String methodName, final MethodSpec.Builder method) {
+            if (weights.stream().mapToInt(Integer::intValue).sum() <= NODES_PER_METHOD) {
+                calls.forEach(call -> method.addStatement("builder$L", call));
+                return;
+            }
+            int start = 0;
+            while (start < calls.size()) {
+                start = addChunk(part, methodName, method, start);
+            }
+        }
+
+        private int addChunk(final Part part, final String methodName, final MethodSpec.Builder method,
+                             final int start) {
+            int end = chunkEnd(start);
+            String chunkName = methodName + "Members" + part.chunkCount++;
+            MethodSpec.Builder chunk = MethodSpec.methodBuilder(chunkName)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addParameter(builderClass, "builder");
+            calls.subList(start, end).forEach(call -> chunk.addStatement("builder$L", call));
+            part.type.addMethod(chunk.build());
+            method.addStatement("$N(builder)", chunkName);
+            return end;
+        }
+
+        // the calls from start on that fit in one method, or just the first if it is larger on its own
+        private int chunkEnd(final int start) {
+            int end = start;
+            int weight = 0;
+            while (end < calls.size() && (end == start || weight + weights.get(end) <= NODES_PER_METHOD)) {
+                weight += weights.get(end++);
+            }
+            return end;
+        }
+    }
+
+    private static Chain chain(final SDLDefinition<?> definition) {
+        if (definition instanceof SchemaDefinition) {
+            return schemaChain((SchemaDefinition) definition);
+        }
+        if (definition instanceof DirectiveDefinition) {
+            return directiveDefinitionChain((DirectiveDefinition) definition);
+        }
+        if (definition instanceof ObjectTypeDefinition) {
+            return objectChain((ObjectTypeDefinition) definition);
+        }
+        if (definition instanceof InterfaceTypeDefinition) {
+            return interfaceChain((InterfaceTypeDefinition) definition);
+        }
+        return typeChain(definition);
+    }
+
+    private static Chain typeChain(final SDLDefinition<?> definition) {
+        if (definition instanceof UnionTypeDefinition) {
+            return unionChain((UnionTypeDefinition) definition);
+        }
+        if (definition instanceof EnumTypeDefinition) {
+            return enumChain((EnumTypeDefinition) definition);
+        }
+        if (definition instanceof InputObjectTypeDefinition) {
+            return inputChain((InputObjectTypeDefinition) definition);
+        }
+        if (definition instanceof ScalarTypeDefinition) {
+            return scalarChain((ScalarTypeDefinition) definition);
+        }
+        throw new IllegalArgumentException("Unsupported schema definition: " + definition.getClass().getName());
+    }
+
+    private static Chain named(final Class<?> builderClass,
+                               final Class<?> definitionClass,
+                               final String factory,
+                               final AbstractDescribedNode<?> definition) {
+        Chain chain = new Chain(builderClass, CodeBlock.of("$T.$N()", definitionClass, factory))
+                .call("name", CodeBlock.of("$S", ((NamedNode<?>) definition).getName()), 1);
+        return describe(chain, definition.getDescription());
+    }
+
+    private static Chain describe(final Chain chain, final Description description) {
+        if (description == null) {
+            return chain;
+        }
+        return chain.call("description", description(description), 1);
+    }
+
+    private static Chain directives(final Chain chain, final List<Directive> directives) {
+        for (Directive directive : directives) {
+            chain.call("directive", directive, directive(directive));
+        }
+        return chain;
+    }
+
+    private static Chain schemaChain(final SchemaDefinition schema) {
+        Chain chain = schema instanceof SchemaExtensionDefinition
+                ? new Chain(SchemaExtensionDefinition.Builder.class, CodeBlock.of(
+                        "$T.newSchemaExtensionDefinition()", SchemaExtensionDefinition.class))
+                : describe(new Chain(SchemaDefinition.Builder.class, CodeBlock.of(
+                        "$T.newSchemaDefinition()", SchemaDefinition.class)), schema.getDescription());
+        directives(chain, schema.getDirectives());
+        for (OperationTypeDefinition operation : schema.getOperationTypeDefinitions()) {
+            chain.call("operationTypeDefinition", operation, CodeBlock.of("new $T($S, new $T($S))",
+                    OperationTypeDefinition.class, operation.getName(), TypeName.class,
+                    operation.getTypeName().getName()));
+        }
+        return chain;
+    }
+
+    private static Chain directiveDefinitionChain(final DirectiveDefinition definition) {
+        Chain chain = named(DirectiveDefinition.Builder.class, DirectiveDefinition.class, "newDirectiveDefinition",
+                definition);
+        if (definition.isRepeatable()) {
+            chain.call("repeatable", CodeBlock.of("true"), 1);
+        }
+        for (InputValueDefinition argument : definition.getInputValueDefinitions()) {
+            chain.call("inputValueDefinition", argument, inputValue(argument));
+        }
+        for (DirectiveLocation location : definition.getDirectiveLocations()) {
+            chain.call("directiveLocation", location,
+                    CodeBlock.of("new $T($S)", DirectiveLocation.class, location.getName()));
+        }
+        return chain;
+    }
+
+    private static Chain objectChain(final ObjectTypeDefinition definition) {
+        Chain chain = definition instanceof ObjectTypeExtensionDefinition
+                ? named(ObjectTypeExtensionDefinition.Builder.class, ObjectTypeExtensionDefinition.class,
+                        "newObjectTypeExtensionDefinition", definition)
+                : named(ObjectTypeDefinition.Builder.class, ObjectTypeDefinition.class,
+                        "newObjectTypeDefinition", definition);
+        for (Type<?> implemented : definition.getImplements()) {
+            chain.call("implementz", implemented, type(implemented));
+        }
+        directives(chain, definition.getDirectives());
+        for (FieldDefinition field : definition.getFieldDefinitions()) {
+            chain.call("fieldDefinition", field, field(field));
+        }
+        return chain;
+    }
+
+    private static Chain interfaceChain(final InterfaceTypeDefinition definition) {
+        Chain chain = definition instanceof InterfaceTypeExtensionDefinition
+                ? named(InterfaceTypeExtensionDefinition.Builder.class, InterfaceTypeExtensionDefinition.class,
+                        "newInterfaceTypeExtensionDefinition", definition)
+                : named(InterfaceTypeDefinition.Builder.class, InterfaceTypeDefinition.class,
+                        "newInterfaceTypeDefinition", definition);
+        for (Type<?> implemented : definition.getImplements()) {
+            chain.call("implementz", implemented, type(implemented));
+        }
+        directives(chain, definition.getDirectives());
+        for (FieldDefinition field : definition.getFieldDefinitions()) {
+            chain.call("definition", field, field(field));
+        }
+        return chain;
+    }
+
+    private static Chain unionChain(final UnionTypeDefinition definition) {
+        Chain chain = definition instanceof UnionTypeExtensionDefinition
+                ? named(UnionTypeExtensionDefinition.Builder.class, UnionTypeExtensionDefinition.class,
+                        "newUnionTypeExtensionDefinition", definition)
+                : named(UnionTypeDefinition.Builder.class, UnionTypeDefinition.class,
+                        "newUnionTypeDefinition", definition);
+        directives(chain, definition.getDirectives());
+        for (Type<?> member : definition.getMemberTypes()) {
+            chain.call("memberType", member, type(member));
+        }
+        return chain;
+    }
+
+    private static Chain enumChain(final EnumTypeDefinition definition) {
+        if (definition instanceof EnumTypeExtensionDefinition) {
+            return enumExtensionChain((EnumTypeExtensionDefinition) definition);
+        }
+        Chain chain = directives(named(EnumTypeDefinition.Builder.class, EnumTypeDefinition.class,
+                "newEnumTypeDefinition", definition), definition.getDirectives());
+        for (EnumValueDefinition value : definition.getEnumValueDefinitions()) {
+            chain.call("enumValueDefinition", value, enumValue(value));
+        }
+        return chain;
+    }
+
+    // the extension builder only takes its values as one list
+    private static Chain enumExtensionChain(final EnumTypeExtensionDefinition definition) {
+        Chain chain = directives(named(EnumTypeExtensionDefinition.Builder.class, EnumTypeExtensionDefinition.class,
+                "newEnumTypeExtensionDefinition", definition), definition.getDirectives());
+        List<CodeBlock> values = new ArrayList<>();
+        int weight = 0;
+        for (EnumValueDefinition value : definition.getEnumValueDefinitions()) {
+            values.add(enumValue(value));
+            weight += countNodes(value);
+        }
+        if (!values.isEmpty()) {
+            chain.call("enumValueDefinitions", CodeBlock.of("$T.<$T>asList($L)", Arrays.class,
+                    EnumValueDefinition.class, CodeBlock.join(values, ", ")), weight);
+        }
+        return chain;
+    }
+
+    private static Chain inputChain(final InputObjectTypeDefinition definition) {
+        Chain chain = definition instanceof InputObjectTypeExtensionDefinition
+                ? named(InputObjectTypeExtensionDefinition.Builder.class, InputObjectTypeExtensionDefinition.class,
+                        "newInputObjectTypeExtensionDefinition", definition)
+                : named(InputObjectTypeDefinition.Builder.class, InputObjectTypeDefinition.class,
+                        "newInputObjectDefinition", definition);
+        directives(chain, definition.getDirectives());
+        for (InputValueDefinition field : definition.getInputValueDefinitions()) {
+            chain.call("inputValueDefinition", field, inputValue(field));
+        }
+        return chain;
+    }
+
+    private static Chain scalarChain(final ScalarTypeDefinition definition) {
+        Chain chain = definition instanceof ScalarTypeExtensionDefinition
+                ? named(ScalarTypeExtensionDefinition.Builder.class, ScalarTypeExtensionDefinition.class,
+                        "newScalarTypeExtensionDefinition", definition)
+                : named(ScalarTypeDefinition.Builder.class, ScalarTypeDefinition.class,
+                        "newScalarTypeDefinition", definition);
+        return directives(chain, definition.getDirectives());
+    }
+
+    private static CodeBlock field(final FieldDefinition field) {
+        if (field.getDescription() == null && field.getDirectives().isEmpty()) {
+            return plainField(field);
+        }
+        CodeBlock.Builder code = CodeBlock.builder()
+                .add("$T.newFieldDefinition().name($S).type($L)", FieldDefinition.class, field.getName(),
+                        type(field.getType()));
+        addDescription(code, field.getDescription());
+        for (InputValueDefinition argument : field.getInputValueDefinitions()) {
+            code.add(".inputValueDefinition($L)", inputValue(argument));
+        }
+        addDirectives(code, field.getDirectives());
+        return code.add(".build()").build();
+    }
+
+    private static CodeBlock plainField(final FieldDefinition field) {
+        CodeBlock.Builder code = CodeBlock.builder().add("field($S, $L", field.getName(), type(field.getType()));
+        for (InputValueDefinition argument : field.getInputValueDefinitions()) {
+            code.add(", $L", inputValue(argument));
+        }
+        return code.add(")").build();
+    }
+
+    private static CodeBlock inputValue(final InputValueDefinition input) {
+        if (input.getDescription() == null && input.getDirectives().isEmpty()) {
+            return plainInputValue(input);
+        }
+        CodeBlock.Builder code = CodeBlock.builder()
+                .add("$T.newInputValueDefinition().name($S).type($L)", InputValueDefinition.class, input.getName(),
+                        type(input.getType()));
+        if (input.getDefaultValue() != null) {
+            code.add(".defaultValue($L)", value(input.getDefaultValue()));
+        }
+        addDescription(code, input.getDescription());
+        addDirectives(code, input.getDirectives());
+        return code.add(".build()").build();
+    }
+
+    private static CodeBlock plainInputValue(final InputValueDefinition input) {
+        if (input.getDefaultValue() == null) {
+            return CodeBlock.of("new $T($S, $L)", InputValueDefinition.class, input.getName(),
+                    type(input.getType()));
+        }
+        return CodeBlock.of("new $T($S, $L, $L)", InputValueDefinition.class, input.getName(),
+                type(input.getType()), value(input.getDefaultValue()));
+    }
+
+    private static CodeBlock enumValue(final EnumValueDefinition value) {
+        if (value.getDescription() == null && value.getDirectives().isEmpty()) {
+            return CodeBlock.of("new $T($S)", EnumValueDefinition.class, value.getName());
+        }
+        CodeBlock.Builder code = CodeBlock.builder()
+                .add("$T.newEnumValueDefinition().name($S)", EnumValueDefinition.class, value.getName());
+        addDescription(code, value.getDescription());
+        addDirectives(code, value.getDirectives());
+        return code.add(".build()").build();
+    }
+
+    private static void addDescription(final CodeBlock.Builder code, final Description description) {
+        if (description != null) {
+            code.add(".description($L)", description(description));
+        }
+    }
+
+    private static void addDirectives(final CodeBlock.Builder code, final List<Directive> directives) {
+        for (Directive directive : directives) {
+            code.add(".directive($L)", directive(directive));
+        }
+    }
+
+    private static CodeBlock directive(final Directive directive) {
+        if (directive.getArguments().isEmpty()) {
+            return CodeBlock.of("new $T($S)", Directive.class, directive.getName());
+        }
+        CodeBlock.Builder code = CodeBlock.builder()
+                .add("$T.newDirective().name($S)", Directive.class, directive.getName());
+        for (Argument argument : directive.getArguments()) {
+            code.add(".argument(new $T($S, $L))", Argument.class, argument.getName(), value(argument.getValue()));
+        }
+        return code.add(".build()").build();
+    }
+
+    private static CodeBlock description(final Description description) {
+        return CodeBlock.of("description($S, $L)", description.getContent(), description.isMultiLine());
+    }
+
+    private static CodeBlock type(final Type<?> type) {
+        if (type instanceof NonNullType) {
+            return CodeBlock.of("nonNull($L)", type(((NonNullType) type).getType()));
+        }
+        if (type instanceof ListType) {
+            return CodeBlock.of("list($L)", type(((ListType) type).getType()));
+        }
+        return CodeBlock.of("type($S)", ((TypeName) type).getName());
+    }
+
+    // default values and directive arguments are constants, so variables cannot occur
+    private static CodeBlock value(final Value<?> value) {
+        if (value instanceof ArrayValue) {
+            return arrayValue((ArrayValue) value);
+        }
+        if (value instanceof ObjectValue) {
+            return objectValue((ObjectValue) value);
+        }
+        if (value instanceof IntValue || value instanceof FloatValue) {
+            return numberValue(value);
+        }
+        return scalarValue(value);
+    }
+
+    private static CodeBlock numberValue(final Value<?> value) {
+        if (value instanceof IntValue) {
+            return CodeBlock.of("new $T(new $T($S))", IntValue.class, BigInteger.class,
+                    ((IntValue) value).getValue().toString());
+        }
+        return CodeBlock.of("new $T(new $T($S))", FloatValue.class, BigDecimal.class,
+                ((FloatValue) value).getValue().toString());
+    }
+
+    private static CodeBlock scalarValue(final Value<?> value) {
+        if (value instanceof StringValue) {
+            return CodeBlock.of("new $T($S)", StringValue.class, ((StringValue) value).getValue());
+        }
+        if (value instanceof BooleanValue) {
+            return CodeBlock.of("new $T($L)", BooleanValue.class, ((BooleanValue) value).isValue());
+        }
+        if (value instanceof EnumValue) {
+            return CodeBlock.of("new $T($S)", EnumValue.class, ((EnumValue) value).getName());
+        }
+        if (value instanceof NullValue) {
+            return CodeBlock.of("$T.newNullValue().build()", NullValue.class);
+        }
+        throw new IllegalArgumentException("Unsupported value in schema: " + value);
+    }
+
+    private static CodeBlock arrayValue(final ArrayValue value) {
+        List<CodeBlock> elements = new ArrayList<>();
+        for (Value<?> element : value.getValues()) {
+            elements.add(value(element));
+        }
+        return CodeBlock.of("new $T($L)", ArrayValue.class, list(Value.class, elements));
+    }
+
+    private static CodeBlock objectValue(final ObjectValue value) {
+        List<CodeBlock> fields = new ArrayList<>();
+        for (ObjectField field : value.getObjectFields()) {
+            fields.add(CodeBlock.of("new $T($S, $L)", ObjectField.class, field.getName(), value(field.getValue())));
+        }
+        return CodeBlock.of("new $T($L)", ObjectValue.class, list(ObjectField.class, fields));
+    }
+
+    private static CodeBlock list(final Class<?> elementType, final List<CodeBlock> elements) {
+        if (elements.isEmpty()) {
+            return CodeBlock.of("$T.<$T>emptyList()", Collections.class, elementType);
+        }
+        return CodeBlock.of("$T.<$T>asList($L)", Arrays.class, elementType, CodeBlock.join(elements, ", "));
+    }
+}
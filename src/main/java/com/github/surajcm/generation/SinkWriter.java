@@ -0,0 +1,48 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.util.OutputSink;
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Renders types and hands them to a sink, timing both steps and counting what actually changed.
+ */
+final class SinkWriter {
+
+    private final OutputSink sink;
+    private final GenerationMetrics metrics;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+
+    SinkWriter(final OutputSink sink, final GenerationMetrics metrics) {
+        this.sink = sink;
+        this.metrics = metrics;
+    }
+
+    void write(final String typeName, final Supplier<JavaFile> renderer) throws IOException {
+        JavaFile javaFile;
+        try (GenerationMetrics.Span span = metrics.startType(GenerationMetrics.RENDER, typeName)) {
+            javaFile = renderer.get();
+        }
+        boolean changed;
+        try (GenerationMetrics.Span span = metrics.startType(GenerationMetrics.WRITE, typeName)) {
+            changed = sink.write(javaFile);
+        }
+        (changed ? written : skipped).incrementAndGet();
+    }
+
+    OutputSink getSink() {
+        return sink;
+    }
+
+    int getWrittenCount() {
+        return written.get();
+    }
+
+    int getSkippedCount() {
+        return skipped.get();
+    }
+}
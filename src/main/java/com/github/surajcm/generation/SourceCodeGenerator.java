@@ -1,13 +1,13 @@
 package com.github.surajcm.generation;
 
-import com.github.surajcm.mapper.TypeMapper;
+import com.github.surajcm.mapper.TypeSymbolTable;
 import com.github.surajcm.model.GraphQLFieldInfo;
 import com.github.surajcm.model.GraphQLTypeInfo;
-import com.squareup.javapoet.ClassName;
+import com.github.surajcm.util.OutputSink;
+import com.github.surajcm.util.WriteIfChangedSink;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
-import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
@@ -15,6 +15,7 @@ import javax.lang.model.element.Modifier;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -24,10 +25,8 @@ import java.util.Objects;
 public class SourceCodeGenerator {
 
     private static SourceCodeGenerator instance;
-    private final TypeMapper typeMapper;
 
     private SourceCodeGenerator() {
-        this.typeMapper = TypeMapper.getInstance();
     }
 
     public static synchronized SourceCodeGenerator getInstance() {
@@ -46,67 +45,89 @@ public class SourceCodeGenerator {
      * @return the generated JavaFile
      * @throws IOException if file writing fails
      */
-    public JavaFile generatePojo(GraphQLTypeInfo typeInfo, File outputDir, String packageName)
+    public JavaFile generatePojo(final GraphQLTypeInfo typeInfo, final File outputDir, final String packageName)
             throws IOException {
-        typeMapper.setTargetPackage(packageName);
-
-        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(typeInfo.getName())
-                .addModifiers(Modifier.PUBLIC);
-
-        List<FieldSpec> fields = new ArrayList<>();
+        return generatePojo(typeInfo, GenerationContext.forType(typeInfo, packageName),
+                outputDir != null ? new WriteIfChangedSink(outputDir.toPath()) : null);
+    }
 
-        for (GraphQLFieldInfo fieldInfo : typeInfo.getFields()) {
-            TypeName fieldType = typeMapper.mapFieldType(fieldInfo);
-            FieldSpec field = FieldSpec.builder(fieldType, fieldInfo.getName(), Modifier.PRIVATE)
-                    .build();
-            fields.add(field);
-            classBuilder.addField(field);
+    /**
+     * Generates a Java POJO file and writes it to the given sink.
+     *
+     * @param typeInfo the GraphQL type information
+     * @param context the generation context holding the package and resolved types
+     * @param sink the destination of the source, or null to only render it
+     * @return the generated JavaFile
+     * @throws IOException if the sink cannot write the file
+     */
+    public JavaFile generatePojo(final GraphQLTypeInfo typeInfo, final GenerationContext context, final OutputSink sink)
+            throws IOException {
+        JavaFile javaFile = generatePojo(typeInfo, context);
+        if (sink != null) {
+            sink.write(javaFile);
         }
+        return javaFile;
+    }
 
-        // Add no-arg constructor
-        classBuilder.addMethod(generateNoArgConstructor());
-
-        // Add all-args constructor if there are fields
-        if (!fields.isEmpty()) {
-            classBuilder.addMethod(generateAllArgsConstructor(typeInfo.getFields(), packageName));
-        }
+    /**
+     * Generates a JavaFile without writing to disk (useful for testing).
+     *
+     * @param typeInfo the GraphQL type information
+     * @param packageName the package name for the generated class
+     * @return the generated JavaFile
+     */
+    public JavaFile generatePojo(final GraphQLTypeInfo typeInfo, final String packageName) {
+        return generatePojo(typeInfo, GenerationContext.forType(typeInfo, packageName));
+    }
 
-        // Add getters and setters
-        for (GraphQLFieldInfo fieldInfo : typeInfo.getFields()) {
-            TypeName fieldType = typeMapper.mapFieldType(fieldInfo);
-            classBuilder.addMethod(generateGetter(fieldInfo.getName(), fieldType));
-            classBuilder.addMethod(generateSetter(fieldInfo.getName(), fieldType));
-        }
+    /**
+     * Generates a JavaFile using the symbols of a generation run. Safe to call from several threads.
+     *
+     * @param typeInfo the GraphQL type information
+     * @param context the generation context holding the package and resolved types
+     * @return the generated JavaFile
+     */
+    public JavaFile generatePojo(final GraphQLTypeInfo typeInfo, final GenerationContext context) {
+        List<GraphQLFieldInfo> fieldInfos = typeInfo.getFields();
+        List<TypeName> fieldTypes = resolveFieldTypes(fieldInfos, context.getSymbols());
+        TypeSpec.Builder classBuilder = TypeSpec.classBuilder(typeInfo.getName())
+                .addModifiers(Modifier.PUBLIC);
+        addFieldsAndAccessors(classBuilder, fieldInfos, fieldTypes);
 
         // Add toString, equals, hashCode
-        classBuilder.addMethod(generateToString(typeInfo.getName(), typeInfo.getFields()));
-        classBuilder.addMethod(generateEquals(typeInfo.getName(), typeInfo.getFields()));
-        classBuilder.addMethod(generateHashCode(typeInfo.getFields()));
+        classBuilder.addMethod(generateToString(typeInfo.getName(), fieldInfos));
+        classBuilder.addMethod(generateEquals(typeInfo.getName(), fieldInfos));
+        classBuilder.addMethod(generateHashCode(fieldInfos));
 
         TypeSpec typeSpec = classBuilder.build();
-        JavaFile javaFile = JavaFile.builder(packageName, typeSpec)
+        return JavaFile.builder(context.getPackageName(), typeSpec)
                 .indent("    ")
                 .build();
+    }
 
-        if (outputDir != null) {
-            javaFile.writeTo(outputDir);
+    private List<TypeName> resolveFieldTypes(final List<GraphQLFieldInfo> fieldInfos, final TypeSymbolTable symbols) {
+        List<TypeName> fieldTypes = new ArrayList<>(fieldInfos.size());
+        for (GraphQLFieldInfo fieldInfo : fieldInfos) {
+            fieldTypes.add(symbols.resolve(fieldInfo));
         }
-
-        return javaFile;
+        return fieldTypes;
     }
 
-    /**
-     * Generates a JavaFile without writing to disk (useful for testing).
-     *
-     * @param typeInfo the GraphQL type information
-     * @param packageName the package name for the generated class
-     * @return the generated JavaFile
-     */
-    public JavaFile generatePojo(GraphQLTypeInfo typeInfo, String packageName) {
-        try {
-            return generatePojo(typeInfo, null, packageName);
-        } catch (IOException e) {
-            throw new RuntimeException("Unexpected IOException without file output", e);
+    private void addFieldsAndAccessors(final TypeSpec.Builder classBuilder,
+                                       final List<GraphQLFieldInfo> fieldInfos,
+                                       final List<TypeName> fieldTypes) {
+        for (int i = 0; i < fieldInfos.size(); i++) {
+            classBuilder.addField(FieldSpec.builder(fieldTypes.get(i), fieldInfos.get(i).getName(), Modifier.PRIVATE)
+                    .build());
+        }
+        classBuilder.addMethod(generateNoArgConstructor());
+        // all-args constructor only if there are fields
+        if (!fieldInfos.isEmpty()) {
+            classBuilder.addMethod(generateAllArgsConstructor(fieldInfos, fieldTypes));
+        }
+        for (int i = 0; i < fieldInfos.size(); i++) {
+            classBuilder.addMethod(generateGetter(fieldInfos.get(i).getName(), fieldTypes.get(i)));
+            classBuilder.addMethod(generateSetter(fieldInfos.get(i).getName(), fieldTypes.get(i)));
         }
     }
 
@@ -116,21 +137,21 @@ public class SourceCodeGenerator {
                 .build();
     }
 
-    private MethodSpec generateAllArgsConstructor(List<GraphQLFieldInfo> fields, String packageName) {
-        typeMapper.setTargetPackage(packageName);
+    private MethodSpec generateAllArgsConstructor(final List<GraphQLFieldInfo> fields,
+                                                  final List<TypeName> fieldTypes) {
         MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
                 .addModifiers(Modifier.PUBLIC);
 
-        for (GraphQLFieldInfo fieldInfo : fields) {
-            TypeName fieldType = typeMapper.mapFieldType(fieldInfo);
-            constructor.addParameter(fieldType, fieldInfo.getName());
-            constructor.addStatement("this.$N = $N", fieldInfo.getName(), fieldInfo.getName());
+        for (int i = 0; i < fields.size(); i++) {
+            String fieldName = fields.get(i).getName();
+            constructor.addParameter(fieldTypes.get(i), fieldName);
+            constructor.addStatement("this.$N = $N", fieldName, fieldName);
         }
 
         return constructor.build();
     }
 
-    private MethodSpec generateGetter(String fieldName, TypeName fieldType) {
+    private MethodSpec generateGetter(final String fieldName, final TypeName fieldType) {
         String methodName = "get" + capitalize(fieldName);
         return MethodSpec.methodBuilder(methodName)
                 .addModifiers(Modifier.PUBLIC)
@@ -139,7 +160,7 @@ public class SourceCodeGenerator {
                 .build();
     }
 
-    private MethodSpec generateSetter(String fieldName, TypeName fieldType) {
+    private MethodSpec generateSetter(final String fieldName, final TypeName fieldType) {
         String methodName = "set" + capitalize(fieldName);
         return MethodSpec.methodBuilder(methodName)
                 .addModifiers(Modifier.PUBLIC)
@@ -148,7 +169,7 @@ public class SourceCodeGenerator {
                 .build();
     }
 
-    private MethodSpec generateToString(String className, List<GraphQLFieldInfo> fields) {
+    private MethodSpec generateToString(final String className, final List<GraphQLFieldInfo> fields) {
         MethodSpec.Builder method = MethodSpec.methodBuilder("toString")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
@@ -157,60 +178,61 @@ public class SourceCodeGenerator {
         if (fields.isEmpty()) {
             method.addStatement("return $S", className + "{}");
         } else {
-            StringBuilder sb = new StringBuilder();
-            sb.append("return \"").append(className).append("{\" +\n");
-
-            for (int i = 0; i < fields.size(); i++) {
-                String fieldName = fields.get(i).getName();
-                if (i == 0) {
-                    sb.append("        \"").append(fieldName).append("=\" + ").append(fieldName);
-                } else {
-                    sb.append(" +\n        \", ").append(fieldName).append("=\" + ").append(fieldName);
-                }
-            }
-            sb.append(" +\n        \"}\"");
-
-            method.addStatement(sb.toString());
+            method.addStatement(toStringStatement(className, fields));
         }
 
         return method.build();
     }
 
-    private MethodSpec generateEquals(String className, List<GraphQLFieldInfo> fields) {
+    private String toStringStatement(final String className, final List<GraphQLFieldInfo> fields) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("return \"").append(className).append("{\" +\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            String fieldName = fields.get(i).getName();
+            if (i == 0) {
+                sb.append("        \"").append(fieldName).append("=\" + ").append(fieldName);
+            } else {
+                sb.append(" +\n        \", ").append(fieldName).append("=\" + ").append(fieldName);
+            }
+        }
+        sb.append(" +\n        \"}\"");
+        return sb.toString();
+    }
+
+    private MethodSpec generateEquals(final String className, final List<GraphQLFieldInfo> fields) {
         MethodSpec.Builder method = MethodSpec.methodBuilder("equals")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
                 .returns(boolean.class)
-                .addParameter(Object.class, "o");
-
-        method.addStatement("if (this == o) return true");
-        method.addStatement("if (o == null || getClass() != o.getClass()) return false");
+                .addParameter(Object.class, "o")
+                .addStatement("if (this == o) return true")
+                .addStatement("if (o == null || getClass() != o.getClass()) return false");
 
         if (fields.isEmpty()) {
-            method.addStatement("return true");
-        } else {
-            method.addStatement("$N that = ($N) o", className, className);
-
-            StringBuilder comparison = new StringBuilder("return ");
-            for (int i = 0; i < fields.size(); i++) {
-                String fieldName = fields.get(i).getName();
-                if (i > 0) {
-                    comparison.append(" &&\n        ");
-                }
-                comparison.append("$T.equals(").append(fieldName).append(", that.").append(fieldName).append(")");
-            }
+            return method.addStatement("return true").build();
+        }
+        method.addStatement("$N that = ($N) o", className, className);
+        addFieldComparison(method, fields);
+        return method.build();
+    }
 
-            Object[] args = new Object[fields.size()];
-            for (int i = 0; i < fields.size(); i++) {
-                args[i] = Objects.class;
+    private void addFieldComparison(final MethodSpec.Builder method, final List<GraphQLFieldInfo> fields) {
+        StringBuilder comparison = new StringBuilder("return ");
+        for (int i = 0; i < fields.size(); i++) {
+            String fieldName = fields.get(i).getName();
+            if (i > 0) {
+                comparison.append(" &&\n        ");
             }
-            method.addStatement(comparison.toString(), args);
+            comparison.append("$T.equals(").append(fieldName).append(", that.").append(fieldName).append(")");
         }
 
-        return method.build();
+        Object[] args = new Object[fields.size()];
+        Arrays.fill(args, Objects.class);
+        method.addStatement(comparison.toString(), args);
     }
 
-    private MethodSpec generateHashCode(List<GraphQLFieldInfo> fields) {
+    private MethodSpec generateHashCode(final List<GraphQLFieldInfo> fields) {
         MethodSpec.Builder method = MethodSpec.methodBuilder("hashCode")
                 .addAnnotation(Override.class)
                 .addModifiers(Modifier.PUBLIC)
@@ -219,20 +241,24 @@ public class SourceCodeGenerator {
         if (fields.isEmpty()) {
             method.addStatement("return 0");
         } else {
-            StringBuilder fieldNames = new StringBuilder();
-            for (int i = 0; i < fields.size(); i++) {
-                if (i > 0) {
-                    fieldNames.append(", ");
-                }
-                fieldNames.append(fields.get(i).getName());
-            }
-            method.addStatement("return $T.hash($L)", Objects.class, fieldNames.toString());
+            method.addStatement("return $T.hash($L)", Objects.class, joinFieldNames(fields));
         }
 
         return method.build();
     }
 
-    private String capitalize(String str) {
+    private String joinFieldNames(final List<GraphQLFieldInfo> fields) {
+        StringBuilder fieldNames = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                fieldNames.append(", ");
+            }
+            fieldNames.append(fields.get(i).getName());
+        }
+        return fieldNames.toString();
+    }
+
+    private String capitalize(final String str) {
         if (str == null || str.isEmpty()) {
             return str;
         }
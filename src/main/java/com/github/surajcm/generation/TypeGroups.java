@@ -0,0 +1,195 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Assignment of the generated types to the compilation units of the {@link OutputLayout#GROUPED_BY_PREFIX}
+ * layout, and the rendering of those units.
+ *
+ * <p>A type belongs to the unit named after the leading word of its name plus {@code Types}: {@code User},
+ * {@code UserProfile} and {@code UserInput} all become nested classes of {@code UserTypes}. A unit name that
+ * is also the name of a schema type gets underscores appended, so it never clashes with a nested class or
+ * shadows one. Adding or removing a type only changes the unit of its own prefix.
+ */
+public final class TypeGroups {
+
+    private static final String SUFFIX = "Types";
+
+    private final Map<String, String> groupByType;
+    private final Map<String, List<String>> membersByGroup;
+
+    private TypeGroups(final Map<String, String> groupByType, final Map<String, List<String>> membersByGroup) {
+        this.groupByType = groupByType;
+        this.membersByGroup = membersByGroup;
+    }
+
+    /**
+     * Groups the types of a model for the given layout.
+     *
+     * @param model the schema model
+     * @param layout the output layout
+     * @return the groups, or null if the layout generates one file per type
+     */
+    public static TypeGroups forLayout(final SchemaModel model, final OutputLayout layout) {
+        return layout == OutputLayout.GROUPED_BY_PREFIX ? byPrefix(model) : null;
+    }
+
+    /**
+     * Groups the types and enums of a model by the leading word of their names.
+     *
+     * @param model the schema model
+     * @return the groups
+     */
+    public static TypeGroups byPrefix(final SchemaModel model) {
+        List<String> typeNames = typeNames(model);
+        Set<String> reserved = new HashSet<>(typeNames);
+        Map<String, String> groupByPrefix = new HashMap<>();
+        Map<String, String> groupByType = new HashMap<>(typeNames.size() * 2);
+        Map<String, List<String>> membersByGroup = new TreeMap<>();
+        for (String typeName : typeNames) {
+            String group = groupByPrefix.computeIfAbsent(prefix(typeName), prefix -> groupName(prefix, reserved));
+            groupByType.put(typeName, group);
+            membersByGroup.computeIfAbsent(group, name -> new ArrayList<>()).add(typeName);
+        }
+        return new TypeGroups(groupByType, membersByGroup);
+    }
+
+    private static List<String> typeNames(final SchemaModel model) {
+        List<String> typeNames = new ArrayList<>(model.size());
+        for (GraphQLTypeInfo typeInfo : model.getTypes()) {
+            typeNames.add(typeInfo.getName());
+        }
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            typeNames.add(enumInfo.getName());
+        }
+        return typeNames;
+    }
+
+    // a unit never takes the name of a schema type
+    private static String groupName(final String prefix, final Set<String> reserved) {
+        String name = prefix + SUFFIX;
+        while (reserved.contains(name)) {
+            name += "_";
+        }
+        return name;
+    }
+
+    /**
+     * The leading word of a type name: a capitalized word ({@code User} in {@code UserProfile}), an acronym
+     * ({@code DVD} in {@code DVDPlayer}), or the lower case start of the name, ending before the next upper
+     * case letter, digit or underscore.
+     *
+     * @param typeName the type name
+     * @return the prefix, never empty
+     */
+    static String prefix(final String typeName) {
+        boolean acronym = Character.isUpperCase(typeName.charAt(0)) && typeName.length() > 1
+                && Character.isUpperCase(typeName.charAt(1));
+        return typeName.substring(0, acronym ? acronymEnd(typeName) : wordEnd(typeName));
+    }
+
+    private static int acronymEnd(final String typeName) {
+        int end = 1;
+        int length = typeName.length();
+        while (end < length && Character.isUpperCase(typeName.charAt(end))) {
+            end++;
+        }
+        if (end < length && Character.isLowerCase(typeName.charAt(end))) {
+            // the last capital starts the next word
+            end--;
+        }
+        return end;
+    }
+
+    private static int wordEnd(final String typeName) {
+        int end = 1;
+        while (end < typeName.length() && Character.isLowerCase(typeName.charAt(end))) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * The compilation unit a type is nested in.
+     *
+     * @param typeName the type name
+     * @return the simple name of the unit, or null if the type is not generated
+     */
+    public String getGroup(final String typeName) {
+        return groupByType.get(typeName);
+    }
+
+    /**
+     * The names of all compilation units, in name order.
+     *
+     * @return the unit names
+     */
+    public Set<String> getGroupNames() {
+        return Collections.unmodifiableSet(membersByGroup.keySet());
+    }
+
+    /**
+     * The types nested in a unit, object and input types first, then enums, each in schema order.
+     *
+     * @param group the unit name
+     * @return the type names
+     */
+    public List<String> getMembers(final String group) {
+        List<String> members = membersByGroup.get(group);
+        return members != null ? Collections.unmodifiableList(members) : Collections.emptyList();
+    }
+
+    /**
+     * The binary name of a type relative to its package, as used by reflection and class loading.
+     *
+     * @param typeName the type name
+     * @return e.g. {@code UserTypes$UserProfile}
+     */
+    public String binaryName(final String typeName) {
+        return groupByType.get(typeName) + '$' + typeName;
+    }
+
+    /**
+     * Renders a unit: a final class holding every member type as a public static nested class, rendered by
+     * {@link SourceCodeGenerator} and {@link EnumGenerator} exactly as in the file per type layout.
+     *
+     * @param group the unit name
+     * @param model the schema model
+     * @param context the generation context, created with these groups
+     * @return the unit source
+     */
+    public JavaFile render(final String group, final SchemaModel model, final GenerationContext context) {
+        TypeSpec.Builder unit = TypeSpec.classBuilder(group)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+        for (String typeName : getMembers(group)) {
+            unit.addType(member(typeName, model, context).toBuilder().addModifiers(Modifier.STATIC).build());
+        }
+        return JavaFile.builder(context.getPackageName(), unit.build())
+                .indent("    ")
+                .build();
+    }
+
+    private static TypeSpec member(final String typeName, final SchemaModel model, final GenerationContext context) {
+        GraphQLTypeInfo typeInfo = model.getType(typeName);
+        if (typeInfo != null) {
+            return SourceCodeGenerator.getInstance().generatePojo(typeInfo, context).typeSpec;
+        }
+        return EnumGenerator.getInstance().generateEnum(model.getEnum(typeName), context.getPackageName()).typeSpec;
+    }
+}
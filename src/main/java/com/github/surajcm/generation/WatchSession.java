@@ -0,0 +1,322 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.exception.ValidationException;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.model.TypeDependencyGraph;
+import com.github.surajcm.parser.SchemaParser;
+import com.github.surajcm.parser.SchemaTypeExtractor;
+import com.github.surajcm.util.OutputSink;
+import com.github.surajcm.util.SchemaDigest;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Keeps a generation run warm in memory and regenerates the affected types when schema files change.
+ *
+ * <p>Every schema file is parsed into its own registry, which is kept together with the digest of the
+ * file. On a change only the files whose content differs are parsed again; the cached registries are
+ * merged and extracted into a new model, and only the types whose fingerprint changed, plus the types
+ * whose fields refer to a type that now resolves differently, are rendered and written. Types that
+ * disappeared from the schema are deleted from the sink.
+ *
+ * <p>Changes are picked up through a {@link WatchService} on the directories holding the schema files plus
+ * any extra directories given (e.g. the {@code schema} directory, so that new files are found).
+ * Editors often save in several steps, so events are collected until the directories stay quiet for a
+ * short moment before the schema is reloaded.
+ */
+public final class WatchSession implements Closeable {
+
+    private static final long QUIET_PERIOD_MILLIS = 50;
+
+    private final SchemaFiles schemaFiles;
+    private final Collection<File> watchRoots;
+    private final OutputSink sink;
+    private final String packageName;
+    private final GenerationOptions options;
+    private final WatchService watchService;
+    private final Set<Path> watchedDirectories = new HashSet<>();
+    private Map<File, ParsedFile> parsedFiles = new LinkedHashMap<>();
+    private GenerationManifest manifest = new GenerationManifest();
+    private SchemaModel model;
+
+    /**
+     * Resolves the current list of schema files; called again after every change so that added and
+     * removed files are noticed.
+     */
+    @FunctionalInterface
+    public interface SchemaFiles {
+        List<File> resolve() throws IOException;
+    }
+
+    /**
+     * Creates a session; nothing is parsed or generated until {@link #start()}.
+     *
+     * @param schemaFiles resolves the schema files, in merge order
+     * @param watchRoots extra directories to watch recursively, may be empty
+     * @param sink the destination of the generated sources
+     * @param packageName the package name for generated classes
+     * @param options the generation options; the manifest file, if any, is read at start and kept up to date
+     * @throws IOException if the watch service cannot be created
+     */
+    public WatchSession(final SchemaFiles schemaFiles,
+                        final Collection<File> watchRoots,
+                        final OutputSink sink,
+                        final String packageName,
+                        final GenerationOptions options) throws IOException {
+        this.schemaFiles = schemaFiles;
+        this.watchRoots = new ArrayList<>(watchRoots);
+        this.sink = sink;
+        this.packageName = packageName;
+        this.options = options;
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Parses every schema file and generates the types that differ from the previous run's manifest.
+     * Unlike the {@code generate} goal the output package is not cleaned first; sources of types the
+     * manifest does not know about are left alone.
+     *
+     * @return the result of the initial run
+     * @throws IOException if a schema file cannot be read or a source cannot be written
+     * @throws ValidationException if a schema type takes the name of the schema class
+     */
+    public GenerationResult start() throws IOException, ValidationException {
+        if (options.isIncremental()) {
+            manifest = GenerationManifest.load(options.getManifestFile());
+        }
+        GenerationResult result = reload(true);
+        registerDirectories();
+        return result;
+    }
+
+    /**
+     * Waits for a schema change and regenerates the affected types.
+     *
+     * @param timeout how long to wait for a change
+     * @param unit the unit of the timeout
+     * @return the result of the regeneration, or null if no schema file changed within the timeout
+     * @throws IOException if a schema file cannot be read or a source cannot be written
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws ValidationException if a schema type takes the name of the schema class
+     */
+    public GenerationResult poll(final long timeout, final TimeUnit unit)
+            throws IOException, InterruptedException, ValidationException {
+        WatchKey key = watchService.poll(timeout, unit);
+        if (key == null) {
+            return null;
+        }
+        drain(key);
+        GenerationResult result = reload(false);
+        registerDirectories();
+        return result;
+    }
+
+    /**
+     * The model extracted from the current schema files.
+     *
+     * @return the current model, or null before {@link #start()}
+     */
+    public SchemaModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // the burst of events a single save produces is collected before looking at the files
+    private void drain(final WatchKey first) throws InterruptedException {
+        WatchKey key = first;
+        while (key != null) {
+            key.pollEvents();
+            if (!key.reset()) {
+                // the directory is gone; register it again should it come back
+                watchedDirectories.remove((Path) key.watchable());
+            }
+            key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // the state is only replaced once the whole schema parsed and merged, so a broken edit keeps the last
+    // good model and is retried on the next change
+    private GenerationResult reload(final boolean initial) throws IOException, ValidationException {
+        GenerationMetrics metrics = new GenerationMetrics(options.isTypeMetrics());
+        try (GenerationMetrics.Span total = metrics.start(GenerationMetrics.TOTAL)) {
+            List<File> files = schemaFiles.resolve();
+            List<File> changed = new ArrayList<>();
+            Map<File, ParsedFile> current = digest(files, changed, metrics);
+            if (!initial && changed.isEmpty() && current.keySet().equals(parsedFiles.keySet())) {
+                return null;
+            }
+            parse(current, changed, metrics);
+            GenerationResult result = rebuild(current, metrics);
+            parsedFiles = current;
+            return result;
+        }
+    }
+
+    private GenerationResult rebuild(final Map<File, ParsedFile> current, final GenerationMetrics metrics)
+            throws IOException, ValidationException {
+        TypeDefinitionRegistry registry;
+        SchemaModel nextModel;
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.EXTRACT)) {
+            registry = merge(current);
+            nextModel = SchemaTypeExtractor.getInstance().extractModel(registry);
+        }
+        TypeDependencyGraph graph = dependencies(nextModel, metrics);
+        SinkWriter writer = new SinkWriter(sink, metrics);
+        GenerationManifest next = regenerate(nextModel, registry, graph, writer, metrics);
+        manifest = next;
+        model = nextModel;
+        return new GenerationResult(nextModel.size(), next.getTypeNames(), writer.getWrittenCount(),
+                writer.getSkippedCount(), metrics, graph);
+    }
+
+    // reuses the parsed registry of every file whose content is unchanged; the others are added to changed
+    private Map<File, ParsedFile> digest(final List<File> files,
+                                         final List<File> changed,
+                                         final GenerationMetrics metrics) throws IOException {
+        Map<File, ParsedFile> current = new LinkedHashMap<>();
+        String encoding = options.getEncoding().name();
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.DIGEST)) {
+            for (File file : files) {
+                current.put(file, parsedFile(file, encoding, changed));
+            }
+        }
+        return current;
+    }
+
+    private ParsedFile parsedFile(final File file, final String encoding, final List<File> changed)
+            throws IOException {
+        String digest = SchemaDigest.getInstance().digest(Collections.singletonList(file), encoding);
+        ParsedFile parsed = parsedFiles.get(file);
+        if (parsed == null || !parsed.digest.equals(digest)) {
+            parsed = new ParsedFile(digest, null);
+            changed.add(file);
+        }
+        return parsed;
+    }
+
+    private void parse(final Map<File, ParsedFile> current,
+                       final List<File> changed,
+                       final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.PARSE)) {
+            List<TypeDefinitionRegistry> registries = SchemaParser.getInstance()
+                    .parseEach(changed, options.getEncoding(), options.getThreads());
+            for (int i = 0; i < changed.size(); i++) {
+                File file = changed.get(i);
+                current.put(file, new ParsedFile(current.get(file).digest, registries.get(i)));
+            }
+        }
+    }
+
+    // the schema class is rendered from the merged registry, so it is kept alongside the model
+    private TypeDefinitionRegistry merge(final Map<File, ParsedFile> current) {
+        List<TypeDefinitionRegistry> registries = new ArrayList<>(current.size());
+        for (ParsedFile parsed : current.values()) {
+            registries.add(parsed.registry);
+        }
+        return SchemaParser.getInstance().merge(registries);
+    }
+
+    private TypeDependencyGraph dependencies(final SchemaModel nextModel, final GenerationMetrics metrics) {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.DEPENDENCIES)) {
+            return TypeDependencyGraph.build(nextModel);
+        }
+    }
+
+    private GenerationManifest regenerate(final SchemaModel nextModel,
+                                          final TypeDefinitionRegistry registry,
+                                          final TypeDependencyGraph graph,
+                                          final SinkWriter writer,
+                                          final GenerationMetrics metrics) throws IOException, ValidationException {
+        JavaCodeGenerator generator = JavaCodeGenerator.getInstance();
+        TypeGroups groups = TypeGroups.forLayout(nextModel, options.getOutputLayout());
+        String schemaClass = options.getSchemaClass();
+        if (schemaClass != null) {
+            generator.validateSchemaClass(nextModel, groups, schemaClass);
+        }
+        GenerationManifest next = generator.generateChangedTypes(
+                nextModel, graph, packageName, groups, manifest, writer, options.getThreads(), metrics);
+        if (schemaClass != null) {
+            // in the manifest like in the generate goal, so the removal below keeps it
+            generator.writeSchemaClass(registry, packageName, schemaClass, writer, next, metrics);
+        }
+        updateOutput(next, metrics);
+        return next;
+    }
+
+    private void updateOutput(final GenerationManifest next, final GenerationMetrics metrics) throws IOException {
+        try (GenerationMetrics.Span span = metrics.start(GenerationMetrics.MANIFEST)) {
+            JavaCodeGenerator.getInstance().deleteRemovedTypes(manifest, next, sink, packageName);
+            if (options.isSyncOutput()) {
+                sink.sync(packageName, next.getTypeNames());
+            }
+            if (options.isIncremental()) {
+                next.store(options.getManifestFile());
+            }
+        }
+    }
+
+    private void registerDirectories() throws IOException {
+        for (Path directory : directories()) {
+            if (watchedDirectories.add(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        }
+    }
+
+    // the directories of the schema files, plus every directory below the watch roots
+    private Set<Path> directories() throws IOException {
+        Set<Path> directories = new HashSet<>();
+        for (File file : parsedFiles.keySet()) {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                directories.add(parent.toPath());
+            }
+        }
+        for (File root : watchRoots) {
+            if (root.isDirectory()) {
+                addTree(root.toPath(), directories);
+            }
+        }
+        return directories;
+    }
+
+    private static void addTree(final Path root, final Set<Path> directories) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isDirectory).forEach(path -> directories.add(path.toAbsolutePath()));
+        }
+    }
+
+    private static final class ParsedFile {
+        private final String digest;
+        private final TypeDefinitionRegistry registry;
+
+        private ParsedFile(final String digest, final TypeDefinitionRegistry registry) {
+            this.digest = digest;
+            this.registry = registry;
+        }
+    }
+}
@@ -5,9 +5,11 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Maps GraphQL types to Java types using JavaPoet TypeName.
@@ -20,11 +22,11 @@ public final class TypeMapper {
     private String targetPackage;
 
     private TypeMapper() {
-        scalarMappings = new HashMap<>();
+        scalarMappings = new ConcurrentHashMap<>();
         initializeScalarMappings();
     }
 
-    public static TypeMapper getInstance() {
+    public static synchronized TypeMapper getInstance() {
         if (instance == null) {
             instance = new TypeMapper();
         }
@@ -44,12 +46,22 @@ public final class TypeMapper {
         scalarMappings.put("BigInteger", ClassName.get("java.math", "BigInteger"));
     }
 
+    /**
+     * Returns a snapshot of the scalar mappings, used to build a {@link TypeSymbolTable}.
+     *
+     * @return GraphQL scalar name to Java type
+     */
+    public Map<String, TypeName> getScalarMappings() {
+        return Collections.unmodifiableMap(new HashMap<>(scalarMappings));
+    }
+
     /**
      * Sets the target package for custom type resolution.
+     * Generation no longer relies on this shared state; see {@link TypeSymbolTable}.
      *
      * @param packageName the package where generated types will reside
      */
-    public void setTargetPackage(String packageName) {
+    public void setTargetPackage(final String packageName) {
         this.targetPackage = packageName;
     }
 
@@ -68,7 +80,7 @@ public final class TypeMapper {
      * @param graphQLType the GraphQL scalar type name
      * @param javaType the Java TypeName to map to
      */
-    public void addScalarMapping(String graphQLType, TypeName javaType) {
+    public void addScalarMapping(final String graphQLType, final TypeName javaType) {
         scalarMappings.put(graphQLType, javaType);
     }
 
@@ -78,7 +90,7 @@ public final class TypeMapper {
      * @param typeName the GraphQL type name
      * @return true if it's a scalar type
      */
-    public boolean isScalarType(String typeName) {
+    public boolean isScalarType(final String typeName) {
         return scalarMappings.containsKey(typeName);
     }
 
@@ -88,7 +100,7 @@ public final class TypeMapper {
      * @param fieldInfo the GraphQL field information
      * @return the corresponding Java TypeName
      */
-    public TypeName mapFieldType(GraphQLFieldInfo fieldInfo) {
+    public TypeName mapFieldType(final GraphQLFieldInfo fieldInfo) {
         TypeName baseType = mapBaseType(fieldInfo.getTypeName());
 
         if (fieldInfo.isList()) {
@@ -104,7 +116,7 @@ public final class TypeMapper {
      * @param graphQLTypeName the GraphQL type name
      * @return the corresponding Java TypeName
      */
-    public TypeName mapBaseType(String graphQLTypeName) {
+    public TypeName mapBaseType(final String graphQLTypeName) {
         TypeName scalarType = scalarMappings.get(graphQLTypeName);
         if (scalarType != null) {
             return scalarType;
@@ -124,7 +136,7 @@ public final class TypeMapper {
      * @param graphQLTypeName the GraphQL scalar type name
      * @return the corresponding Java TypeName, or null if not a scalar
      */
-    public TypeName mapScalarType(String graphQLTypeName) {
+    public TypeName mapScalarType(final String graphQLTypeName) {
         return scalarMappings.get(graphQLTypeName);
     }
 
@@ -134,7 +146,7 @@ public final class TypeMapper {
      * @param graphQLTypeName the GraphQL type name
      * @return the ClassName for the custom type
      */
-    public ClassName getCustomTypeClassName(String graphQLTypeName) {
+    public ClassName getCustomTypeClassName(final String graphQLTypeName) {
         if (targetPackage != null && !targetPackage.isEmpty()) {
             return ClassName.get(targetPackage, graphQLTypeName);
         }
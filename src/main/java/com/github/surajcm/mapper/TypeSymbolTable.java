@@ -0,0 +1,96 @@
+package com.github.surajcm.mapper;
+
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable table of GraphQL type names to the Java types they are generated as.
+ *
+ * <p>Built once per schema and target package, so field types are resolved by a map lookup instead of
+ * being mapped again for every field, and the table can be shared between threads without locking.
+ */
+public final class TypeSymbolTable {
+
+    private static final ClassName LIST = ClassName.get(List.class);
+
+    private final String packageName;
+    private final Map<String, TypeName> types;
+    private final Map<String, TypeName> listTypes;
+
+    private TypeSymbolTable(final String packageName,
+                            final Map<String, TypeName> types,
+                            final Map<String, TypeName> listTypes) {
+        this.packageName = packageName;
+        this.types = Collections.unmodifiableMap(types);
+        this.listTypes = Collections.unmodifiableMap(listTypes);
+    }
+
+    /**
+     * Builds a table holding the given scalars plus every named type of the schema.
+     *
+     * @param scalarMappings GraphQL scalar name to Java type
+     * @param typeNames the names of all types referenced by the schema
+     * @param packageName the package the generated types live in
+     * @return the symbol table
+     */
+    public static TypeSymbolTable build(final Map<String, TypeName> scalarMappings,
+                                        final Collection<String> typeNames,
+                                        final String packageName) {
+        Map<String, TypeName> types = new HashMap<>(scalarMappings);
+        for (String typeName : typeNames) {
+            types.computeIfAbsent(typeName, name -> customType(packageName, name));
+        }
+        Map<String, TypeName> listTypes = new HashMap<>(types.size() * 2);
+        for (Map.Entry<String, TypeName> entry : types.entrySet()) {
+            listTypes.put(entry.getKey(), ParameterizedTypeName.get(LIST, entry.getValue()));
+        }
+        return new TypeSymbolTable(packageName, types, listTypes);
+    }
+
+    /**
+     * Resolves the Java type of a field, wrapping it in a {@code List} for list fields.
+     *
+     * @param fieldInfo the GraphQL field
+     * @return the Java type of the field
+     */
+    public TypeName resolve(final GraphQLFieldInfo fieldInfo) {
+        TypeName resolved = (fieldInfo.isList() ? listTypes : types).get(fieldInfo.getTypeName());
+        if (resolved != null) {
+            return resolved;
+        }
+        // a name the table was not built with; resolve it the same way without caching it
+        TypeName baseType = customType(packageName, fieldInfo.getTypeName());
+        return fieldInfo.isList() ? ParameterizedTypeName.get(LIST, baseType) : baseType;
+    }
+
+    /**
+     * Resolves a GraphQL type name to its Java type.
+     *
+     * @param graphQLTypeName the GraphQL type name
+     * @return the Java type
+     */
+    public TypeName resolve(final String graphQLTypeName) {
+        TypeName resolved = types.get(graphQLTypeName);
+        return resolved != null ? resolved : customType(packageName, graphQLTypeName);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public int size() {
+        return types.size();
+    }
+
+    private static ClassName customType(final String packageName, final String typeName) {
+        return ClassName.get(packageName != null ? packageName : "", typeName);
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.surajcm.model;
+
+/**
+ * A field of one type that refers to another type.
+ */
+public class FieldReference {
+
+    private final String ownerName;
+    private final GraphQLFieldInfo field;
+
+    public FieldReference(final String ownerName, final GraphQLFieldInfo field) {
+        this.ownerName = ownerName;
+        this.field = field;
+    }
+
+    /**
+     * The type that declares the field.
+     *
+     * @return the declaring type name
+     */
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public GraphQLFieldInfo getField() {
+        return field;
+    }
+
+    @Override
+    public String toString() {
+        return ownerName + "." + field.getName();
+    }
+}
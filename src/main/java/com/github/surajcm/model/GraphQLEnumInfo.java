@@ -12,7 +12,7 @@ public class GraphQLEnumInfo {
     private final String name;
     private final List<String> values;
 
-    public GraphQLEnumInfo(String name, List<String> values) {
+    public GraphQLEnumInfo(final String name, final List<String> values) {
         this.name = name;
         this.values = values != null ? new ArrayList<>(values) : new ArrayList<>();
     }
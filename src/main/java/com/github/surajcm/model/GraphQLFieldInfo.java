@@ -2,19 +2,41 @@ package com.github.surajcm.model;
 
 /**
  * Represents a field in a GraphQL type definition.
+ *
+ * <p>Instances are immutable values: {@link SchemaModel.Builder} shares one instance among all types that
+ * declare an identical field (e.g. {@code id: ID!}), so the model holds each distinct field only once.
  */
 public class GraphQLFieldInfo {
 
+    /**
+     * Flag set for list fields.
+     */
+    public static final int LIST = 1;
+
+    /**
+     * Flag set for non-null fields.
+     */
+    public static final int NON_NULL = 2;
+
     private final String name;
     private final String typeName;
-    private final boolean isList;
-    private final boolean isNonNull;
+    private final int flags;
+
+    public GraphQLFieldInfo(final String name, final String typeName, final boolean isList, final boolean isNonNull) {
+        this(name, typeName, (isList ? LIST : 0) | (isNonNull ? NON_NULL : 0));
+    }
 
-    public GraphQLFieldInfo(String name, String typeName, boolean isList, boolean isNonNull) {
+    /**
+     * Creates a field from its packed flags.
+     *
+     * @param name the field name
+     * @param typeName the named type of the field, with list and non-null wrappers removed
+     * @param flags a combination of {@link #LIST} and {@link #NON_NULL}
+     */
+    public GraphQLFieldInfo(final String name, final String typeName, final int flags) {
         this.name = name;
         this.typeName = typeName;
-        this.isList = isList;
-        this.isNonNull = isNonNull;
+        this.flags = flags & (LIST | NON_NULL);
     }
 
     public String getName() {
@@ -26,11 +48,37 @@ public class GraphQLFieldInfo {
     }
 
     public boolean isList() {
-        return isList;
+        return (flags & LIST) != 0;
     }
 
     public boolean isNonNull() {
-        return isNonNull;
+        return (flags & NON_NULL) != 0;
+    }
+
+    /**
+     * The list and non-null flags packed into one int.
+     *
+     * @return a combination of {@link #LIST} and {@link #NON_NULL}
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        GraphQLFieldInfo field = (GraphQLFieldInfo) other;
+        return flags == field.flags && name.equals(field.name) && typeName.equals(field.typeName);
+    }
+
+    @Override
+    public int hashCode() {
+        return (name.hashCode() * 31 + typeName.hashCode()) * 31 + flags;
     }
 
     @Override
@@ -38,8 +86,8 @@ public class GraphQLFieldInfo {
         return "GraphQLFieldInfo{"
                 + "name='" + name + '\''
                 + ", typeName='" + typeName + '\''
-                + ", isList=" + isList
-                + ", isNonNull=" + isNonNull
+                + ", isList=" + isList()
+                + ", isNonNull=" + isNonNull()
                 + '}';
     }
 }
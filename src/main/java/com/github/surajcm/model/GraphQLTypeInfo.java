@@ -1,22 +1,45 @@
 package com.github.surajcm.model;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 /**
  * Represents a GraphQL type definition (object type, input type, etc.).
+ *
+ * <p>Fields, interfaces and union members are kept in plain arrays sized to their content, with a shared
+ * empty array for the common case of none; the getters return read-only views of them.
  */
 public class GraphQLTypeInfo {
 
+    private static final GraphQLFieldInfo[] NO_FIELDS = new GraphQLFieldInfo[0];
+    private static final String[] NO_NAMES = new String[0];
+
     private final String name;
     private final GraphQLTypeKind kind;
-    private final List<GraphQLFieldInfo> fields;
+    private final GraphQLFieldInfo[] fields;
+    private final String[] interfaces;
+    private final String[] possibleTypes;
+
+    public GraphQLTypeInfo(final String name, final GraphQLTypeKind kind, final List<GraphQLFieldInfo> fields) {
+        this(name, kind, fields, null, null);
+    }
 
-    public GraphQLTypeInfo(String name, GraphQLTypeKind kind, List<GraphQLFieldInfo> fields) {
+    public GraphQLTypeInfo(final String name, final GraphQLTypeKind kind, final List<GraphQLFieldInfo> fields,
+                           final List<String> interfaces, final List<String> possibleTypes) {
         this.name = name;
         this.kind = kind;
-        this.fields = fields != null ? new ArrayList<>(fields) : new ArrayList<>();
+        this.fields = fields == null || fields.isEmpty() ? NO_FIELDS : fields.toArray(NO_FIELDS);
+        this.interfaces = toArray(interfaces);
+        this.possibleTypes = toArray(possibleTypes);
+    }
+
+    private GraphQLTypeInfo(final String name, final GraphQLTypeInfo type) {
+        this.name = name;
+        this.kind = type.kind;
+        this.fields = type.fields;
+        this.interfaces = type.interfaces;
+        this.possibleTypes = type.possibleTypes;
     }
 
     public String getName() {
@@ -28,7 +51,45 @@ public class GraphQLTypeInfo {
     }
 
     public List<GraphQLFieldInfo> getFields() {
-        return Collections.unmodifiableList(fields);
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     * Interfaces implemented by an object or interface type.
+     *
+     * @return the interface names, empty for other kinds
+     */
+    public List<String> getInterfaces() {
+        return Collections.unmodifiableList(Arrays.asList(interfaces));
+    }
+
+    /**
+     * Member types of a union.
+     *
+     * @return the member type names, empty for other kinds
+     */
+    public List<String> getPossibleTypes() {
+        return Collections.unmodifiableList(Arrays.asList(possibleTypes));
+    }
+
+    // replaces names and fields with their canonical instances; only called before the model is published.
+    // The name is final, so a type whose name a field referenced first comes back as a copy carrying it
+    GraphQLTypeInfo intern(final SymbolTable symbols) {
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = symbols.field(fields[i]);
+        }
+        for (int i = 0; i < interfaces.length; i++) {
+            interfaces[i] = symbols.name(interfaces[i]);
+        }
+        for (int i = 0; i < possibleTypes.length; i++) {
+            possibleTypes[i] = symbols.name(possibleTypes[i]);
+        }
+        String canonical = symbols.name(name);
+        return canonical == name ? this : new GraphQLTypeInfo(canonical, this);
+    }
+
+    private static String[] toArray(final List<String> names) {
+        return names == null || names.isEmpty() ? NO_NAMES : names.toArray(NO_NAMES);
     }
 
     @Override
@@ -36,7 +97,9 @@ public class GraphQLTypeInfo {
         return "GraphQLTypeInfo{"
                 + "name='" + name + '\''
                 + ", kind=" + kind
-                + ", fields=" + fields
+                + ", fields=" + Arrays.toString(fields)
+                + ", interfaces=" + Arrays.toString(interfaces)
+                + ", possibleTypes=" + Arrays.toString(possibleTypes)
                 + '}';
     }
 }
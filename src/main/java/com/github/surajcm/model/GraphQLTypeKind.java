@@ -23,5 +23,15 @@ public enum GraphQLTypeKind {
     /**
      * Interface type (e.g., interface Node { ... }).
      */
-    INTERFACE
+    INTERFACE,
+
+    /**
+     * Union type (e.g., union SearchResult = User | Post).
+     */
+    UNION,
+
+    /**
+     * Custom scalar type (e.g., scalar DateTime).
+     */
+    SCALAR
 }
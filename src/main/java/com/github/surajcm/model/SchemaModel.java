@@ -0,0 +1,272 @@
+package com.github.surajcm.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The extracted schema, indexed for lookups by later stages.
+ *
+ * <p>Holds every named type by kind, plus a name-to-type index and, for each type name, the fields that
+ * refer to it. The name index is filled while the model is built, so no stage needs to rescan the schema;
+ * the reference index is built on its first lookup, since most runs never need it.
+ *
+ * <p>The model is laid out for schemas of many thousands of types: its builder interns every type name,
+ * so each name is held once however many fields refer to it, and shares identical fields between types.
+ */
+public class SchemaModel {
+
+    private final List<GraphQLTypeInfo> objects;
+    private final List<GraphQLTypeInfo> inputs;
+    private final List<GraphQLTypeInfo> interfaces;
+    private final List<GraphQLTypeInfo> unions;
+    private final List<GraphQLTypeInfo> scalars;
+    private final List<GraphQLEnumInfo> enums;
+    private final Map<String, GraphQLTypeInfo> typesByName;
+    private final Map<String, GraphQLEnumInfo> enumsByName;
+    private volatile Map<String, List<FieldReference>> referencingFields;
+
+    /**
+     * Creates a model holding only generated types; object and input types are told apart by their kind.
+     *
+     * @param types object and input object types
+     * @param enums enum types
+     */
+    public SchemaModel(final List<GraphQLTypeInfo> types, final List<GraphQLEnumInfo> enums) {
+        this(builder().addTypes(types).addEnums(enums));
+    }
+
+    private SchemaModel(final Builder builder) {
+        this.objects = builder.objects;
+        this.inputs = builder.inputs;
+        this.interfaces = builder.interfaces;
+        this.unions = builder.unions;
+        this.scalars = builder.scalars;
+        this.enums = builder.enums;
+        this.typesByName = builder.typesByName;
+        this.enumsByName = builder.enumsByName;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Object and input object types, objects first, each in schema order.
+     *
+     * @return the types that become POJOs
+     */
+    public List<GraphQLTypeInfo> getTypes() {
+        List<GraphQLTypeInfo> types = new ArrayList<>(objects.size() + inputs.size());
+        types.addAll(objects);
+        types.addAll(inputs);
+        return Collections.unmodifiableList(types);
+    }
+
+    public List<GraphQLEnumInfo> getEnums() {
+        return Collections.unmodifiableList(enums);
+    }
+
+    public List<GraphQLTypeInfo> getObjectTypes() {
+        return Collections.unmodifiableList(objects);
+    }
+
+    public List<GraphQLTypeInfo> getInputTypes() {
+        return Collections.unmodifiableList(inputs);
+    }
+
+    public List<GraphQLTypeInfo> getInterfaceTypes() {
+        return Collections.unmodifiableList(interfaces);
+    }
+
+    public List<GraphQLTypeInfo> getUnionTypes() {
+        return Collections.unmodifiableList(unions);
+    }
+
+    /**
+     * Custom scalars declared by the schema; the built-in GraphQL scalars are not included.
+     *
+     * @return the custom scalar types
+     */
+    public List<GraphQLTypeInfo> getScalarTypes() {
+        return Collections.unmodifiableList(scalars);
+    }
+
+    /**
+     * Every non-enum type of every kind: objects, inputs, interfaces, unions and custom scalars.
+     *
+     * @return all types
+     */
+    public List<GraphQLTypeInfo> getAllTypes() {
+        List<GraphQLTypeInfo> all = new ArrayList<>(typesByName.size());
+        all.addAll(objects);
+        all.addAll(inputs);
+        all.addAll(interfaces);
+        all.addAll(unions);
+        all.addAll(scalars);
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Looks up a non-enum type by name.
+     *
+     * @param name the GraphQL type name
+     * @return the type, or null if the schema does not define it
+     */
+    public GraphQLTypeInfo getType(final String name) {
+        return typesByName.get(name);
+    }
+
+    /**
+     * Looks up an enum by name.
+     *
+     * @param name the GraphQL type name
+     * @return the enum, or null if the schema does not define it
+     */
+    public GraphQLEnumInfo getEnum(final String name) {
+        return enumsByName.get(name);
+    }
+
+    /**
+     * The kind of a named type.
+     *
+     * @param name the GraphQL type name
+     * @return the kind, or null for built-in scalars and unknown names
+     */
+    public GraphQLTypeKind getKind(final String name) {
+        GraphQLTypeInfo type = typesByName.get(name);
+        if (type != null) {
+            return type.getKind();
+        }
+        return enumsByName.containsKey(name) ? GraphQLTypeKind.ENUM : null;
+    }
+
+    /**
+     * The fields, across all object, input and interface types, whose type is the given type.
+     *
+     * @param typeName the referenced GraphQL type name
+     * @return the referencing fields, in schema order
+     */
+    public List<FieldReference> getReferencingFields(final String typeName) {
+        Map<String, List<FieldReference>> index = referencingFields;
+        if (index == null) {
+            index = indexReferencingFields();
+        }
+        List<FieldReference> references = index.get(typeName);
+        return references != null ? Collections.unmodifiableList(references) : Collections.emptyList();
+    }
+
+    // types are indexed in the order they were added, so the references keep schema order
+    private synchronized Map<String, List<FieldReference>> indexReferencingFields() {
+        if (referencingFields == null) {
+            Map<String, List<FieldReference>> index = new HashMap<>();
+            for (GraphQLTypeInfo type : typesByName.values()) {
+                for (GraphQLFieldInfo field : type.getFields()) {
+                    index.computeIfAbsent(field.getTypeName(), name -> new ArrayList<>())
+                            .add(new FieldReference(type.getName(), field));
+                }
+            }
+            referencingFields = index;
+        }
+        return referencingFields;
+    }
+
+    /**
+     * Number of generated types: objects, inputs and enums.
+     *
+     * @return the generated type count
+     */
+    public int size() {
+        return objects.size() + inputs.size() + enums.size();
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaModel{"
+                + "objects=" + objects
+                + ", inputs=" + inputs
+                + ", interfaces=" + interfaces
+                + ", unions=" + unions
+                + ", scalars=" + scalars
+                + ", enums=" + enums
+                + '}';
+    }
+
+    /**
+     * Builds a {@link SchemaModel}, interning and indexing every type as it is added.
+     */
+    public static final class Builder {
+        private final List<GraphQLTypeInfo> objects = new ArrayList<>();
+        private final List<GraphQLTypeInfo> inputs = new ArrayList<>();
+        private final List<GraphQLTypeInfo> interfaces = new ArrayList<>();
+        private final List<GraphQLTypeInfo> unions = new ArrayList<>();
+        private final List<GraphQLTypeInfo> scalars = new ArrayList<>();
+        private final List<GraphQLEnumInfo> enums = new ArrayList<>();
+        private final Map<String, GraphQLTypeInfo> typesByName = new LinkedHashMap<>();
+        private final Map<String, GraphQLEnumInfo> enumsByName = new HashMap<>();
+        private final SymbolTable symbols = new SymbolTable();
+        private final Map<GraphQLTypeKind, List<GraphQLTypeInfo>> byKind = new EnumMap<>(GraphQLTypeKind.class);
+
+        private Builder() {
+            byKind.put(GraphQLTypeKind.OBJECT, objects);
+            byKind.put(GraphQLTypeKind.INPUT_OBJECT, inputs);
+            byKind.put(GraphQLTypeKind.INTERFACE, interfaces);
+            byKind.put(GraphQLTypeKind.UNION, unions);
+            byKind.put(GraphQLTypeKind.SCALAR, scalars);
+        }
+
+        /**
+         * Adds a type, replacing its name and its field and type names with the instances already in the
+         * model. A type whose name was already referenced is added as a copy carrying that instance.
+         *
+         * @param type the type to add
+         * @return this builder
+         */
+        public Builder addType(final GraphQLTypeInfo type) {
+            GraphQLTypeInfo interned = type.intern(symbols);
+            kindList(interned.getKind()).add(interned);
+            typesByName.put(interned.getName(), interned);
+            return this;
+        }
+
+        public Builder addTypes(final List<GraphQLTypeInfo> types) {
+            if (types != null) {
+                types.forEach(this::addType);
+            }
+            return this;
+        }
+
+        public Builder addEnum(final GraphQLEnumInfo enumInfo) {
+            String name = symbols.name(enumInfo.getName());
+            // a field that referenced the enum first holds the canonical name
+            GraphQLEnumInfo interned = name == enumInfo.getName()
+                    ? enumInfo : new GraphQLEnumInfo(name, enumInfo.getValues());
+            enums.add(interned);
+            enumsByName.put(name, interned);
+            return this;
+        }
+
+        public Builder addEnums(final List<GraphQLEnumInfo> enumInfos) {
+            if (enumInfos != null) {
+                enumInfos.forEach(this::addEnum);
+            }
+            return this;
+        }
+
+        public SchemaModel build() {
+            return new SchemaModel(this);
+        }
+
+        private List<GraphQLTypeInfo> kindList(final GraphQLTypeKind kind) {
+            List<GraphQLTypeInfo> list = byKind.get(kind);
+            if (list == null) {
+                throw new IllegalArgumentException("Enums are added with addEnum: " + kind);
+            }
+            return list;
+        }
+    }
+}
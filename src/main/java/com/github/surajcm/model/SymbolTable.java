@@ -0,0 +1,39 @@
+package com.github.surajcm.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canonical instances of the names and fields of one {@link SchemaModel}.
+ *
+ * <p>Parsers hand out a new string for every occurrence of a name, so a type referenced by thousands of
+ * fields would otherwise be held thousands of times. The table keeps the first instance of every name and
+ * of every distinct field; it is owned by a single builder and dropped once the model is built.
+ */
+final class SymbolTable {
+
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<GraphQLFieldInfo, GraphQLFieldInfo> fields = new HashMap<>();
+
+    String name(final String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = names.putIfAbsent(value, value);
+        return canonical != null ? canonical : value;
+    }
+
+    GraphQLFieldInfo field(final GraphQLFieldInfo field) {
+        GraphQLFieldInfo canonical = fields.get(field);
+        if (canonical != null) {
+            return canonical;
+        }
+        String fieldName = name(field.getName());
+        String typeName = name(field.getTypeName());
+        canonical = fieldName != field.getName() || typeName != field.getTypeName()
+                ? new GraphQLFieldInfo(fieldName, typeName, field.getFlags())
+                : field;
+        fields.put(canonical, canonical);
+        return canonical;
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.surajcm.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Which types of a schema depend on which other types.
+ *
+ * <p>A type depends on the type of each of its fields, on the interfaces it implements and, for a union, on
+ * its members. Names that the schema refers to without defining them (built-in scalars, or a type that was
+ * removed) are part of the graph as well, so that their dependents can still be found.
+ */
+public class TypeDependencyGraph {
+
+    /**
+     * Why one type depends on another.
+     */
+    public enum EdgeKind {
+        /** A field of the dependent has the type. */
+        FIELD,
+        /** The dependent implements the interface. */
+        IMPLEMENTS,
+        /** The dependent is a union with the type as a member. */
+        MEMBER
+    }
+
+    private final SchemaModel model;
+    private final Map<String, Map<String, Set<EdgeKind>>> dependencies = new TreeMap<>();
+    private final Map<String, Map<String, Set<EdgeKind>>> dependents = new TreeMap<>();
+
+    private TypeDependencyGraph(final SchemaModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Builds the graph of every object, input, interface and union type of a model.
+     *
+     * @param model the extracted schema
+     * @return the dependency graph
+     */
+    public static TypeDependencyGraph build(final SchemaModel model) {
+        TypeDependencyGraph graph = new TypeDependencyGraph(model);
+        for (GraphQLTypeInfo type : model.getAllTypes()) {
+            graph.addEdges(type);
+        }
+        return graph;
+    }
+
+    /**
+     * The types the given type depends on directly.
+     *
+     * @param typeName the dependent type
+     * @return the dependencies, sorted by name
+     */
+    public Set<String> getDependencies(final String typeName) {
+        return names(dependencies.get(typeName), EnumSet.allOf(EdgeKind.class));
+    }
+
+    /**
+     * The types that depend on the given type directly.
+     *
+     * @param typeName the type depended upon
+     * @return the dependents, sorted by name
+     */
+    public Set<String> getDependents(final String typeName) {
+        return names(dependents.get(typeName), EnumSet.allOf(EdgeKind.class));
+    }
+
+    /**
+     * The types that depend directly on any of the given types through one of the given kinds of edges,
+     * i.e. the types that have to be looked at again when those types change.
+     *
+     * @param typeNames the changed types
+     * @param kinds the kinds of edges to follow
+     * @return the dependents, sorted by name
+     */
+    public Set<String> getDependents(final Collection<String> typeNames, final Set<EdgeKind> kinds) {
+        Set<String> result = new TreeSet<>();
+        for (String typeName : typeNames) {
+            result.addAll(names(dependents.get(typeName), kinds));
+        }
+        return result;
+    }
+
+    /**
+     * Every name that some type depends on through the given kind of edge.
+     *
+     * @param kind the kind of edge
+     * @return the referenced names, sorted
+     */
+    public Set<String> getReferencedNames(final EdgeKind kind) {
+        Set<String> result = new TreeSet<>();
+        dependents.forEach((name, edges) -> {
+            if (edges.values().stream().anyMatch(kinds -> kinds.contains(kind))) {
+                result.add(name);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Formats the graph for debugging: every type of the schema with the types it depends on and the
+     * types that depend on it.
+     *
+     * @return the report lines
+     */
+    public List<String> describe() {
+        Set<String> typeNames = new TreeSet<>(dependencies.keySet());
+        typeNames.addAll(dependents.keySet());
+        List<String> lines = new ArrayList<>();
+        for (String typeName : typeNames) {
+            describe(typeName, lines);
+        }
+        return lines;
+    }
+
+    private void describe(final String typeName, final List<String> lines) {
+        GraphQLTypeKind kind = model.getKind(typeName);
+        lines.add(typeName + " (" + (kind != null ? kind.name() : "UNDEFINED") + ")");
+        if (dependencies.containsKey(typeName)) {
+            lines.add("  depends on: " + format(dependencies.get(typeName)));
+        }
+        if (dependents.containsKey(typeName)) {
+            lines.add("  used by: " + format(dependents.get(typeName)));
+        }
+    }
+
+    private void addEdges(final GraphQLTypeInfo type) {
+        for (GraphQLFieldInfo field : type.getFields()) {
+            addEdge(type.getName(), field.getTypeName(), EdgeKind.FIELD);
+        }
+        for (String interfaceName : type.getInterfaces()) {
+            addEdge(type.getName(), interfaceName, EdgeKind.IMPLEMENTS);
+        }
+        if (type.getKind() == GraphQLTypeKind.UNION) {
+            for (String member : type.getPossibleTypes()) {
+                addEdge(type.getName(), member, EdgeKind.MEMBER);
+            }
+        }
+    }
+
+    private void addEdge(final String from, final String to, final EdgeKind kind) {
+        dependencies.computeIfAbsent(from, name -> new TreeMap<>())
+                .computeIfAbsent(to, name -> EnumSet.noneOf(EdgeKind.class)).add(kind);
+        dependents.computeIfAbsent(to, name -> new TreeMap<>())
+                .computeIfAbsent(from, name -> EnumSet.noneOf(EdgeKind.class)).add(kind);
+    }
+
+    private static Set<String> names(final Map<String, Set<EdgeKind>> edges, final Set<EdgeKind> kinds) {
+        if (edges == null) {
+            return Collections.emptySet();
+        }
+        Set<String> result = new LinkedHashSet<>();
+        edges.forEach((name, edgeKinds) -> {
+            if (!Collections.disjoint(edgeKinds, kinds)) {
+                result.add(name);
+            }
+        });
+        return Collections.unmodifiableSet(result);
+    }
+
+    private static String format(final Map<String, Set<EdgeKind>> edges) {
+        return edges.entrySet().stream()
+                .map(edge -> edge.getKey() + " " + edge.getValue().stream()
+                        .map(kind -> kind.name().toLowerCase(Locale.ROOT))
+                        .collect(Collectors.joining(",", "(", ")")))
+                .collect(Collectors.joining(", "));
+    }
+}
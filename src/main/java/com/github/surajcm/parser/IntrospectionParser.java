@@ -0,0 +1,380 @@
+package com.github.surajcm.parser;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import graphql.schema.idl.ScalarInfo;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the result of an introspection query (the JSON a GraphQL server returns for {@code __schema})
+ * straight into a {@link SchemaModel}.
+ *
+ * <p>The JSON is walked with a streaming token reader: each entry of {@code types} becomes a type of the
+ * model as soon as it has been read, and everything the generator does not use (descriptions, arguments,
+ * directives, deprecation) is skipped without being materialized. Neither a JSON tree nor an SDL rendering
+ * of the schema is ever built, so even introspection results of hundreds of MB are read in constant memory
+ * on top of the model itself.
+ *
+ * <p>The extracted model matches the one {@link SchemaTypeExtractor} produces for the equivalent SDL:
+ * introspection types ({@code __Type} etc.), the {@code Query}, {@code Mutation} and {@code Subscription}
+ * types and the built-in scalars are left out.
+ */
+public final class IntrospectionParser {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final String JSON_EXTENSION = ".json";
+
+    private static final Set<String> BUILT_IN_TYPES = new HashSet<>(Arrays.asList(
+            "Query", "Mutation", "Subscription"
+    ));
+
+    private static IntrospectionParser instance;
+
+    private IntrospectionParser() {
+    }
+
+    public static synchronized IntrospectionParser getInstance() {
+        if (instance == null) {
+            instance = new IntrospectionParser();
+        }
+        return instance;
+    }
+
+    /**
+     * Whether a schema file holds an introspection result rather than SDL, judged by its extension.
+     *
+     * @param schemaFile the schema file
+     * @return true for {@code .json} files
+     */
+    public static boolean isIntrospectionFile(final File schemaFile) {
+        return schemaFile.getName().toLowerCase(Locale.ROOT).endsWith(JSON_EXTENSION);
+    }
+
+    /**
+     * Reads one or more introspection results into a single model.
+     *
+     * @param introspectionFiles the introspection JSON files
+     * @param encoding the character encoding of the files
+     * @return the extracted schema model
+     * @throws IOException if a file cannot be read, is not valid JSON, or defines a type another file defines
+     */
+    public SchemaModel parse(final List<File> introspectionFiles, final Charset encoding) throws IOException {
+        SchemaModel.Builder model = SchemaModel.builder();
+        Map<String, String> definedIn = new HashMap<>();
+        for (File file : introspectionFiles) {
+            read(file, encoding, model, definedIn);
+        }
+        return model.build();
+    }
+
+    /**
+     * Reads an introspection result into a model.
+     *
+     * @param reader the introspection JSON
+     * @param sourceName the name used in error messages
+     * @return the extracted schema model
+     * @throws IOException if the JSON cannot be read or holds no {@code __schema}
+     */
+    public SchemaModel parse(final Reader reader, final String sourceName) throws IOException {
+        SchemaModel.Builder model = SchemaModel.builder();
+        read(reader, sourceName, model, new HashMap<>());
+        return model.build();
+    }
+
+    private void read(final File file,
+                      final Charset encoding,
+                      final SchemaModel.Builder model,
+                      final Map<String, String> definedIn) throws IOException {
+        CharsetDecoder decoder = encoding.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                Reader reader = new BufferedReader(Channels.newReader(channel, decoder, READ_BUFFER_SIZE))) {
+            read(reader, file.getPath(), model, definedIn);
+        } catch (UncheckedIOException ex) {
+            throw new IOException("Unable to read " + file.getPath() + " as " + encoding.name()
+                    + ": " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    private void read(final Reader reader,
+                      final String sourceName,
+                      final SchemaModel.Builder model,
+                      final Map<String, String> definedIn) throws IOException {
+        JsonTokenReader json = new JsonTokenReader(reader, sourceName);
+        if (!findSchema(json)) {
+            throw new IOException("No introspection result (__schema) found in " + sourceName);
+        }
+        json.beginObject();
+        while (json.hasNext()) {
+            if ("types".equals(json.nextName()) && !json.nextNullIfPresent()) {
+                readTypes(json, sourceName, model, definedIn);
+            } else {
+                json.skipValue();
+            }
+        }
+    }
+
+    private void readTypes(final JsonTokenReader json,
+                           final String sourceName,
+                           final SchemaModel.Builder model,
+                           final Map<String, String> definedIn) throws IOException {
+        json.beginArray();
+        while (json.hasNext()) {
+            IntrospectedType type = readType(json);
+            if (type.name != null && type.kind != null && isGenerated(type)) {
+                define(type, sourceName, definedIn);
+                addType(model, type);
+            }
+        }
+        json.endArray();
+    }
+
+    // descends into the root object, and its "data" member for a full response, up to the "__schema" value
+    private boolean findSchema(final JsonTokenReader json) throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            String name = json.nextName();
+            if ("__schema".equals(name)) {
+                return true;
+            }
+            if ("data".equals(name) && json.peek() == JsonTokenReader.Token.BEGIN_OBJECT) {
+                return findSchema(json);
+            }
+            json.skipValue();
+        }
+        return false;
+    }
+
+    private IntrospectedType readType(final JsonTokenReader json) throws IOException {
+        IntrospectedType type = new IntrospectedType();
+        readObject(json, member -> readTypeMember(json, member, type));
+        return type;
+    }
+
+    private void readTypeMember(final JsonTokenReader json,
+                                final String member,
+                                final IntrospectedType type) throws IOException {
+        List<String> names = type.names(member);
+        if ("kind".equals(member)) {
+            type.kind = json.nextString();
+        } else if ("name".equals(member)) {
+            type.name = json.nextString();
+        } else if ("fields".equals(member) || "inputFields".equals(member)) {
+            readFields(json, type.fields);
+        } else if (names != null) {
+            readTypeNames(json, names);
+        } else {
+            json.skipValue();
+        }
+    }
+
+    private void define(final IntrospectedType type,
+                        final String sourceName,
+                        final Map<String, String> definedIn) throws IOException {
+        String previous = definedIn.putIfAbsent(type.name, sourceName);
+        if (previous != null) {
+            throw new IOException("Type " + type.name + " is defined in both " + previous + " and " + sourceName);
+        }
+    }
+
+    private boolean isGenerated(final IntrospectedType type) {
+        if (type.name.startsWith("__")) {
+            return false;
+        }
+        if ("OBJECT".equals(type.kind)) {
+            return !BUILT_IN_TYPES.contains(type.name);
+        }
+        return !"SCALAR".equals(type.kind) || !ScalarInfo.isGraphqlSpecifiedScalar(type.name);
+    }
+
+    // keeps only what the SDL extractor keeps for the same kind of type
+    private void addType(final SchemaModel.Builder model, final IntrospectedType type) throws IOException {
+        GraphQLTypeKind kind = toKind(type);
+        if (kind == GraphQLTypeKind.ENUM) {
+            model.addEnum(new GraphQLEnumInfo(type.name, type.enumValues));
+            return;
+        }
+        boolean composite = kind == GraphQLTypeKind.OBJECT || kind == GraphQLTypeKind.INTERFACE;
+        boolean hasFields = composite || kind == GraphQLTypeKind.INPUT_OBJECT;
+        model.addType(new GraphQLTypeInfo(type.name, kind,
+                hasFields ? type.fields : null,
+                composite ? type.interfaces : null,
+                kind == GraphQLTypeKind.UNION ? type.possibleTypes : null));
+    }
+
+    private GraphQLTypeKind toKind(final IntrospectedType type) throws IOException {
+        try {
+            return GraphQLTypeKind.valueOf(type.kind);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Unknown kind " + type.kind + " of type " + type.name, ex);
+        }
+    }
+
+    private void readFields(final JsonTokenReader json, final List<GraphQLFieldInfo> fields) throws IOException {
+        if (json.nextNullIfPresent()) {
+            return;
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            readField(json, fields);
+        }
+        json.endArray();
+    }
+
+    private void readField(final JsonTokenReader json, final List<GraphQLFieldInfo> fields) throws IOException {
+        IntrospectedField field = new IntrospectedField();
+        readObject(json, member -> {
+            if ("name".equals(member)) {
+                field.name = json.nextString();
+            } else if ("type".equals(member)) {
+                field.type = readTypeRef(json);
+            } else {
+                json.skipValue();
+            }
+        });
+        if (field.name != null && field.type != null) {
+            fields.add(toFieldInfo(field.name, field.type));
+        }
+    }
+
+    // reads the "name" of every entry of a list of type references or enum values
+    private void readTypeNames(final JsonTokenReader json, final List<String> names) throws IOException {
+        if (json.nextNullIfPresent()) {
+            return;
+        }
+        json.beginArray();
+        while (json.hasNext()) {
+            readObject(json, member -> readName(json, member, names));
+        }
+        json.endArray();
+    }
+
+    private void readName(final JsonTokenReader json, final String member, final List<String> names)
+            throws IOException {
+        if ("name".equals(member)) {
+            names.add(json.nextString());
+        } else {
+            json.skipValue();
+        }
+    }
+
+    private TypeRef readTypeRef(final JsonTokenReader json) throws IOException {
+        if (json.nextNullIfPresent()) {
+            return null;
+        }
+        TypeRef type = new TypeRef();
+        readObject(json, member -> readTypeRefMember(json, member, type));
+        return type;
+    }
+
+    private void readTypeRefMember(final JsonTokenReader json, final String member, final TypeRef type)
+            throws IOException {
+        if ("kind".equals(member)) {
+            type.kind = json.nextString();
+        } else if ("name".equals(member)) {
+            type.name = json.nextString();
+        } else if ("ofType".equals(member)) {
+            type.ofType = readTypeRef(json);
+        } else {
+            json.skipValue();
+        }
+    }
+
+    // hands the name of every member of an object to the given reader, which consumes its value
+    private void readObject(final JsonTokenReader json, final MemberReader members) throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            members.read(json.nextName());
+        }
+        json.endObject();
+    }
+
+    // unwraps the same way SchemaTypeExtractor unwraps an SDL type: T!, [T] and [T!]!, anything deeper is Unknown
+    private GraphQLFieldInfo toFieldInfo(final String name, final TypeRef type) {
+        boolean isNonNull = isKind(type, "NON_NULL");
+        TypeRef current = unwrapNonNull(type);
+        boolean isList = isKind(current, "LIST");
+        if (isList) {
+            current = unwrapNonNull(current.ofType);
+        }
+        boolean named = current != null && current.name != null
+                && !isKind(current, "LIST") && !isKind(current, "NON_NULL");
+        return new GraphQLFieldInfo(name, named ? current.name : "Unknown", isList, isNonNull);
+    }
+
+    private TypeRef unwrapNonNull(final TypeRef type) {
+        return isKind(type, "NON_NULL") ? type.ofType : type;
+    }
+
+    private boolean isKind(final TypeRef type, final String kind) {
+        return type != null && kind.equals(type.kind);
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+
+    private static final class IntrospectedType {
+        private String kind;
+        private String name;
+        private final List<GraphQLFieldInfo> fields = new ArrayList<>();
+        private final List<String> interfaces = new ArrayList<>();
+        private final List<String> possibleTypes = new ArrayList<>();
+        private final List<String> enumValues = new ArrayList<>();
+
+        // the list a member holding type references or enum values is read into, if it is one
+        private List<String> names(final String member) {
+            switch (member) {
+                case "interfaces":
+                    return interfaces;
+                case "possibleTypes":
+                    return possibleTypes;
+                case "enumValues":
+                    return enumValues;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private interface MemberReader {
+        void read(String member) throws IOException;
+    }
+
+    private static final class IntrospectedField {
+        private String name;
+        private TypeRef type;
+    }
+
+    private static final class TypeRef {
+        private String kind;
+        private String name;
+        private TypeRef ofType;
+    }
+}
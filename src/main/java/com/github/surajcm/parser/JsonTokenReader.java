@@ -0,0 +1,369 @@
+package com.github.surajcm.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A minimal pull parser for JSON documents: the caller walks the document token by token, so a value that
+ * is not needed is skipped without ever being materialized.
+ *
+ * <p>Reads through its own fixed size buffer, and only keeps the current string or number plus the nesting
+ * of the enclosing objects and arrays, whatever the size of the document. Malformed input is reported as an
+ * {@link IOException} naming the source and line.
+ */
+final class JsonTokenReader implements Closeable {
+
+    /**
+     * The kinds of tokens returned by {@link #peek()}.
+     */
+    enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // what the reader expects next in the enclosing scope
+    private static final int DOCUMENT_START = 0;
+    private static final int DOCUMENT_END = 1;
+    private static final int OBJECT_START = 2;
+    private static final int OBJECT_NAME_READ = 3;
+    private static final int OBJECT_AFTER_VALUE = 4;
+    private static final int ARRAY_START = 5;
+    private static final int ARRAY_AFTER_VALUE = 6;
+
+    // the characters that may follow a backslash, and what each escape stands for
+    private static final String ESCAPES = "\"\\/bfnrt";
+    private static final String ESCAPED = "\"\\/\b\f\n\r\t";
+
+    private final Reader reader;
+    private final String sourceName;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private int position;
+    private int limit;
+    private int line = 1;
+    private int[] scopes = new int[32];
+    private int depth = 1;
+    private Token peeked;
+    private String peekedText;
+
+    JsonTokenReader(final Reader reader, final String sourceName) {
+        this.reader = reader;
+        this.sourceName = sourceName;
+        scopes[0] = DOCUMENT_START;
+    }
+
+    Token peek() throws IOException {
+        if (peeked == null) {
+            peeked = readToken();
+        }
+        return peeked;
+    }
+
+    boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(OBJECT_START);
+    }
+
+    void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(ARRAY_START);
+    }
+
+    void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    String nextName() throws IOException {
+        expect(Token.NAME);
+        return peekedText;
+    }
+
+    /**
+     * Reads a string value, or a null literal.
+     *
+     * @return the string, or null
+     * @throws IOException if the next value is neither a string nor null
+     */
+    String nextString() throws IOException {
+        if (peek() == Token.NULL) {
+            peeked = null;
+            return null;
+        }
+        expect(Token.STRING);
+        return peekedText;
+    }
+
+    boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return Boolean.parseBoolean(peekedText);
+    }
+
+    /**
+     * Consumes a null literal if that is the next value.
+     *
+     * @return true if a null was consumed
+     * @throws IOException if the input cannot be read
+     */
+    boolean nextNullIfPresent() throws IOException {
+        if (peek() == Token.NULL) {
+            peeked = null;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the next value, including everything nested in it.
+     *
+     * @throws IOException if the input cannot be read or is malformed
+     */
+    void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            if (peek() == Token.END_DOCUMENT) {
+                throw syntaxError("unexpected end of document");
+            }
+            nesting += skipToken();
+        } while (nesting > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void expect(final Token token) throws IOException {
+        if (peek() != token) {
+            throw syntaxError("expected " + token + " but was " + peeked);
+        }
+        peeked = null;
+    }
+
+    // consumes the peeked token, returning by how much it changes the nesting
+    private int skipToken() {
+        Token token = peeked;
+        peeked = null;
+        if (token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY) {
+            push(token == Token.BEGIN_OBJECT ? OBJECT_START : ARRAY_START);
+            return 1;
+        }
+        if (token == Token.END_OBJECT || token == Token.END_ARRAY) {
+            depth--;
+            return -1;
+        }
+        return 0;
+    }
+
+    private void push(final int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    private Token readToken() throws IOException {
+        int scope = scopes[depth - 1];
+        switch (scope) {
+            case DOCUMENT_START:
+            case DOCUMENT_END:
+                return readDocument(scope);
+            case ARRAY_START:
+            case ARRAY_AFTER_VALUE:
+                return readArrayElement(scope);
+            case OBJECT_NAME_READ:
+                return readMemberValue();
+            default:
+                return readObjectMember(scope);
+        }
+    }
+
+    private Token readDocument(final int scope) throws IOException {
+        int character = nextNonWhitespace();
+        if (scope == DOCUMENT_START) {
+            scopes[depth - 1] = DOCUMENT_END;
+            return readValue(character);
+        }
+        if (character != -1) {
+            throw syntaxError("unexpected content after the document");
+        }
+        return Token.END_DOCUMENT;
+    }
+
+    private Token readArrayElement(final int scope) throws IOException {
+        scopes[depth - 1] = ARRAY_AFTER_VALUE;
+        int character = nextNonWhitespace();
+        if (character == ']') {
+            return Token.END_ARRAY;
+        }
+        return readValue(skipSeparator(character, scope == ARRAY_AFTER_VALUE, ']'));
+    }
+
+    private Token readObjectMember(final int scope) throws IOException {
+        int character = nextNonWhitespace();
+        if (character == '}') {
+            return Token.END_OBJECT;
+        }
+        character = skipSeparator(character, scope == OBJECT_AFTER_VALUE, '}');
+        if (character != '"') {
+            throw syntaxError("expected a member name");
+        }
+        peekedText = readString();
+        scopes[depth - 1] = OBJECT_NAME_READ;
+        return Token.NAME;
+    }
+
+    private Token readMemberValue() throws IOException {
+        if (nextNonWhitespace() != ':') {
+            throw syntaxError("expected ':'");
+        }
+        scopes[depth - 1] = OBJECT_AFTER_VALUE;
+        return readValue(nextNonWhitespace());
+    }
+
+    // every element but the first of an object or array is preceded by a ','
+    private int skipSeparator(final int character, final boolean afterValue, final char end) throws IOException {
+        if (!afterValue) {
+            return character;
+        }
+        if (character != ',') {
+            throw syntaxError("expected ',' or '" + end + "'");
+        }
+        return nextNonWhitespace();
+    }
+
+    private Token readValue(final int character) throws IOException {
+        switch (character) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                peekedText = readString();
+                return Token.STRING;
+            default:
+                return readScalar(character);
+        }
+    }
+
+    private Token readScalar(final int character) throws IOException {
+        if (character == 't' || character == 'f' || character == 'n') {
+            return readLiteral(character);
+        }
+        if (character == '-' || (character >= '0' && character <= '9')) {
+            peekedText = readNumber((char) character);
+            return Token.NUMBER;
+        }
+        throw syntaxError(character == -1 ? "unexpected end of document" : "unexpected character");
+    }
+
+    private String readString() throws IOException {
+        text.setLength(0);
+        int character = read();
+        while (character != '"') {
+            if (character == -1 || character == '\n') {
+                throw syntaxError("unterminated string");
+            }
+            text.append(character == '\\' ? readEscape() : (char) character);
+            character = read();
+        }
+        return text.toString();
+    }
+
+    private char readEscape() throws IOException {
+        int character = read();
+        if (character == 'u') {
+            return readUnicodeEscape();
+        }
+        int index = ESCAPES.indexOf(character);
+        if (index < 0) {
+            throw syntaxError("invalid escape sequence");
+        }
+        return ESCAPED.charAt(index);
+    }
+
+    private char readUnicodeEscape() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw syntaxError("invalid unicode escape");
+            }
+            value = value * 16 + digit;
+        }
+        return (char) value;
+    }
+
+    private String readNumber(final char first) throws IOException {
+        text.setLength(0);
+        text.append(first);
+        int character = peekChar();
+        while (character != -1 && "0123456789+-.eE".indexOf(character) >= 0) {
+            text.append((char) read());
+            character = peekChar();
+        }
+        return text.toString();
+    }
+
+    // true, false or null, of which the first character has been read
+    private Token readLiteral(final int first) throws IOException {
+        String literal = first == 't' ? "true" : first == 'f' ? "false" : "null";
+        for (int i = 1; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("invalid literal");
+            }
+        }
+        peekedText = literal;
+        return first == 'n' ? Token.NULL : Token.BOOLEAN;
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int character = read();
+        while (character == ' ' || character == '\n' || character == '\r' || character == '\t') {
+            character = read();
+        }
+        return character;
+    }
+
+    private int peekChar() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char character = buffer[position++];
+        if (character == '\n') {
+            line++;
+        }
+        return character;
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private IOException syntaxError(final String message) {
+        return new IOException("Malformed JSON in " + sourceName + " at line " + line + ": " + message);
+    }
+}
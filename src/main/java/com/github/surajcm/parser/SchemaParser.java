@@ -1,16 +1,39 @@
 package com.github.surajcm.parser;
 
+import graphql.parser.MultiSourceReader;
+import graphql.parser.ParserOptions;
 import graphql.schema.idl.TypeDefinitionRegistry;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Parses GraphQL schema files and returns a TypeDefinitionRegistry.
  */
 public final class SchemaParser {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    // comments are not needed for generation, so don't keep them in the AST
+    private static final ParserOptions SDL_OPTIONS = ParserOptions.getDefaultSdlParserOptions()
+            .transform(options -> options.captureLineComments(false));
+
     private static SchemaParser instance;
 
     private SchemaParser() {
@@ -24,16 +47,172 @@ public final class SchemaParser {
     }
 
     /**
-     * Parses a GraphQL schema file and returns the TypeDefinitionRegistry.
+     * Parses a UTF-8 encoded GraphQL schema file and returns the TypeDefinitionRegistry.
      *
      * @param schemaFile the GraphQL schema file to parse
      * @return TypeDefinitionRegistry containing all type definitions
      * @throws IOException if the file cannot be read
      * @throws graphql.schema.idl.errors.SchemaProblem if the schema is invalid
      */
-    public TypeDefinitionRegistry parse(File schemaFile) throws IOException {
-        String schemaContent = new String(Files.readAllBytes(schemaFile.toPath()));
-        return parseContent(schemaContent);
+    public TypeDefinitionRegistry parse(final File schemaFile) throws IOException {
+        return parse(schemaFile, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a GraphQL schema file in the given encoding and returns the TypeDefinitionRegistry.
+     *
+     * <p>The file is streamed through a buffered channel reader straight into graphql-java's parser, so
+     * the schema is never held as a byte array plus a String copy. Bytes that are not valid in the given
+     * encoding are reported as an error instead of being silently replaced.
+     *
+     * @param schemaFile the GraphQL schema file to parse
+     * @param encoding the character encoding of the file
+     * @return TypeDefinitionRegistry containing all type definitions
+     * @throws IOException if the file cannot be read or is not valid in the given encoding
+     * @throws graphql.schema.idl.errors.SchemaProblem if the schema is invalid
+     */
+    public TypeDefinitionRegistry parse(final File schemaFile, final Charset encoding) throws IOException {
+        try (FileChannel channel = FileChannel.open(schemaFile.toPath(), StandardOpenOption.READ);
+                Reader reader = new BufferedReader(Channels.newReader(channel, decoder(encoding), READ_BUFFER_SIZE));
+                MultiSourceReader source = sourceOf(reader, schemaFile)) {
+            return new graphql.schema.idl.SchemaParser().parse(source, SDL_OPTIONS);
+        } catch (UncheckedIOException ex) {
+            throw new IOException("Unable to read " + schemaFile.getPath() + " as " + encoding.name()
+                    + ": " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /**
+     * Parses several GraphQL schema files and merges them into a single TypeDefinitionRegistry.
+     *
+     * <p>Each file is parsed into its own registry on a pool of {@code threads} workers. The registries are
+     * then merged in the order of the given list, so the result does not depend on which file finishes
+     * first. Type extensions ({@code extend type ...}) are carried over by the merge and may live in a
+     * different file than the type they extend.
+     *
+     * <p>Files are read as UTF-8.
+     *
+     * @param schemaFiles the schema files to parse, in merge order
+     * @param threads the number of files parsed concurrently
+     * @return TypeDefinitionRegistry containing the type definitions of all files
+     * @throws IOException if a file cannot be read
+     * @throws graphql.schema.idl.errors.SchemaProblem if a schema is invalid or a type is defined twice
+     */
+    public TypeDefinitionRegistry parse(final List<File> schemaFiles, final int threads) throws IOException {
+        return parse(schemaFiles, StandardCharsets.UTF_8, threads);
+    }
+
+    /**
+     * Parses several GraphQL schema files in the given encoding and merges them, see {@link #parse(List, int)}.
+     *
+     * @param schemaFiles the schema files to parse, in merge order
+     * @param encoding the character encoding of the files
+     * @param threads the number of files parsed concurrently
+     * @return TypeDefinitionRegistry containing the type definitions of all files
+     * @throws IOException if a file cannot be read
+     * @throws graphql.schema.idl.errors.SchemaProblem if a schema is invalid or a type is defined twice
+     */
+    public TypeDefinitionRegistry parse(final List<File> schemaFiles, final Charset encoding, final int threads)
+            throws IOException {
+        if (schemaFiles.size() == 1) {
+            return parse(schemaFiles.get(0), encoding);
+        }
+        return merge(parseEach(schemaFiles, encoding, threads));
+    }
+
+    /**
+     * Parses several GraphQL schema files into one registry per file, without merging them.
+     *
+     * @param schemaFiles the schema files to parse
+     * @param encoding the character encoding of the files
+     * @param threads the number of files parsed concurrently
+     * @return the registries, in the order of the given files
+     * @throws IOException if a file cannot be read
+     * @throws graphql.schema.idl.errors.SchemaProblem if a schema is invalid
+     */
+    public List<TypeDefinitionRegistry> parseEach(final List<File> schemaFiles,
+                                                  final Charset encoding,
+                                                  final int threads) throws IOException {
+        if (schemaFiles.isEmpty()) {
+            return new ArrayList<>();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, schemaFiles.size())));
+        try {
+            return awaitAll(submitAll(executor, schemaFiles, encoding));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Merges per-file registries into a new registry, in the given order. The given registries are not
+     * modified, so they can be merged again after one of them was replaced.
+     *
+     * @param registries the registries to merge
+     * @return the merged registry
+     * @throws graphql.schema.idl.errors.SchemaProblem if a type is defined twice
+     */
+    public TypeDefinitionRegistry merge(final List<TypeDefinitionRegistry> registries) {
+        TypeDefinitionRegistry merged = new TypeDefinitionRegistry();
+        for (TypeDefinitionRegistry registry : registries) {
+            merged.merge(registry);
+        }
+        return merged;
+    }
+
+    // malformed bytes fail the parse instead of turning into replacement characters
+    private CharsetDecoder decoder(final Charset encoding) {
+        return encoding.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+    }
+
+    private MultiSourceReader sourceOf(final Reader reader, final File schemaFile) {
+        return MultiSourceReader.newMultiSourceReader()
+                .reader(reader, schemaFile.getPath())
+                .trackData(false)
+                .build();
+    }
+
+    private List<Future<TypeDefinitionRegistry>> submitAll(final ExecutorService executor,
+                                                           final List<File> schemaFiles,
+                                                           final Charset encoding) {
+        List<Future<TypeDefinitionRegistry>> parsed = new ArrayList<>(schemaFiles.size());
+        for (File schemaFile : schemaFiles) {
+            parsed.add(executor.submit(() -> parse(schemaFile, encoding)));
+        }
+        return parsed;
+    }
+
+    private List<TypeDefinitionRegistry> awaitAll(final List<Future<TypeDefinitionRegistry>> parsed)
+            throws IOException {
+        List<TypeDefinitionRegistry> registries = new ArrayList<>(parsed.size());
+        for (Future<TypeDefinitionRegistry> registry : parsed) {
+            registries.add(await(registry));
+        }
+        return registries;
+    }
+
+    private TypeDefinitionRegistry await(final Future<TypeDefinitionRegistry> registry) throws IOException {
+        try {
+            return registry.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing schema files", ex);
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    // the worker's own failure is surfaced unchanged, anything else is wrapped
+    private IOException rethrow(final Throwable cause) throws IOException {
+        if (cause instanceof IOException) {
+            throw (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException("Unable to parse schema file", cause);
     }
 
     /**
@@ -43,7 +222,7 @@ public final class SchemaParser {
      * @return TypeDefinitionRegistry containing all type definitions
      * @throws graphql.schema.idl.errors.SchemaProblem if the schema is invalid
      */
-    public TypeDefinitionRegistry parseContent(String schemaContent) {
+    public TypeDefinitionRegistry parseContent(final String schemaContent) {
         graphql.schema.idl.SchemaParser schemaParser = new graphql.schema.idl.SchemaParser();
         return schemaParser.parse(schemaContent);
     }
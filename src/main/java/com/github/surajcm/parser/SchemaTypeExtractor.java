@@ -4,6 +4,7 @@ import com.github.surajcm.model.GraphQLEnumInfo;
 import com.github.surajcm.model.GraphQLFieldInfo;
 import com.github.surajcm.model.GraphQLTypeInfo;
 import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
 import graphql.language.EnumTypeDefinition;
 import graphql.language.EnumValueDefinition;
 import graphql.language.FieldDefinition;
@@ -13,14 +14,20 @@ import graphql.language.InterfaceTypeDefinition;
 import graphql.language.ListType;
 import graphql.language.NonNullType;
 import graphql.language.ObjectTypeDefinition;
+import graphql.language.ScalarTypeDefinition;
 import graphql.language.Type;
+import graphql.language.TypeDefinition;
 import graphql.language.TypeName;
+import graphql.language.UnionTypeDefinition;
+import graphql.schema.idl.ScalarInfo;
 import graphql.schema.idl.TypeDefinitionRegistry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -51,12 +58,15 @@ public final class SchemaTypeExtractor {
      * @param registry the TypeDefinitionRegistry to extract from
      * @return list of GraphQLTypeInfo representing object types
      */
-    public List<GraphQLTypeInfo> extractObjectTypes(TypeDefinitionRegistry registry) {
+    public List<GraphQLTypeInfo> extractObjectTypes(final TypeDefinitionRegistry registry) {
         List<GraphQLTypeInfo> types = new ArrayList<>();
 
         for (ObjectTypeDefinition typeDef : registry.getTypes(ObjectTypeDefinition.class)) {
             if (!BUILT_IN_TYPES.contains(typeDef.getName())) {
                 List<GraphQLFieldInfo> fields = extractFields(typeDef.getFieldDefinitions());
+                for (ObjectTypeDefinition extension : extensionsOf(registry.objectTypeExtensions(), typeDef)) {
+                    fields.addAll(extractFields(extension.getFieldDefinitions()));
+                }
                 types.add(new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.OBJECT, fields));
             }
         }
@@ -70,11 +80,14 @@ public final class SchemaTypeExtractor {
      * @param registry the TypeDefinitionRegistry to extract from
      * @return list of GraphQLTypeInfo representing input types
      */
-    public List<GraphQLTypeInfo> extractInputTypes(TypeDefinitionRegistry registry) {
+    public List<GraphQLTypeInfo> extractInputTypes(final TypeDefinitionRegistry registry) {
         List<GraphQLTypeInfo> types = new ArrayList<>();
 
         for (InputObjectTypeDefinition typeDef : registry.getTypes(InputObjectTypeDefinition.class)) {
             List<GraphQLFieldInfo> fields = extractInputFields(typeDef.getInputValueDefinitions());
+            for (InputObjectTypeDefinition extension : extensionsOf(registry.inputObjectTypeExtensions(), typeDef)) {
+                fields.addAll(extractInputFields(extension.getInputValueDefinitions()));
+            }
             types.add(new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.INPUT_OBJECT, fields));
         }
 
@@ -87,13 +100,16 @@ public final class SchemaTypeExtractor {
      * @param registry the TypeDefinitionRegistry to extract from
      * @return list of GraphQLEnumInfo representing enum types
      */
-    public List<GraphQLEnumInfo> extractEnumTypes(TypeDefinitionRegistry registry) {
+    public List<GraphQLEnumInfo> extractEnumTypes(final TypeDefinitionRegistry registry) {
         List<GraphQLEnumInfo> enums = new ArrayList<>();
 
         for (EnumTypeDefinition enumDef : registry.getTypes(EnumTypeDefinition.class)) {
             List<String> values = enumDef.getEnumValueDefinitions().stream()
                     .map(EnumValueDefinition::getName)
-                    .collect(Collectors.toList());
+                    .collect(Collectors.toCollection(ArrayList::new));
+            for (EnumTypeDefinition extension : extensionsOf(registry.enumTypeExtensions(), enumDef)) {
+                extension.getEnumValueDefinitions().forEach(value -> values.add(value.getName()));
+            }
             enums.add(new GraphQLEnumInfo(enumDef.getName(), values));
         }
 
@@ -106,11 +122,14 @@ public final class SchemaTypeExtractor {
      * @param registry the TypeDefinitionRegistry to extract from
      * @return list of GraphQLTypeInfo representing interface types
      */
-    public List<GraphQLTypeInfo> extractInterfaceTypes(TypeDefinitionRegistry registry) {
+    public List<GraphQLTypeInfo> extractInterfaceTypes(final TypeDefinitionRegistry registry) {
         List<GraphQLTypeInfo> types = new ArrayList<>();
 
         for (InterfaceTypeDefinition typeDef : registry.getTypes(InterfaceTypeDefinition.class)) {
             List<GraphQLFieldInfo> fields = extractFields(typeDef.getFieldDefinitions());
+            for (InterfaceTypeDefinition extension : extensionsOf(registry.interfaceTypeExtensions(), typeDef)) {
+                fields.addAll(extractFields(extension.getFieldDefinitions()));
+            }
             types.add(new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.INTERFACE, fields));
         }
 
@@ -123,61 +142,148 @@ public final class SchemaTypeExtractor {
      * @param registry the TypeDefinitionRegistry to extract from
      * @return list of all GraphQLTypeInfo
      */
-    public List<GraphQLTypeInfo> extractAllTypes(TypeDefinitionRegistry registry) {
-        List<GraphQLTypeInfo> allTypes = new ArrayList<>();
-        allTypes.addAll(extractObjectTypes(registry));
-        allTypes.addAll(extractInputTypes(registry));
-        allTypes.addAll(extractInterfaceTypes(registry));
+    public List<GraphQLTypeInfo> extractAllTypes(final TypeDefinitionRegistry registry) {
+        SchemaModel model = extractModel(registry);
+        List<GraphQLTypeInfo> allTypes = new ArrayList<>(model.getTypes());
+        allTypes.addAll(model.getInterfaceTypes());
         return allTypes;
     }
 
-    private List<GraphQLFieldInfo> extractFields(List<FieldDefinition> fieldDefinitions) {
-        return fieldDefinitions.stream()
-                .map(this::convertFieldDefinition)
-                .collect(Collectors.toList());
+    // extend definitions for a type, which may come from a different schema file than the type itself
+    private <E extends TypeDefinition<?>> List<E> extensionsOf(final Map<String, List<E>> extensions,
+                                                               final TypeDefinition<?> typeDef) {
+        return extensions.getOrDefault(typeDef.getName(), Collections.emptyList());
     }
 
-    private List<GraphQLFieldInfo> extractInputFields(List<InputValueDefinition> inputValueDefinitions) {
-        return inputValueDefinitions.stream()
-                .map(this::convertInputValueDefinition)
-                .collect(Collectors.toList());
+    /**
+     * Extracts the whole schema in a single pass over the registry: object, input, interface, union and
+     * enum types plus custom scalars, indexed by name and by the fields that reference each type.
+     *
+     * @param registry the TypeDefinitionRegistry to extract from
+     * @return the extracted schema model
+     */
+    public SchemaModel extractModel(final TypeDefinitionRegistry registry) {
+        SchemaModel.Builder model = SchemaModel.builder();
+        for (TypeDefinition<?> typeDef : registry.types().values()) {
+            addDefinition(model, registry, typeDef);
+        }
+        for (ScalarTypeDefinition scalarDef : registry.scalars().values()) {
+            if (!ScalarInfo.isGraphqlSpecifiedScalar(scalarDef.getName())) {
+                model.addType(new GraphQLTypeInfo(scalarDef.getName(), GraphQLTypeKind.SCALAR, null));
+            }
+        }
+        return model.build();
     }
 
-    private GraphQLFieldInfo convertFieldDefinition(FieldDefinition fieldDef) {
-        return extractFieldInfo(fieldDef.getName(), fieldDef.getType());
+    private void addDefinition(final SchemaModel.Builder model,
+                               final TypeDefinitionRegistry registry,
+                               final TypeDefinition<?> typeDef) {
+        if (typeDef instanceof ObjectTypeDefinition && !BUILT_IN_TYPES.contains(typeDef.getName())) {
+            model.addType(toObjectType(registry, (ObjectTypeDefinition) typeDef));
+        } else if (typeDef instanceof InputObjectTypeDefinition) {
+            model.addType(toInputType(registry, (InputObjectTypeDefinition) typeDef));
+        } else if (typeDef instanceof InterfaceTypeDefinition) {
+            model.addType(toInterfaceType(registry, (InterfaceTypeDefinition) typeDef));
+        } else if (typeDef instanceof UnionTypeDefinition) {
+            model.addType(toUnionType(registry, (UnionTypeDefinition) typeDef));
+        } else if (typeDef instanceof EnumTypeDefinition) {
+            model.addEnum(toEnum(registry, (EnumTypeDefinition) typeDef));
+        }
     }
 
-    private GraphQLFieldInfo convertInputValueDefinition(InputValueDefinition inputDef) {
-        return extractFieldInfo(inputDef.getName(), inputDef.getType());
+    private GraphQLTypeInfo toObjectType(final TypeDefinitionRegistry registry,
+                                         final ObjectTypeDefinition typeDef) {
+        List<GraphQLFieldInfo> fields = extractFields(typeDef.getFieldDefinitions());
+        List<String> interfaces = typeNames(typeDef.getImplements());
+        for (ObjectTypeDefinition extension : extensionsOf(registry.objectTypeExtensions(), typeDef)) {
+            fields.addAll(extractFields(extension.getFieldDefinitions()));
+            interfaces.addAll(typeNames(extension.getImplements()));
+        }
+        return new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.OBJECT, fields, interfaces, null);
     }
 
-    private GraphQLFieldInfo extractFieldInfo(String name, Type<?> type) {
-        boolean isNonNull = false;
-        boolean isList = false;
-        String typeName;
+    private GraphQLTypeInfo toInputType(final TypeDefinitionRegistry registry,
+                                        final InputObjectTypeDefinition typeDef) {
+        List<GraphQLFieldInfo> fields = extractInputFields(typeDef.getInputValueDefinitions());
+        for (InputObjectTypeDefinition extension : extensionsOf(registry.inputObjectTypeExtensions(), typeDef)) {
+            fields.addAll(extractInputFields(extension.getInputValueDefinitions()));
+        }
+        return new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.INPUT_OBJECT, fields);
+    }
 
-        Type<?> currentType = type;
+    private GraphQLTypeInfo toInterfaceType(final TypeDefinitionRegistry registry,
+                                            final InterfaceTypeDefinition typeDef) {
+        List<GraphQLFieldInfo> fields = extractFields(typeDef.getFieldDefinitions());
+        List<String> interfaces = typeNames(typeDef.getImplements());
+        for (InterfaceTypeDefinition extension : extensionsOf(registry.interfaceTypeExtensions(), typeDef)) {
+            fields.addAll(extractFields(extension.getFieldDefinitions()));
+            interfaces.addAll(typeNames(extension.getImplements()));
+        }
+        return new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.INTERFACE, fields, interfaces, null);
+    }
 
-        if (currentType instanceof NonNullType) {
-            isNonNull = true;
-            currentType = ((NonNullType) currentType).getType();
+    private GraphQLTypeInfo toUnionType(final TypeDefinitionRegistry registry, final UnionTypeDefinition typeDef) {
+        List<String> members = typeNames(typeDef.getMemberTypes());
+        for (UnionTypeDefinition extension : extensionsOf(registry.unionTypeExtensions(), typeDef)) {
+            members.addAll(typeNames(extension.getMemberTypes()));
         }
+        return new GraphQLTypeInfo(typeDef.getName(), GraphQLTypeKind.UNION, null, null, members);
+    }
 
-        if (currentType instanceof ListType) {
-            isList = true;
-            currentType = ((ListType) currentType).getType();
+    private GraphQLEnumInfo toEnum(final TypeDefinitionRegistry registry, final EnumTypeDefinition enumDef) {
+        List<String> values = new ArrayList<>(enumDef.getEnumValueDefinitions().size());
+        for (EnumValueDefinition value : enumDef.getEnumValueDefinitions()) {
+            values.add(value.getName());
+        }
+        for (EnumTypeDefinition extension : extensionsOf(registry.enumTypeExtensions(), enumDef)) {
+            extension.getEnumValueDefinitions().forEach(value -> values.add(value.getName()));
+        }
+        return new GraphQLEnumInfo(enumDef.getName(), values);
+    }
 
-            if (currentType instanceof NonNullType) {
-                currentType = ((NonNullType) currentType).getType();
+    @SuppressWarnings("rawtypes")
+    private List<String> typeNames(final List<Type> types) {
+        List<String> names = new ArrayList<>(types.size());
+        for (Type<?> type : types) {
+            if (type instanceof TypeName) {
+                names.add(((TypeName) type).getName());
             }
         }
+        return names;
+    }
 
-        if (currentType instanceof TypeName) {
-            typeName = ((TypeName) currentType).getName();
-        } else {
-            typeName = "Unknown";
-        }
+    private List<GraphQLFieldInfo> extractFields(final List<FieldDefinition> fieldDefinitions) {
+        return fieldDefinitions.stream()
+                .map(this::convertFieldDefinition)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private List<GraphQLFieldInfo> extractInputFields(final List<InputValueDefinition> inputValueDefinitions) {
+        return inputValueDefinitions.stream()
+                .map(this::convertInputValueDefinition)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private GraphQLFieldInfo convertFieldDefinition(final FieldDefinition fieldDef) {
+        return extractFieldInfo(fieldDef.getName(), fieldDef.getType());
+    }
 
+    private GraphQLFieldInfo convertInputValueDefinition(final InputValueDefinition inputDef) {
+        return extractFieldInfo(inputDef.getName(), inputDef.getType());
+    }
+
+    private GraphQLFieldInfo extractFieldInfo(final String name, final Type<?> type) {
+        boolean isNonNull = type instanceof NonNullType;
+        Type<?> currentType = unwrapNonNull(type);
+        boolean isList = currentType instanceof ListType;
+        if (isList) {
+            currentType = unwrapNonNull(((ListType) currentType).getType());
+        }
+        String typeName = currentType instanceof TypeName ? ((TypeName) currentType).getName() : "Unknown";
         return new GraphQLFieldInfo(name, typeName, isList, isNonNull);
     }
+
+    private Type<?> unwrapNonNull(final Type<?> type) {
+        return type instanceof NonNullType ? ((NonNullType) type).getType() : type;
+    }
 }
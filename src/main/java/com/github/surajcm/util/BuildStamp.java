@@ -0,0 +1,139 @@
+package com.github.surajcm.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
+
+/**
+ * Records the inputs of the last successful generation so that an unchanged build can return early.
+ *
+ * <p>The stamp is a small text file holding the key of the inputs (schema contents plus configuration)
+ * and the names of the generated sources. A build is up to date when the key matches and the output
+ * package still holds every one of those sources, which catches a cleaned or partially deleted output
+ * directory without reading any generated file. A hand-written source in the package does not stand in
+ * for a deleted generated one.
+ */
+public final class BuildStamp {
+
+    private static final String HEADER = "# graphql-pojo-maven-plugin build stamp";
+
+    private static BuildStamp instance;
+
+    private BuildStamp() {
+    }
+
+    public static synchronized BuildStamp getInstance() {
+        if (instance == null) {
+            instance = new BuildStamp();
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the previous generation used the same inputs and its output is still present.
+     *
+     * @param stampFile the stamp file
+     * @param key the key describing the current inputs
+     * @param packageDirectory the directory holding the generated sources
+     * @return true if generation can be skipped
+     */
+    public boolean isUpToDate(final File stampFile, final String key, final File packageDirectory) {
+        Set<String> expectedSources = expectedSources(stampFile, key);
+        String[] names = packageDirectory != null ? packageDirectory.list() : null;
+        return expectedSources != null && names != null
+                && new HashSet<>(Arrays.asList(names)).containsAll(expectedSources);
+    }
+
+    /**
+     * Checks whether the previous generation used the same inputs and its sources JAR is still complete.
+     *
+     * @param stampFile the stamp file
+     * @param key the key describing the current inputs
+     * @param jarFile the sources JAR written by the previous generation
+     * @return true if generation can be skipped
+     */
+    public boolean isJarUpToDate(final File stampFile, final String key, final File jarFile) {
+        Set<String> expectedSources = expectedSources(stampFile, key);
+        Set<String> jarSources = jarSources(jarFile);
+        return expectedSources != null && jarSources != null && jarSources.containsAll(expectedSources);
+    }
+
+    /**
+     * Writes the stamp after a successful generation.
+     *
+     * @param stampFile the stamp file
+     * @param key the key describing the inputs that were generated from
+     * @param sourceTypes the names of the top-level types of the generated sources
+     * @throws IOException if the stamp cannot be written
+     */
+    public void write(final File stampFile, final String key, final Collection<String> sourceTypes)
+            throws IOException {
+        File parent = stampFile.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        List<String> lines = new ArrayList<>(sourceTypes.size() + 2);
+        lines.add(HEADER);
+        lines.add(key);
+        lines.addAll(sourceTypes);
+        Files.write(stampFile.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Removes the stamp so that the next build generates again.
+     *
+     * @param stampFile the stamp file
+     * @throws IOException if the stamp cannot be deleted
+     */
+    public void invalidate(final File stampFile) throws IOException {
+        if (stampFile != null) {
+            Files.deleteIfExists(stampFile.toPath());
+        }
+    }
+
+    // the source file names recorded by a stamp with the given key, or null if there is no such stamp
+    private Set<String> expectedSources(final File stampFile, final String key) {
+        if (stampFile == null || !stampFile.isFile()) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(stampFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+                return null;
+            }
+            return reader.lines().map(line -> line + ".java").collect(Collectors.toSet());
+        } catch (IOException | UncheckedIOException exception) {
+            // unreadable stamp: generate again and rewrite it
+            return null;
+        }
+    }
+
+    // the file names of the sources in the JAR, or null if it cannot be read
+    private Set<String> jarSources(final File jarFile) {
+        if (jarFile == null || !jarFile.isFile()) {
+            return null;
+        }
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            return zip.stream().map(entry -> new File(entry.getName()).getName()).collect(Collectors.toSet());
+        } catch (IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+}
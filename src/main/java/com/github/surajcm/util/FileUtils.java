@@ -2,8 +2,12 @@ package com.github.surajcm.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.stream.Collectors;
 
@@ -34,6 +38,42 @@ public final class FileUtils {
         createPackageDirectory(packageName, packageDirectory);
     }
 
+    /**
+     * Deletes the {@code .java} files of a package directory that are not in the expected set, leaving
+     * every expected file, other files and sub packages untouched.
+     *
+     * @param packageDirectory the package directory, which may not exist yet
+     * @param expectedFileNames the file names (e.g. {@code User.java}) that belong in the package
+     * @return the number of files deleted
+     * @throws IOException if the directory cannot be listed or a file cannot be deleted
+     */
+    public int deleteOrphans(final Path packageDirectory, final Set<String> expectedFileNames) throws IOException {
+        if (!Files.isDirectory(packageDirectory)) {
+            return 0;
+        }
+        int deleted = 0;
+        try (DirectoryStream<Path> sources = Files.newDirectoryStream(packageDirectory, "*.java")) {
+            for (Path source : sources) {
+                if (!expectedFileNames.contains(source.getFileName().toString()) && Files.isRegularFile(source)) {
+                    Files.delete(source);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Resolves the package directory under the output directory without touching the disk.
+     *
+     * @param outputDir the root output directory
+     * @param packageName the package name
+     * @return the package directory
+     */
+    public File packageDirectory(final File outputDir, final String packageName) {
+        return new File(outputDir, packageWithDirectoryFormat(packageName));
+    }
+
     private void deleteFilesInPackageDirectory(final File packageDirectory) {
         File[] filesInPackageDir = packageDirectory.listFiles();
         if (filesInPackageDir != null) {
@@ -85,7 +125,8 @@ public final class FileUtils {
     }
 
     private void createPackageDirectory(final String packageName, final File packageDirectory) throws IOException {
-        if (!(packageDirectory.mkdirs() && packageDirectory.exists())) {
+        // the directory survives the clean, since only the files inside it are deleted
+        if (!packageDirectory.mkdirs() && !packageDirectory.isDirectory()) {
             throw new IOException("Unable to create package : " + packageName);
         }
     }
@@ -0,0 +1,84 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps generated sources in memory, keyed by their relative path (e.g. {@code com/example/User.java}).
+ *
+ * <p>Meant for tests and for tools that embed the generator and hand the sources to a compiler directly.
+ * A sink instance can be reused across runs, in which case unchanged sources are reported as skipped just
+ * like with {@link WriteIfChangedSink}.
+ */
+public final class InMemoryOutputSink implements OutputSink {
+
+    private final Map<String, byte[]> sources = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean write(final JavaFile javaFile) {
+        byte[] content = OutputSink.render(javaFile);
+        byte[] previous = sources.put(OutputSink.relativePath(javaFile.packageName, javaFile.typeSpec.name),
+                content);
+        return !Arrays.equals(previous, content);
+    }
+
+    @Override
+    public boolean contains(final String packageName, final String typeName) {
+        return sources.containsKey(OutputSink.relativePath(packageName, typeName));
+    }
+
+    @Override
+    public void delete(final String packageName, final String typeName) {
+        sources.remove(OutputSink.relativePath(packageName, typeName));
+    }
+
+    @Override
+    public void clean(final String packageName) {
+        sources.keySet().removeIf(path -> isInPackage(path, packageName));
+    }
+
+    @Override
+    public void sync(final String packageName, final Set<String> typeNames) {
+        Set<String> expected = new HashSet<>(typeNames.size() * 2);
+        for (String typeName : typeNames) {
+            expected.add(OutputSink.relativePath(packageName, typeName));
+        }
+        sources.keySet().removeIf(path -> isInPackage(path, packageName) && !expected.contains(path));
+    }
+
+    /**
+     * Returns the source of a generated type.
+     *
+     * @param packageName the package of the type
+     * @param typeName the simple name of the type
+     * @return the source, or null if the type was not generated
+     */
+    public String getSource(final String packageName, final String typeName) {
+        byte[] content = sources.get(OutputSink.relativePath(packageName, typeName));
+        return content != null ? new String(content, StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * All generated sources, sorted by path.
+     *
+     * @return relative path to source
+     */
+    public Map<String, String> getSources() {
+        Map<String, String> sorted = new TreeMap<>();
+        sources.forEach((path, content) -> sorted.put(path, new String(content, StandardCharsets.UTF_8)));
+        return Collections.unmodifiableMap(sorted);
+    }
+
+    private static boolean isInPackage(final String path, final String packageName) {
+        String prefix = packageName.isEmpty() ? "" : packageName.replace('.', '/') + '/';
+        return path.startsWith(prefix) && path.indexOf('/', prefix.length()) < 0;
+    }
+}
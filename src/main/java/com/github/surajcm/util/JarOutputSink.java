@@ -0,0 +1,257 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes generated sources into a single sources JAR instead of thousands of small files.
+ *
+ * <p>The JAR is reproducible: entries carry a fixed timestamp, so the same schema always yields a
+ * byte-identical archive whenever the build runs. With several writer threads, sources are appended to one
+ * spool file next to the JAR as they are rendered, and only their names and positions stay on the heap;
+ * {@link #close()} then streams them into the archive in name order, whatever order the threads finished
+ * in, and removes the spool. With a single writer, entries arrive one at a time in generation order and are
+ * written straight into the archive. The JAR is rebuilt from scratch on every run: {@link #contains} is
+ * always false and an incremental run rewrites every type.
+ *
+ * <p>The archive is built in a temporary file next to the JAR and only moved over it once complete, so a
+ * JAR from an earlier run is never left truncated. A failed run calls {@link #discard()}, after which
+ * {@link #close()} removes the temporary files and keeps the earlier JAR.
+ */
+public final class JarOutputSink implements OutputSink {
+
+    /**
+     * Timestamp of every entry unless another one is given: 1980-02-01T00:00:00Z, far enough after the
+     * start of the ZIP date range (1980-01-01, local time) to be representable in every time zone.
+     */
+    public static final long DEFAULT_ENTRY_TIME = 318_211_200_000L;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final File jarFile;
+    private final long entryTime;
+    private final boolean direct;
+    // entry name to its offset and length in the spool
+    private final Map<String, long[]> spooled = new TreeMap<>();
+    private Path spoolFile;
+    private OutputStream spool;
+    private long spoolSize;
+    private Path partFile;
+    private ZipOutputStream zip;
+    private boolean discarded;
+
+    public JarOutputSink(final File jarFile) {
+        this(jarFile, DEFAULT_ENTRY_TIME);
+    }
+
+    /**
+     * Creates a sink whose entries carry the given timestamp, e.g. the project's
+     * {@code project.build.outputTimestamp}.
+     *
+     * @param jarFile the archive to write
+     * @param entryTime the entry timestamp in milliseconds since the epoch, as UTC
+     */
+    public JarOutputSink(final File jarFile, final long entryTime) {
+        this(jarFile, entryTime, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a sink for the given number of writer threads. With a single writer the entries are written
+     * straight into the archive in the order they arrive, otherwise they are spooled and written in name
+     * order on {@link #close()}.
+     *
+     * @param jarFile the archive to write
+     * @param entryTime the entry timestamp in milliseconds since the epoch, as UTC
+     * @param writers the number of threads that call {@link #write} concurrently
+     */
+    public JarOutputSink(final File jarFile, final long entryTime, final int writers) {
+        this.jarFile = jarFile;
+        this.entryTime = entryTime;
+        this.direct = writers <= 1;
+    }
+
+    @Override
+    public boolean write(final JavaFile javaFile) throws IOException {
+        byte[] content = OutputSink.render(javaFile);
+        String entryName = OutputSink.relativePath(javaFile.packageName, javaFile.typeSpec.name);
+        if (direct) {
+            writeEntry(entryName, content);
+        } else {
+            spool(entryName, content);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(final String packageName, final String typeName) {
+        return false;
+    }
+
+    @Override
+    public void delete(final String packageName, final String typeName) {
+        // removed types are simply not written to the new archive
+    }
+
+    @Override
+    public void clean(final String packageName) {
+        // the archive is replaced as a whole
+    }
+
+    @Override
+    public void sync(final String packageName, final Set<String> typeNames) {
+        // the archive only ever holds the types written by this run
+    }
+
+    /**
+     * Writes the archive and moves it over the JAR; a run that wrote nothing still leaves an empty, valid JAR
+     * behind. After {@link #discard()} only the temporary files are removed.
+     *
+     * @throws IOException if the archive cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            if (discarded) {
+                closeStreams(null);
+            } else {
+                publish();
+            }
+        } catch (IOException ex) {
+            closeStreams(ex);
+            throw ex;
+        } finally {
+            cleanUp();
+        }
+    }
+
+    /**
+     * Marks the run as failed: {@link #close()} then drops what was written and leaves the JAR of an earlier
+     * run untouched.
+     */
+    public synchronized void discard() {
+        discarded = true;
+    }
+
+    public File getJarFile() {
+        return jarFile;
+    }
+
+    private synchronized void writeEntry(final String entryName, final byte[] content) throws IOException {
+        ZipOutputStream archive = archive();
+        putEntry(archive, entryName);
+        archive.write(content);
+        archive.closeEntry();
+    }
+
+    private synchronized void spool(final String entryName, final byte[] content) throws IOException {
+        if (spool == null) {
+            // next to the JAR, so that it stays on the same disk as the build output
+            spoolFile = Files.createTempFile(Files.createDirectories(parentDirectory()),
+                    jarFile.getName() + ".spool", null);
+            spool = new BufferedOutputStream(Files.newOutputStream(spoolFile), BUFFER_SIZE);
+        }
+        spool.write(content);
+        spooled.put(entryName, new long[] {spoolSize, content.length});
+        spoolSize += content.length;
+    }
+
+    private void publish() throws IOException {
+        ZipOutputStream archive = archive();
+        if (spool != null) {
+            spool.close();
+            copySpooled(archive);
+        }
+        archive.close();
+        try {
+            Files.move(partFile, jarFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(partFile, jarFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void copySpooled(final ZipOutputStream archive) throws IOException {
+        try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(archive);
+            for (Map.Entry<String, long[]> entry : spooled.entrySet()) {
+                putEntry(archive, entry.getKey());
+                long position = entry.getValue()[0];
+                long end = position + entry.getValue()[1];
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+                archive.closeEntry();
+            }
+        }
+    }
+
+    private ZipOutputStream archive() throws IOException {
+        if (zip == null) {
+            partFile = Files.createTempFile(Files.createDirectories(parentDirectory()),
+                    jarFile.getName() + ".part", null);
+            zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partFile), BUFFER_SIZE));
+        }
+        return zip;
+    }
+
+    private void putEntry(final ZipOutputStream archive, final String entryName) throws IOException {
+        ZipEntry entry = new ZipEntry(entryName);
+        // ZipEntry stores local time, so shift by the zone offset to get the same bytes in every time zone
+        entry.setTime(entryTime - TimeZone.getDefault().getOffset(entryTime));
+        archive.putNextEntry(entry);
+    }
+
+    private Path parentDirectory() {
+        File parent = jarFile.getAbsoluteFile().getParentFile();
+        return parent != null ? parent.toPath() : jarFile.getAbsoluteFile().toPath().getRoot();
+    }
+
+    // closes what a failed or discarded run left open; their own failures are attached to the one reported,
+    // or dropped for a discarded run, whose files are deleted anyway
+    private void closeStreams(final IOException failure) {
+        for (OutputStream stream : new OutputStream[] {zip, spool}) {
+            try {
+                if (stream != null) {
+                    stream.close();
+                }
+            } catch (IOException ex) {
+                if (failure != null) {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+    }
+
+    private void cleanUp() throws IOException {
+        spooled.clear();
+        spoolSize = 0;
+        zip = null;
+        spool = null;
+        if (spoolFile != null) {
+            Files.deleteIfExists(spoolFile);
+            spoolFile = null;
+        }
+        if (partFile != null) {
+            Files.deleteIfExists(partFile);
+            partFile = null;
+        }
+    }
+}
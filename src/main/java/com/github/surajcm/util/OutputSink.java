@@ -0,0 +1,99 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Destination of the generated sources: a directory tree, a sources JAR or an in-memory map.
+ *
+ * <p>Implementations are used from the generation threads concurrently and must be thread safe.
+ * {@link #close()} is called once after the last type was written, which is where sinks that batch
+ * their output flush it.
+ */
+public interface OutputSink extends Closeable {
+
+    /**
+     * Writes a generated source.
+     *
+     * @param javaFile the file to write
+     * @return true if the file was written, false if an identical copy was already present
+     * @throws IOException if the file cannot be written
+     */
+    boolean write(JavaFile javaFile) throws IOException;
+
+    /**
+     * Whether a previous run left the source of the given type in this sink; types that are missing are
+     * regenerated even if their fingerprint did not change.
+     *
+     * @param packageName the package of the type
+     * @param typeName the simple name of the type
+     * @return true if the source is present
+     */
+    boolean contains(String packageName, String typeName);
+
+    /**
+     * Removes the source of a type that is no longer part of the schema.
+     *
+     * @param packageName the package of the type
+     * @param typeName the simple name of the type
+     * @throws IOException if the source cannot be removed
+     */
+    void delete(String packageName, String typeName) throws IOException;
+
+    /**
+     * Removes every previously generated source of the package before a full (non incremental) run.
+     *
+     * @param packageName the package to clean
+     * @throws IOException if the package cannot be cleaned
+     */
+    void clean(String packageName) throws IOException;
+
+    /**
+     * Removes the sources of the package that do not belong to one of the given types, e.g. those of
+     * types removed from the schema, without touching the sources that do. An alternative to
+     * {@link #clean} that runs after the types were written.
+     *
+     * @param packageName the package to synchronize
+     * @param typeNames the simple names of the types generated into the package
+     * @throws IOException if a source cannot be removed
+     */
+    void sync(String packageName, Set<String> typeNames) throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+
+    /**
+     * Renders a source to UTF-8 bytes in memory, so that it reaches the destination in a single write.
+     *
+     * @param javaFile the file to render
+     * @return the source bytes
+     */
+    static byte[] render(final JavaFile javaFile) {
+        StringBuilder source = new StringBuilder();
+        try {
+            javaFile.writeTo(source);
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Unexpected IOException writing to memory", exception);
+        }
+        return source.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Path of a source relative to the root of the sink, e.g. {@code com/example/User.java}.
+     *
+     * @param packageName the package of the type
+     * @param typeName the simple name of the type
+     * @return the relative path using forward slashes
+     */
+    static String relativePath(final String packageName, final String typeName) {
+        return packageName.isEmpty()
+                ? typeName + ".java"
+                : packageName.replace('.', '/') + '/' + typeName + ".java";
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.surajcm.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Hashes the schema files and the settings of a run into a single key.
+ *
+ * <p>Used to decide whether cached state from a previous build still matches the current inputs.
+ */
+public final class SchemaDigest {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static SchemaDigest instance;
+
+    private SchemaDigest() {
+    }
+
+    public static synchronized SchemaDigest getInstance() {
+        if (instance == null) {
+            instance = new SchemaDigest();
+        }
+        return instance;
+    }
+
+    /**
+     * Hashes the path and content of every schema file, followed by the given settings.
+     *
+     * @param schemaFiles the schema files, in a stable order
+     * @param settings additional values that must match for the key to match (e.g. plugin version)
+     * @return hex encoded SHA-256 hash
+     * @throws IOException if a schema file cannot be read
+     */
+    public String digest(final List<File> schemaFiles, final String... settings) throws IOException {
+        return hash(schemaFiles, File::getAbsolutePath, settings);
+    }
+
+    /**
+     * Hashes the content of every schema file and its path relative to the given base directory, followed
+     * by the given settings. Unlike {@link #digest(List, String...)} the key does not depend on where the
+     * project is checked out, so it matches across machines and CI agents.
+     *
+     * @param baseDirectory the directory the paths are relative to, usually the project base directory
+     * @param schemaFiles the schema files, in a stable order
+     * @param settings additional values that must match for the key to match (e.g. plugin version)
+     * @return hex encoded SHA-256 hash
+     * @throws IOException if a schema file cannot be read
+     * @throws IllegalArgumentException if a schema file has no path relative to the base directory, e.g. it is
+     *         on another drive
+     */
+    public String portableDigest(final File baseDirectory,
+                                 final List<File> schemaFiles,
+                                 final String... settings) throws IOException {
+        Path base = baseDirectory.toPath().toAbsolutePath().normalize();
+        return hash(schemaFiles, file -> relativePath(base, file), settings);
+    }
+
+    private String hash(final List<File> schemaFiles,
+                        final Function<File, String> pathOf,
+                        final String... settings) throws IOException {
+        MessageDigest digest = TypeFingerprinter.newDigest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (File schemaFile : schemaFiles) {
+            update(digest, pathOf.apply(schemaFile));
+            updateContent(digest, schemaFile, buffer);
+            digest.update((byte) 0);
+        }
+        for (String setting : settings) {
+            update(digest, String.valueOf(setting));
+        }
+        return TypeFingerprinter.toHex(digest.digest());
+    }
+
+    private void updateContent(final MessageDigest digest, final File schemaFile, final byte[] buffer)
+            throws IOException {
+        try (InputStream input = Files.newInputStream(schemaFile.toPath())) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    // forward slashes, so that the same checkout yields the same key on Windows and Unix
+    private String relativePath(final Path base, final File file) {
+        Path relative = base.relativize(file.toPath().toAbsolutePath().normalize());
+        StringBuilder path = new StringBuilder();
+        for (Path component : relative) {
+            if (path.length() > 0) {
+                path.append('/');
+            }
+            path.append(component);
+        }
+        return path.toString();
+    }
+
+    private void update(final MessageDigest digest, final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.surajcm.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolves the configured schema location(s) into a sorted list of schema files.
+ *
+ * <p>A schema location may be a single file, a directory (searched recursively for {@code .graphqls}
+ * and {@code .graphql} files) or a set of glob patterns relative to a base directory. The result is
+ * always sorted by path so that downstream merging is deterministic.
+ */
+public final class SchemaFileResolver {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private static SchemaFileResolver instance;
+
+    private SchemaFileResolver() {
+    }
+
+    public static synchronized SchemaFileResolver getInstance() {
+        if (instance == null) {
+            instance = new SchemaFileResolver();
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves schema files from a file/directory location or, when given, from glob patterns.
+     *
+     * @param schema a schema file or a directory of schema files
+     * @param includes glob patterns relative to {@code baseDir}; when non-empty, {@code schema} is ignored
+     * @param baseDir the directory glob patterns are resolved against
+     * @return the schema files sorted by path
+     * @throws IOException if a directory cannot be walked
+     */
+    public List<File> resolve(final File schema,
+                              final Collection<String> includes,
+                              final File baseDir) throws IOException {
+        if (includes != null && !includes.isEmpty()) {
+            return resolvePatterns(includes, baseDir);
+        }
+        if (schema != null && schema.isDirectory()) {
+            return resolveDirectory(schema);
+        }
+        List<File> files = new ArrayList<>();
+        if (schema != null) {
+            files.add(schema);
+        }
+        return files;
+    }
+
+    /**
+     * The directories new schema files may appear in: the {@code schema} directory, or the literal leading
+     * directories of the glob patterns (e.g. {@code src/main/graphql} for {@code src/main/graphql/**}).
+     * Patterns that start with a wildcard contribute nothing, rather than the whole base directory.
+     *
+     * @param schema a schema file or a directory of schema files
+     * @param includes glob patterns relative to {@code baseDir}; when non-empty, {@code schema} is ignored
+     * @param baseDir the directory glob patterns are resolved against
+     * @return the existing root directories
+     */
+    public List<File> roots(final File schema,
+                            final Collection<String> includes,
+                            final File baseDir) {
+        if (includes != null && !includes.isEmpty()) {
+            return patternRoots(includes, baseDir);
+        }
+        List<File> roots = new ArrayList<>();
+        if (schema != null && schema.isDirectory()) {
+            roots.add(schema);
+        }
+        return roots;
+    }
+
+    /**
+     * Finds every {@code .graphqls} or {@code .graphql} file below a directory.
+     *
+     * @param directory the directory to search
+     * @return the schema files sorted by path
+     * @throws IOException if the directory cannot be walked
+     */
+    public List<File> resolveDirectory(final File directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory.toPath())) {
+            return sorted(paths.filter(Files::isRegularFile)
+                    .filter(SchemaFileResolver::isSchemaFile)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private List<File> patternRoots(final Collection<String> includes, final File baseDir) {
+        Path base = basePath(baseDir);
+        List<File> roots = new ArrayList<>();
+        for (String include : includes) {
+            String prefix = literalPrefix(include.trim().replace('\\', '/'));
+            Path root = base.resolve(prefix);
+            if (!prefix.isEmpty() && Files.isDirectory(root)) {
+                roots.add(root.toFile());
+            }
+        }
+        return roots;
+    }
+
+    private List<File> resolvePatterns(final Collection<String> includes, final File baseDir) throws IOException {
+        Path base = basePath(baseDir);
+        List<Path> matches = new ArrayList<>();
+        for (String include : includes) {
+            addMatches(base, include.trim().replace('\\', '/'), matches);
+        }
+        return sorted(matches);
+    }
+
+    private void addMatches(final Path base, final String pattern, final List<Path> matches) throws IOException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        Path root = base.resolve(literalPrefix(pattern));
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(base.relativize(path)))
+                    .forEach(matches::add);
+        }
+    }
+
+    private Path basePath(final File baseDir) {
+        return (baseDir != null ? baseDir : new File(".")).toPath().toAbsolutePath().normalize();
+    }
+
+    // the leading directories of a pattern that contain no glob characters; only that subtree is walked
+    private String literalPrefix(final String pattern) {
+        StringBuilder prefix = new StringBuilder();
+        String[] segments = pattern.split("/");
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (containsGlob(segments[i])) {
+                break;
+            }
+            prefix.append(segments[i]).append('/');
+        }
+        return prefix.toString();
+    }
+
+    private boolean containsGlob(final String segment) {
+        for (char character : segment.toCharArray()) {
+            if (GLOB_CHARACTERS.indexOf(character) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSchemaFile(final Path path) {
+        String name = path.getFileName().toString();
+        return name.endsWith(".graphqls") || name.endsWith(".graphql");
+    }
+
+    private List<File> sorted(final Collection<Path> paths) {
+        Set<Path> unique = new TreeSet<>();
+        for (Path path : paths) {
+            unique.add(path.toAbsolutePath().normalize());
+        }
+        return unique.stream().map(Path::toFile).collect(Collectors.toList());
+    }
+}
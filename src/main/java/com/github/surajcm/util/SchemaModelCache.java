@@ -0,0 +1,268 @@
+package com.github.surajcm.util;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the extracted {@link SchemaModel} in a compact binary snapshot so that unchanged schemas can
+ * skip parsing and extraction on the next build.
+ *
+ * <p>Layout: a magic number and format version, the cache key, a table of every distinct string, then
+ * the types and enums with all names written as indexes into that table. Type names such as
+ * {@code String} or {@code ID} are therefore stored once no matter how many fields use them.
+ */
+public final class SchemaModelCache {
+
+    private static final int MAGIC = 0x4751504D;
+    private static final int FORMAT_VERSION = 2;
+
+    private static SchemaModelCache instance;
+
+    private SchemaModelCache() {
+    }
+
+    public static synchronized SchemaModelCache getInstance() {
+        if (instance == null) {
+            instance = new SchemaModelCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Reads a snapshot if it exists and was written for the same key.
+     *
+     * @param cacheFile the snapshot file
+     * @param key the key describing the current inputs
+     * @return the cached model, or null on a cache miss or an unreadable snapshot
+     */
+    public SchemaModel read(final File cacheFile, final String key) {
+        if (cacheFile == null || !cacheFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION || !key.equals(input.readUTF())) {
+                return null;
+            }
+            return readModel(input);
+        } catch (IOException | IndexOutOfBoundsException | NegativeArraySizeException exception) {
+            // unreadable, truncated or corrupt snapshot: treat it as a miss and rebuild it
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot for the given key, replacing any previous one atomically.
+     *
+     * @param cacheFile the snapshot file
+     * @param key the key describing the current inputs
+     * @param model the model to store
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(final File cacheFile, final String key, final SchemaModel model) throws IOException {
+        Path target = cacheFile.toPath();
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), cacheFile.getName(), ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeUTF(key);
+            writeModel(output, model);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeModel(final DataOutputStream output, final SchemaModel model) throws IOException {
+        List<GraphQLTypeInfo> types = model.getAllTypes();
+        StringTable strings = new StringTable(types, model.getEnums());
+        writeStrings(output, strings);
+        writeVarInt(output, types.size());
+        for (GraphQLTypeInfo type : types) {
+            writeType(output, strings, type);
+        }
+        writeVarInt(output, model.getEnums().size());
+        for (GraphQLEnumInfo enumInfo : model.getEnums()) {
+            writeVarInt(output, strings.indexOf(enumInfo.getName()));
+            writeNames(output, strings, enumInfo.getValues());
+        }
+    }
+
+    private void writeStrings(final DataOutputStream output, final StringTable strings) throws IOException {
+        writeVarInt(output, strings.values.size());
+        for (String value : strings.values) {
+            output.writeUTF(value);
+        }
+    }
+
+    private void writeType(final DataOutputStream output,
+                           final StringTable strings,
+                           final GraphQLTypeInfo type) throws IOException {
+        output.writeByte(type.getKind().ordinal());
+        writeVarInt(output, strings.indexOf(type.getName()));
+        writeVarInt(output, type.getFields().size());
+        for (GraphQLFieldInfo field : type.getFields()) {
+            writeVarInt(output, strings.indexOf(field.getName()));
+            writeVarInt(output, strings.indexOf(field.getTypeName()));
+            output.writeByte(field.getFlags());
+        }
+        writeNames(output, strings, type.getInterfaces());
+        writeNames(output, strings, type.getPossibleTypes());
+    }
+
+    private SchemaModel readModel(final DataInputStream input) throws IOException {
+        String[] strings = readStrings(input);
+        GraphQLTypeKind[] kinds = GraphQLTypeKind.values();
+        SchemaModel.Builder model = SchemaModel.builder();
+        int typeCount = readVarInt(input);
+        for (int i = 0; i < typeCount; i++) {
+            model.addType(readType(input, strings, kinds));
+        }
+        int enumCount = readVarInt(input);
+        for (int i = 0; i < enumCount; i++) {
+            String name = strings[readVarInt(input)];
+            model.addEnum(new GraphQLEnumInfo(name, readNames(input, strings)));
+        }
+        return model.build();
+    }
+
+    private String[] readStrings(final DataInputStream input) throws IOException {
+        String[] strings = new String[readVarInt(input)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = input.readUTF();
+        }
+        return strings;
+    }
+
+    private GraphQLTypeInfo readType(final DataInputStream input,
+                                     final String[] strings,
+                                     final GraphQLTypeKind[] kinds) throws IOException {
+        GraphQLTypeKind kind = readKind(input, kinds);
+        String name = strings[readVarInt(input)];
+        int fieldCount = readVarInt(input);
+        List<GraphQLFieldInfo> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            String fieldName = strings[readVarInt(input)];
+            String typeName = strings[readVarInt(input)];
+            fields.add(new GraphQLFieldInfo(fieldName, typeName, input.readUnsignedByte()));
+        }
+        List<String> interfaces = readNames(input, strings);
+        List<String> possibleTypes = readNames(input, strings);
+        return new GraphQLTypeInfo(name, kind, fields, interfaces, possibleTypes);
+    }
+
+    // enums are stored separately, so a type of kind ENUM can only come from a corrupt snapshot
+    private GraphQLTypeKind readKind(final DataInputStream input, final GraphQLTypeKind[] kinds)
+            throws IOException {
+        int ordinal = input.readUnsignedByte();
+        if (ordinal >= kinds.length || kinds[ordinal] == GraphQLTypeKind.ENUM) {
+            throw new IOException("Malformed type kind in schema model snapshot: " + ordinal);
+        }
+        return kinds[ordinal];
+    }
+
+    private void writeNames(final DataOutputStream output,
+                            final StringTable strings,
+                            final List<String> names) throws IOException {
+        writeVarInt(output, names.size());
+        for (String name : names) {
+            writeVarInt(output, strings.indexOf(name));
+        }
+    }
+
+    private List<String> readNames(final DataInputStream input, final String[] strings) throws IOException {
+        int count = readVarInt(input);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(strings[readVarInt(input)]);
+        }
+        return names;
+    }
+
+    private void writeVarInt(final DataOutputStream output, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+
+    private int readVarInt(final DataInputStream input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int current;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed length in schema model snapshot");
+            }
+            current = input.readUnsignedByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Assigns each distinct string an index in insertion order.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        StringTable(final List<GraphQLTypeInfo> types, final List<GraphQLEnumInfo> enums) {
+            types.forEach(this::add);
+            enums.forEach(this::add);
+        }
+
+        void add(final String value) {
+            if (!indexes.containsKey(value)) {
+                indexes.put(value, values.size());
+                values.add(value);
+            }
+        }
+
+        void add(final GraphQLTypeInfo type) {
+            add(type.getName());
+            for (GraphQLFieldInfo field : type.getFields()) {
+                add(field.getName());
+                add(field.getTypeName());
+            }
+            type.getInterfaces().forEach(this::add);
+            type.getPossibleTypes().forEach(this::add);
+        }
+
+        void add(final GraphQLEnumInfo enumInfo) {
+            add(enumInfo.getName());
+            enumInfo.getValues().forEach(this::add);
+        }
+
+        int indexOf(final String value) {
+            return indexes.get(value);
+        }
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+}
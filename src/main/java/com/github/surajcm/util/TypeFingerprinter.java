@@ -0,0 +1,121 @@
+package com.github.surajcm.util;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Computes stable content hashes for extracted schema types.
+ *
+ * <p>The hash covers a normalized form of the type (name, kind, fields and their flags, or enum values)
+ * together with a settings key describing how the type is rendered, so a change in either produces a
+ * different fingerprint.
+ */
+public final class TypeFingerprinter {
+
+    /**
+     * Bumped whenever the shape of the generated source changes, so old manifests are invalidated.
+     */
+    public static final String FORMAT_VERSION = "1";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static TypeFingerprinter instance;
+
+    private TypeFingerprinter() {
+    }
+
+    public static synchronized TypeFingerprinter getInstance() {
+        if (instance == null) {
+            instance = new TypeFingerprinter();
+        }
+        return instance;
+    }
+
+    /**
+     * Fingerprints an object, input or interface type.
+     *
+     * @param typeInfo the type to fingerprint
+     * @param settingsKey the generator settings that influence the rendered output
+     * @return hex encoded SHA-256 hash
+     */
+    public String fingerprint(final GraphQLTypeInfo typeInfo, final String settingsKey) {
+        StringBuilder normalized = new StringBuilder();
+        append(normalized, settingsKey);
+        append(normalized, typeInfo.getKind().name());
+        append(normalized, typeInfo.getName());
+        for (GraphQLFieldInfo field : typeInfo.getFields()) {
+            append(normalized, field.getName());
+            append(normalized, field.getTypeName());
+            normalized.append(field.isList() ? 'L' : '-').append(field.isNonNull() ? 'N' : '-');
+        }
+        return sha256(normalized);
+    }
+
+    /**
+     * Fingerprints an enum type.
+     *
+     * @param enumInfo the enum to fingerprint
+     * @param settingsKey the generator settings that influence the rendered output
+     * @return hex encoded SHA-256 hash
+     */
+    public String fingerprint(final GraphQLEnumInfo enumInfo, final String settingsKey) {
+        StringBuilder normalized = new StringBuilder();
+        append(normalized, settingsKey);
+        append(normalized, "ENUM");
+        append(normalized, enumInfo.getName());
+        for (String value : enumInfo.getValues()) {
+            append(normalized, value);
+        }
+        return sha256(normalized);
+    }
+
+    // length-prefix every token so that ("ab", "c") and ("a", "bc") never collide
+    private void append(final StringBuilder builder, final String value) {
+        String token = value == null ? "" : value;
+        builder.append(token.length()).append(':').append(token);
+    }
+
+    private String sha256(final CharSequence content) {
+        return toHex(newDigest().digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return a fresh MessageDigest instance
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available on this JVM", exception);
+        }
+    }
+
+    /**
+     * Encodes bytes as lower case hex.
+     *
+     * @param bytes the bytes to encode
+     * @return the hex string
+     */
+    public static String toHex(final byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Resets the singleton instance (useful for testing).
+     */
+    public static void resetInstance() {
+        instance = null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.JavaFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes generated sources to a directory tree, only when their bytes differ from what is already on disk.
+ *
+ * <p>Each {@link JavaFile} is rendered to memory first and written with a single call, instead of going
+ * through JavaPoet's per-file writer. An existing file is compared by length and then byte by byte,
+ * and is left untouched (keeping its mtime) when both match, so the compiler's stale source detection
+ * does not recompile it. Package directories are created once per run rather than checked per file.
+ * Safe to use from several threads.
+ */
+public final class WriteIfChangedSink implements OutputSink {
+
+    private final Path outputDir;
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+
+    public WriteIfChangedSink(final Path outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    /**
+     * Writes the given file unless an identical copy already exists.
+     *
+     * @param javaFile the file to write
+     * @return true if the file was written, false if it was already up to date
+     * @throws IOException if the file cannot be read or written
+     */
+    @Override
+    public boolean write(final JavaFile javaFile) throws IOException {
+        byte[] content = OutputSink.render(javaFile);
+        Path target = resolve(javaFile);
+
+        if (isUnchanged(target, content)) {
+            skipped.incrementAndGet();
+            return false;
+        }
+        createDirectories(target.getParent());
+        Files.write(target, content);
+        written.incrementAndGet();
+        return true;
+    }
+
+    private void createDirectories(final Path directory) throws IOException {
+        if (!createdDirectories.contains(directory)) {
+            Files.createDirectories(directory);
+            createdDirectories.add(directory);
+        }
+    }
+
+    /**
+     * Resolves the path a JavaFile is written to, following the same layout as {@link JavaFile#writeTo(Path)}.
+     *
+     * @param javaFile the file
+     * @return the target path under the output directory
+     */
+    public Path resolve(final JavaFile javaFile) {
+        Path directory = outputDir;
+        if (!javaFile.packageName.isEmpty()) {
+            for (String component : javaFile.packageName.split("\\.")) {
+                directory = directory.resolve(component);
+            }
+        }
+        return directory.resolve(javaFile.typeSpec.name + ".java");
+    }
+
+    @Override
+    public boolean contains(final String packageName, final String typeName) {
+        return Files.isRegularFile(outputDir.resolve(OutputSink.relativePath(packageName, typeName)));
+    }
+
+    @Override
+    public void delete(final String packageName, final String typeName) throws IOException {
+        Files.deleteIfExists(outputDir.resolve(OutputSink.relativePath(packageName, typeName)));
+    }
+
+    @Override
+    public void clean(final String packageName) throws IOException {
+        FileUtils.getInstance().cleanAndRecreateOutputDir(outputDir.toFile(), packageName);
+        createdDirectories.clear();
+    }
+
+    @Override
+    public void sync(final String packageName, final Set<String> typeNames) throws IOException {
+        Set<String> expected = new HashSet<>(typeNames.size() * 2);
+        for (String typeName : typeNames) {
+            expected.add(typeName + ".java");
+        }
+        FileUtils fileUtils = FileUtils.getInstance();
+        fileUtils.deleteOrphans(fileUtils.packageDirectory(outputDir.toFile(), packageName).toPath(), expected);
+    }
+
+    private boolean isUnchanged(final Path target, final byte[] content) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != content.length) {
+            return false;
+        }
+        return Arrays.equals(Files.readAllBytes(target), content);
+    }
+
+    public int getWrittenCount() {
+        return written.get();
+    }
+
+    public int getSkippedCount() {
+        return skipped.get();
+    }
+}
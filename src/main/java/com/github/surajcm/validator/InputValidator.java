@@ -3,7 +3,9 @@ package com.github.surajcm.validator;
 
 import com.github.surajcm.exception.ValidationException;
 
+import javax.lang.model.SourceVersion;
 import java.io.File;
+import java.util.List;
 
 public final class InputValidator {
     private static InputValidator instance;
@@ -25,6 +27,54 @@ public final class InputValidator {
         validatePackageName(packageName);
     }
 
+    /**
+     * Validates the schema files, output directory and package name of a run that writes to a directory.
+     *
+     * @param schemas the schema files
+     * @param outputDir the output directory, which must exist
+     * @param packageName the package name
+     * @throws ValidationException if an input is invalid
+     */
+    public void validateAllInputs(final List<File> schemas, final File outputDir, final String packageName)
+            throws ValidationException {
+        validateSchemaFiles(schemas);
+        validateOutputDir(outputDir);
+        validatePackageName(packageName);
+    }
+
+    /**
+     * Validates the schema files and package name when the output does not go to a directory.
+     *
+     * @param schemas the schema files
+     * @param packageName the package name
+     * @throws ValidationException if an input is invalid
+     */
+    public void validateSchemas(final List<File> schemas, final String packageName) throws ValidationException {
+        validateSchemaFiles(schemas);
+        validatePackageName(packageName);
+    }
+
+    /**
+     * Validates the simple name of a class to generate.
+     *
+     * @param className the class name
+     * @throws ValidationException if the name is not a valid Java identifier
+     */
+    public void validateClassName(final String className) throws ValidationException {
+        if (className == null || !SourceVersion.isIdentifier(className) || SourceVersion.isKeyword(className)) {
+            throw new ValidationException("Invalid schemaClass : " + className);
+        }
+    }
+
+    private void validateSchemaFiles(final List<File> schemas) throws ValidationException {
+        if (schemas == null || schemas.isEmpty()) {
+            throw new ValidationException("Invalid schema directory : no schema files found");
+        }
+        for (File schema : schemas) {
+            validateSchema(schema);
+        }
+    }
+
     private void validateSchema(final File schema) throws ValidationException {
         if (schema == null) {
             throw new ValidationException("Invalid schema directory : null");
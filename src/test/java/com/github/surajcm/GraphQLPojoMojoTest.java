@@ -0,0 +1,196 @@
+package com.github.surajcm;
+
+import com.github.surajcm.generation.OutputLayout;
+import com.github.surajcm.util.BuildStamp;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class GraphQLPojoMojoTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+    private static final String EDITED = "// edited after generation\n";
+
+    private Path tempDir;
+    private GraphQLPojoMojo mojo;
+
+    @BeforeEach
+    void setup() throws Exception {
+        BuildStamp.resetInstance();
+        tempDir = Files.createTempDirectory("mojo-test");
+        mojo = new GraphQLPojoMojo();
+        mojo.schema = writeSchema("type User { name: String }\nenum Status { ACTIVE }");
+        mojo.baseDirectory = tempDir.toFile();
+        mojo.outputDir = Files.createDirectories(tempDir.resolve("out")).toFile();
+        mojo.packageName = TEST_PACKAGE;
+        mojo.workDirectory = tempDir.resolve("work").toFile();
+        mojo.threads = 1;
+        mojo.outputLayout = OutputLayout.FILE_PER_TYPE;
+        mojo.pluginVersion = "test";
+        set("syncOutput", true);
+        set("slowestTypes", 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        BuildStamp.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void secondRunWithTheSameInputsIsSkipped() throws Exception {
+        mojo.execute();
+        Assertions.assertTrue(stampFile().isFile());
+        edit("User");
+
+        mojo.execute();
+
+        Assertions.assertEquals(EDITED, read(generatedFile(TEST_PACKAGE, "User")));
+    }
+
+    @Test
+    void forceRunsEvenWithTheSameInputs() throws Exception {
+        mojo.execute();
+        edit("User");
+        set("force", true);
+
+        mojo.execute();
+
+        Assertions.assertNotEquals(EDITED, read(generatedFile(TEST_PACKAGE, "User")));
+    }
+
+    @Test
+    void changedPackageRuns() throws Exception {
+        mojo.execute();
+        mojo.packageName = "com.example.other";
+
+        mojo.execute();
+
+        Assertions.assertTrue(generatedFile("com.example.other", "User").isFile());
+    }
+
+    @Test
+    void changedLayoutRuns() throws Exception {
+        mojo.execute();
+        edit("User");
+        mojo.outputLayout = OutputLayout.GROUPED_BY_PREFIX;
+
+        mojo.execute();
+
+        Assertions.assertTrue(generatedFile(TEST_PACKAGE, "UserTypes").isFile());
+        Assertions.assertFalse(generatedFile(TEST_PACKAGE, "User").exists());
+    }
+
+    @Test
+    void changedSchemaClassRuns() throws Exception {
+        mojo.execute();
+        edit("User");
+        mojo.schemaClass = "SchemaDefinitions";
+
+        mojo.execute();
+
+        Assertions.assertTrue(generatedFile(TEST_PACKAGE, "SchemaDefinitions").isFile());
+        Assertions.assertNotEquals(EDITED, read(generatedFile(TEST_PACKAGE, "User")));
+    }
+
+    @Test
+    void incrementalBuildWithoutSchemaDeltaReturnsEarly() throws Exception {
+        set("buildContext", new DefaultBuildContext() {
+            @Override
+            public boolean isIncremental() {
+                return true;
+            }
+
+            @Override
+            public boolean hasDelta(final File file) {
+                return false;
+            }
+        });
+
+        mojo.execute();
+
+        Assertions.assertFalse(generatedFile(TEST_PACKAGE, "User").exists());
+        Assertions.assertFalse(stampFile().exists());
+    }
+
+    @Test
+    void failedRunLeavesNoStamp() throws Exception {
+        mojo.execute();
+        Assertions.assertTrue(stampFile().isFile());
+        mojo.schemaClass = "not a class name";
+
+        Assertions.assertThrows(MojoExecutionException.class, () -> mojo.execute());
+
+        Assertions.assertFalse(stampFile().exists());
+    }
+
+    @Test
+    void failedRunKeepsThePreviousSourcesJar() throws Exception {
+        File sourcesJar = tempDir.resolve("out/generated-sources.jar").toFile();
+        set("sourcesJar", sourcesJar);
+        mojo.execute();
+        byte[] previous = Files.readAllBytes(sourcesJar.toPath());
+        mojo.schemaClass = "not a class name";
+
+        Assertions.assertThrows(MojoExecutionException.class, () -> mojo.execute());
+
+        Assertions.assertArrayEquals(previous, Files.readAllBytes(sourcesJar.toPath()));
+        Assertions.assertArrayEquals(new String[] {"generated-sources.jar"}, sourcesJar.getParentFile().list());
+        Assertions.assertFalse(stampFile().exists());
+    }
+
+    private void set(String fieldName, Object value) throws ReflectiveOperationException {
+        Field field = GraphQLPojoMojo.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    private File writeSchema(String content) throws IOException {
+        Path schemaFile = tempDir.resolve("schema.graphqls");
+        Files.write(schemaFile, content.getBytes(StandardCharsets.UTF_8));
+        return schemaFile.toFile();
+    }
+
+    private File stampFile() {
+        return mojo.workFile(AbstractGraphQLPojoMojo.STAMP_FILE);
+    }
+
+    private File generatedFile(String packageName, String typeName) {
+        return new File(mojo.outputDir, packageName.replace('.', '/') + "/" + typeName + ".java");
+    }
+
+    private void edit(String typeName) throws IOException {
+        Files.write(generatedFile(TEST_PACKAGE, typeName).toPath(), EDITED.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.exception.CompilationException;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.Modifier;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+class CompilationVerifierTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        CompilationVerifier.resetInstance();
+        tempDir = Files.createTempDirectory("verify-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        CompilationVerifier.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void sourcesReferringToEachOtherCompile() {
+        JavaFile film = type("Film", ClassName.get(TEST_PACKAGE, "Studio"));
+        JavaFile studio = type("Studio", ClassName.get(String.class));
+
+        Assertions.assertDoesNotThrow(() ->
+                CompilationVerifier.getInstance().verify(Arrays.asList(film, studio), null));
+        Assertions.assertEquals(0, tempDir.toFile().list().length);
+    }
+
+    @Test
+    void errorsAreReportedPerType() {
+        JavaFile film = type("Film", ClassName.get(TEST_PACKAGE, "Studio"));
+
+        CompilationException exception = Assertions.assertThrows(CompilationException.class, () ->
+                CompilationVerifier.getInstance().verify(Collections.singletonList(film), null));
+
+        Assertions.assertEquals(1, exception.getDiagnostics().size());
+        String error = exception.getDiagnostics().get(0);
+        Assertions.assertTrue(error.startsWith("com/example/generated/Film.java:"), error);
+        Assertions.assertTrue(error.contains("Studio"), error);
+        Assertions.assertTrue(exception.getMessage().contains(error));
+    }
+
+    @Test
+    void classFilesAreWrittenToTheClassOutputDirectory() throws Exception {
+        File classes = tempDir.resolve("classes").toFile();
+
+        CompilationVerifier.getInstance().verify(
+                Collections.singletonList(type("Studio", ClassName.get(String.class))), classes);
+
+        Assertions.assertTrue(new File(classes, "com/example/generated/Studio.class").isFile());
+    }
+
+    private JavaFile type(final String name, final ClassName fieldType) {
+        TypeSpec typeSpec = TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .addField(FieldSpec.builder(fieldType, "value", Modifier.PRIVATE).build())
+                .build();
+        return JavaFile.builder(TEST_PACKAGE, typeSpec).build();
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.surajcm.generation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class GenerationManifestTest {
+
+    @Test
+    void loadMissingManifestReturnsEmpty() throws IOException {
+        GenerationManifest manifest = GenerationManifest.load(new File("/nonexistent/manifest.properties"));
+        Assertions.assertTrue(manifest.isEmpty());
+    }
+
+    @Test
+    void storeAndLoadRoundTrip() throws IOException {
+        Path tempDir = Files.createTempDirectory("manifest-test");
+        File manifestFile = tempDir.resolve("nested/manifest.properties").toFile();
+        try {
+            GenerationManifest manifest = new GenerationManifest();
+            manifest.put("User", "abc123");
+            manifest.put("Genre", "def456");
+            manifest.store(manifestFile);
+
+            GenerationManifest loaded = GenerationManifest.load(manifestFile);
+
+            Assertions.assertEquals("abc123", loaded.get("User"));
+            Assertions.assertEquals("def456", loaded.get("Genre"));
+            Assertions.assertEquals(2, loaded.getTypeNames().size());
+        } finally {
+            manifestFile.delete();
+            manifestFile.getParentFile().delete();
+            tempDir.toFile().delete();
+        }
+    }
+
+    @Test
+    void storedManifestIsSortedByTypeName() throws IOException {
+        Path manifestPath = Files.createTempFile("manifest", ".properties");
+        try {
+            GenerationManifest manifest = new GenerationManifest();
+            manifest.put("Zebra", "1");
+            manifest.put("Apple", "2");
+            manifest.store(manifestPath.toFile());
+
+            List<String> lines = Files.readAllLines(manifestPath);
+
+            Assertions.assertEquals("Apple=2", lines.get(1));
+            Assertions.assertEquals("Zebra=1", lines.get(2));
+        } finally {
+            Files.deleteIfExists(manifestPath);
+        }
+    }
+
+    @Test
+    void signaturesAreStoredApartFromTypeHashes() throws IOException {
+        Path manifestPath = Files.createTempFile("manifest", ".properties");
+        try {
+            GenerationManifest manifest = new GenerationManifest();
+            manifest.put("Film", "1");
+            manifest.putSignature("Rating", "java.lang.Object");
+            manifest.store(manifestPath.toFile());
+
+            GenerationManifest loaded = GenerationManifest.load(manifestPath.toFile());
+
+            Assertions.assertEquals("@Rating=java.lang.Object", Files.readAllLines(manifestPath).get(2));
+            Assertions.assertEquals("java.lang.Object", loaded.getSignature("Rating"));
+            Assertions.assertNull(loaded.get("Rating"));
+            Assertions.assertEquals(1, loaded.getTypeNames().size());
+        } finally {
+            Files.deleteIfExists(manifestPath);
+        }
+    }
+}
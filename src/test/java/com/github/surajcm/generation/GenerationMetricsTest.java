@@ -0,0 +1,104 @@
+package com.github.surajcm.generation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class GenerationMetricsTest {
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        MetricsReportWriter.resetInstance();
+        tempDir = Files.createTempDirectory("metrics-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MetricsReportWriter.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void phasesAreAggregatedInFirstSeenOrder() {
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.start(GenerationMetrics.PARSE).close();
+        metrics.startType(GenerationMetrics.RENDER, "User").close();
+        metrics.startType(GenerationMetrics.RENDER, "Order").close();
+
+        List<GenerationMetrics.PhaseTiming> phases = metrics.getPhases();
+
+        Assertions.assertEquals(2, phases.size());
+        Assertions.assertEquals(GenerationMetrics.PARSE, phases.get(0).getName());
+        Assertions.assertEquals(2, metrics.getPhase(GenerationMetrics.RENDER).getCount());
+        Assertions.assertNull(metrics.getPhase(GenerationMetrics.WRITE));
+    }
+
+    @Test
+    void slowestTypesCombineRenderAndWrite() throws InterruptedException {
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.startType(GenerationMetrics.RENDER, "Fast").close();
+        try (GenerationMetrics.Span span = metrics.startType(GenerationMetrics.WRITE, "Slow")) {
+            Thread.sleep(20);
+        }
+
+        List<GenerationMetrics.TypeTiming> slowest = metrics.slowestTypes(1);
+
+        Assertions.assertEquals(1, slowest.size());
+        Assertions.assertEquals("Slow", slowest.get(0).getTypeName());
+        Assertions.assertTrue(slowest.get(0).getWriteNanos() >= 20_000_000L);
+        Assertions.assertTrue(metrics.summary(5).stream().anyMatch(line -> line.contains("Slow")));
+        Assertions.assertTrue(metrics.summaryLine().startsWith("render "));
+    }
+
+    @Test
+    void writesJsonReportAndChromeTrace() throws IOException {
+        GenerationMetrics metrics = new GenerationMetrics();
+        metrics.start(GenerationMetrics.PARSE).close();
+        metrics.startType(GenerationMetrics.RENDER, "User").close();
+        File report = tempDir.resolve("reports/metrics.json").toFile();
+        File trace = tempDir.resolve("reports/metrics-trace.json").toFile();
+
+        MetricsReportWriter.getInstance().writeJson(metrics, new GenerationResult(1, 1, 0, metrics), 10, report);
+        MetricsReportWriter.getInstance().writeChromeTrace(metrics, trace);
+
+        String json = new String(Files.readAllBytes(report.toPath()), StandardCharsets.UTF_8);
+        Assertions.assertTrue(json.contains("\"typeCount\": 1"));
+        Assertions.assertTrue(json.contains("{\"name\": \"parse\", \"count\": 1"));
+        Assertions.assertTrue(json.contains("{\"name\": \"User\""));
+        String traceJson = new String(Files.readAllBytes(trace.toPath()), StandardCharsets.UTF_8);
+        Assertions.assertTrue(traceJson.startsWith("{\"displayTimeUnit\": \"ms\", \"traceEvents\": ["));
+        Assertions.assertTrue(traceJson.contains("\"name\": \"render User\", \"cat\": \"type\", \"ph\": \"X\""));
+    }
+
+    @Test
+    void quoteEscapesJsonCharacters() {
+        Assertions.assertEquals("\"a\\\"b\\\\c\\u000a\"", MetricsReportWriter.quote("a\"b\\c\n"));
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
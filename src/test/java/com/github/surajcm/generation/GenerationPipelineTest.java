@@ -0,0 +1,102 @@
+package com.github.surajcm.generation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class GenerationPipelineTest {
+
+    @Test
+    void runsEveryUnitOnTheWorkerThreads() throws IOException {
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        AtomicInteger runs = new AtomicInteger();
+
+        try (GenerationPipeline pipeline = new GenerationPipeline(3)) {
+            for (int i = 0; i < 100; i++) {
+                pipeline.submit(() -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    runs.incrementAndGet();
+                });
+            }
+            pipeline.finish();
+        }
+
+        Assertions.assertEquals(100, runs.get());
+        Assertions.assertFalse(threadNames.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void singleThreadRunsOnTheCallingThread() throws IOException {
+        String caller = Thread.currentThread().getName();
+        AtomicInteger runs = new AtomicInteger();
+
+        try (GenerationPipeline pipeline = new GenerationPipeline(1)) {
+            pipeline.submit(() -> {
+                Assertions.assertEquals(caller, Thread.currentThread().getName());
+                runs.incrementAndGet();
+            });
+            pipeline.finish();
+        }
+
+        Assertions.assertEquals(1, runs.get());
+    }
+
+    @Test
+    void submitBlocksWhileTheWorkersAreBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger submitted = new AtomicInteger();
+        Thread producer = new Thread(() -> {
+            try (GenerationPipeline pipeline = new GenerationPipeline(2)) {
+                for (int i = 0; i < 100; i++) {
+                    pipeline.submit(() -> awaitQuietly(release));
+                    submitted.incrementAndGet();
+                }
+                pipeline.finish();
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        });
+        producer.start();
+
+        Thread.sleep(200);
+        // two running, eight queued and the ninth waiting for a slot
+        Assertions.assertEquals(10, submitted.get());
+
+        release.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+        Assertions.assertEquals(100, submitted.get());
+    }
+
+    @Test
+    void firstFailureIsRethrown() {
+        AtomicInteger runs = new AtomicInteger();
+
+        IOException failure = Assertions.assertThrows(IOException.class, () -> {
+            try (GenerationPipeline pipeline = new GenerationPipeline(2)) {
+                pipeline.submit(() -> {
+                    throw new IOException("disk full");
+                });
+                for (int i = 0; i < 1000; i++) {
+                    pipeline.submit(runs::incrementAndGet);
+                }
+                pipeline.finish();
+            }
+        });
+
+        Assertions.assertEquals("disk full", failure.getMessage());
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
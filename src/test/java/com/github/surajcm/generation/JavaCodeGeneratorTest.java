@@ -1,6 +1,15 @@
 package com.github.surajcm.generation;
 
 import com.github.surajcm.mapper.TypeMapper;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.util.BuildStamp;
+import com.github.surajcm.util.InMemoryOutputSink;
+import com.github.surajcm.util.JarOutputSink;
+import com.github.surajcm.util.SchemaDigest;
+import com.github.surajcm.util.SchemaModelCache;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -9,8 +18,13 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipFile;
 
 class JavaCodeGeneratorTest {
 
@@ -174,6 +188,615 @@ class JavaCodeGeneratorTest {
         Assertions.assertTrue(content.contains("public void setGenre(Genre genre)"));
     }
 
+    @Test
+    void incrementalGenerationLeavesUnchangedTypesAlone() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }\n"
+                + "type Actor { name: String }\n"
+                + "enum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = incrementalOptions();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        File film = generatedFile(outputDirectory, "TempFilm");
+        File actor = generatedFile(outputDirectory, "Actor");
+        Assertions.assertTrue(film.setLastModified(1_000_000L));
+        Assertions.assertTrue(actor.setLastModified(1_000_000L));
+
+        writeSchema("type TempFilm { title: String episode_id: Int }\n"
+                + "type Actor { name: String }\n"
+                + "enum Genre { ACTION }");
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(3, result.getTypeCount());
+        Assertions.assertEquals(1, result.getWrittenFiles());
+
+        Assertions.assertEquals(1_000_000L, actor.lastModified(), "Actor.java should not be rewritten");
+        Assertions.assertNotEquals(1_000_000L, film.lastModified(), "TempFilm.java should be regenerated");
+        String content = new String(Files.readAllBytes(film.toPath()));
+        Assertions.assertTrue(content.contains("private Integer episode_id"));
+    }
+
+    @Test
+    void incrementalGenerationDeletesRemovedTypes() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }\n"
+                + "enum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = incrementalOptions();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        Assertions.assertTrue(generatedFile(outputDirectory, "Genre").exists());
+
+        writeSchema("type TempFilm { title: String }");
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertFalse(generatedFile(outputDirectory, "Genre").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void syncOutputDeletesOnlyOrphanedSources() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }\n"
+                + "enum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = GenerationOptions.builder().syncOutput(true).build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        File film = generatedFile(outputDirectory, "TempFilm");
+        Assertions.assertTrue(film.setLastModified(1_000_000L));
+        File notes = new File(film.getParentFile(), "notes.txt");
+        Files.write(notes.toPath(), "kept".getBytes());
+
+        writeSchema("type TempFilm { title: String }");
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(0, result.getWrittenFiles());
+        Assertions.assertEquals(1_000_000L, film.lastModified(), "TempFilm.java should not be rewritten");
+        Assertions.assertFalse(generatedFile(outputDirectory, "Genre").exists());
+        Assertions.assertTrue(notes.exists());
+    }
+
+    @Test
+    void identicalDefaultRunSkipsEveryFile() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }\n"
+                + "enum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+        File film = generatedFile(outputDirectory, "TempFilm");
+        File genre = generatedFile(outputDirectory, "Genre");
+        Assertions.assertTrue(film.setLastModified(1_000_000L));
+        Assertions.assertTrue(genre.setLastModified(1_000_000L));
+
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+
+        Assertions.assertEquals(0, result.getWrittenFiles());
+        Assertions.assertEquals(result.getTypeCount(), result.getSkippedFiles());
+        Assertions.assertEquals(1_000_000L, film.lastModified());
+        Assertions.assertEquals(1_000_000L, genre.lastModified());
+    }
+
+    @Test
+    void wipingRunRewritesEveryFile() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = GenerationOptions.builder().syncOutput(false).build();
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(1, result.getWrittenFiles());
+    }
+
+    @Test
+    void fullRunCleansAnExistingPackage() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }\n"
+                + "enum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+
+        writeSchema("type TempFilm { title: String }");
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+
+        Assertions.assertFalse(generatedFile(outputDirectory, "Genre").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void incrementalGenerationRestoresDeletedFiles() throws MojoExecutionException, IOException {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = incrementalOptions();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        File film = generatedFile(outputDirectory, "TempFilm");
+        Assertions.assertTrue(film.delete());
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertTrue(film.exists());
+    }
+
+    @Test
+    void parallelGenerationMatchesSequentialOutput() throws MojoExecutionException, IOException {
+        StringBuilder schema = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            schema.append("type Film").append(i).append(" { title: String rank: Int genre: Genre }\n");
+            schema.append("input FilmInput").append(i).append(" { title: String! tags: [String] }\n");
+        }
+        schema.append("enum Genre { ACTION COMEDY }\ntype TempFilm { title: String }");
+        File schemaFile = writeSchema(schema.toString());
+        File sequentialDir = Files.createDirectories(tempOutputDir.resolve("sequential")).toFile();
+        File parallelDir = Files.createDirectories(tempOutputDir.resolve("parallel")).toFile();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, sequentialDir, TEST_PACKAGE,
+                GenerationOptions.builder().threads(1).build());
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, parallelDir, TEST_PACKAGE,
+                GenerationOptions.builder().threads(4).build());
+
+        File[] sequentialFiles = generatedFile(sequentialDir, "Genre").getParentFile().listFiles();
+        Assertions.assertNotNull(sequentialFiles);
+        Assertions.assertEquals(82, sequentialFiles.length);
+        for (File expected : sequentialFiles) {
+            File actual = generatedFile(parallelDir, expected.getName().replace(".java", ""));
+            Assertions.assertArrayEquals(Files.readAllBytes(expected.toPath()), Files.readAllBytes(actual.toPath()),
+                    expected.getName() + " should be identical");
+        }
+    }
+
+    @Test
+    void generateFromMultipleSchemaFiles() throws MojoExecutionException, IOException {
+        Path users = Files.write(tempOutputDir.resolve("users.graphqls"),
+                "type User { id: ID! }\ntype Query { user: User }".getBytes());
+        Path extension = Files.write(tempOutputDir.resolve("users-ext.graphqls"),
+                "extend type User { email: String }".getBytes());
+        Path enums = Files.write(tempOutputDir.resolve("enums.graphqls"), "enum Role { ADMIN }".getBytes());
+        File outputDirectory = Files.createDirectories(tempOutputDir.resolve("out")).toFile();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Arrays.asList(enums.toFile(), users.toFile(), extension.toFile()),
+                outputDirectory, TEST_PACKAGE, GenerationOptions.builder().threads(2).build());
+
+        String user = new String(Files.readAllBytes(generatedFile(outputDirectory, "User").toPath()));
+        Assertions.assertTrue(user.contains("private String email"));
+        Assertions.assertTrue(generatedFile(outputDirectory, "Role").exists());
+    }
+
+    @Test
+    void modelSnapshotIsReusedForUnchangedSchema() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.resolve("output").toFile();
+        Assertions.assertTrue(outputDirectory.mkdirs());
+        File cacheFile = tempOutputDir.resolve("state/schema-model.bin").toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .modelCacheFile(cacheFile)
+                .cacheKeySalt("1.0")
+                .build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        Assertions.assertTrue(cacheFile.isFile());
+
+        // replace the snapshot with a different model under the same key; it must be used instead of the schema
+        String key = SchemaDigest.getInstance().digest(Collections.singletonList(schemaFile), "UTF-8", "1.0");
+        SchemaModel cached = new SchemaModel(Collections.singletonList(new GraphQLTypeInfo("Cached",
+                GraphQLTypeKind.OBJECT, Collections.singletonList(new GraphQLFieldInfo("id", "ID", false, true)))),
+                Collections.emptyList());
+        SchemaModelCache.getInstance().write(cacheFile, key, cached);
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        Assertions.assertTrue(generatedFile(outputDirectory, "Cached").exists());
+
+        // a schema change produces a new key, so the snapshot is rebuilt from the schema
+        writeSchema("type TempFilm { title: String year: Int }");
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        Assertions.assertFalse(generatedFile(outputDirectory, "Cached").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void resultCarriesPhaseAndTypeMetrics() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\nenum Genre { DRAMA COMEDY }");
+        File outputDirectory = tempOutputDir.resolve("output").toFile();
+        Assertions.assertTrue(outputDirectory.mkdirs());
+
+        GenerationMetrics metrics = JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile,
+                outputDirectory, TEST_PACKAGE, GenerationOptions.builder().typeMetrics(true).build()).getMetrics();
+
+        for (String phase : Arrays.asList(GenerationMetrics.TOTAL, GenerationMetrics.PARSE,
+                GenerationMetrics.EXTRACT, GenerationMetrics.SYMBOLS, GenerationMetrics.RENDER,
+                GenerationMetrics.WRITE)) {
+            Assertions.assertNotNull(metrics.getPhase(phase), phase);
+        }
+        Assertions.assertEquals(2, metrics.getPhase(GenerationMetrics.RENDER).getCount());
+        Assertions.assertEquals(2, metrics.slowestTypes(10).size());
+    }
+
+    @Test
+    void typeMetricsAreOnlyKeptWhenRequested() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\nenum Genre { DRAMA COMEDY }");
+
+        GenerationMetrics metrics = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, tempOutputDir.toFile(), TEST_PACKAGE).getMetrics();
+
+        Assertions.assertEquals(2, metrics.getPhase(GenerationMetrics.RENDER).getCount());
+        Assertions.assertTrue(metrics.slowestTypes(10).isEmpty());
+        Assertions.assertTrue(metrics.getSpans().stream().allMatch(span -> span.getTypeName() == null));
+    }
+
+    @Test
+    void unmappedCustomScalarFieldsAreTypedAsObject() throws Exception {
+        File schemaFile = writeSchema("scalar DateTime\ntype TempFilm { title: String released: DateTime }");
+        File outputDirectory = tempOutputDir.resolve("output").toFile();
+        Assertions.assertTrue(outputDirectory.mkdirs());
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+
+        String film = new String(Files.readAllBytes(generatedFile(outputDirectory, "TempFilm").toPath()));
+        Assertions.assertTrue(film.contains("private Object released"));
+        Assertions.assertFalse(generatedFile(outputDirectory, "DateTime").exists());
+    }
+
+    @Test
+    void generateIntoInMemorySink() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\nenum Genre { DRAMA COMEDY }");
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .threads(2)
+                .build();
+
+        GenerationResult result = JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(schemaFile), sink, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(2, result.getWrittenFiles());
+        Assertions.assertTrue(sink.getSource(TEST_PACKAGE, "TempFilm").contains("private String title"));
+        Assertions.assertTrue(sink.getSource(TEST_PACKAGE, "Genre").contains("DRAMA"));
+        Assertions.assertFalse(new File(tempOutputDir.toFile(), "com").exists());
+
+        GenerationResult second = JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(schemaFile), sink, TEST_PACKAGE, options);
+        Assertions.assertEquals(0, second.getWrittenFiles() + second.getSkippedFiles());
+    }
+
+    @Test
+    void incrementalRunRegeneratesTypesReferringToATypeThatBecameAScalar() throws Exception {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        GenerationOptions options = incrementalOptions();
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(Collections.singletonList(writeSchema(
+                "type TempFilm { title: String rating: Rating }\ntype Rating { stars: Int }\n"
+                        + "type Studio { name: String }")), sink, TEST_PACKAGE, options);
+        Assertions.assertTrue(sink.getSource(TEST_PACKAGE, "TempFilm").contains("private Rating rating"));
+
+        // TempFilm itself is unchanged, but its rating field no longer refers to a generated class
+        GenerationResult second = JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(writeSchema(
+                        "type TempFilm { title: String rating: Rating }\nscalar Rating\n"
+                                + "type Studio { name: String }")), sink, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(1, second.getWrittenFiles() + second.getSkippedFiles());
+        Assertions.assertTrue(sink.getSource(TEST_PACKAGE, "TempFilm").contains("private Object rating"));
+        Assertions.assertNull(sink.getSource(TEST_PACKAGE, "Rating"));
+        Assertions.assertEquals(Collections.singleton("TempFilm"),
+                second.getDependencyGraph().getDependents("Rating"));
+    }
+
+    @Test
+    void verifyCompilesTheGeneratedSources() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String genre: Genre }\nenum Genre { DRAMA COMEDY }");
+        File classes = tempOutputDir.resolve("classes").toFile();
+        GenerationOptions options = GenerationOptions.builder().verify(true).classOutputDir(classes).build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(schemaFile), tempOutputDir.toFile(), TEST_PACKAGE, options);
+
+        Assertions.assertTrue(new File(classes, "com/example/generated/TempFilm.class").isFile());
+        Assertions.assertTrue(new File(classes, "com/example/generated/Genre.class").isFile());
+    }
+
+    @Test
+    void verifyFailsWithTheTypeThatDoesNotCompile() throws Exception {
+        // Studio is never defined, so TempFilm refers to a class that is not generated
+        File schemaFile = writeSchema("type TempFilm { title: String studio: Studio }");
+        GenerationOptions options = GenerationOptions.builder().verify(true).build();
+
+        MojoExecutionException exception = Assertions.assertThrows(MojoExecutionException.class, () ->
+                JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                        Collections.singletonList(schemaFile), new InMemoryOutputSink(), TEST_PACKAGE, options));
+
+        Assertions.assertTrue(exception.getMessage().contains("com/example/generated/TempFilm.java:"),
+                exception.getMessage());
+    }
+
+    @Test
+    void generateIntoSourcesJar() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\nenum Genre { DRAMA COMEDY }");
+        File jarFile = tempOutputDir.resolve("out/sources.jar").toFile();
+
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                    Collections.singletonList(schemaFile), sink, TEST_PACKAGE, GenerationOptions.defaults());
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Assertions.assertNotNull(zip.getEntry("com/example/generated/TempFilm.java"));
+            Assertions.assertNotNull(zip.getEntry("com/example/generated/Genre.java"));
+        }
+    }
+
+    @Test
+    void generateFromIntrospectionJsonMatchesTheSdlOutput() throws Exception {
+        Path jsonPath = tempOutputDir.resolve("schema.json");
+        Files.write(jsonPath, ("{\"data\": {\"__schema\": {\"types\": ["
+                + "{\"kind\": \"OBJECT\", \"name\": \"Query\", \"fields\": []},"
+                + "{\"kind\": \"OBJECT\", \"name\": \"TempFilm\", \"interfaces\": [], \"fields\": ["
+                + "{\"name\": \"title\", \"args\": [], \"type\": {\"kind\": \"SCALAR\", \"name\": \"String\"}},"
+                + "{\"name\": \"genres\", \"type\": {\"kind\": \"NON_NULL\", \"name\": null, \"ofType\":"
+                + " {\"kind\": \"LIST\", \"name\": null, \"ofType\": {\"kind\": \"ENUM\", \"name\": \"Genre\"}}}}]},"
+                + "{\"kind\": \"ENUM\", \"name\": \"Genre\","
+                + " \"enumValues\": [{\"name\": \"DRAMA\"}, {\"name\": \"COMEDY\"}]},"
+                + "{\"kind\": \"SCALAR\", \"name\": \"String\"}"
+                + "]}}}").getBytes(StandardCharsets.UTF_8));
+        File sdl = writeSchema("type TempFilm { title: String genres: [Genre]! }\nenum Genre { DRAMA COMEDY }");
+        InMemoryOutputSink fromJson = new InMemoryOutputSink();
+        InMemoryOutputSink fromSdl = new InMemoryOutputSink();
+
+        GenerationResult result = JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(jsonPath.toFile()), fromJson, TEST_PACKAGE, GenerationOptions.defaults());
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                Collections.singletonList(sdl), fromSdl, TEST_PACKAGE, GenerationOptions.defaults());
+
+        Assertions.assertEquals(2, result.getTypeCount());
+        Assertions.assertEquals(fromSdl.getSource(TEST_PACKAGE, "TempFilm"),
+                fromJson.getSource(TEST_PACKAGE, "TempFilm"));
+        Assertions.assertEquals(fromSdl.getSource(TEST_PACKAGE, "Genre"), fromJson.getSource(TEST_PACKAGE, "Genre"));
+    }
+
+    @Test
+    void mixingSdlAndIntrospectionJsonIsRejected() throws Exception {
+        Path jsonPath = tempOutputDir.resolve("schema.json");
+        Files.write(jsonPath, "{\"__schema\": {\"types\": []}}".getBytes(StandardCharsets.UTF_8));
+        List<File> schemas = Arrays.asList(writeSchema("type TempFilm { title: String }"), jsonPath.toFile());
+
+        MojoExecutionException exception = Assertions.assertThrows(MojoExecutionException.class, () ->
+                JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                        schemas, new InMemoryOutputSink(), TEST_PACKAGE, GenerationOptions.defaults()));
+
+        Assertions.assertTrue(exception.getMessage().contains("mix SDL and introspection JSON"));
+    }
+
+    @Test
+    void sourcesJarIsByteIdenticalAcrossThreadedRuns() throws Exception {
+        StringBuilder schema = new StringBuilder("type TempFilm { title: String }\n");
+        for (int i = 0; i < 50; i++) {
+            schema.append("type Type").append(i).append(" { id: ID film: TempFilm }\n");
+        }
+        File schemaFile = writeSchema(schema.toString());
+        GenerationOptions options = GenerationOptions.builder().threads(4).build();
+        File first = tempOutputDir.resolve("first.jar").toFile();
+        File second = tempOutputDir.resolve("second.jar").toFile();
+
+        try (JarOutputSink sink = new JarOutputSink(first)) {
+            JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                    Collections.singletonList(schemaFile), sink, TEST_PACKAGE, options);
+        }
+        try (JarOutputSink sink = new JarOutputSink(second)) {
+            JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                    Collections.singletonList(schemaFile), sink, TEST_PACKAGE, options);
+        }
+
+        Assertions.assertArrayEquals(Files.readAllBytes(first.toPath()), Files.readAllBytes(second.toPath()));
+    }
+
+    @Test
+    void schemaClassIsGeneratedNextToThePojos() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(Collections.singletonList(schemaFile), sink,
+                TEST_PACKAGE, GenerationOptions.builder().schemaClass("SchemaDefinitions").build());
+
+        String source = sink.getSource(TEST_PACKAGE, "SchemaDefinitions");
+        Assertions.assertNotNull(source);
+        Assertions.assertTrue(source.contains("public static TypeDefinitionRegistry typeDefinitionRegistry()"));
+        Assertions.assertNotNull(sink.getSource(TEST_PACKAGE, "TempFilm"));
+    }
+
+    @Test
+    void schemaClassClashingWithASchemaTypeIsRejected() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+
+        MojoExecutionException exception = Assertions.assertThrows(MojoExecutionException.class, () ->
+                JavaCodeGenerator.getInstance().generatePojoFromSchema(Collections.singletonList(schemaFile),
+                        new InMemoryOutputSink(), TEST_PACKAGE,
+                        GenerationOptions.builder().schemaClass("TempFilm").build()));
+
+        Assertions.assertTrue(exception.getMessage().contains("clashes with a schema type"));
+    }
+
+    @Test
+    void rejectedSchemaClassLeavesThePreviousOutputInPlace() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE);
+
+        Assertions.assertThrows(MojoExecutionException.class, () ->
+                JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE,
+                        GenerationOptions.builder().syncOutput(false).schemaClass("TempFilm").build()));
+
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void schemaClassIsKeptBySyncAndRemovedOnceTheOptionIsDropped() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions withClass = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .schemaClass("SchemaDefinitions")
+                .build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, withClass);
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, withClass);
+        Assertions.assertTrue(generatedFile(outputDirectory, "SchemaDefinitions").exists());
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                schemaFile, outputDirectory, TEST_PACKAGE, incrementalOptions());
+
+        Assertions.assertFalse(generatedFile(outputDirectory, "SchemaDefinitions").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void schemaClassFromIntrospectionJsonIsRejected() throws Exception {
+        Path jsonPath = tempOutputDir.resolve("schema.json");
+        Files.write(jsonPath, "{\"__schema\": {\"types\": []}}".getBytes(StandardCharsets.UTF_8));
+
+        MojoExecutionException exception = Assertions.assertThrows(MojoExecutionException.class, () ->
+                JavaCodeGenerator.getInstance().generatePojoFromSchema(Collections.singletonList(jsonPath.toFile()),
+                        new InMemoryOutputSink(), TEST_PACKAGE,
+                        GenerationOptions.builder().schemaClass("SchemaDefinitions").build()));
+
+        Assertions.assertTrue(exception.getMessage().contains("schemaClass requires SDL schema files"));
+    }
+
+    @Test
+    void incrementalRunKeepsEveryTypeInTheNativeMetadata() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\nenum Genre { ACTION }");
+        File outputDirectory = tempOutputDir.toFile();
+        File metadataDir = tempOutputDir.resolve("resources").toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .metadataDir(metadataDir)
+                .build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        writeSchema("type TempFilm { title: String year: Int }\nenum Genre { ACTION }");
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(1, result.getWrittenFiles());
+        String reflectConfig = new String(Files.readAllBytes(new File(metadataDir,
+                "META-INF/native-image/" + TEST_PACKAGE + "/reflect-config.json").toPath()), StandardCharsets.UTF_8);
+        Assertions.assertTrue(reflectConfig.contains("\"name\": \"com.example.generated.Genre\""));
+        Assertions.assertTrue(reflectConfig.contains("\"name\": \"com.example.generated.TempFilm\""));
+        Assertions.assertFalse(reflectConfig.contains("Query"));
+    }
+
+    @Test
+    void groupedLayoutWritesOneFilePerPrefix() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String genre: TempGenre }\n"
+                + "enum TempGenre { ACTION }\ntype Person { name: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .outputLayout(OutputLayout.GROUPED_BY_PREFIX)
+                .verify(true)
+                .build();
+
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(3, result.getTypeCount());
+        Assertions.assertEquals(2, result.getWrittenFiles());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempTypes").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "PersonTypes").exists());
+        Assertions.assertFalse(generatedFile(outputDirectory, "TempFilm").exists());
+    }
+
+    @Test
+    void groupedRunIsUpToDateAgainstItsOwnStamp() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String genre: TempGenre }\n"
+                + "enum TempGenre { ACTION }\ntype Person { name: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        File stampFile = tempOutputDir.resolve("state/build.stamp").toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .outputLayout(OutputLayout.GROUPED_BY_PREFIX)
+                .schemaClass("SchemaDefinitions")
+                .build();
+
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        BuildStamp.getInstance().write(stampFile, "key", result.getSourceTypes());
+
+        Assertions.assertEquals(3, result.getTypeCount());
+        Assertions.assertEquals(3, result.getSourceCount());
+        File packageDirectory = generatedFile(outputDirectory, "TempTypes").getParentFile();
+        Assertions.assertTrue(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+        Assertions.assertTrue(generatedFile(outputDirectory, "PersonTypes").delete());
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+    }
+
+    @Test
+    void incrementalGroupedRunRewritesOnlyTheUnitOfAChangedType() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }\ntype Person { name: String }");
+        File outputDirectory = tempOutputDir.toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .outputLayout(OutputLayout.GROUPED_BY_PREFIX)
+                .build();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+        File people = generatedFile(outputDirectory, "PersonTypes");
+        Assertions.assertTrue(people.setLastModified(1_000_000L));
+        writeSchema("type TempFilm { title: String }\ntype TempCast { size: Int }\ntype Person { name: String }");
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertEquals(1, result.getWrittenFiles());
+        Assertions.assertEquals(1_000_000L, people.lastModified());
+        String films = new String(Files.readAllBytes(generatedFile(outputDirectory, "TempTypes").toPath()),
+                StandardCharsets.UTF_8);
+        Assertions.assertTrue(films.contains("public static class TempCast {"));
+
+        writeSchema("type TempFilm { title: String }");
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE, options);
+
+        Assertions.assertFalse(people.exists());
+    }
+
+    @Test
+    void switchingToTheGroupedLayoutRemovesThePerTypeFiles() throws Exception {
+        File schemaFile = writeSchema("type TempFilm { title: String }");
+        File outputDirectory = tempOutputDir.toFile();
+
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(
+                schemaFile, outputDirectory, TEST_PACKAGE, incrementalOptions());
+        JavaCodeGenerator.getInstance().generatePojoFromSchema(schemaFile, outputDirectory, TEST_PACKAGE,
+                GenerationOptions.builder()
+                        .incremental(true)
+                        .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                        .outputLayout(OutputLayout.GROUPED_BY_PREFIX)
+                        .build());
+
+        Assertions.assertFalse(generatedFile(outputDirectory, "TempFilm").exists());
+        Assertions.assertTrue(generatedFile(outputDirectory, "TempTypes").exists());
+    }
+
+    private GenerationOptions incrementalOptions() {
+        return GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempOutputDir.resolve("state/manifest.properties").toFile())
+                .build();
+    }
+
+    private File writeSchema(final String content) throws IOException {
+        Path schemaPath = tempOutputDir.resolve("schema.graphqls");
+        Files.write(schemaPath, ("type Query { film: TempFilm }\n" + content).getBytes());
+        return schemaPath.toFile();
+    }
+
+    private File generatedFile(final File outputDirectory, final String typeName) {
+        return new File(outputDirectory,
+                TEST_PACKAGE.replace('.', File.separatorChar) + File.separator + typeName + ".java");
+    }
+
     private void deleteDirectory(File directory) {
         if (directory == null || !directory.exists()) {
             return;
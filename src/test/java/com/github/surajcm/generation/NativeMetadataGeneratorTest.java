@@ -0,0 +1,127 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+class NativeMetadataGeneratorTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private SchemaModel model;
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        NativeMetadataGenerator.resetInstance();
+        model = SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("Person", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("name", "String", false, false))))
+                .addType(new GraphQLTypeInfo("Film", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("genre", "Genre", false, false))))
+                .addEnum(new GraphQLEnumInfo("Genre", Arrays.asList("DRAMA", "COMEDY")))
+                .build();
+        tempDir = Files.createTempDirectory("native-metadata-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        NativeMetadataGenerator.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void singletonInstanceShouldBeSame() {
+        Assertions.assertSame(NativeMetadataGenerator.getInstance(), NativeMetadataGenerator.getInstance());
+    }
+
+    @Test
+    void reflectConfigListsEveryTypeInNameOrder() {
+        String expected = "[\n"
+                + "  {\"name\": \"com.example.generated.Film\", \"allDeclaredFields\": true, "
+                + "\"allPublicConstructors\": true, \"allPublicMethods\": true},\n"
+                + "  {\"name\": \"com.example.generated.Genre\", \"allDeclaredFields\": true, "
+                + "\"allPublicMethods\": true},\n"
+                + "  {\"name\": \"com.example.generated.Person\", \"allDeclaredFields\": true, "
+                + "\"allPublicConstructors\": true, \"allPublicMethods\": true}\n"
+                + "]\n";
+
+        Assertions.assertEquals(expected,
+                NativeMetadataGenerator.getInstance().reflectConfig(model, TEST_PACKAGE, null));
+    }
+
+    @Test
+    void reflectConfigOfAnEmptyModelIsAnEmptyArray() {
+        Assertions.assertEquals("[\n]\n", NativeMetadataGenerator.getInstance()
+                .reflectConfig(SchemaModel.builder().build(), TEST_PACKAGE, null));
+    }
+
+    @Test
+    void classListUsesInternalNamesAndIncludesTheSchemaClass() {
+        Assertions.assertEquals("com/example/generated/Film\n"
+                        + "com/example/generated/Genre\n"
+                        + "com/example/generated/Person\n"
+                        + "com/example/generated/SchemaDefinitions\n",
+                NativeMetadataGenerator.getInstance().classList(model, TEST_PACKAGE, null, "SchemaDefinitions"));
+    }
+
+    @Test
+    void groupedTypesAreListedByTheirBinaryNames() {
+        TypeGroups groups = TypeGroups.byPrefix(model);
+
+        Assertions.assertTrue(NativeMetadataGenerator.getInstance().reflectConfig(model, TEST_PACKAGE, groups)
+                .contains("{\"name\": \"com.example.generated.FilmTypes$Film\""));
+        Assertions.assertEquals("com/example/generated/FilmTypes\n"
+                        + "com/example/generated/FilmTypes$Film\n"
+                        + "com/example/generated/GenreTypes\n"
+                        + "com/example/generated/GenreTypes$Genre\n"
+                        + "com/example/generated/PersonTypes\n"
+                        + "com/example/generated/PersonTypes$Person\n",
+                NativeMetadataGenerator.getInstance().classList(model, TEST_PACKAGE, groups, null));
+    }
+
+    @Test
+    void unchangedMetadataIsNotRewritten() throws IOException {
+        NativeMetadataGenerator generator = NativeMetadataGenerator.getInstance();
+
+        Assertions.assertEquals(2, generator.write(model, TEST_PACKAGE, null, null, tempDir.toFile()));
+        File reflectConfig = tempDir.resolve(generator.reflectConfigPath(TEST_PACKAGE)).toFile();
+        File classList = tempDir.resolve(generator.classListPath(TEST_PACKAGE)).toFile();
+        Assertions.assertTrue(reflectConfig.setLastModified(1_000_000L));
+
+        Assertions.assertEquals(1,
+                generator.write(model, TEST_PACKAGE, null, "SchemaDefinitions", tempDir.toFile()));
+
+        Assertions.assertEquals(1_000_000L, reflectConfig.lastModified());
+        Assertions.assertTrue(new String(Files.readAllBytes(classList.toPath()), StandardCharsets.UTF_8)
+                .endsWith("com/example/generated/SchemaDefinitions\n"));
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
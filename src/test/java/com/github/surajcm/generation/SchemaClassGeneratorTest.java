@@ -0,0 +1,168 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.parser.SchemaParser;
+import com.squareup.javapoet.JavaFile;
+import graphql.schema.idl.SchemaPrinter;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+class SchemaClassGeneratorTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private static final String SCHEMA = "\"\"\"\nThe film catalogue\n\"\"\"\n"
+            + "schema @catalogue(version: 2) { query: Catalogue mutation: Mutation }\n"
+            + "directive @catalogue(version: Int!) on SCHEMA\n"
+            + "directive @tag(names: [String!] = [\"a\", \"b\"]) repeatable\n"
+            + "  on FIELD_DEFINITION | OBJECT | INTERFACE | SCALAR\n"
+            + "\"A point in time\" scalar DateTime @specifiedBy(url: \"https://tools.ietf.org/html/rfc3339\")\n"
+            + "interface Node { id: ID! }\n"
+            + "interface Entity implements Node { id: ID! created: DateTime }\n"
+            + "type Catalogue { film(id: ID!, \"Locale\" locale: String = \"en\"): Film "
+            + "films(first: Int = 10, after: Float = 1.5, sort: Sort = TITLE): [Film!]! }\n"
+            + "type Mutation { rate(input: Rating = {stars: 3, tags: [], note: null, exact: true}): Film }\n"
+            + "\"A motion picture\" type Film implements Entity & Node @tag(names: [\"x\"]) @tag {\n"
+            + "  id: ID!\n  created: DateTime\n"
+            + "  \"\"\"\n  The title\n  \"\"\"\n  title: String @deprecated(reason: \"Use name\")\n"
+            + "  cast: [[Person]]\n}\n"
+            + "type Person implements Node { id: ID! name: String }\n"
+            + "union Credit = Film | Person\n"
+            + "enum Sort { TITLE \"Newest first\" YEAR OLD @deprecated }\n"
+            + "input Rating { stars: Int! tags: [String] note: String exact: Boolean }\n"
+            + "extend type Film { year: Int }\n"
+            + "extend interface Node @tag\n"
+            + "extend union Credit = Catalogue\n"
+            + "extend enum Sort { RATING }\n"
+            + "extend scalar DateTime @tag\n"
+            + "extend input Rating { comment: String }\n";
+
+    private static final String WIDE_FIELD = "(first: Int = 10, tags: [String!] = [\"a\"]): [Int!] ";
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        SchemaClassGenerator.resetInstance();
+        tempDir = Files.createTempDirectory("schema-class-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SchemaClassGenerator.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void generatedRegistryMatchesTheParsedSchema() throws Exception {
+        TypeDefinitionRegistry parsed = SchemaParser.getInstance().parseContent(SCHEMA);
+
+        TypeDefinitionRegistry built = build(parsed, "SchemaDefinitions");
+
+        Assertions.assertEquals(print(parsed), print(built));
+        Assertions.assertEquals(parsed.objectTypeExtensions().get("Film").size(),
+                built.objectTypeExtensions().get("Film").size());
+        Assertions.assertEquals(1, built.enumTypeExtensions().get("Sort").size());
+    }
+
+    @Test
+    void largeSchemasAreSplitOverMethodsAndClasses() {
+        StringBuilder schema = new StringBuilder(wideType(300));
+        for (int i = 0; i < 120; i++) {
+            schema.append("type Type").append(i).append(" {");
+            for (int j = 0; j < 12; j++) {
+                schema.append(" field").append(j).append(WIDE_FIELD);
+            }
+            schema.append("}\n");
+        }
+
+        String source = SchemaClassGenerator.getInstance().generateSchemaClass(
+                SchemaParser.getInstance().parseContent(schema.toString()), TEST_PACKAGE, "SchemaDefinitions")
+                .toString();
+
+        Assertions.assertTrue(source.contains("Part0.addTo(registry);\n        Part1.addTo(registry);"));
+        Assertions.assertTrue(Pattern.compile("(definition\\d+)Members0\\(builder\\);\\s+\\1Members1\\(builder\\);")
+                .matcher(source).find());
+    }
+
+    @Test
+    void splitDefinitionsBuildTheSameRegistry() throws Exception {
+        TypeDefinitionRegistry parsed = SchemaParser.getInstance().parseContent(wideType(300));
+
+        TypeDefinitionRegistry built = build(parsed, "SchemaDefinitions");
+
+        Assertions.assertEquals(print(parsed), print(built));
+    }
+
+    @Test
+    void definitionsAreSortedByName() {
+        TypeDefinitionRegistry first = SchemaParser.getInstance()
+                .parseContent("type Query { a: A b: B }\ntype B { id: ID }\ntype A { id: ID }");
+        TypeDefinitionRegistry second = SchemaParser.getInstance()
+                .parseContent("type A { id: ID }\ntype B { id: ID }\ntype Query { a: A b: B }");
+
+        String source = SchemaClassGenerator.getInstance()
+                .generateSchemaClass(first, TEST_PACKAGE, "SchemaDefinitions").toString();
+
+        Assertions.assertEquals(source, SchemaClassGenerator.getInstance()
+                .generateSchemaClass(second, TEST_PACKAGE, "SchemaDefinitions").toString());
+        Assertions.assertTrue(source.indexOf("name(\"A\")") < source.indexOf("name(\"B\")"));
+        Assertions.assertTrue(source.indexOf("name(\"B\")") < source.indexOf("name(\"Query\")"));
+    }
+
+    private String wideType(final int fields) {
+        StringBuilder schema = new StringBuilder("type Query { wide: Wide }\ntype Wide {");
+        for (int i = 0; i < fields; i++) {
+            schema.append(" field").append(i).append(WIDE_FIELD);
+        }
+        return schema.append("}\n").toString();
+    }
+
+    // compiles the generated class and calls it, as a service would at startup
+    private TypeDefinitionRegistry build(final TypeDefinitionRegistry parsed, final String className)
+            throws Exception {
+        JavaFile javaFile = SchemaClassGenerator.getInstance().generateSchemaClass(parsed, TEST_PACKAGE, className);
+        File classes = tempDir.resolve("classes").toFile();
+        CompilationVerifier.getInstance().verify(Collections.singletonList(javaFile), classes);
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toURI().toURL()},
+                getClass().getClassLoader())) {
+            return (TypeDefinitionRegistry) loader.loadClass(TEST_PACKAGE + "." + className)
+                    .getMethod(SchemaClassGenerator.REGISTRY_METHOD)
+                    .invoke(null);
+        }
+    }
+
+    private String print(final TypeDefinitionRegistry registry) {
+        SchemaPrinter printer = new SchemaPrinter(SchemaPrinter.Options.defaultOptions()
+                .includeDirectives(true)
+                .includeSchemaDefinition(true)
+                .includeScalarTypes(true));
+        return printer.print(UnExecutableSchemaGenerator.makeUnExecutableSchema(registry));
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -4,6 +4,7 @@ import com.github.surajcm.mapper.TypeMapper;
 import com.github.surajcm.model.GraphQLFieldInfo;
 import com.github.surajcm.model.GraphQLTypeInfo;
 import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
 import com.squareup.javapoet.JavaFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -14,6 +15,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -51,6 +53,38 @@ class SourceCodeGeneratorTest {
         Assertions.assertEquals("User", javaFile.typeSpec.name);
     }
 
+    @Test
+    void generatePojoWithContextIsIndependentPerPackage() throws Exception {
+        GraphQLTypeInfo typeInfo = new GraphQLTypeInfo("Order", GraphQLTypeKind.OBJECT, Arrays.asList(
+                new GraphQLFieldInfo("customer", "Customer", false, false),
+                new GraphQLFieldInfo("items", "Item", true, false)));
+        List<String> packages = Arrays.asList("com.example.one", "com.example.two", "com.example.three");
+
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (String packageName : packages) {
+            GenerationContext context = GenerationContext.create(
+                    new SchemaModel(Collections.singletonList(typeInfo), null), packageName);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    String source = generator.generatePojo(typeInfo, context).toString();
+                    long otherPackages = packages.stream().filter(source::contains).count();
+                    if (!source.startsWith("package " + packageName + ";") || otherPackages != 1) {
+                        failures.add(new AssertionError("Wrong package in " + source));
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertTrue(failures.isEmpty(), () -> failures.get(0).getMessage());
+    }
+
     @Test
     void generatePojoWithAllScalarTypes() {
         List<GraphQLFieldInfo> fields = Arrays.asList(
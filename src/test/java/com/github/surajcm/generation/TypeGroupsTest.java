@@ -0,0 +1,126 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import com.squareup.javapoet.JavaFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class TypeGroupsTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tempDir = Files.createTempDirectory("type-groups-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void prefixIsTheLeadingWordOfTheName() {
+        Assertions.assertEquals("User", TypeGroups.prefix("User"));
+        Assertions.assertEquals("User", TypeGroups.prefix("UserProfileInput"));
+        Assertions.assertEquals("DVD", TypeGroups.prefix("DVDPlayer"));
+        Assertions.assertEquals("DVD", TypeGroups.prefix("DVD"));
+        Assertions.assertEquals("Type", TypeGroups.prefix("Type42"));
+        Assertions.assertEquals("film", TypeGroups.prefix("filmCast"));
+        Assertions.assertEquals("_", TypeGroups.prefix("_Meta"));
+    }
+
+    @Test
+    void typesSharingAPrefixShareAUnit() {
+        TypeGroups groups = TypeGroups.byPrefix(model());
+
+        Assertions.assertEquals(Arrays.asList("FilmTypes", "UserTypes"), new ArrayList<>(groups.getGroupNames()));
+        Assertions.assertEquals(Arrays.asList("User", "UserProfile", "UserRole"), groups.getMembers("UserTypes"));
+        Assertions.assertEquals("UserTypes$UserProfile", groups.binaryName("UserProfile"));
+        Assertions.assertNull(groups.getGroup("String"));
+    }
+
+    @Test
+    void unitNamesAvoidSchemaTypeNames() {
+        SchemaModel model = SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("User", GraphQLTypeKind.OBJECT, null))
+                .addType(new GraphQLTypeInfo("UserTypes", GraphQLTypeKind.OBJECT, null))
+                .build();
+
+        TypeGroups groups = TypeGroups.byPrefix(model);
+
+        Assertions.assertEquals("UserTypes_", groups.getGroup("UserTypes"));
+        Assertions.assertEquals(Arrays.asList("User", "UserTypes"), groups.getMembers("UserTypes_"));
+    }
+
+    @Test
+    void fileLayoutHasNoGroups() {
+        Assertions.assertNull(TypeGroups.forLayout(model(), OutputLayout.FILE_PER_TYPE));
+        Assertions.assertNotNull(TypeGroups.forLayout(model(), OutputLayout.GROUPED_BY_PREFIX));
+    }
+
+    @Test
+    void unitsNestTheTypesAndCompile() throws Exception {
+        SchemaModel model = model();
+        TypeGroups groups = TypeGroups.byPrefix(model);
+        GenerationContext context = GenerationContext.create(model, TEST_PACKAGE, groups);
+
+        List<JavaFile> units = new ArrayList<>();
+        for (String group : groups.getGroupNames()) {
+            units.add(groups.render(group, model, context));
+        }
+
+        String source = units.get(1).toString();
+        Assertions.assertTrue(source.contains("public final class UserTypes {"));
+        Assertions.assertTrue(source.contains("public static class UserProfile {"));
+        Assertions.assertTrue(source.contains("public enum UserRole {"));
+        Assertions.assertTrue(source.contains("private FilmTypes.Film favourite;"));
+        CompilationVerifier.getInstance().verify(units, tempDir.toFile());
+        Assertions.assertTrue(new File(tempDir.toFile(), "com/example/generated/UserTypes$UserProfile.class")
+                .isFile());
+    }
+
+    private SchemaModel model() {
+        return SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("User", GraphQLTypeKind.OBJECT, Arrays.asList(
+                        new GraphQLFieldInfo("profile", "UserProfile", false, false),
+                        new GraphQLFieldInfo("role", "UserRole", false, true))))
+                .addType(new GraphQLTypeInfo("Film", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("cast", "User", true, false))))
+                .addType(new GraphQLTypeInfo("UserProfile", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("favourite", "Film", false, false))))
+                .addEnum(new GraphQLEnumInfo("UserRole", Arrays.asList("ADMIN", "MEMBER")))
+                .build();
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,171 @@
+package com.github.surajcm.generation;
+
+import com.github.surajcm.util.SchemaFileResolver;
+import com.github.surajcm.util.WriteIfChangedSink;
+import graphql.GraphQLException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+class WatchSessionTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private Path tempDir;
+    private Path schemaDir;
+    private File outputDir;
+    private WatchSession session;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tempDir = Files.createTempDirectory("watch-test");
+        schemaDir = Files.createDirectories(tempDir.resolve("schema"));
+        outputDir = Files.createDirectories(tempDir.resolve("out")).toFile();
+        write("query.graphqls", "type Query { user: User }");
+        write("user.graphqls", "type User { id: ID! name: String }");
+        write("post.graphqls", "type Post { id: ID! title: String }\nenum Status { DRAFT PUBLISHED }");
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempDir.resolve("work/manifest.properties").toFile())
+                .build();
+        session = new WatchSession(() -> SchemaFileResolver.getInstance().resolveDirectory(schemaDir.toFile()),
+                Collections.singletonList(schemaDir.toFile()), new WriteIfChangedSink(outputDir.toPath()),
+                TEST_PACKAGE, options);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        session.close();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void startGeneratesEveryType() throws Exception {
+        GenerationResult result = session.start();
+
+        Assertions.assertEquals(3, result.getTypeCount());
+        Assertions.assertEquals(3, result.getWrittenFiles());
+        Assertions.assertTrue(generatedFile("User").isFile());
+        Assertions.assertNotNull(session.getModel().getType("Post"));
+    }
+
+    @Test
+    void changeRegeneratesOnlyTheAffectedType() throws Exception {
+        session.start();
+        long postModified = generatedFile("Post").lastModified();
+
+        write("user.graphqls", "type User { id: ID! name: String email: String }");
+        GenerationResult result = session.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(1, result.getWrittenFiles());
+        Assertions.assertEquals(1, result.getMetrics().getPhase(GenerationMetrics.RENDER).getCount());
+        Assertions.assertTrue(read(generatedFile("User")).contains("private String email"));
+        Assertions.assertEquals(postModified, generatedFile("Post").lastModified());
+    }
+
+    @Test
+    void removedAndAddedFilesArePickedUp() throws Exception {
+        session.start();
+
+        Files.delete(schemaDir.resolve("post.graphqls"));
+        write("comment.graphqls", "type Comment { text: String }");
+        GenerationResult result = pollUntil(() -> generatedFile("Comment").isFile() && !generatedFile("Post").exists());
+
+        Assertions.assertNotNull(result);
+        Assertions.assertFalse(generatedFile("Status").exists());
+        Assertions.assertNull(session.getModel().getType("Post"));
+    }
+
+    @Test
+    void brokenEditKeepsTheLastGoodModel() throws Exception {
+        session.start();
+
+        write("user.graphqls", "type User { id: ID! name: }");
+        Assertions.assertThrows(GraphQLException.class, () -> session.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, session.getModel().getType("User").getFields().size());
+
+        write("user.graphqls", "type User { id: ID! nick: String }");
+        Assertions.assertNotNull(session.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertTrue(read(generatedFile("User")).contains("private String nick"));
+    }
+
+    @Test
+    void schemaClassIsKeptAndRegeneratedOnChange() throws Exception {
+        session.close();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempDir.resolve("work/manifest.properties").toFile())
+                .schemaClass("SchemaDefinitions")
+                .build();
+        session = new WatchSession(() -> SchemaFileResolver.getInstance().resolveDirectory(schemaDir.toFile()),
+                Collections.singletonList(schemaDir.toFile()), new WriteIfChangedSink(outputDir.toPath()),
+                TEST_PACKAGE, options);
+        session.start();
+        Assertions.assertTrue(generatedFile("SchemaDefinitions").isFile());
+
+        write("user.graphqls", "type User { id: ID! name: String email: String }");
+        Assertions.assertNotNull(session.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        Assertions.assertTrue(read(generatedFile("SchemaDefinitions")).contains("\"email\""));
+    }
+
+    @Test
+    void pollWithoutChangesReturnsNull() throws Exception {
+        session.start();
+
+        Assertions.assertNull(session.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    // a delete and a create may arrive as separate bursts of events
+    private GenerationResult pollUntil(final Condition condition) throws Exception {
+        GenerationResult result = null;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!condition.holds() && System.nanoTime() < deadline) {
+            GenerationResult polled = session.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            result = polled != null ? polled : result;
+        }
+        return result;
+    }
+
+    private interface Condition {
+        boolean holds();
+    }
+
+    private void write(final String name, final String content) throws IOException {
+        Files.write(schemaDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String read(final File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private File generatedFile(final String typeName) {
+        return new File(outputDir,
+                TEST_PACKAGE.replace('.', File.separatorChar) + File.separator + typeName + ".java");
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.surajcm.mapper;
+
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+class TypeSymbolTableTest {
+
+    private static final String TEST_PACKAGE = "com.example.model";
+
+    private TypeSymbolTable symbols;
+
+    @BeforeEach
+    void setup() {
+        TypeMapper.resetInstance();
+        symbols = TypeSymbolTable.build(TypeMapper.getInstance().getScalarMappings(),
+                Arrays.asList("User", "String", "Status"), TEST_PACKAGE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TypeMapper.resetInstance();
+    }
+
+    @Test
+    void resolvesScalarsAndSchemaTypes() {
+        Assertions.assertEquals(ClassName.get(String.class), symbols.resolve("String"));
+        Assertions.assertEquals(ClassName.get(Integer.class), symbols.resolve("Int"));
+        Assertions.assertEquals(ClassName.get(TEST_PACKAGE, "User"), symbols.resolve("User"));
+    }
+
+    @Test
+    void resolvesListFieldsToTheSameInstance() {
+        GraphQLFieldInfo tags = new GraphQLFieldInfo("tags", "Status", true, false);
+
+        TypeName resolved = symbols.resolve(tags);
+
+        Assertions.assertEquals(ParameterizedTypeName.get(ClassName.get(List.class),
+                ClassName.get(TEST_PACKAGE, "Status")), resolved);
+        Assertions.assertSame(resolved, symbols.resolve(tags));
+    }
+
+    @Test
+    void resolvesUnknownNamesIntoThePackage() {
+        GraphQLFieldInfo unknown = new GraphQLFieldInfo("other", "Unknown", false, false);
+
+        Assertions.assertEquals(ClassName.get(TEST_PACKAGE, "Unknown"), symbols.resolve(unknown));
+    }
+
+    @Test
+    void isNotAffectedByLaterScalarMappings() {
+        TypeMapper.getInstance().addScalarMapping("User", ClassName.get(Object.class));
+
+        Assertions.assertEquals(ClassName.get(TEST_PACKAGE, "User"), symbols.resolve("User"));
+        Assertions.assertEquals(TEST_PACKAGE, symbols.getPackageName());
+    }
+}
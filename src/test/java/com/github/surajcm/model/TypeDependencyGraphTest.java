@@ -0,0 +1,73 @@
+package com.github.surajcm.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+class TypeDependencyGraphTest {
+
+    private TypeDependencyGraph graph;
+
+    @BeforeEach
+    void setup() {
+        SchemaModel model = SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("Node", GraphQLTypeKind.INTERFACE,
+                        Collections.singletonList(new GraphQLFieldInfo("id", "ID", false, true))))
+                .addType(new GraphQLTypeInfo("Film", GraphQLTypeKind.OBJECT, Arrays.asList(
+                        new GraphQLFieldInfo("id", "ID", false, true),
+                        new GraphQLFieldInfo("genre", "Genre", false, false),
+                        new GraphQLFieldInfo("genres", "Genre", true, false)),
+                        Collections.singletonList("Node"), null))
+                .addType(new GraphQLTypeInfo("Person", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("favourite", "Film", false, false)),
+                        Collections.singletonList("Node"), null))
+                .addType(new GraphQLTypeInfo("SearchResult", GraphQLTypeKind.UNION, null,
+                        null, Arrays.asList("Film", "Person")))
+                .addEnum(new GraphQLEnumInfo("Genre", Arrays.asList("DRAMA", "COMEDY")))
+                .build();
+        graph = TypeDependencyGraph.build(model);
+    }
+
+    @Test
+    void dependenciesCoverFieldsInterfacesAndUnionMembers() {
+        Assertions.assertEquals(Arrays.asList("Genre", "ID", "Node"),
+                Arrays.asList(graph.getDependencies("Film").toArray()));
+        Assertions.assertEquals(Arrays.asList("Film", "Person"),
+                Arrays.asList(graph.getDependencies("SearchResult").toArray()));
+        Assertions.assertTrue(graph.getDependencies("Genre").isEmpty());
+    }
+
+    @Test
+    void dependentsAreFilteredByEdgeKind() {
+        Assertions.assertEquals(Arrays.asList("Person", "SearchResult"),
+                Arrays.asList(graph.getDependents("Film").toArray()));
+        Assertions.assertEquals(Collections.singleton("Person"), graph.getDependents(
+                Collections.singletonList("Film"), EnumSet.of(TypeDependencyGraph.EdgeKind.FIELD)));
+        Assertions.assertEquals(Arrays.asList("Film", "Person"), Arrays.asList(graph.getDependents(
+                Arrays.asList("Node", "Genre"), EnumSet.allOf(TypeDependencyGraph.EdgeKind.class)).toArray()));
+        Assertions.assertTrue(graph.getDependents(Collections.singletonList("Node"),
+                EnumSet.of(TypeDependencyGraph.EdgeKind.MEMBER)).isEmpty());
+    }
+
+    @Test
+    void referencedNamesIncludeUndefinedTypes() {
+        Assertions.assertEquals(Arrays.asList("Film", "Genre", "ID"),
+                Arrays.asList(graph.getReferencedNames(TypeDependencyGraph.EdgeKind.FIELD).toArray()));
+    }
+
+    @Test
+    void describeListsEveryTypeWithItsEdges() {
+        List<String> lines = graph.describe();
+
+        Assertions.assertTrue(lines.contains("Film (OBJECT)"));
+        Assertions.assertTrue(lines.contains("  depends on: Genre (field), ID (field), Node (implements)"));
+        Assertions.assertTrue(lines.contains("ID (UNDEFINED)"));
+        Assertions.assertTrue(lines.contains("  used by: Film (implements), Person (implements)"));
+        Assertions.assertTrue(lines.contains("  used by: Person (field), SearchResult (member)"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.surajcm.parser;
+
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+class IntrospectionParserTest {
+
+    private static final String SCHEMA = "type Query { user(id: ID!): User }\n"
+            + "type Mutation { rename(name: String): User }\n"
+            + "scalar DateTime\n"
+            + "interface Node { id: ID! }\n"
+            + "type User implements Node { id: ID! name: String tags: [String!]! createdAt: DateTime"
+            + " status: Status friends: [User] grid: [[Int]] }\n"
+            + "type Bot implements Node { id: ID! owner: User! }\n"
+            + "union Actor = User | Bot\n"
+            + "input UserInput { name: String! roles: [Status] }\n"
+            + "enum Status { ACTIVE BLOCKED }";
+
+    private final IntrospectionParser parser = IntrospectionParser.getInstance();
+
+    @Test
+    void introspectionResultMatchesTheSdlModel() throws IOException {
+        SchemaModel expected = SchemaTypeExtractor.getInstance()
+                .extractModel(SchemaParser.getInstance().parseContent(SCHEMA));
+
+        SchemaModel actual = parser.parse(new StringReader(introspect(SCHEMA)), "schema.json");
+
+        Assertions.assertEquals(expected.getAllTypes().size(), actual.getAllTypes().size());
+        for (GraphQLTypeInfo type : expected.getAllTypes()) {
+            Assertions.assertEquals(type.toString(), String.valueOf(actual.getType(type.getName())));
+        }
+        Assertions.assertEquals(expected.getEnum("Status").toString(), actual.getEnum("Status").toString());
+        Assertions.assertNull(actual.getType("Query"));
+        Assertions.assertNull(actual.getType("Mutation"));
+        Assertions.assertNull(actual.getType("__Type"));
+        Assertions.assertNull(actual.getType("String"));
+        Assertions.assertEquals(GraphQLTypeKind.SCALAR, actual.getKind("DateTime"));
+    }
+
+    @Test
+    void fieldTypesAreUnwrapped() throws IOException {
+        SchemaModel model = parser.parse(new StringReader(introspect(SCHEMA)), "schema.json");
+
+        List<GraphQLFieldInfo> fields = model.getType("User").getFields();
+        assertField(fields.get(0), "id", "ID", false, true);
+        assertField(fields.get(2), "tags", "String", true, true);
+        assertField(fields.get(5), "friends", "User", true, false);
+        assertField(fields.get(6), "grid", "Unknown", true, false);
+        Assertions.assertEquals(Collections.singletonList("Node"), model.getType("User").getInterfaces());
+        Assertions.assertEquals(Arrays.asList("User", "Bot"), model.getType("Actor").getPossibleTypes());
+    }
+
+    @Test
+    void bareSchemaObjectIsAccepted() throws IOException {
+        String json = "{\"__schema\": {\"queryType\": {\"name\": \"Query\"}, \"types\": ["
+                + "{\"kind\": \"ENUM\", \"name\": \"Color\", \"description\": null, \"fields\": null,"
+                + " \"enumValues\": [{\"name\": \"RED\", \"isDeprecated\": false}, {\"name\": \"BLUE\"}]}"
+                + "], \"directives\": []}}";
+
+        SchemaModel model = parser.parse(new StringReader(json), "schema.json");
+
+        Assertions.assertEquals(Arrays.asList("RED", "BLUE"), model.getEnum("Color").getValues());
+    }
+
+    @Test
+    void documentWithoutSchemaIsRejected() {
+        IOException exception = Assertions.assertThrows(IOException.class,
+                () -> parser.parse(new StringReader("{\"data\": {\"user\": null}}"), "response.json"));
+
+        Assertions.assertEquals("No introspection result (__schema) found in response.json", exception.getMessage());
+    }
+
+    @Test
+    void typeDefinedInTwoFilesIsRejected() throws IOException {
+        String json = "{\"__schema\": {\"types\": [{\"kind\": \"SCALAR\", \"name\": \"DateTime\"}]}}";
+        File first = File.createTempFile("first", ".json");
+        File second = File.createTempFile("second", ".json");
+        first.deleteOnExit();
+        second.deleteOnExit();
+        Files.write(first.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        Files.write(second.toPath(), json.getBytes(StandardCharsets.UTF_8));
+
+        IOException exception = Assertions.assertThrows(IOException.class,
+                () -> parser.parse(Arrays.asList(first, second), StandardCharsets.UTF_8));
+
+        Assertions.assertTrue(exception.getMessage().startsWith("Type DateTime is defined in both"));
+    }
+
+    @Test
+    void introspectionFilesAreRecognizedByExtension() {
+        Assertions.assertTrue(IntrospectionParser.isIntrospectionFile(new File("schema.json")));
+        Assertions.assertTrue(IntrospectionParser.isIntrospectionFile(new File("schema.JSON")));
+        Assertions.assertFalse(IntrospectionParser.isIntrospectionFile(new File("schema.graphqls")));
+    }
+
+    @Test
+    void singletonInstanceShouldBeSame() {
+        Assertions.assertSame(IntrospectionParser.getInstance(), IntrospectionParser.getInstance());
+    }
+
+    private void assertField(final GraphQLFieldInfo field,
+                             final String name,
+                             final String typeName,
+                             final boolean isList,
+                             final boolean isNonNull) {
+        Assertions.assertEquals(name, field.getName());
+        Assertions.assertEquals(typeName, field.getTypeName());
+        Assertions.assertEquals(isList, field.isList());
+        Assertions.assertEquals(isNonNull, field.isNonNull());
+    }
+
+    // the full response a server returns for the standard introspection query
+    static String introspect(final String sdl) {
+        GraphQLSchema schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+                SchemaParser.getInstance().parseContent(sdl));
+        Object data = GraphQL.newGraphQL(schema).build().execute(IntrospectionQuery.INTROSPECTION_QUERY).getData();
+        StringBuilder json = new StringBuilder("{\"data\": ");
+        appendJson(json, data);
+        return json.append('}').toString();
+    }
+
+    private static void appendJson(final StringBuilder json, final Object value) {
+        if (value instanceof Map) {
+            json.append('{');
+            Iterator<? extends Map.Entry<?, ?>> entries = ((Map<?, ?>) value).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<?, ?> entry = entries.next();
+                appendJson(json, String.valueOf(entry.getKey()));
+                json.append(":\n");
+                appendJson(json, entry.getValue());
+                json.append(entries.hasNext() ? "," : "");
+            }
+            json.append('}');
+        } else if (value instanceof List) {
+            json.append('[');
+            Iterator<?> elements = ((List<?>) value).iterator();
+            while (elements.hasNext()) {
+                appendJson(json, elements.next());
+                json.append(elements.hasNext() ? ", " : "");
+            }
+            json.append(']');
+        } else if (value instanceof String) {
+            json.append('"').append(((String) value).replace("\\", "\\\\").replace("\"", "\\\"")
+                    .replace("\n", "\\n")).append('"');
+        } else {
+            json.append(value);
+        }
+    }
+}
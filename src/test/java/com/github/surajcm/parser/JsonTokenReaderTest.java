@@ -0,0 +1,90 @@
+package com.github.surajcm.parser;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+class JsonTokenReaderTest {
+
+    @Test
+    void readsNestedObjectsAndArrays() throws IOException {
+        JsonTokenReader json = reader("{\"a\": [1, true, null, \"x\"], \"b\": {\"c\": false}}");
+
+        json.beginObject();
+        Assertions.assertEquals("a", json.nextName());
+        json.beginArray();
+        Assertions.assertEquals(JsonTokenReader.Token.NUMBER, json.peek());
+        json.skipValue();
+        Assertions.assertTrue(json.nextBoolean());
+        Assertions.assertTrue(json.nextNullIfPresent());
+        Assertions.assertEquals("x", json.nextString());
+        Assertions.assertFalse(json.hasNext());
+        json.endArray();
+        Assertions.assertEquals("b", json.nextName());
+        json.beginObject();
+        Assertions.assertEquals("c", json.nextName());
+        Assertions.assertFalse(json.nextBoolean());
+        json.endObject();
+        json.endObject();
+        Assertions.assertEquals(JsonTokenReader.Token.END_DOCUMENT, json.peek());
+    }
+
+    @Test
+    void skipValueSkipsWholeContainers() throws IOException {
+        JsonTokenReader json = reader("{\"skip\": {\"deep\": [[{}], [1, 2]], \"s\": \"}\"}, \"keep\": \"yes\"}");
+
+        json.beginObject();
+        Assertions.assertEquals("skip", json.nextName());
+        json.skipValue();
+        Assertions.assertEquals("keep", json.nextName());
+        Assertions.assertEquals("yes", json.nextString());
+        json.endObject();
+    }
+
+    @Test
+    void decodesEscapes() throws IOException {
+        JsonTokenReader json = reader("[\"a\\\"b\\\\c\\/d\\n\\u00e9\"]");
+
+        json.beginArray();
+        Assertions.assertEquals("a\"b\\c/d\né", json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void readsStringsLongerThanTheBuffer() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            value.append((char) ('a' + i % 26));
+        }
+        JsonTokenReader json = reader("[\"" + value + "\"]");
+
+        json.beginArray();
+        Assertions.assertEquals(value.toString(), json.nextString());
+        json.endArray();
+    }
+
+    @Test
+    void malformedInputReportsSourceAndLine() throws IOException {
+        JsonTokenReader json = reader("{\n\"a\": 1\n\"b\": 2}");
+
+        json.beginObject();
+        json.nextName();
+        json.skipValue();
+        IOException exception = Assertions.assertThrows(IOException.class, json::nextName);
+        Assertions.assertEquals("Malformed JSON in test.json at line 3: expected ',' or '}'", exception.getMessage());
+    }
+
+    @Test
+    void unexpectedTokenIsRejected() throws IOException {
+        JsonTokenReader json = reader("[1]");
+
+        IOException exception = Assertions.assertThrows(IOException.class, json::beginObject);
+        Assertions.assertTrue(exception.getMessage().contains("expected BEGIN_OBJECT but was BEGIN_ARRAY"));
+    }
+
+    private JsonTokenReader reader(final String json) {
+        return new JsonTokenReader(new StringReader(json), "test.json");
+    }
+}
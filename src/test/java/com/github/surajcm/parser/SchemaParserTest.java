@@ -1,5 +1,6 @@
 package com.github.surajcm.parser;
 
+import graphql.language.ObjectTypeDefinition;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.errors.SchemaProblem;
 import org.junit.jupiter.api.AfterEach;
@@ -9,8 +10,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 class SchemaParserTest {
 
@@ -126,6 +130,94 @@ class SchemaParserTest {
         Assertions.assertTrue(registry.getType("TempFilm").isPresent());
     }
 
+    @Test
+    void parseFileWithExplicitEncoding() throws IOException {
+        String schema = "\"\"\"Caf\u00e9 menu\"\"\"\ntype Menu { id: ID! }";
+        Files.write(tempSchemaFile.toPath(), schema.getBytes(StandardCharsets.ISO_8859_1));
+
+        TypeDefinitionRegistry registry = schemaParser.parse(tempSchemaFile, StandardCharsets.ISO_8859_1);
+
+        ObjectTypeDefinition menu = (ObjectTypeDefinition) registry.getType("Menu").orElseThrow(AssertionError::new);
+        Assertions.assertEquals("Caf\u00e9 menu", menu.getDescription().getContent());
+    }
+
+    @Test
+    void parseFileDefaultsToUtf8() throws IOException {
+        String schema = "\"\"\"Caf\u00e9 menu\"\"\"\ntype Menu { id: ID! }";
+        Files.write(tempSchemaFile.toPath(), schema.getBytes(StandardCharsets.UTF_8));
+
+        TypeDefinitionRegistry registry = schemaParser.parse(tempSchemaFile);
+
+        ObjectTypeDefinition menu = (ObjectTypeDefinition) registry.getType("Menu").orElseThrow(AssertionError::new);
+        Assertions.assertEquals("Caf\u00e9 menu", menu.getDescription().getContent());
+    }
+
+    @Test
+    void parseFileInWrongEncodingShouldThrowException() throws IOException {
+        String schema = "\"\"\"Caf\u00e9 menu\"\"\"\ntype Menu { id: ID! }";
+        Files.write(tempSchemaFile.toPath(), schema.getBytes(StandardCharsets.ISO_8859_1));
+
+        IOException thrown = Assertions.assertThrows(IOException.class, () ->
+                schemaParser.parse(tempSchemaFile, StandardCharsets.UTF_8));
+        Assertions.assertTrue(thrown.getMessage().contains("UTF-8"));
+    }
+
+    @Test
+    void parseMultipleFilesMergesRegistries() throws IOException {
+        Path dir = Files.createTempDirectory("schema-parts");
+        try {
+            File users = writePart(dir, "users.graphqls", "type User { id: ID! }");
+            File posts = writePart(dir, "posts.graphqls", "type Post { id: ID! author: User }");
+            File query = writePart(dir, "query.graphqls", "type Query { posts: [Post] }");
+
+            TypeDefinitionRegistry registry = schemaParser.parse(Arrays.asList(posts, query, users), 3);
+
+            Assertions.assertTrue(registry.getType("User").isPresent());
+            Assertions.assertTrue(registry.getType("Post").isPresent());
+            Assertions.assertTrue(registry.getType("Query").isPresent());
+        } finally {
+            deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    void parseMultipleFilesKeepsExtensionsFromOtherFiles() throws IOException {
+        Path dir = Files.createTempDirectory("schema-parts");
+        try {
+            File base = writePart(dir, "a.graphqls", "type User { id: ID! }");
+            File extension = writePart(dir, "b.graphqls", "extend type User { email: String }");
+
+            TypeDefinitionRegistry registry = schemaParser.parse(Arrays.asList(base, extension), 2);
+
+            Assertions.assertEquals(1, registry.objectTypeExtensions().get("User").size());
+        } finally {
+            deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    void parseMultipleFilesWithDuplicateTypeShouldThrowException() throws IOException {
+        Path dir = Files.createTempDirectory("schema-parts");
+        try {
+            File first = writePart(dir, "a.graphqls", "type User { id: ID! }");
+            File second = writePart(dir, "b.graphqls", "type User { name: String }");
+
+            Assertions.assertThrows(SchemaProblem.class, () ->
+                    schemaParser.parse(Arrays.asList(first, second), 2));
+        } finally {
+            deleteDirectory(dir.toFile());
+        }
+    }
+
+    @Test
+    void parseMultipleFilesWithMissingFileShouldThrowException() {
+        File existing = new File("src/test/resources/schema.graphqls");
+        File missing = new File("/nonexistent/schema.graphqls");
+
+        Assertions.assertThrows(IOException.class, () ->
+                schemaParser.parse(Arrays.asList(existing, missing), 2));
+    }
+
     @Test
     void singletonInstanceShouldBeSame() {
         SchemaParser instance1 = SchemaParser.getInstance();
@@ -133,4 +225,18 @@ class SchemaParserTest {
 
         Assertions.assertSame(instance1, instance2);
     }
+
+    private File writePart(final Path dir, final String name, final String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes()).toFile();
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
 }
@@ -1,14 +1,18 @@
 package com.github.surajcm.parser;
 
+import com.github.surajcm.model.FieldReference;
 import com.github.surajcm.model.GraphQLEnumInfo;
 import com.github.surajcm.model.GraphQLFieldInfo;
 import com.github.surajcm.model.GraphQLTypeInfo;
 import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 class SchemaTypeExtractorTest {
@@ -190,6 +194,28 @@ class SchemaTypeExtractorTest {
         Assertions.assertEquals("Int", episodeField.getTypeName());
     }
 
+    @Test
+    void extractTypesIncludesExtensionFields() {
+        String schema = "type Query { hello: String }\n"
+                + "type User { id: ID! }\n"
+                + "extend type User { email: String }\n"
+                + "input UserFilter { name: String }\n"
+                + "extend input UserFilter { age: Int }\n"
+                + "enum Status { ACTIVE }\n"
+                + "extend enum Status { DELETED }";
+
+        TypeDefinitionRegistry registry = schemaParser.parseContent(schema);
+
+        GraphQLTypeInfo user = typeExtractor.extractObjectTypes(registry).get(0);
+        Assertions.assertEquals(2, user.getFields().size());
+        Assertions.assertEquals("email", user.getFields().get(1).getName());
+        GraphQLTypeInfo filter = typeExtractor.extractInputTypes(registry).get(0);
+        Assertions.assertEquals(2, filter.getFields().size());
+        GraphQLEnumInfo status = typeExtractor.extractEnumTypes(registry).get(0);
+        Assertions.assertEquals(2, status.getValues().size());
+        Assertions.assertTrue(status.getValues().contains("DELETED"));
+    }
+
     @Test
     void singletonInstanceShouldBeSame() {
         SchemaTypeExtractor instance1 = SchemaTypeExtractor.getInstance();
@@ -220,4 +246,78 @@ class SchemaTypeExtractorTest {
 
         Assertions.assertEquals(3, types.size());
     }
+
+    @Test
+    void extractModelIndexesEveryKindInASinglePass() {
+        String schema = "type Query { hello: String }\n"
+                + "scalar DateTime\n"
+                + "interface Node { id: ID! }\n"
+                + "type User implements Node { id: ID! createdAt: DateTime }\n"
+                + "type Bot implements Node { id: ID! }\n"
+                + "union Actor = User | Bot\n"
+                + "input UserInput { name: String }\n"
+                + "enum Status { ACTIVE BLOCKED }";
+
+        SchemaModel model = typeExtractor.extractModel(schemaParser.parseContent(schema));
+
+        Assertions.assertEquals(2, model.getObjectTypes().size());
+        Assertions.assertEquals(1, model.getInputTypes().size());
+        Assertions.assertEquals(1, model.getInterfaceTypes().size());
+        Assertions.assertEquals(1, model.getUnionTypes().size());
+        Assertions.assertEquals(1, model.getScalarTypes().size());
+        Assertions.assertEquals(1, model.getEnums().size());
+        Assertions.assertEquals(Arrays.asList("User", "Bot"), model.getType("Actor").getPossibleTypes());
+        Assertions.assertEquals(Collections.singletonList("Node"), model.getType("User").getInterfaces());
+        Assertions.assertEquals(GraphQLTypeKind.SCALAR, model.getKind("DateTime"));
+        Assertions.assertEquals(GraphQLTypeKind.ENUM, model.getKind("Status"));
+        Assertions.assertNull(model.getType("Query"));
+    }
+
+    @Test
+    void extractModelTracksReferencingFields() {
+        String schema = "type Query { hello: String }\n"
+                + "type User { id: ID! address: Address }\n"
+                + "type Company { hq: Address staff: [User] }\n"
+                + "type Address { city: String }";
+
+        SchemaModel model = typeExtractor.extractModel(schemaParser.parseContent(schema));
+
+        List<FieldReference> references = model.getReferencingFields("Address");
+        Assertions.assertEquals(2, references.size());
+        Assertions.assertEquals("User", references.get(0).getOwnerName());
+        Assertions.assertEquals("hq", references.get(1).getField().getName());
+        Assertions.assertEquals(1, model.getReferencingFields("User").size());
+        Assertions.assertTrue(model.getReferencingFields("Unknown").isEmpty());
+    }
+
+    @Test
+    void extractModelInternsNamesAndSharesIdenticalFields() {
+        String schema = "type Query { hello: String }\n"
+                + "type User { id: ID! address: Address tags: [String] }\n"
+                + "type Company { id: ID! hq: Address }\n"
+                + "type Address { city: String }";
+
+        SchemaModel model = typeExtractor.extractModel(schemaParser.parseContent(schema));
+
+        GraphQLFieldInfo userId = model.getType("User").getFields().get(0);
+        Assertions.assertSame(userId, model.getType("Company").getFields().get(0));
+        Assertions.assertTrue(userId.isNonNull());
+        Assertions.assertFalse(userId.isList());
+        Assertions.assertEquals(GraphQLFieldInfo.LIST, model.getType("User").getFields().get(2).getFlags());
+        Assertions.assertSame(model.getType("User").getFields().get(1).getTypeName(),
+                model.getType("Company").getFields().get(1).getTypeName());
+    }
+
+    @Test
+    void extractModelFoldsUnionExtensions() {
+        String schema = "type Query { hello: String }\n"
+                + "type A { id: ID }\n"
+                + "type B { id: ID }\n"
+                + "union AorB = A\n"
+                + "extend union AorB = B";
+
+        SchemaModel model = typeExtractor.extractModel(schemaParser.parseContent(schema));
+
+        Assertions.assertEquals(Arrays.asList("A", "B"), model.getType("AorB").getPossibleTypes());
+    }
 }
@@ -0,0 +1,295 @@
+package com.github.surajcm.scale;
+
+import com.github.surajcm.generation.EnumGenerator;
+import com.github.surajcm.generation.GenerationOptions;
+import com.github.surajcm.generation.GenerationResult;
+import com.github.surajcm.generation.JavaCodeGenerator;
+import com.github.surajcm.generation.SourceCodeGenerator;
+import com.github.surajcm.generation.WatchSession;
+import com.github.surajcm.mapper.TypeMapper;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.SchemaModel;
+import com.github.surajcm.parser.SchemaParser;
+import com.github.surajcm.parser.SchemaTypeExtractor;
+import com.github.surajcm.util.SchemaFileResolver;
+import com.github.surajcm.util.WriteIfChangedSink;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the full generation path against large synthetic schemas with wall-time and peak-heap budgets.
+ *
+ * <p>Excluded from the default build; run with {@code mvn test -Pscale-tests}. Budgets can be tuned with
+ * the {@code scale.maxMillis}, {@code scale.maxHeapMb}, {@code scale.maxSuperlinearity} and
+ * {@code scale.watchMaxMillis} system properties.
+ */
+@Tag("scale")
+class GenerationScaleTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+    private static final int[] CURVE_SIZES = {250, 500, 1000, 2000, 4000};
+
+    private static final long MAX_MILLIS = Long.getLong("scale.maxMillis", 60_000L);
+    private static final long MAX_HEAP_MB = Long.getLong("scale.maxHeapMb", 1024L);
+    private static final long MAX_WATCH_MILLIS = Long.getLong("scale.watchMaxMillis", 1_000L);
+    private static final long MAX_MODEL_BYTES_PER_FIELD = Long.getLong("scale.maxModelBytesPerField", 48L);
+    private static final double MAX_SUPERLINEARITY =
+            Double.parseDouble(System.getProperty("scale.maxSuperlinearity", "3.0"));
+
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws Exception {
+        resetSingletons();
+        tempDir = Files.createTempDirectory("scale-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        resetSingletons();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void generationScalesLinearlyWithTypeCount() throws Exception {
+        // warm up the JIT so the smallest point of the curve is not dominated by class loading
+        measure("warmup", mixedSchema(CURVE_SIZES[0]));
+
+        List<Measurement> curve = new ArrayList<>();
+        for (int size : CURVE_SIZES) {
+            curve.add(measure("types=" + size, mixedSchema(size)));
+        }
+        printCurve("Mixed schema scaling", curve);
+
+        Measurement smallest = curve.get(0);
+        Measurement largest = curve.get(curve.size() - 1);
+        double ratio = largest.microsPerType() / smallest.microsPerType();
+        Assertions.assertTrue(ratio <= MAX_SUPERLINEARITY, String.format(
+                "Time per type grew %.2fx from %d to %d types (budget %.2fx)",
+                ratio, smallest.types, largest.types, MAX_SUPERLINEARITY));
+        for (Measurement measurement : curve) {
+            assertWithinBudget(measurement);
+        }
+    }
+
+    @Test
+    void wideTypesStayWithinBudget() throws Exception {
+        List<Measurement> curve = new ArrayList<>();
+        for (int fields : new int[]{500, 1000, 2000}) {
+            curve.add(measure("fields=" + fields, new SyntheticSchemaGenerator().wideTypes(20, fields)));
+        }
+        printCurve("Wide types (20 types)", curve);
+        curve.forEach(this::assertWithinBudget);
+    }
+
+    @Test
+    void deepInterfaceChainStaysWithinBudget() throws Exception {
+        List<Measurement> curve = new ArrayList<>();
+        for (int depth : new int[]{25, 50, 100}) {
+            curve.add(measure("depth=" + depth, new SyntheticSchemaGenerator()
+                    .interfaceChain(depth)
+                    .objectTypes(50, 10)));
+        }
+        printCurve("Interface chain", curve);
+        curve.forEach(this::assertWithinBudget);
+    }
+
+    @Test
+    void manyEnumsAndLargeInputsStayWithinBudget() throws Exception {
+        Measurement measurement = measure("enums+inputs", new SyntheticSchemaGenerator()
+                .enums(2000, 25)
+                .inputTypes(1000, 100));
+        List<Measurement> curve = new ArrayList<>();
+        curve.add(measurement);
+        printCurve("Enums and input types", curve);
+        assertWithinBudget(measurement);
+    }
+
+    @Test
+    void watchRegeneratesAnEditWithinBudget() throws Exception {
+        Path schemaDir = Files.createDirectories(tempDir.resolve("schema"));
+        new SyntheticSchemaGenerator().objectTypes(5000, 12).writeTo(schemaDir.resolve("types.graphqls"));
+        Path edited = Files.write(schemaDir.resolve("edited.graphqls"), "type Edited { name: String }".getBytes());
+        File outputDir = Files.createDirectories(tempDir.resolve("output")).toFile();
+        GenerationOptions options = GenerationOptions.builder()
+                .incremental(true)
+                .manifestFile(tempDir.resolve("work/manifest.properties").toFile())
+                .build();
+
+        try (WatchSession session = new WatchSession(
+                () -> SchemaFileResolver.getInstance().resolveDirectory(schemaDir.toFile()),
+                Collections.singletonList(schemaDir.toFile()), new WriteIfChangedSink(outputDir.toPath()),
+                TEST_PACKAGE, options)) {
+            session.start();
+            List<Measurement> curve = new ArrayList<>();
+            for (int edit = 0; edit < 5; edit++) {
+                Files.write(edited, ("type Edited { name: String field" + edit + ": Int }").getBytes());
+                long start = System.nanoTime();
+                GenerationResult result = session.poll(10, TimeUnit.SECONDS);
+                long millis = (System.nanoTime() - start) / 1_000_000L;
+                Assertions.assertNotNull(result);
+                Assertions.assertEquals(1, result.getWrittenFiles());
+                curve.add(new Measurement("edit " + edit, result.getTypeCount(), millis, 0));
+            }
+            printCurve("Watch turnaround (5001 types)", curve);
+            // the first edit still warms up the JIT
+            for (Measurement measurement : curve.subList(1, curve.size())) {
+                Assertions.assertTrue(measurement.millis <= MAX_WATCH_MILLIS, String.format(
+                        "%s took %d ms (budget %d ms)", measurement.label, measurement.millis, MAX_WATCH_MILLIS));
+            }
+        }
+    }
+
+    @Test
+    void extractedModelStaysCompact() {
+        // 3,000 types of 20 fields, the size of a large gateway schema
+        String sdl = new SyntheticSchemaGenerator().objectTypes(3000, 20).sdl();
+        // the parser's caches grow on first use; warm them up so that only the model is measured
+        extract(new SyntheticSchemaGenerator().objectTypes(100, 20).sdl());
+        long before = usedHeapAfterGc();
+        SchemaModel model = extract(sdl);
+        long retained = usedHeapAfterGc() - before;
+
+        int fields = 0;
+        for (GraphQLTypeInfo type : model.getAllTypes()) {
+            fields += type.getFields().size();
+        }
+        long bytesPerField = retained / fields;
+        System.out.printf("Extracted model%n  %d types, %d fields: %.1f MB retained, %d bytes/field%n",
+                model.getAllTypes().size(), fields, retained / (1024.0 * 1024.0), bytesPerField);
+        Assertions.assertTrue(bytesPerField <= MAX_MODEL_BYTES_PER_FIELD, String.format(
+                "The model retains %d bytes per field (budget %d)", bytesPerField, MAX_MODEL_BYTES_PER_FIELD));
+    }
+
+    // the registry is unreachable once this returns, so only strings the model holds on to are retained
+    private SchemaModel extract(final String sdl) {
+        return SchemaTypeExtractor.getInstance().extractModel(SchemaParser.getInstance().parseContent(sdl));
+    }
+
+    private SyntheticSchemaGenerator mixedSchema(final int objectTypes) {
+        return new SyntheticSchemaGenerator()
+                .objectTypes(objectTypes, 12)
+                .wideTypes(Math.max(1, objectTypes / 500), 500)
+                .interfaceChain(20)
+                .enums(objectTypes / 4, 10)
+                .inputTypes(objectTypes / 4, 30);
+    }
+
+    private Measurement measure(final String label, final SyntheticSchemaGenerator generator) throws Exception {
+        Path runDir = Files.createTempDirectory(tempDir, "run");
+        File schemaFile = generator.writeTo(runDir.resolve("schema.graphqls")).toFile();
+        File outputDir = Files.createDirectories(runDir.resolve("output")).toFile();
+        resetSingletons();
+
+        System.gc();
+        resetPeakHeap();
+        long start = System.nanoTime();
+        GenerationResult result = JavaCodeGenerator.getInstance()
+                .generatePojoFromSchema(schemaFile, outputDir, TEST_PACKAGE);
+        long millis = (System.nanoTime() - start) / 1_000_000L;
+        long peakHeapMb = peakHeapBytes() / (1024 * 1024);
+
+        Assertions.assertEquals(generator.generatedTypeCount(), result.getTypeCount(), label);
+        Assertions.assertEquals(result.getTypeCount(), result.getWrittenFiles(), label);
+        deleteDirectory(runDir.toFile());
+        return new Measurement(label, result.getTypeCount(), millis, peakHeapMb);
+    }
+
+    private void assertWithinBudget(final Measurement measurement) {
+        Assertions.assertTrue(measurement.millis <= MAX_MILLIS,
+                measurement.label + " took " + measurement.millis + " ms (budget " + MAX_MILLIS + " ms)");
+        Assertions.assertTrue(measurement.peakHeapMb <= MAX_HEAP_MB,
+                measurement.label + " peaked at " + measurement.peakHeapMb + " MB (budget " + MAX_HEAP_MB + " MB)");
+    }
+
+    private void printCurve(final String title, final List<Measurement> curve) {
+        StringBuilder report = new StringBuilder(title).append('\n');
+        report.append(String.format("  %-14s %8s %10s %12s %10s%n", "run", "types", "millis", "us/type", "heap MB"));
+        for (Measurement measurement : curve) {
+            report.append(String.format("  %-14s %8d %10d %12.1f %10d%n", measurement.label, measurement.types,
+                    measurement.millis, measurement.microsPerType(), measurement.peakHeapMb));
+        }
+        System.out.print(report);
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private void resetSingletons() {
+        JavaCodeGenerator.resetInstance();
+        SourceCodeGenerator.resetInstance();
+        EnumGenerator.resetInstance();
+        TypeMapper.resetInstance();
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+
+    private static final class Measurement {
+        private final String label;
+        private final int types;
+        private final long millis;
+        private final long peakHeapMb;
+
+        Measurement(final String label, final int types, final long millis, final long peakHeapMb) {
+            this.label = label;
+            this.types = types;
+            this.millis = millis;
+            this.peakHeapMb = peakHeapMb;
+        }
+
+        double microsPerType() {
+            return millis * 1000.0 / Math.max(1, types);
+        }
+    }
+}
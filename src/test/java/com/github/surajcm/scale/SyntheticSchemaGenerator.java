@@ -0,0 +1,165 @@
+package com.github.surajcm.scale;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Produces deterministic synthetic schemas for scale testing.
+ *
+ * <p>Each shape stresses a different part of the pipeline: many regular object types, a few very wide
+ * types, a deep chain of interfaces (each one extending all of its ancestors), many enums and large
+ * input types.
+ */
+final class SyntheticSchemaGenerator {
+
+    private static final String[] SCALARS = {"String", "Int", "Float", "Boolean", "ID"};
+
+    private int objectTypes;
+    private int fieldsPerType = 10;
+    private int wideTypes;
+    private int wideTypeFields = 500;
+    private int interfaceDepth;
+    private int enums;
+    private int enumValues = 10;
+    private int inputTypes;
+    private int inputFields = 20;
+
+    SyntheticSchemaGenerator objectTypes(final int count, final int fields) {
+        this.objectTypes = count;
+        this.fieldsPerType = fields;
+        return this;
+    }
+
+    SyntheticSchemaGenerator wideTypes(final int count, final int fields) {
+        this.wideTypes = count;
+        this.wideTypeFields = fields;
+        return this;
+    }
+
+    SyntheticSchemaGenerator interfaceChain(final int depth) {
+        this.interfaceDepth = depth;
+        return this;
+    }
+
+    SyntheticSchemaGenerator enums(final int count, final int values) {
+        this.enums = count;
+        this.enumValues = values;
+        return this;
+    }
+
+    SyntheticSchemaGenerator inputTypes(final int count, final int fields) {
+        this.inputTypes = count;
+        this.inputFields = fields;
+        return this;
+    }
+
+    /**
+     * Number of types that become generated sources (interfaces are not generated).
+     *
+     * @return the expected number of generated files
+     */
+    int generatedTypeCount() {
+        // the object types, the wide types, the type implementing the chain, enums and inputs; Query is skipped
+        return objectTypes + wideTypes + (interfaceDepth > 0 ? 1 : 0) + enums + inputTypes;
+    }
+
+    String sdl() {
+        StringBuilder sdl = new StringBuilder();
+        sdl.append("type Query {\n  root: ").append(objectTypes > 0 ? "Type0" : "String").append("\n}\n\n");
+        for (int i = 0; i < objectTypes; i++) {
+            appendObjectType(sdl, i);
+        }
+        for (int i = 0; i < wideTypes; i++) {
+            sdl.append("type Wide").append(i).append(" {\n");
+            appendFields(sdl, "field", wideTypeFields, i);
+            sdl.append("}\n\n");
+        }
+        appendInterfaceChain(sdl);
+        for (int i = 0; i < enums; i++) {
+            sdl.append("enum Enum").append(i).append(" {\n");
+            for (int value = 0; value < enumValues; value++) {
+                sdl.append("  VALUE_").append(value).append('\n');
+            }
+            sdl.append("}\n\n");
+        }
+        for (int i = 0; i < inputTypes; i++) {
+            sdl.append("input Input").append(i).append(" {\n");
+            appendFields(sdl, "input", inputFields, i);
+            sdl.append("}\n\n");
+        }
+        return sdl.toString();
+    }
+
+    Path writeTo(final Path schemaFile) throws IOException {
+        return Files.write(schemaFile, sdl().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendObjectType(final StringBuilder sdl, final int index) {
+        sdl.append("type Type").append(index).append(" {\n");
+        appendFields(sdl, "field", fieldsPerType, index);
+        if (index > 0) {
+            sdl.append("  previous: Type").append(index - 1).append('\n');
+            sdl.append("  siblings: [Type").append(index - 1).append("!]\n");
+        }
+        if (enums > 0) {
+            sdl.append("  status: Enum").append(index % enums).append('\n');
+        }
+        sdl.append("}\n\n");
+    }
+
+    private void appendInterfaceChain(final StringBuilder sdl) {
+        if (interfaceDepth <= 0) {
+            return;
+        }
+        for (int level = 0; level < interfaceDepth; level++) {
+            sdl.append("interface Node").append(level);
+            appendImplements(sdl, level);
+            sdl.append(" {\n");
+            appendChainFields(sdl, level);
+            sdl.append("}\n\n");
+        }
+        sdl.append("type ChainLeaf");
+        appendImplements(sdl, interfaceDepth);
+        sdl.append(" {\n");
+        appendChainFields(sdl, interfaceDepth - 1);
+        sdl.append("}\n\n");
+    }
+
+    // a type or interface must list every interface it transitively implements
+    private void appendImplements(final StringBuilder sdl, final int level) {
+        for (int ancestor = level - 1; ancestor >= 0; ancestor--) {
+            sdl.append(ancestor == level - 1 ? " implements " : " & ").append("Node").append(ancestor);
+        }
+    }
+
+    private void appendChainFields(final StringBuilder sdl, final int level) {
+        for (int inherited = 0; inherited <= level; inherited++) {
+            sdl.append("  level").append(inherited).append(": ").append(SCALARS[inherited % SCALARS.length])
+                    .append('\n');
+        }
+    }
+
+    private void appendFields(final StringBuilder sdl, final String prefix, final int count, final int seed) {
+        for (int field = 0; field < count; field++) {
+            String scalar = SCALARS[(field + seed) % SCALARS.length];
+            sdl.append("  ").append(prefix).append(field).append(": ");
+            switch (field % 4) {
+                case 1:
+                    sdl.append(scalar).append('!');
+                    break;
+                case 2:
+                    sdl.append('[').append(scalar).append(']');
+                    break;
+                case 3:
+                    sdl.append('[').append(scalar).append("!]!");
+                    break;
+                default:
+                    sdl.append(scalar);
+                    break;
+            }
+            sdl.append('\n');
+        }
+    }
+}
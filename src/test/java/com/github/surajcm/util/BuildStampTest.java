@@ -0,0 +1,118 @@
+package com.github.surajcm.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+class BuildStampTest {
+
+    private static final List<String> SOURCES = Arrays.asList("User", "Status");
+
+    private Path tempDir;
+    private File stampFile;
+    private File packageDirectory;
+
+    @BeforeEach
+    void setup() throws IOException {
+        BuildStamp.resetInstance();
+        tempDir = Files.createTempDirectory("stamp-test");
+        stampFile = tempDir.resolve("work/build.stamp").toFile();
+        packageDirectory = Files.createDirectories(tempDir.resolve("out/com/example")).toFile();
+        Files.write(packageDirectory.toPath().resolve("User.java"), "class User {}".getBytes());
+        Files.write(packageDirectory.toPath().resolve("Status.java"), "enum Status {}".getBytes());
+    }
+
+    @AfterEach
+    void tearDown() {
+        BuildStamp.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void upToDateWhenKeyMatchesAndSourcesExist() throws IOException {
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+
+        Assertions.assertTrue(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+    }
+
+    @Test
+    void staleWhenKeyDiffersOrStampIsMissing() throws IOException {
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "other", packageDirectory));
+    }
+
+    @Test
+    void staleWhenGeneratedSourcesWereRemoved() throws IOException {
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+        Files.delete(packageDirectory.toPath().resolve("User.java"));
+
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key",
+                tempDir.resolve("missing").toFile()));
+    }
+
+    @Test
+    void staleWhenAGeneratedSourceIsReplacedByAnotherFile() throws IOException {
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+        Files.delete(packageDirectory.toPath().resolve("User.java"));
+        Files.write(packageDirectory.toPath().resolve("UserSupport.java"), "class UserSupport {}".getBytes());
+
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+    }
+
+    @Test
+    void jarIsUpToDateWhileItHoldsTheRecordedSources() throws IOException {
+        File jarFile = tempDir.resolve("out/sources.jar").toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(jarFile.toPath()))) {
+            zip.putNextEntry(new ZipEntry("com/example/User.java"));
+            zip.closeEntry();
+        }
+        BuildStamp.getInstance().write(stampFile, "key", Collections.singletonList("User"));
+
+        Assertions.assertTrue(BuildStamp.getInstance().isJarUpToDate(stampFile, "key", jarFile));
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+        Assertions.assertFalse(BuildStamp.getInstance().isJarUpToDate(stampFile, "key", jarFile));
+        Assertions.assertFalse(BuildStamp.getInstance().isJarUpToDate(stampFile, "key",
+                tempDir.resolve("missing.jar").toFile()));
+    }
+
+    @Test
+    void invalidateRemovesStamp() throws IOException {
+        BuildStamp.getInstance().write(stampFile, "key", SOURCES);
+        BuildStamp.getInstance().invalidate(stampFile);
+
+        Assertions.assertFalse(stampFile.exists());
+        Assertions.assertFalse(BuildStamp.getInstance().isUpToDate(stampFile, "key", packageDirectory));
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
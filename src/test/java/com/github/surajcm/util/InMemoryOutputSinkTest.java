@@ -0,0 +1,78 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+class InMemoryOutputSinkTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    @Test
+    void keepsSourcesByRelativePath() {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        JavaFile user = javaFile(TEST_PACKAGE, "User", "name");
+
+        Assertions.assertTrue(sink.write(user));
+
+        Assertions.assertTrue(sink.contains(TEST_PACKAGE, "User"));
+        Assertions.assertEquals(user.toString(), sink.getSource(TEST_PACKAGE, "User"));
+        Assertions.assertEquals(user.toString(), sink.getSources().get("com/example/generated/User.java"));
+        Assertions.assertNull(sink.getSource(TEST_PACKAGE, "Post"));
+    }
+
+    @Test
+    void identicalSourceIsReportedAsUnchanged() {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        sink.write(javaFile(TEST_PACKAGE, "User", "name"));
+
+        Assertions.assertFalse(sink.write(javaFile(TEST_PACKAGE, "User", "name")));
+        Assertions.assertTrue(sink.write(javaFile(TEST_PACKAGE, "User", "nick")));
+    }
+
+    @Test
+    void cleanAndDeleteOnlyTouchTheGivenPackage() {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        sink.write(javaFile(TEST_PACKAGE, "User", "name"));
+        sink.write(javaFile(TEST_PACKAGE, "Post", "title"));
+        sink.write(javaFile(TEST_PACKAGE + ".nested", "Comment", "text"));
+        sink.write(javaFile("com.other", "Account", "id"));
+
+        sink.delete(TEST_PACKAGE, "Post");
+        Assertions.assertFalse(sink.contains(TEST_PACKAGE, "Post"));
+
+        sink.clean(TEST_PACKAGE);
+        Assertions.assertEquals(new ArrayList<>(Arrays.asList(
+                "com/example/generated/nested/Comment.java", "com/other/Account.java")),
+                new ArrayList<>(sink.getSources().keySet()));
+    }
+
+    @Test
+    void syncKeepsTheGivenTypesOfThePackage() {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        sink.write(javaFile(TEST_PACKAGE, "User", "name"));
+        sink.write(javaFile(TEST_PACKAGE, "Post", "title"));
+        sink.write(javaFile(TEST_PACKAGE + ".nested", "Comment", "text"));
+
+        sink.sync(TEST_PACKAGE, Collections.singleton("User"));
+
+        Assertions.assertEquals(new ArrayList<>(Arrays.asList(
+                "com/example/generated/User.java", "com/example/generated/nested/Comment.java")),
+                new ArrayList<>(sink.getSources().keySet()));
+    }
+
+    private JavaFile javaFile(final String packageName, final String typeName, final String fieldName) {
+        TypeSpec typeSpec = TypeSpec.classBuilder(typeName)
+                .addModifiers(Modifier.PUBLIC)
+                .addField(FieldSpec.builder(String.class, fieldName, Modifier.PRIVATE).build())
+                .build();
+        return JavaFile.builder(packageName, typeSpec).indent("    ").build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.Modifier;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+class JarOutputSinkTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private Path tempDir;
+    private File jarFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tempDir = Files.createTempDirectory("jar-sink-test");
+        jarFile = tempDir.resolve("target/generated-sources.jar").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void writesSourcesAsJarEntries() throws IOException {
+        JavaFile user = javaFile("User", "name");
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            Assertions.assertTrue(sink.write(user));
+            Assertions.assertTrue(sink.write(javaFile("Post", "title")));
+            Assertions.assertFalse(sink.contains(TEST_PACKAGE, "User"));
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Assertions.assertEquals(2, zip.size());
+            ZipEntry entry = zip.getEntry("com/example/generated/User.java");
+            Assertions.assertNotNull(entry);
+            Assertions.assertEquals(user.toString(), read(zip, entry));
+        }
+    }
+
+    @Test
+    void emptyRunLeavesAValidEmptyJar() throws IOException {
+        new JarOutputSink(jarFile).close();
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Assertions.assertEquals(0, zip.size());
+        }
+    }
+
+    @Test
+    void sourcesAreSpooledUntilCloseAndTheSpoolIsRemoved() throws IOException {
+        File outputDir = jarFile.getParentFile();
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            sink.write(javaFile("User", "name"));
+
+            String[] spooled = outputDir.list();
+            Assertions.assertNotNull(spooled);
+            Assertions.assertEquals(1, spooled.length);
+            Assertions.assertTrue(spooled[0].startsWith("generated-sources.jar.spool"));
+        }
+
+        Assertions.assertArrayEquals(new String[] {"generated-sources.jar"}, outputDir.list());
+    }
+
+    @Test
+    void spoolIsOneFileWithEveryEntry() throws IOException {
+        File outputDir = jarFile.getParentFile();
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            sink.write(javaFile("User", "name"));
+            sink.write(javaFile("Post", "title"));
+            sink.write(javaFile("Comment", "text"));
+
+            Assertions.assertEquals(1, outputDir.list().length);
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Assertions.assertEquals(javaFile("Post", "title").toString(),
+                    read(zip, zip.getEntry("com/example/generated/Post.java")));
+        }
+    }
+
+    @Test
+    void singleWriterStreamsEntriesStraightIntoTheJar() throws IOException {
+        try (JarOutputSink sink = new JarOutputSink(jarFile, JarOutputSink.DEFAULT_ENTRY_TIME, 1)) {
+            sink.write(javaFile("User", "name"));
+            sink.write(javaFile("Post", "title"));
+
+            String[] files = jarFile.getParentFile().list();
+            Assertions.assertEquals(1, files.length);
+            Assertions.assertTrue(files[0].startsWith("generated-sources.jar.part"));
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            List<String> names = new ArrayList<>();
+            zip.stream().forEach(entry -> names.add(entry.getName()));
+            Assertions.assertEquals(Arrays.asList("com/example/generated/User.java",
+                    "com/example/generated/Post.java"), names);
+            Assertions.assertEquals(javaFile("User", "name").toString(),
+                    read(zip, zip.getEntry("com/example/generated/User.java")));
+        }
+    }
+
+    @Test
+    void discardedRunKeepsThePreviousJar() throws IOException {
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            sink.write(javaFile("User", "name"));
+        }
+        byte[] previous = Files.readAllBytes(jarFile.toPath());
+
+        for (int writers : new int[] {1, 4}) {
+            try (JarOutputSink sink = new JarOutputSink(jarFile, JarOutputSink.DEFAULT_ENTRY_TIME, writers)) {
+                sink.write(javaFile("Post", "title"));
+                sink.discard();
+            }
+
+            Assertions.assertArrayEquals(previous, Files.readAllBytes(jarFile.toPath()));
+            Assertions.assertArrayEquals(new String[] {"generated-sources.jar"}, jarFile.getParentFile().list());
+        }
+    }
+
+    @Test
+    void concurrentWritesProduceEveryEntry() throws Exception {
+        int typeCount = 200;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+            List<Future<Boolean>> writes = new ArrayList<>();
+            for (int i = 0; i < typeCount; i++) {
+                JavaFile javaFile = javaFile("Type" + i, "field" + i);
+                writes.add(executor.submit(() -> sink.write(javaFile)));
+            }
+            for (Future<Boolean> write : writes) {
+                Assertions.assertTrue(write.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            Assertions.assertEquals(typeCount, zip.size());
+            Assertions.assertTrue(read(zip, zip.getEntry("com/example/generated/Type42.java"))
+                    .contains("field42"));
+        }
+    }
+
+    @Test
+    void archiveIsReproducibleAcrossWriteOrderAndTimeZone() throws IOException {
+        File otherJar = tempDir.resolve("other.jar").toFile();
+        TimeZone defaultZone = TimeZone.getDefault();
+        try {
+            TimeZone.setDefault(TimeZone.getTimeZone("America/Los_Angeles"));
+            try (JarOutputSink sink = new JarOutputSink(jarFile)) {
+                sink.write(javaFile("User", "name"));
+                sink.write(javaFile("Post", "title"));
+            }
+            TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+            try (JarOutputSink sink = new JarOutputSink(otherJar)) {
+                sink.write(javaFile("Post", "title"));
+                sink.write(javaFile("User", "name"));
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+
+        Assertions.assertArrayEquals(Files.readAllBytes(jarFile.toPath()), Files.readAllBytes(otherJar.toPath()));
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            List<String> names = new ArrayList<>();
+            zip.stream().forEach(entry -> names.add(entry.getName()));
+            Assertions.assertEquals(Arrays.asList("com/example/generated/Post.java",
+                    "com/example/generated/User.java"), names);
+        }
+    }
+
+    @Test
+    void entriesCarryTheGivenTimestamp() throws IOException {
+        long entryTime = 1_700_000_000_000L;
+        try (JarOutputSink sink = new JarOutputSink(jarFile, entryTime)) {
+            sink.write(javaFile("User", "name"));
+        }
+
+        try (ZipFile zip = new ZipFile(jarFile)) {
+            long localTime = zip.getEntry("com/example/generated/User.java").getTime();
+            Assertions.assertEquals(entryTime, localTime + TimeZone.getDefault().getOffset(localTime));
+        }
+    }
+
+    private String read(final ZipFile zip, final ZipEntry entry) throws IOException {
+        try (InputStream input = zip.getInputStream(entry)) {
+            byte[] buffer = new byte[(int) entry.getSize()];
+            int offset = 0;
+            while (offset < buffer.length) {
+                offset += input.read(buffer, offset, buffer.length - offset);
+            }
+            return new String(buffer, StandardCharsets.UTF_8);
+        }
+    }
+
+    private JavaFile javaFile(final String typeName, final String fieldName) {
+        TypeSpec typeSpec = TypeSpec.classBuilder(typeName)
+                .addModifiers(Modifier.PUBLIC)
+                .addField(FieldSpec.builder(String.class, fieldName, Modifier.PRIVATE).build())
+                .build();
+        return JavaFile.builder(TEST_PACKAGE, typeSpec).indent("    ").build();
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
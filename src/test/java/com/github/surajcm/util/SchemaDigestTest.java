@@ -0,0 +1,80 @@
+package com.github.surajcm.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+class SchemaDigestTest {
+
+    private final SchemaDigest schemaDigest = SchemaDigest.getInstance();
+    private Path tempDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tempDir = Files.createTempDirectory("schema-digest-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void portableDigestIgnoresWhereTheProjectIsCheckedOut() throws IOException {
+        File first = checkout("agent-1", "type User { id: ID }");
+        File second = checkout("agent-2", "type User { id: ID }");
+
+        Assertions.assertEquals(
+                schemaDigest.portableDigest(first, schema(first), "com.example"),
+                schemaDigest.portableDigest(second, schema(second), "com.example"));
+        Assertions.assertNotEquals(
+                schemaDigest.digest(schema(first), "com.example"),
+                schemaDigest.digest(schema(second), "com.example"));
+    }
+
+    @Test
+    void portableDigestCoversContentPathAndSettings() throws IOException {
+        File project = checkout("agent-1", "type User { id: ID }");
+        String key = schemaDigest.portableDigest(project, schema(project), "com.example");
+
+        Assertions.assertNotEquals(key, schemaDigest.portableDigest(project, schema(project), "com.other"));
+        Files.write(schema(project).get(0).toPath(), "type User { id: ID! }".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertNotEquals(key, schemaDigest.portableDigest(project, schema(project), "com.example"));
+        Assertions.assertNotEquals(key, schemaDigest.portableDigest(tempDir.toFile(), schema(project), "com.example"));
+    }
+
+    private File checkout(final String name, final String schema) throws IOException {
+        Path project = tempDir.resolve(name);
+        Path schemaFile = project.resolve("src/main/resources/schema.graphqls");
+        Files.createDirectories(schemaFile.getParent());
+        Files.write(schemaFile, schema.getBytes(StandardCharsets.UTF_8));
+        return project.toFile();
+    }
+
+    private List<File> schema(final File project) {
+        return Collections.singletonList(new File(project, "src/main/resources/schema.graphqls"));
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
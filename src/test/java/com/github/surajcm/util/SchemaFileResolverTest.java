@@ -0,0 +1,110 @@
+package com.github.surajcm.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+class SchemaFileResolverTest {
+
+    private final SchemaFileResolver resolver = SchemaFileResolver.getInstance();
+    private Path baseDir;
+
+    @BeforeEach
+    void setup() throws IOException {
+        baseDir = Files.createTempDirectory("resolver-test");
+        write("schema/users/user.graphqls");
+        write("schema/posts/post.graphqls");
+        write("schema/query.graphql");
+        write("schema/readme.txt");
+        write("other/other.graphqls");
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(baseDir.toFile());
+    }
+
+    @Test
+    void resolveSingleFile() throws IOException {
+        File schema = baseDir.resolve("schema/query.graphql").toFile();
+
+        List<File> files = resolver.resolve(schema, null, baseDir.toFile());
+
+        Assertions.assertEquals(Collections.singletonList(schema), files);
+    }
+
+    @Test
+    void resolveDirectoryFindsSchemaFilesRecursivelyInSortedOrder() throws IOException {
+        List<File> files = resolver.resolve(baseDir.resolve("schema").toFile(), null, baseDir.toFile());
+
+        Assertions.assertEquals(3, files.size());
+        Assertions.assertTrue(files.get(0).getPath().endsWith("post.graphqls"));
+        Assertions.assertTrue(files.get(1).getPath().endsWith("query.graphql"));
+        Assertions.assertTrue(files.get(2).getPath().endsWith("user.graphqls"));
+    }
+
+    @Test
+    void resolveGlobPatterns() throws IOException {
+        List<File> files = resolver.resolve(null,
+                Arrays.asList("schema/**/*.graphqls", "other/*.graphqls"), baseDir.toFile());
+
+        Assertions.assertEquals(3, files.size());
+        Assertions.assertTrue(files.get(0).getPath().endsWith("other.graphqls"));
+    }
+
+    @Test
+    void resolveOverlappingPatternsReturnsEachFileOnce() throws IOException {
+        List<File> files = resolver.resolve(null,
+                Arrays.asList("schema/**/*.graphqls", "schema/users/*.graphqls"), baseDir.toFile());
+
+        Assertions.assertEquals(2, files.size());
+    }
+
+    @Test
+    void resolvePatternWithMissingRootReturnsEmpty() throws IOException {
+        List<File> files = resolver.resolve(null,
+                Collections.singletonList("missing/*.graphqls"), baseDir.toFile());
+
+        Assertions.assertTrue(files.isEmpty());
+    }
+
+    @Test
+    void rootsAreTheLiteralPrefixesOfPatterns() {
+        List<File> roots = resolver.roots(null,
+                Arrays.asList("schema/**/*.graphqls", "**/*.graphql", "missing/*.graphqls"), baseDir.toFile());
+
+        Assertions.assertEquals(Collections.singletonList(baseDir.resolve("schema").toAbsolutePath().toFile()),
+                roots);
+        Assertions.assertEquals(Collections.singletonList(baseDir.resolve("schema").toFile()),
+                resolver.roots(baseDir.resolve("schema").toFile(), null, baseDir.toFile()));
+    }
+
+    private void write(final String relativePath) throws IOException {
+        Path path = baseDir.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.write(path, "type Query { hello: String }".getBytes());
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.surajcm.util;
+
+import com.github.surajcm.model.GraphQLEnumInfo;
+import com.github.surajcm.model.GraphQLFieldInfo;
+import com.github.surajcm.model.GraphQLTypeInfo;
+import com.github.surajcm.model.GraphQLTypeKind;
+import com.github.surajcm.model.SchemaModel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+class SchemaModelCacheTest {
+
+    private Path tempDir;
+    private File cacheFile;
+
+    @BeforeEach
+    void setup() throws IOException {
+        SchemaModelCache.resetInstance();
+        tempDir = Files.createTempDirectory("model-cache-test");
+        cacheFile = tempDir.resolve("state/schema-model.bin").toFile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SchemaModelCache.resetInstance();
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void roundTripsTypesAndEnums() throws IOException {
+        SchemaModelCache.getInstance().write(cacheFile, "key", sampleModel());
+
+        SchemaModel model = SchemaModelCache.getInstance().read(cacheFile, "key");
+
+        Assertions.assertNotNull(model);
+        Assertions.assertEquals(2, model.getTypes().size());
+        GraphQLTypeInfo user = model.getTypes().get(0);
+        Assertions.assertEquals("User", user.getName());
+        Assertions.assertEquals(GraphQLTypeKind.OBJECT, user.getKind());
+        Assertions.assertEquals(2, user.getFields().size());
+        GraphQLFieldInfo tags = user.getFields().get(1);
+        Assertions.assertEquals("tags", tags.getName());
+        Assertions.assertEquals("String", tags.getTypeName());
+        Assertions.assertTrue(tags.isList());
+        Assertions.assertFalse(tags.isNonNull());
+        Assertions.assertTrue(user.getFields().get(0).isNonNull());
+        Assertions.assertEquals(GraphQLTypeKind.INPUT_OBJECT, model.getTypes().get(1).getKind());
+        Assertions.assertEquals(1, model.getEnums().size());
+        Assertions.assertEquals(Arrays.asList("ACTIVE", "BLOCKED"), model.getEnums().get(0).getValues());
+    }
+
+    @Test
+    void roundTripsInterfacesUnionsAndScalars() throws IOException {
+        SchemaModel.Builder builder = SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("Node", GraphQLTypeKind.INTERFACE,
+                        Collections.singletonList(new GraphQLFieldInfo("id", "ID", false, true))))
+                .addType(new GraphQLTypeInfo("User", GraphQLTypeKind.OBJECT,
+                        Collections.singletonList(new GraphQLFieldInfo("id", "ID", false, true)),
+                        Collections.singletonList("Node"), Collections.emptyList()))
+                .addType(new GraphQLTypeInfo("Actor", GraphQLTypeKind.UNION, Collections.emptyList(),
+                        Collections.emptyList(), Collections.singletonList("User")))
+                .addType(new GraphQLTypeInfo("DateTime", GraphQLTypeKind.SCALAR, Collections.emptyList()));
+        SchemaModelCache.getInstance().write(cacheFile, "key", builder.build());
+
+        SchemaModel model = SchemaModelCache.getInstance().read(cacheFile, "key");
+
+        Assertions.assertNotNull(model);
+        Assertions.assertEquals(Collections.singletonList("Node"), model.getType("User").getInterfaces());
+        Assertions.assertEquals(Collections.singletonList("User"), model.getType("Actor").getPossibleTypes());
+        Assertions.assertEquals(GraphQLTypeKind.INTERFACE, model.getKind("Node"));
+        Assertions.assertEquals(1, model.getScalarTypes().size());
+        Assertions.assertEquals(2, model.getReferencingFields("ID").size());
+    }
+
+    @Test
+    void differentKeyIsAMiss() throws IOException {
+        SchemaModelCache.getInstance().write(cacheFile, "key", sampleModel());
+
+        Assertions.assertNull(SchemaModelCache.getInstance().read(cacheFile, "other-key"));
+    }
+
+    @Test
+    void missingOrCorruptSnapshotIsAMiss() throws IOException {
+        Assertions.assertNull(SchemaModelCache.getInstance().read(cacheFile, "key"));
+
+        SchemaModelCache.getInstance().write(cacheFile, "key", sampleModel());
+        byte[] bytes = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+
+        Assertions.assertNull(SchemaModelCache.getInstance().read(cacheFile, "key"));
+    }
+
+    @Test
+    void snapshotWithACorruptTypeKindIsAMiss() throws IOException {
+        SchemaModelCache.getInstance().write(cacheFile, "key", SchemaModel.builder()
+                .addType(new GraphQLTypeInfo("User", GraphQLTypeKind.OBJECT, Collections.emptyList()))
+                .build());
+        byte[] bytes = Files.readAllBytes(cacheFile.toPath());
+        // magic, version and "key", the one-string table holding "User", the type count, then the kind
+        int kindOffset = 4 + 4 + 5 + 1 + 6 + 1;
+        Assertions.assertEquals(GraphQLTypeKind.OBJECT.ordinal(), bytes[kindOffset]);
+
+        for (int kind : new int[] {GraphQLTypeKind.ENUM.ordinal(), GraphQLTypeKind.values().length}) {
+            bytes[kindOffset] = (byte) kind;
+            Files.write(cacheFile.toPath(), bytes);
+
+            Assertions.assertNull(SchemaModelCache.getInstance().read(cacheFile, "key"));
+        }
+    }
+
+    private SchemaModel sampleModel() {
+        GraphQLTypeInfo user = new GraphQLTypeInfo("User", GraphQLTypeKind.OBJECT, Arrays.asList(
+                new GraphQLFieldInfo("id", "ID", false, true),
+                new GraphQLFieldInfo("tags", "String", true, false)));
+        GraphQLTypeInfo input = new GraphQLTypeInfo("UserInput", GraphQLTypeKind.INPUT_OBJECT,
+                Collections.singletonList(new GraphQLFieldInfo("name", "String", false, false)));
+        GraphQLEnumInfo status = new GraphQLEnumInfo("Status", Arrays.asList("ACTIVE", "BLOCKED"));
+        return new SchemaModel(Arrays.asList(user, input), Collections.singletonList(status));
+    }
+
+    private void deleteDirectory(File directory) {
+        if (directory == null || !directory.exists()) {
+            return;
+        }
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.surajcm.util;
+
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.lang.model.element.Modifier;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+class WriteIfChangedSinkTest {
+
+    private static final String TEST_PACKAGE = "com.example.generated";
+
+    private Path tempDir;
+    private WriteIfChangedSink sink;
+
+    @BeforeEach
+    void setup() throws IOException {
+        tempDir = Files.createTempDirectory("sink-test");
+        sink = new WriteIfChangedSink(tempDir);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deleteDirectory(tempDir.toFile());
+    }
+
+    @Test
+    void writesNewFile() throws IOException {
+        JavaFile javaFile = javaFile("User", "name");
+
+        Assertions.assertTrue(sink.write(javaFile));
+
+        Path target = tempDir.resolve("com/example/generated/User.java");
+        Assertions.assertTrue(Files.exists(target));
+        Assertions.assertEquals(javaFile.toString(), new String(Files.readAllBytes(target), "UTF-8"));
+        Assertions.assertEquals(1, sink.getWrittenCount());
+        Assertions.assertEquals(0, sink.getSkippedCount());
+    }
+
+    @Test
+    void skipsIdenticalFileAndKeepsTimestamp() throws IOException {
+        sink.write(javaFile("User", "name"));
+        File target = tempDir.resolve("com/example/generated/User.java").toFile();
+        Assertions.assertTrue(target.setLastModified(1_000_000L));
+
+        WriteIfChangedSink secondRun = new WriteIfChangedSink(tempDir);
+        Assertions.assertFalse(secondRun.write(javaFile("User", "name")));
+
+        Assertions.assertEquals(1_000_000L, target.lastModified());
+        Assertions.assertEquals(0, secondRun.getWrittenCount());
+        Assertions.assertEquals(1, secondRun.getSkippedCount());
+    }
+
+    @Test
+    void rewritesFileWithSameLengthButDifferentContent() throws IOException {
+        sink.write(javaFile("User", "name"));
+        Path target = tempDir.resolve("com/example/generated/User.java");
+
+        Assertions.assertTrue(sink.write(javaFile("User", "nick")));
+
+        Assertions.assertTrue(new String(Files.readAllBytes(target), "UTF-8").contains("nick"));
+        Assertions.assertEquals(2, sink.getWrittenCount());
+    }
+
+    @Test
+    void resolveFollowsPackageLayout() {
+        Path resolved = sink.resolve(javaFile("User", "name"));
+        Assertions.assertEquals(tempDir.resolve("com/example/generated/User.java"), resolved);
+    }
+
+    @Test
+    void syncDeletesOnlyOrphanedSources() throws IOException {
+        sink.write(javaFile("User", "name"));
+        sink.write(javaFile("Post", "title"));
+        Path packageDir = tempDir.resolve("com/example/generated");
+        File user = packageDir.resolve("User.java").toFile();
+        Assertions.assertTrue(user.setLastModified(1_000_000L));
+        Files.write(packageDir.resolve("README.txt"), "kept".getBytes("UTF-8"));
+        Files.createDirectories(packageDir.resolve("nested"));
+        Files.write(packageDir.resolve("nested/Comment.java"), "kept".getBytes("UTF-8"));
+
+        sink.sync(TEST_PACKAGE, Collections.singleton("User"));
+
+        Assertions.assertEquals(1_000_000L, user.lastModified());
+        Assertions.assertFalse(Files.exists(packageDir.resolve("Post.java")));
+        Assertions.assertTrue(Files.exists(packageDir.resolve("README.txt")));
+        Assertions.assertTrue(Files.exists(packageDir.resolve("nested/Comment.java")));
+    }
+
+    @Test
+    void syncOfMissingPackageDoesNothing() throws IOException {
+        sink.sync(TEST_PACKAGE, Collections.singleton("User"));
+        Assertions.assertFalse(Files.exists(tempDir.resolve("com")));
+    }
+
+    @Test
+    void cleanEmptiesAnExistingPackage() throws IOException {
+        sink.write(javaFile("User", "name"));
+
+        sink.clean(TEST_PACKAGE);
+
+        Path packageDir = tempDir.resolve("com/example/generated");
+        Assertions.assertTrue(Files.isDirectory(packageDir));
+        Assertions.assertFalse(Files.exists(packageDir.resolve("User.java")));
+    }
+
+    private JavaFile javaFile(final String typeName, final String fieldName) {
+        TypeSpec typeSpec = TypeSpec.classBuilder(typeName)
+                .addModifiers(Modifier.PUBLIC)
+                .addField(FieldSpec.builder(String.class, fieldName, Modifier.PRIVATE).build())
+                .build();
+        return JavaFile.builder(TEST_PACKAGE, typeSpec).indent("    ").build();
+    }
+
+    private void deleteDirectory(final File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    deleteDirectory(file);
+                } else {
+                    file.delete();
+                }
+            }
+        }
+        directory.delete();
+    }
+}
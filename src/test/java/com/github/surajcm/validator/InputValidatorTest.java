@@ -10,6 +10,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 class InputValidatorTest {
     private final InputValidator inputValidator = InputValidator.getInstance();
@@ -99,6 +100,29 @@ class InputValidatorTest {
                 schemaFile, outputFile, "hello"));
     }
 
+    @Test
+    void validateEmptySchemaList() {
+        ValidationException thrown = Assertions.assertThrows(ValidationException.class, () ->
+                inputValidator.validateAllInputs(Collections.emptyList(), outputFile, "hello"));
+        Assertions.assertTrue(thrown.getMessage().contains("no schema files found"));
+    }
+
+    @Test
+    void validateSchemaListWithEmptyFile() throws IOException {
+        writeOutputFile();
+        ValidationException thrown = Assertions.assertThrows(ValidationException.class, () ->
+                inputValidator.validateAllInputs(Collections.singletonList(schemaFile), outputFile, "hello"));
+        Assertions.assertTrue(thrown.getMessage().contains("Invalid schema directory"));
+    }
+
+    @Test
+    void validateSchemaListSuccess() throws IOException {
+        writeSchemaFile();
+        writeOutputFile();
+        Assertions.assertDoesNotThrow(() -> inputValidator.validateAllInputs(
+                Collections.singletonList(schemaFile), outputFile, "hello"));
+    }
+
     private void writeSchemaFile() throws IOException {
         String content = "Hello World !!";
         Files.write(Paths.get(schemaFile.getPath()), content.getBytes());